@@ -419,21 +419,33 @@ public class BasicNotifierImpl implements Notifier
     Adapter[] eAdapters = eBasicAdapterArray();
     if (eAdapters != null && eDeliver())
     {
+      if (NotificationBatch.openCount != 0 && NotificationBatch.defer(this, notification, true))
+      {
+        return;
+      }
+
       for (int i = 0, size = eAdapters.length; i < size; ++i)
       {
         eAdapters[i].notifyChanged(notification);
       }
     }
+    else if (NotificationBatch.openCount != 0 && eDeliver())
+    {
+      // Delivering the notifications already queued by a batch may add adapters to this notifier, so the notification is queued too.
+      //
+      NotificationBatch.defer(this, notification, false);
+    }
   }
 
   /**
    * Returns whether {@link #eNotify eNotify} needs to be called.
    * This may return <code>true</code> even when {@link #eDeliver eDeliver} is <code>false</code>
-   * or when {@link #eAdapters eAdapters} is empty.
+   * or when {@link #eAdapters eAdapters} is empty,
+   * e.g., while a {@link NotificationBatch notification batch} has queued notifications whose delivery may add adapters.
    * @return whether {@link #eNotify eNotify} needs to be called.
    */
   public boolean eNotificationRequired()
   {
-    return eBasicHasAdapters() && eDeliver();
+    return (eBasicHasAdapters() || NotificationBatch.openCount != 0 && NotificationBatch.isPending()) && eDeliver();
   }
 }
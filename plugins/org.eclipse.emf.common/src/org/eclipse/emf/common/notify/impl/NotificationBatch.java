@@ -0,0 +1,454 @@
+/**
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package org.eclipse.emf.common.notify.impl;
+
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.util.BasicEList;
+
+
+/**
+ * A scope, local to the current thread, within which the notifications of each {@link BasicNotifierImpl notifier}
+ * are queued rather than delivered to its adapters.
+ * When the outermost batch is {@link #close() closed},
+ * the queued notifications are delivered, in the order in which they were produced,
+ * to the adapters each notifier has at that time.
+ * <p>
+ * While notifications are queued, a notifier without adapters still produces and queues its notifications,
+ * because delivering the queued notifications may add adapters to it,
+ * e.g., an <code>EContentAdapter</code> adapts each new child once it's notified of the child's addition,
+ * and must then be notified of the subsequent changes to that child.
+ * So a notifier's adapters may be notified of changes that happened before they were added to it.
+ * </p>
+ * <p>
+ * While queued, a notification is merged, when possible, with the last queued notification, if it's from the same notifier:
+ * consecutive {@link Notification#ADD adds} to the same feature yield a single {@link Notification#ADD_MANY add many},
+ * and other notifications are {@link Notification#merge(Notification) merged} as they would be in a {@link NotificationChainImpl notification chain},
+ * e.g., consecutive {@link Notification#REMOVE removes} yield a single {@link Notification#REMOVE_MANY remove many}
+ * and consecutive {@link Notification#SET sets} of a feature yield a single set.
+ * Because adding an object to a feature with an opposite first notifies the object of the change to its opposite,
+ * an add is also merged with the notifier's last add if all the notifications queued since then are notifications of the added objects;
+ * this only delivers the add earlier than the notifications of the objects it adds.
+ * A merged notification is a new notification;
+ * the notifications produced by the notifiers, which their producers may still hold, are never modified.
+ * So bulk changes to a model with adapters such as an <code>EContentAdapter</code> or an <code>ECrossReferenceAdapter</code>
+ * produce far fewer notifications.
+ * But note that such adapters are out of date until the batch is closed.
+ * </p>
+ * <p>
+ * A batch is typically used like this:
+ *<pre>
+ *  NotificationBatch batch = NotificationBatch.open();
+ *  try
+ *  {
+ *    // Modify the model.
+ *  }
+ *  finally
+ *  {
+ *    batch.close();
+ *  }
+ *</pre>
+ * </p>
+ * @since 2.28
+ */
+public final class NotificationBatch
+{
+  /**
+   * The number of threads with an open batch,
+   * so that delivery checks the thread local batch only when there might be one.
+   */
+  static volatile int openCount;
+
+  /**
+   * The open batch of each thread.
+   */
+  private static final ThreadLocal<NotificationBatch> CURRENT = new ThreadLocal<NotificationBatch>();
+
+  /**
+   * Opens a batch for the current thread, or reopens the thread's already open batch, and returns it.
+   * Each call must be balanced by a call to {@link #close()}.
+   * @return the batch of the current thread.
+   */
+  public static NotificationBatch open()
+  {
+    NotificationBatch batch = CURRENT.get();
+    if (batch == null)
+    {
+      batch = new NotificationBatch(Thread.currentThread());
+      CURRENT.set(batch);
+      synchronized (NotificationBatch.class)
+      {
+        ++openCount;
+      }
+    }
+    ++batch.depth;
+    return batch;
+  }
+
+  /**
+   * Returns whether the current thread has an open batch.
+   * @return whether the current thread has an open batch.
+   */
+  public static boolean isOpen()
+  {
+    return openCount != 0 && CURRENT.get() != null;
+  }
+
+  /**
+   * Returns whether the current thread has an open batch with queued notifications,
+   * in which case even a notifier without adapters must produce its notifications.
+   * @return whether the current thread has an open batch with queued notifications.
+   */
+  static boolean isPending()
+  {
+    NotificationBatch batch = CURRENT.get();
+    return batch != null && !batch.notifications.isEmpty();
+  }
+
+  /**
+   * Queues the notification if the current thread has an open batch
+   * and, for a notifier without adapters, if that batch already has queued notifications.
+   * @param notifier the notifier.
+   * @param notification the notification for that notifier.
+   * @param hasAdapters whether the notifier has adapters.
+   * @return whether the notification has been queued.
+   */
+  static boolean defer(BasicNotifierImpl notifier, Notification notification, boolean hasAdapters)
+  {
+    NotificationBatch batch = CURRENT.get();
+    if (batch == null || !hasAdapters && batch.notifications.isEmpty())
+    {
+      return false;
+    }
+    else
+    {
+      batch.add(notifier, notification);
+      return true;
+    }
+  }
+
+  /**
+   * The thread that opened this batch.
+   */
+  private final Thread thread;
+
+  /**
+   * The number of times this batch has been opened but not yet closed.
+   */
+  private int depth;
+
+  /**
+   * The notifier of each queued notification.
+   */
+  private final List<BasicNotifierImpl> notifiers = new ArrayList<BasicNotifierImpl>();
+
+  /**
+   * The queued notifications.
+   */
+  private final List<Notification> notifications = new ArrayList<Notification>();
+
+  /**
+   * The index of the last queued {@link Notification#ADD add}, or -1.
+   */
+  private int addIndex = -1;
+
+  /**
+   * The number of queued notifications, following the {@link #addIndex last add}, of the objects it added.
+   */
+  private int addFollowerCount;
+
+  private NotificationBatch(Thread thread)
+  {
+    this.thread = thread;
+  }
+
+  /**
+   * Returns the number of notifications currently queued.
+   * @return the number of notifications currently queued.
+   */
+  public int size()
+  {
+    return notifications.size();
+  }
+
+  /**
+   * Closes this batch, and, if it's the outermost batch, delivers the queued notifications.
+   * Notifications produced during that delivery are delivered immediately.
+   * If an adapter throws an exception, the remaining notifications are still delivered,
+   * and then the first exception is rethrown.
+   * @throws IllegalStateException if this batch is already closed or if this isn't the thread that opened it.
+   */
+  public void close()
+  {
+    if (depth == 0 || Thread.currentThread() != thread)
+    {
+      throw new IllegalStateException();
+    }
+
+    if (--depth == 0)
+    {
+      CURRENT.remove();
+      synchronized (NotificationBatch.class)
+      {
+        --openCount;
+      }
+
+      Throwable throwable = null;
+      try
+      {
+        for (int i = 0, size = notifications.size(); i < size; ++i)
+        {
+          BasicNotifierImpl notifier = notifiers.get(i);
+          Adapter[] eAdapters = notifier.eBasicAdapterArray();
+          if (eAdapters != null && notifier.eDeliver())
+          {
+            Notification notification = notifications.get(i);
+            try
+            {
+              for (Adapter eAdapter : eAdapters)
+              {
+                eAdapter.notifyChanged(notification);
+              }
+            }
+            catch (RuntimeException exception)
+            {
+              if (throwable == null)
+              {
+                throwable = exception;
+              }
+            }
+            catch (Error error)
+            {
+              if (throwable == null)
+              {
+                throwable = error;
+              }
+            }
+          }
+        }
+      }
+      finally
+      {
+        notifiers.clear();
+        notifications.clear();
+        addIndex = -1;
+        addFollowerCount = 0;
+      }
+
+      if (throwable instanceof RuntimeException)
+      {
+        throw (RuntimeException)throwable;
+      }
+      else if (throwable != null)
+      {
+        throw (Error)throwable;
+      }
+    }
+  }
+
+  private void add(BasicNotifierImpl notifier, Notification notification)
+  {
+    int index = notifications.size() - 1;
+    if (notification.getEventType() == Notification.ADD)
+    {
+      // Look past the notifications of the added object, and past those of the objects already merged into the last add.
+      //
+      Object newValue = notification.getNewValue();
+      int followerCount = 0;
+      while (index >= 0 && notifiers.get(index) == newValue)
+      {
+        --index;
+        ++followerCount;
+      }
+      if (addIndex != -1 && index - addFollowerCount == addIndex)
+      {
+        index = addIndex;
+        followerCount += addFollowerCount;
+      }
+
+      if (index >= 0 && notifiers.get(index) == notifier && merge(index, notification))
+      {
+        addIndex = index;
+        addFollowerCount = followerCount;
+      }
+      else
+      {
+        notifiers.add(notifier);
+        notifications.add(notification);
+        addIndex = notifications.size() - 1;
+        addFollowerCount = 0;
+      }
+    }
+    else if (index < 0 || notifiers.get(index) != notifier || !merge(index, notification))
+    {
+      notifiers.add(notifier);
+      notifications.add(notification);
+    }
+  }
+
+  /**
+   * Merges the notification into the queued notification at the index, replacing the queued notification by a {@link MergedNotification copy} if necessary.
+   */
+  private boolean merge(int index, Notification notification)
+  {
+    Notification queuedNotification = notifications.get(index);
+    if (queuedNotification instanceof MergedNotification)
+    {
+      return queuedNotification.merge(notification);
+    }
+    else if (queuedNotification instanceof NotificationImpl && queuedNotification.getFeature() == notification.getFeature())
+    {
+      MergedNotification mergedNotification = new MergedNotification((NotificationImpl)queuedNotification);
+      if (mergedNotification.merge(notification))
+      {
+        notifications.set(index, mergedNotification);
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * A copy of a queued notification into which subsequent notifications are merged.
+   * It has its own copy of the list of values of an {@link Notification#ADD_MANY add many} or {@link Notification#REMOVE_MANY remove many},
+   * and it delegates to the original notification for the notifier and the feature.
+   */
+  private static final class MergedNotification extends NotificationImpl
+  {
+    /**
+     * The original notification.
+     */
+    private final NotificationImpl notification;
+
+    MergedNotification(NotificationImpl notification)
+    {
+      super
+        (notification.eventType,
+         notification.eventType == Notification.REMOVE_MANY && notification.oldValue instanceof List<?> ?
+           new BasicEList<Object>((List<?>)notification.oldValue) :
+           notification.oldValue,
+         notification.eventType == Notification.ADD_MANY && notification.newValue instanceof List<?> ?
+           new BasicEList<Object>((List<?>)notification.newValue) :
+           notification.newValue,
+         notification.position);
+      this.notification = notification;
+      primitiveType = notification.primitiveType;
+      oldSimplePrimitiveValue = notification.oldSimplePrimitiveValue;
+      newSimplePrimitiveValue = notification.newSimplePrimitiveValue;
+      oldIEEEPrimitiveValue = notification.oldIEEEPrimitiveValue;
+      newIEEEPrimitiveValue = notification.newIEEEPrimitiveValue;
+    }
+
+    @Override
+    public Object getNotifier()
+    {
+      return notification.getNotifier();
+    }
+
+    @Override
+    public Object getFeature()
+    {
+      return notification.getFeature();
+    }
+
+    @Override
+    public int getFeatureID(Class<?> expectedClass)
+    {
+      return notification.getFeatureID(expectedClass);
+    }
+
+    @Override
+    protected boolean isFeatureUnsettable()
+    {
+      return notification.isFeatureUnsettable();
+    }
+
+    @Override
+    protected Object getFeatureDefaultValue()
+    {
+      return notification.getFeatureDefaultValue();
+    }
+
+    @Override
+    public boolean merge(Notification notification)
+    {
+      if (notification.getNotifier() != getNotifier() ||
+            notification.getFeature() != getFeature() ||
+            notification.getFeatureID(null) != getFeatureID(null))
+      {
+        return false;
+      }
+
+      int notificationEventType = notification.getEventType();
+      switch (eventType)
+      {
+        case Notification.ADD:
+        case Notification.ADD_MANY:
+        {
+          if (notificationEventType == Notification.ADD && notification.wasSet())
+          {
+            List<Object> values;
+            if (eventType == Notification.ADD)
+            {
+              values = new BasicEList<Object>(4);
+              values.add(newValue);
+            }
+            else if (newValue instanceof List<?>)
+            {
+              @SuppressWarnings("unchecked")
+              List<Object> newValues = (List<Object>)newValue;
+              values = newValues;
+            }
+            else
+            {
+              return false;
+            }
+
+            if (notification.getPosition() == getPosition() + values.size())
+            {
+              values.add(notification.getNewValue());
+              eventType = Notification.ADD_MANY;
+              newValue = values;
+              return true;
+            }
+          }
+          return false;
+        }
+        case Notification.SET:
+        case Notification.UNSET:
+        {
+          // Take the new value from the notification, including its primitive value, which the general merge doesn't.
+          //
+          if ((notificationEventType == Notification.SET || notificationEventType == Notification.UNSET) &&
+                notification instanceof NotificationImpl &&
+                ((NotificationImpl)notification).primitiveType == primitiveType)
+          {
+            NotificationImpl notificationImpl = (NotificationImpl)notification;
+            newValue = notificationImpl.newValue;
+            newSimplePrimitiveValue = notificationImpl.newSimplePrimitiveValue;
+            newIEEEPrimitiveValue = notificationImpl.newIEEEPrimitiveValue;
+            if (notificationEventType == Notification.SET)
+            {
+              eventType = Notification.SET;
+            }
+            return true;
+          }
+          return false;
+        }
+        default:
+        {
+          return super.merge(notification);
+        }
+      }
+    }
+  }
+}
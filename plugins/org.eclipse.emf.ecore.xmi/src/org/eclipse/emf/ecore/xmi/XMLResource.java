@@ -341,6 +341,7 @@ public interface XMLResource extends Resource
 
   /**
    * Flush the output stream whenever the number of characters/bytes pending exceeds the specified Integer value.
+   * When {@link #OPTION_USE_BYTE_CHANNEL encoding to a channel}, the value is the number of bytes.
    * This helps to reduce memory requirements for serializing a large file, but it's slower.
    * The default value is Integer.MAX_VALUE.
    * I.e., the stream is never flushed.
@@ -563,6 +564,115 @@ public interface XMLResource extends Resource
    */
   String OPTION_MISSING_PACKAGE_HANDLER = "MISSING_PACKAGE_HANDLER";
 
+  /**
+   * A load option that specifies a {@link StreamingHandler streaming handler} instance
+   * to which each fully-built object at the {@link #OPTION_STREAMING_DEPTH streaming depth} is released as soon as its element ends.
+   * After the handler returns, the object is detached from its container, its IDs are removed from the resource,
+   * and references to it, or to any object in its tree, are resolved as proxies.
+   * Fragment paths continue to denote the objects of the complete document, so the proxies' URIs are those of the complete document too.
+   * Apart from the objects that are retained, memory is needed only for the pending references and the number of objects released from each list,
+   * so large documents can be processed without holding them in memory.
+   * <p>
+   * A pending reference to an object that's later released is resolved as a proxy of that object's class.
+   * But the classes of released objects aren't recorded,
+   * so a reference read after the referenced object was released, or one held by a released tree to an object not yet loaded,
+   * is resolved as a proxy of the reference's type;
+   * that's only possible when the type is concrete, otherwise an {@link UnresolvedReferenceException} is recorded.
+   * </p>
+   * @see StreamingHandler
+   * @see #OPTION_STREAMING_DEPTH
+   * @since 2.17
+   */
+  String OPTION_STREAMING_HANDLER = "STREAMING_HANDLER";
+
+  /**
+   * A load option that specifies an Integer containment depth at which objects are released to the {@link #OPTION_STREAMING_HANDLER streaming handler}.
+   * A depth of 0 releases each root object; any document root is not counted.
+   * The default value is 1, i.e., each child of a root object is released.
+   * @see #OPTION_STREAMING_HANDLER
+   * @since 2.17
+   */
+  String OPTION_STREAMING_DEPTH = "STREAMING_DEPTH";
+
+  /**
+   * Processes objects as they are loaded so that the resource need never hold the whole document in memory.
+   * @see #OPTION_STREAMING_HANDLER
+   * @since 2.17
+   */
+  interface StreamingHandler
+  {
+    /**
+     * Called when the element for the given object has ended, i.e., when the object and its contents are fully built.
+     * The object is still attached to its container while this method is called,
+     * but it will be detached afterwards unless this method moves it elsewhere.
+     * @param resource the resource being loaded.
+     * @param eObject the fully-built object.
+     */
+    void handle(XMLResource resource, EObject eObject);
+  }
+
+  /**
+   * A load option that when set to Boolean.TRUE, or to a <code>javax.xml.stream.XMLInputFactory</code> instance,
+   * directs the resource to load from an InputStream using a StAX pull parser rather than a SAX parser.
+   * The {@link org.eclipse.emf.ecore.xmi.impl.StAXParser parser} drives the {@link org.eclipse.emf.ecore.xmi.impl.XMLHandler handler} directly,
+   * passes attributes and character data without copying them,
+   * and skips the content of elements that the handler will ignore.
+   * The specified factory, or otherwise a shared default factory, must be namespace aware;
+   * {@link #OPTION_PARSER_FEATURES parser features} and {@link #OPTION_PARSER_PROPERTIES parser properties} are not applicable.
+   * The option has no effect if the {@link XMLLoad#createDefaultHandler() handler} isn't an <code>XMLHandler</code>.
+   * The default is false.
+   * @since 2.17
+   */
+  String OPTION_USE_STAX = "USE_STAX";
+
+  /**
+   * A save option that specifies a <code>java.util.concurrent.Executor</code>, e.g., a <code>ForkJoinPool</code>,
+   * used to serialize the contained objects of each top level object in parallel.
+   * The objects of each containment list are partitioned into contiguous segments,
+   * each segment is serialized by its own {@link XMLSave serializer} as a task of the executor,
+   * and the results are combined in document order so that the result is identical to that of a sequential save.
+   * A segment whose serialization can't be combined consistently, e.g., because it introduces a conflicting namespace prefix or a dangling reference,
+   * is serialized again sequentially.
+   * The contents, their IDs and their {@link XMLHelper#getHREF(EObject) HREFs} must be safe to compute concurrently,
+   * so the option has no effect for resources that create IDs while saving.
+   * The option has no effect when saving to a DOM.
+   * @since 2.17
+   */
+  String OPTION_SAVE_EXECUTOR = "SAVE_EXECUTOR";
+
+  /**
+   * A save option that when set to Boolean.TRUE directs the resource to record the layout of the serialization,
+   * so that a subsequent save with the same options serializes only the parts of the document that have been modified since,
+   * and splices them into the recorded serialization.
+   * A unit of the layout is the element of an object directly contained by a top level object;
+   * a unit is serialized again if it has been modified, if it references an object in a modified unit, or if it references another resource.
+   * Any other modification, e.g., adding or removing units, or modifying a top level object, requires a complete serialization.
+   * Once enabled, an {@link org.eclipse.emf.ecore.xmi.impl.IncrementalSaveAdapter adapter} tracks the modifications of the resource's objects,
+   * and the recorded serialization is retained in memory until the resource is unloaded.
+   * The namespace declarations of the recorded serialization are retained,
+   * so if the units serialized again require a new declaration, the resource is serialized completely.
+   * The option has no effect when saving to a DOM, when saving specific {@link #OPTION_ROOT_OBJECTS root objects},
+   * or in combination with {@link #OPTION_USE_FILE_BUFFER file buffering}, a {@link #OPTION_RESOURCE_ENTITY_HANDLER resource entity handler},
+   * or a {@link #OPTION_SAVE_EXECUTOR save executor}.
+   * The default is false.
+   * @since 2.17
+   */
+  String OPTION_INCREMENTAL_SAVE = "INCREMENTAL_SAVE";
+
+  /**
+   * A save option that when set to Boolean.TRUE directs the resource, when saving to an output stream,
+   * to encode the serialization directly into a byte buffer that's written to a <code>java.nio.channels.WritableByteChannel</code>,
+   * rather than through an <code>OutputStreamWriter</code>.
+   * UTF-8 is encoded without any intermediate copy;
+   * a <code>FileOutputStream</code> is written via its channel.
+   * With this option, the {@link #OPTION_FLUSH_THRESHOLD flush threshold} is the number of encoded bytes.
+   * The result is the same as without this option.
+   * The option has no effect when saving to a {@link org.eclipse.emf.ecore.resource.URIConverter.Writeable writeable} stream or to a DOM.
+   * The default is false.
+   * @since 2.17
+   */
+  String OPTION_USE_BYTE_CHANNEL = "USE_BYTE_CHANNEL";
+
   String HREF = "href";
   String NIL = "nil";
   String TYPE = "type";
@@ -11,6 +11,7 @@
 package org.eclipse.emf.ecore.xmi.impl;
 
 
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -42,6 +43,16 @@ public class ConfigurationCache
 
   protected int freeEscapeIndex = -1;
 
+  /**
+   * @since 2.17
+   */
+  protected ByteBuffer byteBuffers[] = new ByteBuffer [SIZE];
+
+  /**
+   * @since 2.17
+   */
+  protected int freeByteBufferIndex = -1;
+
   protected int currentSize = SIZE;
 
   protected ConfigurationCache()
@@ -97,10 +108,40 @@ public class ConfigurationCache
     escapes[freeEscapeIndex] = escape;
   }
 
+  /**
+   * @since 2.17
+   */
+  protected synchronized ByteBuffer getByteBuffer()
+  {
+    if (freeByteBufferIndex < 0)
+    {
+      return ByteBuffer.allocate(StringSegment.BYTE_BUFFER_SIZE);
+    }
+    ByteBuffer byteBuffer = byteBuffers[freeByteBufferIndex];
+    byteBuffers[freeByteBufferIndex--] = null;
+    return byteBuffer;
+  }
+
+  /**
+   * @since 2.17
+   */
+  protected synchronized void releaseByteBuffer(ByteBuffer byteBuffer)
+  {
+    ++freeByteBufferIndex;
+    if (byteBuffers.length == freeByteBufferIndex)
+    {
+      ByteBuffer newarray[] = new ByteBuffer [byteBuffers.length + SIZE];
+      System.arraycopy(byteBuffers, 0, newarray, 0, byteBuffers.length);
+      byteBuffers = newarray;
+    }
+    byteBuffers[freeByteBufferIndex] = byteBuffer;
+  }
+
   public synchronized void release()
   {
     freeEscapeIndex = -1;
     freePrinterIndex = -1;
+    freeByteBufferIndex = -1;
     for (int i = 0; i < printers.length; i++)
     {
       printers[i] = null;
@@ -109,6 +150,10 @@ public class ConfigurationCache
     {
       escapes[i] = null;
     }
+    for (int i = 0; i < byteBuffers.length; i++)
+    {
+      byteBuffers[i] = null;
+    }
   }
   
   public synchronized EClass getDocumentRoot(EPackage ePackage)
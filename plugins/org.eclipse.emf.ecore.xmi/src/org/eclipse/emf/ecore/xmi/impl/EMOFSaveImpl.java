@@ -48,6 +48,16 @@ public class EMOFSaveImpl extends XMISaveImpl
     saveTypeInfo = true;
   }
 
+  /**
+   * Returns null because the {@link EMOFResourceImpl#getID(EObject) resource} creates the IDs while saving.
+   * @since 2.17
+   */
+  @Override
+  protected XMLSaveImpl createSegmentSave()
+  {
+    return null;
+  }
+
   @Override
   protected boolean shouldSaveFeature(EObject o, EStructuralFeature f)
   {
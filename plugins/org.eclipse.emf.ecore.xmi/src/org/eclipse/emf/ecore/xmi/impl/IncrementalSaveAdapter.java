@@ -0,0 +1,272 @@
+/**
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package org.eclipse.emf.ecore.xmi.impl;
+
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.resource.Resource;
+
+
+/**
+ * An adapter that records the layout of the most recent {@link org.eclipse.emf.ecore.xmi.XMLResource#OPTION_INCREMENTAL_SAVE incremental save} of a resource
+ * and tracks which parts of that layout have been modified since.
+ * The layout consists of the serialized document and the range of each unit in that document,
+ * where a unit is the element of an object directly contained by a top level object.
+ * The adapter is attached to the resource and to each of its objects.
+ * Any modification of an object that isn't within a unit,
+ * or of the contents of the resource, invalidates the layout.
+ * @see XMLResourceImpl#getIncrementalSaveAdapter()
+ * @since 2.17
+ */
+public class IncrementalSaveAdapter extends AdapterImpl
+{
+  /**
+   * The layout of a unit.
+   */
+  static final class Unit
+  {
+    final EObject eObject;
+
+    final EStructuralFeature feature;
+
+    final int depth;
+
+    final boolean isMixed;
+
+    int start;
+
+    int end;
+
+    boolean isModified;
+
+    boolean isCrossDocument;
+
+    Set<Unit> references;
+
+    Unit(EObject eObject, EStructuralFeature feature, int depth, boolean isMixed)
+    {
+      this.eObject = eObject;
+      this.feature = feature;
+      this.depth = depth;
+      this.isMixed = isMixed;
+    }
+
+    boolean isSaveRequired()
+    {
+      if (isModified || isCrossDocument)
+      {
+        return true;
+      }
+      if (references != null)
+      {
+        for (Unit unit : references)
+        {
+          if (unit.isModified)
+          {
+            return true;
+          }
+        }
+      }
+      return false;
+    }
+  }
+
+  protected final Resource resource;
+
+  String text;
+
+  List<Unit> units;
+
+  Map<EObject, Unit> eObjectToUnitMap;
+
+  Map<Object, Object> options;
+
+  String encoding;
+
+  String xmlVersion;
+
+  XMLHelperImpl helper;
+
+  boolean declareXSI;
+
+  public IncrementalSaveAdapter(Resource resource)
+  {
+    this.resource = resource;
+  }
+
+  /**
+   * Returns whether there is a valid layout.
+   */
+  public boolean isValid()
+  {
+    return units != null;
+  }
+
+  /**
+   * Discards the layout.
+   */
+  public void invalidate()
+  {
+    text = null;
+    units = null;
+    eObjectToUnitMap = null;
+    options = null;
+    helper = null;
+  }
+
+  @Override
+  public void notifyChanged(Notification notification)
+  {
+    if (units != null && !notification.isTouch())
+    {
+      Object notifier = notification.getNotifier();
+      if (notifier == resource)
+      {
+        switch (notification.getFeatureID(Resource.class))
+        {
+          case Resource.RESOURCE__CONTENTS:
+          case Resource.RESOURCE__URI:
+          case Resource.RESOURCE__IS_LOADED:
+          {
+            invalidate();
+            break;
+          }
+        }
+      }
+      else if (notifier instanceof EObject)
+      {
+        modified((EObject)notifier);
+      }
+    }
+  }
+
+  /**
+   * Records that the given object has been modified,
+   * i.e., that the unit containing it must be serialized again,
+   * or, if it isn't within a unit, that the layout is no longer valid.
+   */
+  public void modified(EObject eObject)
+  {
+    if (units != null)
+    {
+      Unit unit = getUnit(eObject);
+      if (unit == null)
+      {
+        invalidate();
+      }
+      else
+      {
+        unit.isModified = true;
+      }
+    }
+  }
+
+  Unit getUnit(EObject eObject)
+  {
+    for (EObject container = eObject; container != null; container = container.eContainer())
+    {
+      Unit unit = eObjectToUnitMap.get(container);
+      if (unit != null)
+      {
+        return unit;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Records a new layout.
+   */
+  void reset(String text, List<Unit> units, List<List<EObject>> referencedObjects, Map<?, ?> options, String encoding, String xmlVersion, XMLHelperImpl helper, boolean declareXSI)
+  {
+    this.text = text;
+    this.units = units;
+    this.options = new HashMap<Object, Object>(options);
+    this.encoding = encoding;
+    this.xmlVersion = xmlVersion;
+    this.helper = helper;
+    this.declareXSI = declareXSI;
+    eObjectToUnitMap = new HashMap<EObject, Unit>();
+    for (Unit unit : units)
+    {
+      eObjectToUnitMap.put(unit.eObject, unit);
+    }
+    for (int i = 0, size = units.size(); i < size; ++i)
+    {
+      setReferences(units.get(i), referencedObjects.get(i));
+    }
+  }
+
+  /**
+   * Records the objects referenced by the serialization of the given unit,
+   * i.e., the other units whose modification requires the unit to be serialized again.
+   */
+  void setReferences(Unit unit, List<EObject> referencedObjects)
+  {
+    unit.isModified = false;
+    unit.isCrossDocument = false;
+    unit.references = null;
+    for (EObject eObject : referencedObjects)
+    {
+      if (eObject.eIsProxy() || eObject.eResource() != resource)
+      {
+        unit.isCrossDocument = true;
+      }
+      else
+      {
+        Unit referencedUnit = getUnit(eObject);
+        if (referencedUnit != null && referencedUnit != unit)
+        {
+          if (unit.references == null)
+          {
+            unit.references = new HashSet<Unit>();
+          }
+          unit.references.add(referencedUnit);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns whether the layout was recorded with the same options, encoding and XML version.
+   */
+  boolean isValid(Map<?, ?> options, String encoding, String xmlVersion)
+  {
+    return
+      units != null &&
+        this.options.equals(options) &&
+        (this.encoding == null ? encoding == null : this.encoding.equals(encoding)) &&
+        (this.xmlVersion == null ? xmlVersion == null : this.xmlVersion.equals(xmlVersion));
+  }
+
+  /**
+   * Returns the units that must be serialized again.
+   */
+  List<Unit> getModifiedUnits()
+  {
+    List<Unit> result = new ArrayList<Unit>();
+    for (Unit unit : units)
+    {
+      if (unit.isSaveRequired())
+      {
+        result.add(unit);
+      }
+    }
+    return result;
+  }
+}
@@ -0,0 +1,547 @@
+/**
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package org.eclipse.emf.ecore.xmi.impl;
+
+
+import java.io.IOException;
+import java.util.Map;
+
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.stream.StreamSource;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.ext.Locator2;
+
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.xmi.XMIException;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+
+
+/**
+ * A parser that pulls events from a StAX {@link XMLStreamReader} and drives an {@link XMLHandler} directly,
+ * as an alternative to a SAX parser calling back the handler.
+ * The events are reported as a namespace aware SAX parser would report them,
+ * but the attributes and the locator are views of the reader's state rather than copies,
+ * character data is passed from the reader's buffer,
+ * and the content of an element that the handler {@link XMLHandler#isSkippable() will ignore} is skipped without being reported.
+ * @see XMLResource#OPTION_USE_STAX
+ * @since 2.17
+ */
+public class StAXParser
+{
+  private static final String REPORT_CDATA_EVENT_PROPERTY = "http://java.sun.com/xml/stream/properties/report-cdata-event";
+
+  /**
+   * The factory used when the {@link XMLResource#OPTION_USE_STAX} option doesn't specify one.
+   */
+  private static XMLInputFactory defaultXMLInputFactory;
+
+  /**
+   * The factory used to create the reader.
+   */
+  protected XMLInputFactory xmlInputFactory;
+
+  /**
+   * The reader from which events are pulled.
+   */
+  protected XMLStreamReader reader;
+
+  /**
+   * The handler to which events are reported.
+   */
+  protected XMLHandler handler;
+
+  /**
+   * Whether comments, CDATA sections, and the document type are reported as a SAX lexical handler would report them.
+   */
+  protected boolean useLexicalHandler;
+
+  /**
+   * A view of the attributes of the reader's current element.
+   */
+  protected AttributesAdapter attributes;
+
+  /**
+   * A view of the location of the reader.
+   */
+  protected LocatorAdapter locator;
+
+  /**
+   * Creates a parser that uses the factory specified by the {@link XMLResource#OPTION_USE_STAX} option, if any,
+   * and otherwise a shared default factory.
+   */
+  public StAXParser(Map<?, ?> options)
+  {
+    Object value = options.get(XMLResource.OPTION_USE_STAX);
+    xmlInputFactory = value instanceof XMLInputFactory ? (XMLInputFactory)value : getDefaultXMLInputFactory();
+    useLexicalHandler = Boolean.TRUE.equals(options.get(XMLResource.OPTION_USE_LEXICAL_HANDLER));
+  }
+
+  /**
+   * Returns the factory shared by all parsers for which no factory is specified.
+   * It's namespace aware and doesn't coalesce character data.
+   */
+  protected static synchronized XMLInputFactory getDefaultXMLInputFactory()
+  {
+    if (defaultXMLInputFactory == null)
+    {
+      XMLInputFactory xmlInputFactory = XMLInputFactory.newInstance();
+      xmlInputFactory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.TRUE);
+      xmlInputFactory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.FALSE);
+
+      // The JDK's implementation reports CDATA sections as characters unless this property is set.
+      //
+      if (xmlInputFactory.isPropertySupported(REPORT_CDATA_EVENT_PROPERTY))
+      {
+        xmlInputFactory.setProperty(REPORT_CDATA_EVENT_PROPERTY, Boolean.TRUE);
+      }
+      defaultXMLInputFactory = xmlInputFactory;
+    }
+    return defaultXMLInputFactory;
+  }
+
+  /**
+   * Parses the input source, reporting the events to the handler.
+   * A parse error is reported to the handler as a {@link XMLHandler#fatalError(XMIException) fatal error} and is thrown.
+   */
+  public void parse(InputSource inputSource, XMLHandler handler) throws IOException
+  {
+    this.handler = handler;
+    try
+    {
+      reader = createXMLStreamReader(inputSource);
+      attributes = new AttributesAdapter(reader);
+      locator = new LocatorAdapter(reader, inputSource.getPublicId(), inputSource.getSystemId());
+      handler.setLocator(locator);
+      try
+      {
+        parse();
+      }
+      finally
+      {
+        reader.close();
+      }
+    }
+    catch (XMLStreamException exception)
+    {
+      Location location = exception.getLocation();
+      XMIException xmiException =
+        location == null ?
+          new XMIException(exception, inputSource.getSystemId(), 0, 0) :
+          new XMIException(exception, inputSource.getSystemId(), location.getLineNumber(), location.getColumnNumber());
+      handler.fatalError(xmiException);
+      throw new Resource.IOWrappedException(exception);
+    }
+    finally
+    {
+      reader = null;
+      attributes = null;
+      locator = null;
+      this.handler = null;
+    }
+  }
+
+  protected XMLStreamReader createXMLStreamReader(InputSource inputSource) throws XMLStreamException
+  {
+    // Not every factory implementation is thread safe so creation is synchronized on the factory.
+    //
+    synchronized (xmlInputFactory)
+    {
+      String systemId = inputSource.getSystemId();
+      if (inputSource.getCharacterStream() != null)
+      {
+        return xmlInputFactory.createXMLStreamReader(systemId, inputSource.getCharacterStream());
+      }
+      else if (inputSource.getByteStream() == null)
+      {
+        return xmlInputFactory.createXMLStreamReader(new StreamSource(systemId));
+      }
+      else if (inputSource.getEncoding() != null)
+      {
+        return xmlInputFactory.createXMLStreamReader(inputSource.getByteStream(), inputSource.getEncoding());
+      }
+      else
+      {
+        return xmlInputFactory.createXMLStreamReader(systemId, inputSource.getByteStream());
+      }
+    }
+  }
+
+  /**
+   * Pulls all the events from the reader and reports them to the handler.
+   */
+  protected void parse() throws XMLStreamException
+  {
+    if (reader.getEventType() == XMLStreamConstants.START_DOCUMENT)
+    {
+      startDocument();
+    }
+    while (reader.hasNext())
+    {
+      switch (reader.next())
+      {
+        case XMLStreamConstants.START_ELEMENT:
+        {
+          startElement();
+          if (handler.isSkippable())
+          {
+            skipElement();
+            endElement();
+          }
+          break;
+        }
+        case XMLStreamConstants.END_ELEMENT:
+        {
+          endElement();
+          break;
+        }
+        case XMLStreamConstants.CHARACTERS:
+        {
+          handler.characters(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+          break;
+        }
+        case XMLStreamConstants.CDATA:
+        {
+          if (useLexicalHandler)
+          {
+            handler.startCDATA();
+            handler.characters(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+            handler.endCDATA();
+          }
+          else
+          {
+            handler.characters(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+          }
+          break;
+        }
+        case XMLStreamConstants.COMMENT:
+        {
+          if (useLexicalHandler)
+          {
+            handler.comment(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+          }
+          break;
+        }
+        case XMLStreamConstants.PROCESSING_INSTRUCTION:
+        {
+          String data = reader.getPIData();
+          handler.processingInstruction(reader.getPITarget(), data == null ? "" : data);
+          break;
+        }
+        case XMLStreamConstants.DTD:
+        {
+          if (useLexicalHandler)
+          {
+            startDTD(reader.getText());
+          }
+          break;
+        }
+        case XMLStreamConstants.END_DOCUMENT:
+        {
+          handler.endDocument();
+          break;
+        }
+      }
+    }
+  }
+
+  protected void startDocument()
+  {
+    locator.encoding = reader.getCharacterEncodingScheme();
+    if (locator.encoding == null)
+    {
+      locator.encoding = reader.getEncoding();
+    }
+    locator.xmlVersion = reader.getVersion();
+    handler.startDocument();
+  }
+
+  protected void startElement()
+  {
+    for (int i = 0, count = reader.getNamespaceCount(); i < count; ++i)
+    {
+      String prefix = reader.getNamespacePrefix(i);
+      String namespaceURI = reader.getNamespaceURI(i);
+      handler.startPrefixMapping(prefix == null ? "" : prefix, namespaceURI == null ? "" : namespaceURI);
+    }
+
+    String namespaceURI = reader.getNamespaceURI();
+    handler.setAttributes(attributes);
+    handler.startElement(namespaceURI == null ? "" : namespaceURI, reader.getLocalName(), getQName(reader.getPrefix(), reader.getLocalName()));
+  }
+
+  protected void endElement()
+  {
+    String namespaceURI = reader.getNamespaceURI();
+    handler.endElement(namespaceURI == null ? "" : namespaceURI, reader.getLocalName(), getQName(reader.getPrefix(), reader.getLocalName()));
+  }
+
+  /**
+   * Advances the reader to the end of the current element without reporting any of its content.
+   */
+  protected void skipElement() throws XMLStreamException
+  {
+    for (int depth = 1; depth > 0; )
+    {
+      switch (reader.next())
+      {
+        case XMLStreamConstants.START_ELEMENT:
+        {
+          ++depth;
+          break;
+        }
+        case XMLStreamConstants.END_ELEMENT:
+        {
+          --depth;
+          break;
+        }
+      }
+    }
+  }
+
+  /**
+   * Reports the public and system IDs of the document type declaration.
+   * The reader provides only the text of the declaration, so the IDs are extracted from it.
+   */
+  protected void startDTD(String doctype)
+  {
+    String name = null;
+    String publicId = null;
+    String systemId = null;
+    if (doctype != null)
+    {
+      int length = doctype.length();
+      int index = doctype.startsWith("<!DOCTYPE") ? 9 : 0;
+      int[] range = new int[] { index, index };
+      name = nextToken(doctype, length, range);
+      String keyword = nextToken(doctype, length, range);
+      if ("PUBLIC".equals(keyword))
+      {
+        publicId = nextQuotedToken(doctype, length, range);
+        systemId = nextQuotedToken(doctype, length, range);
+      }
+      else if ("SYSTEM".equals(keyword))
+      {
+        systemId = nextQuotedToken(doctype, length, range);
+      }
+    }
+    handler.startDTD(name, publicId, systemId);
+    handler.endDTD();
+  }
+
+  private static String nextToken(String text, int length, int[] range)
+  {
+    int start = range[1];
+    while (start < length && Character.isWhitespace(text.charAt(start)))
+    {
+      ++start;
+    }
+    int end = start;
+    while (end < length && !Character.isWhitespace(text.charAt(end)) && "[>\"'".indexOf(text.charAt(end)) == -1)
+    {
+      ++end;
+    }
+    range[0] = start;
+    range[1] = end;
+    return start == end ? null : text.substring(start, end);
+  }
+
+  private static String nextQuotedToken(String text, int length, int[] range)
+  {
+    int start = range[1];
+    while (start < length && Character.isWhitespace(text.charAt(start)))
+    {
+      ++start;
+    }
+    if (start < length)
+    {
+      char quote = text.charAt(start);
+      if (quote == '"' || quote == '\'')
+      {
+        int end = text.indexOf(quote, start + 1);
+        if (end != -1)
+        {
+          range[0] = start + 1;
+          range[1] = end + 1;
+          return text.substring(start + 1, end);
+        }
+      }
+    }
+    return null;
+  }
+
+  protected static String getQName(String prefix, String localName)
+  {
+    return prefix == null || prefix.length() == 0 ? localName : prefix + ":" + localName;
+  }
+
+  /**
+   * A view of the attributes of the current element of a reader.
+   * Namespace declarations aren't included, just as for a namespace aware SAX parser.
+   */
+  protected static final class AttributesAdapter implements Attributes
+  {
+    protected final XMLStreamReader reader;
+
+    public AttributesAdapter(XMLStreamReader reader)
+    {
+      this.reader = reader;
+    }
+
+    public int getLength()
+    {
+      return reader.getAttributeCount();
+    }
+
+    public String getURI(int index)
+    {
+      if (index < 0 || index >= reader.getAttributeCount())
+      {
+        return null;
+      }
+      String namespaceURI = reader.getAttributeNamespace(index);
+      return namespaceURI == null ? "" : namespaceURI;
+    }
+
+    public String getLocalName(int index)
+    {
+      return index < 0 || index >= reader.getAttributeCount() ? null : reader.getAttributeLocalName(index);
+    }
+
+    public String getQName(int index)
+    {
+      return index < 0 || index >= reader.getAttributeCount() ? null : StAXParser.getQName(reader.getAttributePrefix(index), reader.getAttributeLocalName(index));
+    }
+
+    public String getType(int index)
+    {
+      return index < 0 || index >= reader.getAttributeCount() ? null : reader.getAttributeType(index);
+    }
+
+    public String getValue(int index)
+    {
+      return index < 0 || index >= reader.getAttributeCount() ? null : reader.getAttributeValue(index);
+    }
+
+    public int getIndex(String uri, String localName)
+    {
+      for (int i = 0, count = reader.getAttributeCount(); i < count; ++i)
+      {
+        if (localName.equals(reader.getAttributeLocalName(i)))
+        {
+          String namespaceURI = reader.getAttributeNamespace(i);
+          if (namespaceURI == null ? uri.length() == 0 : namespaceURI.equals(uri))
+          {
+            return i;
+          }
+        }
+      }
+      return -1;
+    }
+
+    public int getIndex(String qName)
+    {
+      int index = qName.indexOf(':');
+      String prefix = index == -1 ? "" : qName.substring(0, index);
+      String localName = index == -1 ? qName : qName.substring(index + 1);
+      for (int i = 0, count = reader.getAttributeCount(); i < count; ++i)
+      {
+        if (localName.equals(reader.getAttributeLocalName(i)))
+        {
+          String attributePrefix = reader.getAttributePrefix(i);
+          if (attributePrefix == null ? prefix.length() == 0 : attributePrefix.equals(prefix))
+          {
+            return i;
+          }
+        }
+      }
+      return -1;
+    }
+
+    public String getType(String uri, String localName)
+    {
+      return getType(getIndex(uri, localName));
+    }
+
+    public String getType(String qName)
+    {
+      return getType(getIndex(qName));
+    }
+
+    public String getValue(String uri, String localName)
+    {
+      return getValue(getIndex(uri, localName));
+    }
+
+    public String getValue(String qName)
+    {
+      return getValue(getIndex(qName));
+    }
+  }
+
+  /**
+   * A view of the location of a reader,
+   * along with the encoding and XML version recorded at the start of the document.
+   */
+  protected static final class LocatorAdapter implements Locator2
+  {
+    protected final XMLStreamReader reader;
+
+    protected final String publicId;
+
+    protected final String systemId;
+
+    protected String encoding;
+
+    protected String xmlVersion;
+
+    public LocatorAdapter(XMLStreamReader reader, String publicId, String systemId)
+    {
+      this.reader = reader;
+      this.publicId = publicId;
+      this.systemId = systemId;
+    }
+
+    public String getPublicId()
+    {
+      return publicId;
+    }
+
+    public String getSystemId()
+    {
+      return systemId;
+    }
+
+    public int getLineNumber()
+    {
+      Location location = reader.getLocation();
+      return location == null ? -1 : location.getLineNumber();
+    }
+
+    public int getColumnNumber()
+    {
+      Location location = reader.getLocation();
+      return location == null ? -1 : location.getColumnNumber();
+    }
+
+    public String getEncoding()
+    {
+      return encoding;
+    }
+
+    public String getXMLVersion()
+    {
+      return xmlVersion;
+    }
+  }
+}
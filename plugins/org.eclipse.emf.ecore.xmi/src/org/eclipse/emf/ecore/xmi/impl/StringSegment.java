@@ -14,13 +14,23 @@ package org.eclipse.emf.ecore.xmi.impl;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
+import java.io.Flushable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
 import java.util.Iterator;
+import java.util.List;
 import java.util.ListIterator;
 
 import org.eclipse.emf.common.util.BasicEList;
@@ -43,6 +53,12 @@ public class StringSegment extends BasicEList<StringSegment.Element>
 
   protected static final int BUFFER_SIZE = 8192;
 
+  /**
+   * The capacity of the byte buffers used to {@link #write(WritableByteChannel, ByteBuffer, String, int) write to a channel}.
+   * @since 2.17
+   */
+  protected static final int BYTE_BUFFER_SIZE = 4 * BUFFER_SIZE;
+
   protected int segmentCapacity;
 
   protected byte[] outputbytes;
@@ -218,6 +234,44 @@ public class StringSegment extends BasicEList<StringSegment.Element>
     add(lineSeparator);
   }
 
+  /**
+   * Adds the content of the given segment to the end of this one.
+   * The elements of the segment are shared rather than copied whenever possible,
+   * so the segment must not be used afterwards.
+   * @since 2.17
+   */
+  public void addSegment(StringSegment segment)
+  {
+    Element[] elements = (Element[])segment.data;
+    if (temporaryFile != null || cursorIndex != size - 1)
+    {
+      for (int i = 0, segmentSize = segment.size; i < segmentSize; ++i)
+      {
+        Element element = elements[i];
+        for (int j = 0, elementSize = element.size; j < elementSize; ++j)
+        {
+          add(element.data[j]);
+        }
+      }
+    }
+    else
+    {
+      // Splice in the elements after the cursor and continue with a new empty cursor.
+      //
+      for (int i = 0, segmentSize = segment.size; i < segmentSize; ++i)
+      {
+        Element element = elements[i];
+        if (element.size > 0)
+        {
+          super.add(element);
+        }
+      }
+      cursor = new Element(segmentCapacity);
+      super.add(cursor);
+      cursorIndex = size - 1;
+    }
+  }
+
   public Object mark()
   {
     Element result = cursor;
@@ -281,6 +335,66 @@ public class StringSegment extends BasicEList<StringSegment.Element>
     }
   }
 
+  /**
+   * Returns the current position,
+   * which can be {@link #getOffsets(List) resolved} to a character offset once the content is complete,
+   * provided the content isn't buffered in a temporary file.
+   * The position is stable even if content is later added at a {@link #mark() mark} before it.
+   * @since 2.17
+   */
+  public Object getPosition()
+  {
+    return new Position(cursor, cursor.size);
+  }
+
+  /**
+   * Returns the character offsets of the given {@link #getPosition() positions}, which must be in document order.
+   * @since 2.17
+   */
+  public int[] getOffsets(List<?> positions)
+  {
+    int count = positions.size();
+    int[] result = new int [count];
+    Element[] elements = (Element[])data;
+    int offset = 0;
+    for (int i = 0, k = 0; i < size; ++i)
+    {
+      Element element = elements[i];
+      int j = 0;
+      while (k < count)
+      {
+        Position position = (Position)positions.get(k);
+        if (position.element != element)
+        {
+          break;
+        }
+        while (j < position.index)
+        {
+          offset += element.data[j++].length();
+        }
+        result[k++] = offset;
+      }
+      while (j < element.size)
+      {
+        offset += element.data[j++].length();
+      }
+    }
+    return result;
+  }
+
+  private static final class Position
+  {
+    final Element element;
+
+    final int index;
+
+    Position(Element element, int index)
+    {
+      this.element = element;
+      this.index = index;
+    }
+  }
+
   public int getLength()
   {
     Element[] elements = (Element[])data;
@@ -460,6 +574,297 @@ public class StringSegment extends BasicEList<StringSegment.Element>
 
   }
 
+  /**
+   * Encodes the segments directly into the byte buffer,
+   * writing its contents to the channel whenever it's full,
+   * or whenever the number of bytes encoded since the channel was last flushed exceeds the flush threshold.
+   * A channel that's also {@link Flushable} is flushed at that point too.
+   * UTF-8 is encoded directly into the {@link ByteBuffer#array() array} of a heap buffer;
+   * any other encoding uses a {@link CharsetEncoder} that replaces malformed and unmappable characters,
+   * just as an {@link OutputStreamWriter} does,
+   * so the result is the same as that of {@link #write(Writer, int) writing} to an <code>OutputStreamWriter</code> for that encoding.
+   * The buffer is {@link ByteBuffer#clear() cleared} before it's used.
+   * @param channel the channel to which to write.
+   * @param byteBuffer the buffer into which to encode.
+   * @param encoding the Java name of the encoding.
+   * @param flushThreshold the number of bytes after which to flush.
+   * @since 2.17
+   */
+  public void write(WritableByteChannel channel, ByteBuffer byteBuffer, String encoding, int flushThreshold) throws IOException
+  {
+    Charset charset = Charset.forName(encoding);
+    ChannelWriter channelWriter = new ChannelWriter(channel, byteBuffer, charset, flushThreshold);
+
+    Element[] elements = (Element[])data;
+    for (int i = 0; i < size; ++i)
+    {
+      Element element = elements[i];
+      int segmentSize = element.size;
+      for (int j = 0; j < segmentSize; ++j)
+      {
+        String string = element.data[j];
+        int length = string.length();
+        if (length > outputchars.length)
+        {
+          outputchars = new char [length];
+        }
+        string.getChars(0, length, outputchars, 0);
+        channelWriter.write(outputchars, length);
+      }
+    }
+
+    String temporaryFileName = this.temporaryFileName;
+    if (temporaryFileName != null)
+    {
+      if (channelWriter.isUTF8)
+      {
+        // The temporary file is already encoded as UTF-8 so it can be transferred to the channel as is.
+        //
+        channelWriter.close();
+        FileInputStream inputStream = new FileInputStream(temporaryFileName);
+        try
+        {
+          FileChannel fileChannel = inputStream.getChannel();
+          for (long position = 0, size = fileChannel.size(); position < size; )
+          {
+            position += fileChannel.transferTo(position, size - position, channel);
+          }
+        }
+        finally
+        {
+          inputStream.close();
+        }
+      }
+      else
+      {
+        InputStreamReader reader = new InputStreamReader(new FileInputStream(temporaryFileName), "UTF8");
+        try
+        {
+          for (int length = reader.read(outputchars, 0, outputchars.length); length > 0; length = reader.read(outputchars, 0, outputchars.length))
+          {
+            channelWriter.write(outputchars, length);
+          }
+        }
+        finally
+        {
+          reader.close();
+        }
+        channelWriter.close();
+      }
+      new File(temporaryFileName).delete();
+    }
+    else
+    {
+      channelWriter.close();
+    }
+  }
+
+  /**
+   * Encodes characters into a byte buffer and writes it to a channel.
+   */
+  private static final class ChannelWriter
+  {
+    final WritableByteChannel channel;
+
+    final ByteBuffer byteBuffer;
+
+    final int flushThreshold;
+
+    final boolean isUTF8;
+
+    final byte[] bytes;
+
+    final int offset;
+
+    final int capacity;
+
+    final CharsetEncoder encoder;
+
+    final CharBuffer charBuffer;
+
+    int count;
+
+    char highSurrogate;
+
+    ChannelWriter(WritableByteChannel channel, ByteBuffer byteBuffer, Charset charset, int flushThreshold)
+    {
+      this.channel = channel;
+      this.byteBuffer = byteBuffer;
+      this.flushThreshold = flushThreshold;
+      byteBuffer.clear();
+      isUTF8 = "UTF-8".equals(charset.name()) && byteBuffer.hasArray() && byteBuffer.capacity() >= 4;
+      if (isUTF8)
+      {
+        bytes = byteBuffer.array();
+        offset = byteBuffer.arrayOffset();
+        capacity = byteBuffer.capacity();
+        encoder = null;
+        charBuffer = null;
+      }
+      else
+      {
+        bytes = null;
+        offset = 0;
+        capacity = 0;
+        encoder = charset.newEncoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+        charBuffer = CharBuffer.allocate(BUFFER_SIZE);
+      }
+    }
+
+    void write(char[] chars, int length) throws IOException
+    {
+      if (isUTF8)
+      {
+        encodeUTF8(chars, length);
+      }
+      else
+      {
+        for (int index = 0; index < length; )
+        {
+          int chunk = Math.min(length - index, charBuffer.remaining());
+          charBuffer.put(chars, index, chunk);
+          index += chunk;
+          if (!charBuffer.hasRemaining())
+          {
+            encode(false);
+          }
+        }
+      }
+
+      if (count > flushThreshold)
+      {
+        if (!isUTF8)
+        {
+          encode(false);
+        }
+        drain();
+        if (channel instanceof Flushable)
+        {
+          ((Flushable)channel).flush();
+        }
+        count = 0;
+      }
+    }
+
+    private void encodeUTF8(char[] chars, int length) throws IOException
+    {
+      byte[] bytes = this.bytes;
+      int position = byteBuffer.position() + offset;
+      int limit = offset + capacity - 4;
+      int start = position;
+      for (int i = 0; i < length; ++i)
+      {
+        if (position > limit)
+        {
+          count += position - start;
+          byteBuffer.position(position - offset);
+          drain();
+          position = start = offset;
+        }
+
+        char c = chars[i];
+        if (highSurrogate != 0)
+        {
+          char high = highSurrogate;
+          highSurrogate = 0;
+          if (c >= '\uDC00' && c <= '\uDFFF')
+          {
+            int codePoint = (high << 10) + c - ((0xD800 << 10) + 0xDC00 - 0x10000);
+            bytes[position++] = (byte)(0xF0 | codePoint >> 18);
+            bytes[position++] = (byte)(0x80 | codePoint >> 12 & 0x3F);
+            bytes[position++] = (byte)(0x80 | codePoint >> 6 & 0x3F);
+            bytes[position++] = (byte)(0x80 | codePoint & 0x3F);
+            continue;
+          }
+          bytes[position++] = '?';
+        }
+
+        if (c < 0x80)
+        {
+          bytes[position++] = (byte)c;
+        }
+        else if (c < 0x800)
+        {
+          bytes[position++] = (byte)(0xC0 | c >> 6);
+          bytes[position++] = (byte)(0x80 | c & 0x3F);
+        }
+        else if (c < '\uD800' || c > '\uDFFF')
+        {
+          bytes[position++] = (byte)(0xE0 | c >> 12);
+          bytes[position++] = (byte)(0x80 | c >> 6 & 0x3F);
+          bytes[position++] = (byte)(0x80 | c & 0x3F);
+        }
+        else if (c < '\uDC00')
+        {
+          highSurrogate = c;
+        }
+        else
+        {
+          bytes[position++] = '?';
+        }
+      }
+      count += position - start;
+      byteBuffer.position(position - offset);
+    }
+
+    private void encode(boolean endOfInput) throws IOException
+    {
+      int start = byteBuffer.position();
+      charBuffer.flip();
+      for (;;)
+      {
+        CoderResult result = encoder.encode(charBuffer, byteBuffer, endOfInput);
+        if (result.isOverflow())
+        {
+          count += byteBuffer.position() - start;
+          drain();
+          start = 0;
+        }
+        else
+        {
+          break;
+        }
+      }
+      count += byteBuffer.position() - start;
+      charBuffer.compact();
+    }
+
+    private void drain() throws IOException
+    {
+      byteBuffer.flip();
+      while (byteBuffer.hasRemaining())
+      {
+        channel.write(byteBuffer);
+      }
+      byteBuffer.clear();
+    }
+
+    void close() throws IOException
+    {
+      if (isUTF8)
+      {
+        if (highSurrogate != 0)
+        {
+          highSurrogate = 0;
+          if (!byteBuffer.hasRemaining())
+          {
+            drain();
+          }
+          byteBuffer.put((byte)'?');
+        }
+      }
+      else
+      {
+        encode(true);
+        while (encoder.flush(byteBuffer).isOverflow())
+        {
+          drain();
+        }
+      }
+      drain();
+    }
+  }
+
   protected static class Element
   {
     int size;
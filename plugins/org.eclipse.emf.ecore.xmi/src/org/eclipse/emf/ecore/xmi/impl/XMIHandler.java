@@ -135,7 +135,7 @@ public abstract class XMIHandler extends XMLHandler
                                          -1,
                                          getLineNumber(),
                                          getColumnNumber());
-            forwardSingleReferences.add(ref);
+            addForwardReference(ref);
           }
         }
         else
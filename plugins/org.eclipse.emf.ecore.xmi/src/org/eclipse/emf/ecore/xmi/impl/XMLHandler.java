@@ -20,9 +20,11 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -206,6 +208,14 @@ public abstract class XMLHandler extends DefaultHandler implements XMLDefaultHan
       return value;
     }
 
+    /**
+     * @since 2.17
+     */
+    public void setValue(Object value)
+    {
+      this.value = value;
+    }
+
     public int getPosition()
     {
       return position;
@@ -345,6 +355,41 @@ public abstract class XMLHandler extends DefaultHandler implements XMLDefaultHan
    */
   protected XMLResource.MissingPackageHandler missingPackageHandler;
 
+  /**
+   * @since 2.17
+   */
+  protected XMLResource.StreamingHandler streamingHandler;
+
+  /**
+   * @since 2.17
+   */
+  protected int streamingDepth;
+
+  /**
+   * The number of objects that have been released to the {@link #streamingHandler} from each containment list,
+   * keyed by the URI fragment path of the list's objects up to their index, e.g., <code>//@items.</code>, or by <code>/</code> for the root objects.
+   * @since 2.17
+   */
+  protected Map<String, Integer> releasedObjectCounts;
+
+  /**
+   * The pending {@link SingleReference single} and {@link ManyReference many} forward references while streaming, keyed by the objects that hold them.
+   * @since 2.17
+   */
+  protected Map<EObject, List<Object>> streamedReferences;
+
+  /**
+   * The pending forward references while streaming, keyed by the IDs or URI fragments they target.
+   * @since 2.17
+   */
+  protected Map<String, Set<Object>> streamedReferenceTargets;
+
+  /**
+   * The {@link #sameDocumentProxies same document proxies} while streaming, keyed by the objects that hold them.
+   * @since 2.17
+   */
+  protected Map<EObject, List<InternalEObject>> streamedProxies;
+
   /**
    */
   public XMLHandler(XMLResource xmlResource, XMLHelper helper, Map<?, ?> options)
@@ -509,6 +554,32 @@ public abstract class XMLHandler extends DefaultHandler implements XMLDefaultHan
 
     usePackageNsURIAsLocation = !Boolean.FALSE.equals(options.get(XMLResource.OPTION_USE_PACKAGE_NS_URI_AS_LOCATION));
     missingPackageHandler = (XMLResource.MissingPackageHandler)options.get(XMLResource.OPTION_MISSING_PACKAGE_HANDLER);
+
+    setStreamingHandlerOption(options);
+  }
+
+  /**
+   * @since 2.17
+   */
+  protected void setStreamingHandlerOption(Map<?, ?> options)
+  {
+    streamingHandler = (XMLResource.StreamingHandler)options.get(XMLResource.OPTION_STREAMING_HANDLER);
+    if (streamingHandler != null)
+    {
+      Object depth = options.get(XMLResource.OPTION_STREAMING_DEPTH);
+      streamingDepth = depth instanceof Integer ? (Integer)depth : 1;
+      releasedObjectCounts = new HashMap<String, Integer>();
+      streamedReferences = new LinkedHashMap<EObject, List<Object>>();
+      streamedReferenceTargets = new HashMap<String, Set<Object>>();
+      streamedProxies = new HashMap<EObject, List<InternalEObject>>();
+    }
+    else
+    {
+      releasedObjectCounts = null;
+      streamedReferences = null;
+      streamedReferenceTargets = null;
+      streamedProxies = null;
+    }
   }
 
   protected void setExtendedMetaDataOption(Object extendedMetaDataOption)
@@ -600,6 +671,8 @@ public abstract class XMLHandler extends DefaultHandler implements XMLDefaultHan
         uriHandler.setBaseURI(resourceURI);
       }
     }
+
+    setStreamingHandlerOption(options);
   }
 
   public void reset()
@@ -659,6 +732,11 @@ public abstract class XMLHandler extends DefaultHandler implements XMLDefaultHan
     documentRoot = null;
     usedNullNamespacePackage = false;
     isNamespaceAware = false;
+    streamingHandler = null;
+    releasedObjectCounts = null;
+    streamedReferences = null;
+    streamedReferenceTargets = null;
+    streamedProxies = null;
   }
 
   //
@@ -1088,7 +1166,7 @@ public abstract class XMLHandler extends DefaultHandler implements XMLDefaultHan
           
           try
           {
-            resolvedEObject = xmlResource.getEObject(proxy.eProxyURI().fragment());
+            resolvedEObject = getLoadedEObject(proxy.eProxyURI().fragment());
           }
           catch (RuntimeException exception)
           {
@@ -1175,7 +1253,7 @@ public abstract class XMLHandler extends DefaultHandler implements XMLDefaultHan
       RuntimeException cause = null;
       try
       {
-        obj = xmlResource.getEObject((String) ref.getValue());
+        obj = getLoadedEObject((String) ref.getValue());
       }
       catch (RuntimeException exception)
       {
@@ -1217,7 +1295,7 @@ public abstract class XMLHandler extends DefaultHandler implements XMLDefaultHan
         
         try
         {
-          obj = xmlResource.getEObject(id);
+          obj = getLoadedEObject(id);
           values[j] = obj;
         }
         catch (RuntimeException exception)
@@ -1279,6 +1357,10 @@ public abstract class XMLHandler extends DefaultHandler implements XMLDefaultHan
     }
     helper.recordPrefixToURIMapping();
     helper.popContext();
+    if (streamingHandler != null)
+    {
+      handleStreamedReferences();
+    }
     handleForwardReferences(true);
 
     if (disableNotify)
@@ -1574,14 +1656,15 @@ public abstract class XMLHandler extends DefaultHandler implements XMLDefaultHan
     Object type = types.pop();
     if (type == OBJECT_TYPE)
     {
+      EObject object;
       if (text == null)
       {
-        objects.pop();
+        object = objects.popEObject();
         mixedTargets.pop();
       }
       else
       {
-        EObject object = objects.popEObject();
+        object = objects.popEObject();
         if (mixedTargets.peek() != null &&
               (object.eContainer() != null ||
                  suppressDocumentRoot ||
@@ -1601,6 +1684,11 @@ public abstract class XMLHandler extends DefaultHandler implements XMLDefaultHan
           text = null;
         }
       }
+
+      if (streamingHandler != null && object != null)
+      {
+        handleStreamedObject(object);
+      }
     }
     else if (isIDREF)
     {
@@ -2841,7 +2929,7 @@ public abstract class XMLHandler extends DefaultHandler implements XMLDefaultHan
                                     -1,
                                     getLineNumber(),
                                     getColumnNumber());
-        forwardSingleReferences.add(ref);
+        addForwardReference(ref);
         return;
       }
 
@@ -2865,7 +2953,7 @@ public abstract class XMLHandler extends DefaultHandler implements XMLDefaultHan
 
         if (mustAddOrNotOppositeIsMany)
         {
-          EObject resolvedEObject = xmlResource.getEObject(id);
+          EObject resolvedEObject = getLoadedEObject(id);
           if (resolvedEObject != null)
           {
             setFeatureValue(object, eReference, resolvedEObject);
@@ -2874,6 +2962,24 @@ public abstract class XMLHandler extends DefaultHandler implements XMLDefaultHan
             continue;
           }
         }
+
+        if (!mustAdd && streamingHandler != null)
+        {
+          // The other end of the bidirectional reference can't be relied upon to set this one if either end is released first,
+          // so it's resolved when this object is released.
+          //
+          SingleReference ref = new SingleReference
+                                     (object,
+                                      eReference,
+                                      id,
+                                      position,
+                                      getLineNumber(),
+                                      getColumnNumber());
+          addForwardReference(ref);
+          qName = null;
+          ++position;
+          continue;
+        }
       }
 
       if (mustAdd)
@@ -2904,7 +3010,7 @@ public abstract class XMLHandler extends DefaultHandler implements XMLDefaultHan
                                     positions[i],
                                     getLineNumber(),
                                     getColumnNumber());
-        forwardSingleReferences.add(ref);
+        addForwardReference(ref);
       }
     }
     else
@@ -2921,7 +3027,7 @@ public abstract class XMLHandler extends DefaultHandler implements XMLDefaultHan
                                   currentPositions,
                                   getLineNumber(),
                                   getColumnNumber());
-      forwardManyReferences.add(ref);
+      addForwardReference(ref);
     }
   }
 
@@ -2955,10 +3061,476 @@ public abstract class XMLHandler extends DefaultHandler implements XMLDefaultHan
     //
     if (proxyURI.trimFragment().equals(resourceURI))
     {
-      sameDocumentProxies.add(proxy);
+      if (streamingHandler == null)
+      {
+        sameDocumentProxies.add(proxy);
+      }
+      else
+      {
+        // Index the proxy by the object that holds it so that it's discarded when that object is released.
+        // A proxy that isn't held via a bidirectional reference never needs further processing.
+        //
+        for (EReference eReference : proxy.eClass().getEAllReferences())
+        {
+          EReference oppositeEReference = eReference.getEOpposite();
+          if (oppositeEReference != null && oppositeEReference.isChangeable() && proxy.eIsSet(eReference))
+          {
+            Object value = proxy.eGet(eReference, false);
+            EObject proxyHolder = (EObject)(eReference.isMany() ? ((List<?>)value).get(0) : value);
+            List<InternalEObject> proxies = streamedProxies.get(proxyHolder);
+            if (proxies == null)
+            {
+              proxies = new ArrayList<InternalEObject>();
+              streamedProxies.put(proxyHolder, proxies);
+            }
+            proxies.add(proxy);
+            break;
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Records a pending forward reference to be resolved at the end of the document,
+   * or, while streaming, when the object that holds it is released.
+   * @since 2.17
+   */
+  protected void addForwardReference(SingleReference reference)
+  {
+    if (streamingHandler == null)
+    {
+      forwardSingleReferences.add(reference);
+    }
+    else
+    {
+      addStreamedReference(reference.getObject(), reference, (String)reference.getValue());
     }
   }
 
+  /**
+   * Records a pending forward reference to be resolved at the end of the document,
+   * or, while streaming, when the object that holds it is released.
+   * @since 2.17
+   */
+  protected void addForwardReference(ManyReference reference)
+  {
+    if (streamingHandler == null)
+    {
+      forwardManyReferences.add(reference);
+    }
+    else
+    {
+      for (Object value : reference.getValues())
+      {
+        addStreamedReference(reference.getObject(), reference, (String)value);
+      }
+    }
+  }
+
+  /**
+   * Indexes a pending {@link SingleReference single} or {@link ManyReference many} forward reference
+   * by the object that holds it and by one of the IDs or URI fragments that it targets.
+   * @since 2.17
+   */
+  protected void addStreamedReference(EObject holder, Object reference, String target)
+  {
+    List<Object> references = streamedReferences.get(holder);
+    if (references == null)
+    {
+      references = new ArrayList<Object>();
+      streamedReferences.put(holder, references);
+    }
+    if (references.isEmpty() || references.get(references.size() - 1) != reference)
+    {
+      references.add(reference);
+    }
+
+    Set<Object> targetReferences = streamedReferenceTargets.get(target);
+    if (targetReferences == null)
+    {
+      targetReferences = new HashSet<Object>();
+      streamedReferenceTargets.put(target, targetReferences);
+    }
+    targetReferences.add(reference);
+  }
+
+  /**
+   * Releases the given object to the {@link #streamingHandler} if it's at the {@link #streamingDepth streaming depth}.
+   * Before the handler is called, the pending forward references held by objects in the tree are {@link #resolveForwardReferences(EObject) resolved},
+   * and pending forward references to objects in the tree are replaced by proxies of the appropriate class.
+   * After the handler returns, the object is detached, unless the handler has moved it, the IDs of the objects in its tree are removed from the resource,
+   * and the object is counted in {@link #releasedObjectCounts} so that URI fragment paths continue to denote the objects of the complete document.
+   * @since 2.17
+   */
+  protected void handleStreamedObject(EObject object)
+  {
+    InternalEObject internalEObject = (InternalEObject)object;
+    if (internalEObject.eIsProxy())
+    {
+      return;
+    }
+
+    int depth = 0;
+    for (InternalEObject container = internalEObject.eInternalContainer(); container != null; container = container.eInternalContainer())
+    {
+      if (container.eInternalContainer() != null || extendedMetaData == null || !extendedMetaData.isDocumentRoot(container.eClass()))
+      {
+        ++depth;
+      }
+    }
+
+    InternalEObject container = internalEObject.eInternalContainer();
+    if (depth != streamingDepth ||
+          container == null && internalEObject.eDirectResource() != xmlResource && (deferredExtent == null || !deferredExtent.contains(object)))
+    {
+      return;
+    }
+
+    // Determine the list from which the object will be released.
+    //
+    String releasedObjectCountKey = null;
+    if (container == null)
+    {
+      releasedObjectCountKey = "/";
+    }
+    else
+    {
+      String segment = container.eURIFragmentSegment(internalEObject.eContainingFeature(), internalEObject);
+      int index = segment.lastIndexOf('.');
+      if (index != -1)
+      {
+        releasedObjectCountKey = getStreamedURIFragmentPath(container) + "/" + segment.substring(0, index + 1);
+      }
+    }
+
+    List<EObject> releasedObjects = new ArrayList<EObject>();
+    for (Iterator<EObject> i = EcoreUtil.getAllProperContents(Collections.singleton(object), false); i.hasNext(); )
+    {
+      releasedObjects.add(i.next());
+    }
+
+    // Resolve the references held by the tree while the objects of the tree that they might reference are still attached.
+    //
+    for (EObject eObject : releasedObjects)
+    {
+      resolveForwardReferences(eObject);
+      streamedProxies.remove(eObject);
+    }
+
+    List<EObject> identifiedObjects = new ArrayList<EObject>();
+    for (EObject eObject : releasedObjects)
+    {
+      String id = xmlResource.getID(eObject);
+      if (id != null)
+      {
+        identifiedObjects.add(eObject);
+      }
+
+      if (!streamedReferenceTargets.isEmpty())
+      {
+        if (id != null)
+        {
+          releaseStreamedReferenceTarget(eObject, id);
+        }
+        releaseStreamedReferenceTarget(eObject, getStreamedURIFragmentPath(eObject));
+      }
+
+      eObjectToExtensionMap.remove(eObject);
+      if (disableNotify)
+      {
+        eObject.eSetDeliver(true);
+      }
+    }
+
+    streamingHandler.handle(xmlResource, object);
+
+    if (container != null)
+    {
+      if (internalEObject.eInternalContainer() == container)
+      {
+        EcoreUtil.remove(object);
+      }
+    }
+    else if (deferredExtent != null)
+    {
+      deferredExtent.remove(object);
+    }
+    else if (internalEObject.eDirectResource() == xmlResource)
+    {
+      extent.remove(object);
+    }
+
+    if (releasedObjectCountKey != null)
+    {
+      Integer count = releasedObjectCounts.get(releasedObjectCountKey);
+      releasedObjectCounts.put(releasedObjectCountKey, count == null ? 1 : count + 1);
+    }
+
+    for (EObject eObject : identifiedObjects)
+    {
+      xmlResource.setID(eObject, null);
+    }
+  }
+
+  /**
+   * Resolves the pending forward references held by the given object,
+   * which is about to be released to the {@link #streamingHandler}, or which remains at the end of the document.
+   * @see #getStreamedReferenceValue(EReference, String)
+   * @since 2.17
+   */
+  protected void resolveForwardReferences(EObject holder)
+  {
+    List<Object> references = streamedReferences.remove(holder);
+    if (references != null)
+    {
+      for (Object reference : references)
+      {
+        if (reference instanceof SingleReference)
+        {
+          SingleReference ref = (SingleReference)reference;
+          Object value = ref.getValue();
+          if (value instanceof String)
+          {
+            String id = (String)value;
+            removeStreamedReferenceTarget(ref, id);
+            value = getStreamedReferenceValue((EReference)ref.getFeature(), id);
+            if (value == null)
+            {
+              error(new UnresolvedReferenceException(ref.getObject(), ref.getFeature(), id, getLocation(), ref.getLineNumber(), ref.getColumnNumber()));
+              continue;
+            }
+          }
+          setFeatureValue(ref.getObject(), ref.getFeature(), value, ref.getPosition());
+        }
+        else
+        {
+          ManyReference ref = (ManyReference)reference;
+          Object[] values = ref.getValues();
+          for (int j = 0; j < values.length; ++j)
+          {
+            if (values[j] instanceof String)
+            {
+              String id = (String)values[j];
+              removeStreamedReferenceTarget(ref, id);
+              values[j] = getStreamedReferenceValue((EReference)ref.getFeature(), id);
+              if (values[j] == null)
+              {
+                error(new UnresolvedReferenceException(ref.getObject(), ref.getFeature(), id, getLocation(), ref.getLineNumber(), ref.getColumnNumber()));
+              }
+            }
+          }
+          setFeatureValues(ref);
+        }
+      }
+    }
+  }
+
+  /**
+   * Resolves the pending forward references that remain at the end of the document while streaming,
+   * and hands the remaining {@link #streamedProxies} over to the {@link #sameDocumentProxies}.
+   * @since 2.17
+   */
+  protected void handleStreamedReferences()
+  {
+    for (EObject holder : new ArrayList<EObject>(streamedReferences.keySet()))
+    {
+      resolveForwardReferences(holder);
+    }
+
+    for (List<InternalEObject> proxies : streamedProxies.values())
+    {
+      sameDocumentProxies.addAll(proxies);
+    }
+    streamedProxies.clear();
+  }
+
+  /**
+   * Removes the given pending forward reference from the references indexed by the given ID or URI fragment.
+   * @since 2.17
+   */
+  protected void removeStreamedReferenceTarget(Object reference, String target)
+  {
+    Set<Object> references = streamedReferenceTargets.get(target);
+    if (references != null && references.remove(reference) && references.isEmpty())
+    {
+      streamedReferenceTargets.remove(target);
+    }
+  }
+
+  /**
+   * Replaces the given ID or URI fragment in each pending forward reference that targets it with a proxy for the given object,
+   * which is about to be released to the {@link #streamingHandler}.
+   * @since 2.17
+   */
+  protected void releaseStreamedReferenceTarget(EObject eObject, String target)
+  {
+    Set<Object> references = streamedReferenceTargets.remove(target);
+    if (references != null)
+    {
+      for (Object reference : references)
+      {
+        if (reference instanceof SingleReference)
+        {
+          ((SingleReference)reference).setValue(createStreamedObjectProxy(eObject.eClass(), target));
+        }
+        else
+        {
+          Object[] values = ((ManyReference)reference).getValues();
+          for (int j = 0; j < values.length; ++j)
+          {
+            if (target.equals(values[j]))
+            {
+              values[j] = createStreamedObjectProxy(eObject.eClass(), target);
+            }
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the URI fragment path of the given object in the complete document,
+   * i.e., taking into account the objects that have been released to the {@link #streamingHandler} ahead of it.
+   * @since 2.17
+   */
+  protected String getStreamedURIFragmentPath(EObject eObject)
+  {
+    InternalEObject internalEObject = (InternalEObject)eObject;
+    InternalEObject container = internalEObject.eInternalContainer();
+    if (container == null)
+    {
+      List<EObject> roots = deferredExtent != null ? deferredExtent : extent;
+      Integer count = releasedObjectCounts.get("/");
+      return
+        count != null ?
+          "/" + (count + roots.indexOf(eObject)) :
+          roots.size() > 1 ? "/" + roots.indexOf(eObject) : "/";
+    }
+    else
+    {
+      String path = getStreamedURIFragmentPath(container) + "/";
+      String segment = container.eURIFragmentSegment(internalEObject.eContainingFeature(), internalEObject);
+      int index = segment.lastIndexOf('.');
+      if (index != -1)
+      {
+        String key = path + segment.substring(0, index + 1);
+        Integer count = releasedObjectCounts.get(key);
+        if (count != null)
+        {
+          return key + (count + Integer.parseInt(segment.substring(index + 1)));
+        }
+      }
+      return path + segment;
+    }
+  }
+
+  /**
+   * Returns the object in the resource with the given ID or URI fragment.
+   * While streaming, a URI fragment path denotes an object of the complete document,
+   * so its index in a list from which objects have been released to the {@link #streamingHandler} is adjusted accordingly,
+   * and <code>null</code> is returned for an object that's been released.
+   * @since 2.17
+   */
+  protected EObject getLoadedEObject(String id)
+  {
+    if (releasedObjectCounts != null && !releasedObjectCounts.isEmpty() && id.startsWith("/"))
+    {
+      // At most one segment of the path indexes a list from which objects have been released.
+      //
+      for (int start = 0; start != -1; )
+      {
+        int end = id.indexOf('/', start + 1);
+        int indexStart = -1;
+        if (start == 0)
+        {
+          indexStart = 1;
+        }
+        else
+        {
+          int index = id.lastIndexOf('.', end == -1 ? id.length() - 1 : end - 1);
+          if (index > start)
+          {
+            indexStart = index + 1;
+          }
+        }
+
+        if (indexStart != -1)
+        {
+          Integer count = releasedObjectCounts.get(start == 0 ? "/" : id.substring(0, indexStart));
+          if (count != null)
+          {
+            int indexEnd = end == -1 ? id.length() : end;
+            int index = 0;
+            for (int i = indexStart; i < indexEnd; ++i)
+            {
+              char character = id.charAt(i);
+              if (character < '0' || character > '9')
+              {
+                return xmlResource.getEObject(id);
+              }
+              index = index * 10 + character - '0';
+            }
+            if (index < count)
+            {
+              return null;
+            }
+            id = id.substring(0, indexStart) + (index - count) + id.substring(indexEnd);
+            break;
+          }
+        }
+        start = end;
+      }
+    }
+
+    return xmlResource.getEObject(id);
+  }
+
+  /**
+   * Returns the value for a reference, from an object about to be released to the {@link #streamingHandler}, to the object with the given ID.
+   * That's the object itself if it's still loaded,
+   * or otherwise, because the class of an object that was released before the reference was read isn't recorded,
+   * a proxy of the reference's type, if that type is concrete,
+   * or <code>null</code>.
+   * @since 2.17
+   */
+  protected EObject getStreamedReferenceValue(EReference eReference, String id)
+  {
+    EObject result = null;
+    try
+    {
+      result = getLoadedEObject(id);
+    }
+    catch (RuntimeException exception)
+    {
+      // Ignore exceptions, e.g., when a URI fragment is used but is ill-formed.
+    }
+
+    if (result == null)
+    {
+      EClass eClass = eReference.getEReferenceType();
+      if (!eClass.isAbstract() && !eClass.isInterface())
+      {
+        result = createStreamedObjectProxy(eClass, id);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Creates a proxy of the given class for the object in this resource with the given URI fragment.
+   * @since 2.17
+   */
+  protected EObject createStreamedObjectProxy(EClass eClass, String uriFragment)
+  {
+    InternalEObject proxy = (InternalEObject)helper.createObject(eClass.getEPackage().getEFactoryInstance(), eClass);
+    if (proxy != null)
+    {
+      proxy.eSetProxyURI((resourceURI == null ? URI.createURI("") : resourceURI).appendFragment(uriFragment));
+    }
+    return proxy;
+  }
+
   protected void growArrays() {
     int oldCapacity = capacity;
     capacity = capacity * 2;
@@ -2978,6 +3550,18 @@ public abstract class XMLHandler extends DefaultHandler implements XMLDefaultHan
     return types.peek() == ERROR_TYPE;
   }
 
+  /**
+   * Returns true if the content of the XML element that was just started will be ignored,
+   * so that a parser that can skip content need not report it; false otherwise.
+   * The content of an element in error is ignored unless it contributes text to an enclosing element.
+   * @see StAXParser
+   * @since 2.17
+   */
+  protected boolean isSkippable()
+  {
+    return isError() && text == null && mixedTargets.peek() == null;
+  }
+
   static class EClassFeatureNamePair
   {
     public EClass eClass;
@@ -13,8 +13,10 @@ package org.eclipse.emf.ecore.xmi.impl;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.StringTokenizer;
 import java.util.TreeMap;
 
@@ -92,6 +94,14 @@ public class XMLHelperImpl implements XMLHelper
   
   private EPackage previousPackage;
   private String previousNS;
+
+  private int segmentPrefixCount;
+  private Set<EPackage> segmentPackages;
+
+  /**
+   * The objects whose references have been computed, if they're being recorded.
+   */
+  List<EObject> referencedObjects;
   
   public static String saveString(Map<?, ?> options, List<? extends EObject> contents, String encoding, XMLHelper helper) throws Exception
   {
@@ -615,6 +625,95 @@ public class XMLHelperImpl implements XMLHelper
     return nsPrefix;
   }
 
+  /**
+   * Prepares this helper to serialize a segment of the document serialized by the given helper,
+   * i.e., to start with the same prefixes and packages.
+   */
+  void initializeSegment(XMLHelperImpl helper)
+  {
+    for (Map.Entry<String, String> entry : helper.prefixesToURIs)
+    {
+      String prefix = entry.getKey();
+      if (!prefixesToURIs.containsKey(prefix))
+      {
+        prefixesToURIs.put(prefix, entry.getValue());
+      }
+    }
+    packages.putAll(helper.packages);
+    segmentPrefixCount = prefixesToURIs.size();
+    segmentPackages = new HashSet<EPackage>(packages.keySet());
+  }
+
+  /**
+   * Returns whether this helper, of a segment, hasn't introduced any prefixes or packages nor recorded a dangling reference.
+   */
+  boolean isSegmentUnchanged()
+  {
+    return danglingHREFException == null && prefixesToURIs.size() == segmentPrefixCount && packages.size() == segmentPackages.size();
+  }
+
+  /**
+   * Adds the prefixes and packages introduced by the helper of a segment, 
+   * returning false, without any changes, if they aren't the same ones that this helper would have introduced,
+   * or if the segment has a dangling reference.
+   */
+  boolean mergeSegment(XMLHelperImpl segmentHelper)
+  {
+    if (segmentHelper.danglingHREFException != null)
+    {
+      return false;
+    }
+
+    EMap<String, String> segmentPrefixesToURIs = segmentHelper.prefixesToURIs;
+    int size = segmentPrefixesToURIs.size();
+    for (int i = segmentHelper.segmentPrefixCount; i < size; ++i)
+    {
+      Map.Entry<String, String> entry = segmentPrefixesToURIs.get(i);
+      String prefix = entry.getKey();
+      List<String> prefixes = urisToPrefixes.get(entry.getValue());
+      if (prefixesToURIs.containsKey(prefix) ?
+            prefixes == null || prefixes.size() != 1 || !prefix.equals(prefixes.get(0)) :
+            prefixes != null && !prefixes.isEmpty())
+      {
+        return false;
+      }
+    }
+
+    Map<EPackage, String> segmentPackages = segmentHelper.packages;
+    for (Map.Entry<EPackage, String> entry : segmentPackages.entrySet())
+    {
+      EPackage ePackage = entry.getKey();
+      if (!segmentHelper.segmentPackages.contains(ePackage) && packages.containsKey(ePackage))
+      {
+        String prefix = packages.get(ePackage);
+        if (prefix == null ? entry.getValue() != null : !prefix.equals(entry.getValue()))
+        {
+          return false;
+        }
+      }
+    }
+
+    for (int i = segmentHelper.segmentPrefixCount; i < size; ++i)
+    {
+      Map.Entry<String, String> entry = segmentPrefixesToURIs.get(i);
+      String prefix = entry.getKey();
+      if (!prefixesToURIs.containsKey(prefix))
+      {
+        prefixesToURIs.put(prefix, entry.getValue());
+      }
+    }
+    for (Map.Entry<EPackage, String> entry : segmentPackages.entrySet())
+    {
+      EPackage ePackage = entry.getKey();
+      if (!packages.containsKey(ePackage))
+      {
+        packages.put(ePackage, entry.getValue());
+      }
+    }
+
+    return true;
+  }
+
   public List<String> getPrefixes(EPackage ePackage)
   {
     List<String> result = new UniqueEList<String>();
@@ -744,6 +843,10 @@ public class XMLHelperImpl implements XMLHelper
 
   public String getIDREF(EObject obj)
   {
+    if (referencedObjects != null)
+    {
+      referencedObjects.add(obj);
+    }
     return resource == null ? null : getURIFragment(resource, obj);
   }
 
@@ -760,7 +863,9 @@ public class XMLHelperImpl implements XMLHelper
         danglingHREFException = exception;
       }
    
-      if (resource != null)
+      // The helper of a segment only records the exception because the segment will be serialized again.
+      //
+      if (resource != null && segmentPackages == null)
       {
         resource.getErrors().add(exception);
       }
@@ -771,6 +876,11 @@ public class XMLHelperImpl implements XMLHelper
 
   public String getHREF(EObject obj)
   {
+    if (referencedObjects != null)
+    {
+      referencedObjects.add(obj);
+    }
+
     InternalEObject o = (InternalEObject) obj;
 
     URI objectURI = o.eProxyURI();
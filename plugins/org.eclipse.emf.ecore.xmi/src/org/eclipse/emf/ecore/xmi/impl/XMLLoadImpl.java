@@ -109,6 +109,22 @@ public class XMLLoadImpl implements XMLLoad
     this.resource = resource;
     is = inputStream;
     this.options = options;
+
+    if (useStAX())
+    {
+      InputSource inputSource = new InputSource(is);
+      if (resource.getURI() != null)
+      {
+        String resourceURI = resource.getURI().toString();
+        inputSource.setPublicId(resourceURI);
+        inputSource.setSystemId(resourceURI);
+      }
+      if (loadStAX(inputSource))
+      {
+        return;
+      }
+    }
+
     XMLParserPool pool = (XMLParserPool)options.get(XMLResource.OPTION_USE_PARSER_POOL);
     @SuppressWarnings("unchecked") Map<String, Boolean> parserFeatures = (Map<String, Boolean>)options.get(XMLResource.OPTION_PARSER_FEATURES);
     @SuppressWarnings("unchecked") Map<String, ?> parserProperties = (Map<String, ?>)options.get(XMLResource.OPTION_PARSER_PROPERTIES);
@@ -206,6 +222,12 @@ public class XMLLoadImpl implements XMLLoad
     this.resource = resource;
    
     this.options = options;
+
+    if (useStAX() && loadStAX(inputSource))
+    {
+      return;
+    }
+
     XMLParserPool pool = (XMLParserPool)options.get(XMLResource.OPTION_USE_PARSER_POOL);
     @SuppressWarnings("unchecked") Map<String, Boolean> parserFeatures = (Map<String, Boolean>)options.get(XMLResource.OPTION_PARSER_FEATURES);
     @SuppressWarnings("unchecked") Map<String, ?> parserProperties = (Map<String, ?>)options.get(XMLResource.OPTION_PARSER_PROPERTIES);
@@ -284,6 +306,47 @@ public class XMLLoadImpl implements XMLLoad
     }
   }
 
+  /**
+   * Returns whether the {@link XMLResource#OPTION_USE_STAX} option is specified.
+   * @since 2.17
+   */
+  protected boolean useStAX()
+  {
+    Object value = options.get(XMLResource.OPTION_USE_STAX);
+    return value != null && !Boolean.FALSE.equals(value);
+  }
+
+  /**
+   * Loads the input source with a {@link StAXParser StAX parser} that drives the handler directly,
+   * returning false, without loading, if the handler isn't an {@link XMLHandler}.
+   * @since 2.17
+   */
+  protected boolean loadStAX(InputSource inputSource) throws IOException
+  {
+    XMLParserPool pool = (XMLParserPool)options.get(XMLResource.OPTION_USE_PARSER_POOL);
+    DefaultHandler handler = pool != null ? (DefaultHandler)pool.getDefaultHandler(resource, this, helper, options) : makeDefaultHandler();
+    if (!(handler instanceof XMLHandler))
+    {
+      if (pool != null)
+      {
+        pool.releaseDefaultHandler((XMLDefaultHandler)handler, options);
+      }
+      return false;
+    }
+
+    new StAXParser(options).parse(inputSource, (XMLHandler)handler);
+
+    // release handler back to the pool
+    if (pool != null)
+    {
+      pool.releaseDefaultHandler((XMLDefaultHandler)handler, options);
+    }
+
+    helper = null;
+    handleErrors();
+    return true;
+  }
+
   /**
    * Make either a validating or non-validating parser;
    * throw an if one could not be made.
@@ -26,6 +26,7 @@ import java.util.WeakHashMap;
 import javax.xml.parsers.DocumentBuilderFactory;
 
 import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.util.TreeIterator;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.InternalEObject;
@@ -79,6 +80,13 @@ public class XMLResourceImpl extends ResourceImpl implements XMLResource
   protected String systemId;
   protected DOMHandler domHandler;
 
+  /**
+   * The adapter that tracks the modifications since the last {@link XMLResource#OPTION_INCREMENTAL_SAVE incremental save}, if any.
+   * @see #getIncrementalSaveAdapter()
+   * @since 2.17
+   */
+  protected IncrementalSaveAdapter incrementalSaveAdapter;
+
   /**
    * The map from {@link EObject} to {@link #getID ID}. It is used to store
    * IDs for objects that have been detached.
@@ -618,6 +626,39 @@ public class XMLResourceImpl extends ResourceImpl implements XMLResource
     {
       getIDToEObjectMap().put(id, eObject);
     }
+
+    if (incrementalSaveAdapter != null && eObject.eResource() == this)
+    {
+      incrementalSaveAdapter.modified(eObject);
+    }
+  }
+
+  /**
+   * Returns the adapter that tracks the modifications since the last {@link XMLResource#OPTION_INCREMENTAL_SAVE incremental save},
+   * creating it, and attaching it to the resource and to each of its objects, if necessary.
+   * @since 2.17
+   */
+  protected IncrementalSaveAdapter getIncrementalSaveAdapter()
+  {
+    if (incrementalSaveAdapter == null)
+    {
+      incrementalSaveAdapter = createIncrementalSaveAdapter();
+      eAdapters().add(incrementalSaveAdapter);
+      for (TreeIterator<EObject> i = getAllProperContents(getContents()); i.hasNext(); )
+      {
+        i.next().eAdapters().add(incrementalSaveAdapter);
+      }
+    }
+    return incrementalSaveAdapter;
+  }
+
+  /**
+   * Creates the adapter that tracks the modifications since the last {@link XMLResource#OPTION_INCREMENTAL_SAVE incremental save}.
+   * @since 2.17
+   */
+  protected IncrementalSaveAdapter createIncrementalSaveAdapter()
+  {
+    return new IncrementalSaveAdapter(this);
   }
 
   /*
@@ -661,13 +702,18 @@ public class XMLResourceImpl extends ResourceImpl implements XMLResource
   @Override
   protected boolean isAttachedDetachedHelperRequired()
   {
-    return useIDs() || super.isAttachedDetachedHelperRequired();
+    return useIDs() || incrementalSaveAdapter != null || super.isAttachedDetachedHelperRequired();
   }
 
   @Override
   protected void attachedHelper(EObject eObject)
   {
     super.attachedHelper(eObject);
+
+    if (incrementalSaveAdapter != null)
+    {
+      eObject.eAdapters().add(incrementalSaveAdapter);
+    }
     
     if (useIDs())
     {
@@ -706,6 +752,11 @@ public class XMLResourceImpl extends ResourceImpl implements XMLResource
         setID(eObject, null);
       }
     }
+
+    if (incrementalSaveAdapter != null)
+    {
+      eObject.eAdapters().remove(incrementalSaveAdapter);
+    }
     
     super.detachedHelper(eObject);
   }
@@ -713,10 +764,23 @@ public class XMLResourceImpl extends ResourceImpl implements XMLResource
   /**
    * Does all the work of unloading the resource. It calls doUnload in
    * ResourceImpl, then it clears {@link #idToEObjectMap} and {@link #eObjectToIDMap} as necessary.
+   * It also discards the {@link #incrementalSaveAdapter incremental save adapter}.
    */
   @Override
   protected void doUnload()
   {
+    if (incrementalSaveAdapter != null)
+    {
+      IncrementalSaveAdapter oldIncrementalSaveAdapter = incrementalSaveAdapter;
+      incrementalSaveAdapter = null;
+      oldIncrementalSaveAdapter.invalidate();
+      eAdapters().remove(oldIncrementalSaveAdapter);
+      for (TreeIterator<EObject> i = getAllProperContents(getContents()); i.hasNext(); )
+      {
+        i.next().eAdapters().remove(oldIncrementalSaveAdapter);
+      }
+    }
+
     super.doUnload();
 
     if (idToEObjectMap != null)
@@ -12,11 +12,15 @@ package org.eclipse.emf.ecore.xmi.impl;
 
 
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.Flushable;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -26,6 +30,11 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.eclipse.emf.common.util.EMap;
 import org.eclipse.emf.common.util.URI;
@@ -115,6 +124,36 @@ public class XMLSaveImpl implements XMLSave
   protected List<? extends EObject> roots;
   protected XMLResource.ElementHandler elementHandler;
   protected boolean proxyAttributes;
+
+  /**
+   * Whether to encode directly into a byte buffer written to a channel when saving to an output stream.
+   * @see XMLResource#OPTION_USE_BYTE_CHANNEL
+   * @since 2.17
+   */
+  protected boolean useByteChannel;
+
+  /**
+   * The executor used to serialize segments of the contents of the top level objects in parallel.
+   * @see XMLResource#OPTION_SAVE_EXECUTOR
+   * @since 2.17
+   */
+  protected Executor segmentExecutor;
+
+  private Map<?, ?> segmentOptions;
+
+  /**
+   * The adapter that records the layout of this serialization, if it's an {@link XMLResource#OPTION_INCREMENTAL_SAVE incremental save}.
+   * @since 2.17
+   */
+  protected IncrementalSaveAdapter incrementalSaveAdapter;
+
+  private Set<EObject> unitContainers;
+
+  private List<IncrementalSaveAdapter.Unit> units;
+
+  private List<Object> unitPositions;
+
+  private List<List<EObject>> unitReferencedObjects;
   
   protected static final int SKIP = 0;
   protected static final int SAME_DOC = 1;
@@ -222,7 +261,7 @@ public class XMLSaveImpl implements XMLSave
     {
       contents = resource.getContents();
     }
-    traverse(contents);
+    traverseIncrementally(contents, options);
     
     write(writer);
     writer.flush();
@@ -248,9 +287,18 @@ public class XMLSaveImpl implements XMLSave
     {
       contents = resource.getContents();
     }
-    traverse(contents);
+    traverseIncrementally(contents, options);
 
-    if ("US-ASCII".equals(encoding) || "ASCII".equals(encoding))
+    if (useByteChannel)
+    {
+      WritableByteChannel channel =
+        outputStream instanceof FileOutputStream ?
+          ((FileOutputStream)outputStream).getChannel() :
+          new OutputStreamChannel(outputStream);
+      write(channel);
+      outputStream.flush();
+    }
+    else if ("US-ASCII".equals(encoding) || "ASCII".equals(encoding))
     {
       writeAscii(outputStream);
       outputStream.flush();
@@ -321,6 +369,7 @@ public class XMLSaveImpl implements XMLSave
   protected void init(XMLResource resource, Map<?, ?> options)
   {
     useCache =  Boolean.TRUE.equals(options.get(XMLResource.OPTION_CONFIGURATION_CACHE));
+    useByteChannel = Boolean.TRUE.equals(options.get(XMLResource.OPTION_USE_BYTE_CHANNEL));
 
     nameInfo = new NameInfoImpl();
     declareXSI = false;
@@ -570,6 +619,235 @@ public class XMLSaveImpl implements XMLSave
     helper.setOptions(options);
     
     proxyAttributes = Boolean.TRUE.equals(options.get(XMLResource.OPTION_PROXY_ATTRIBUTES));
+
+    segmentExecutor = toDOM || resourceEntityHandler != null ? null : (Executor)options.get(XMLResource.OPTION_SAVE_EXECUTOR);
+    incrementalSaveAdapter = null;
+    if (!toDOM &&
+          Boolean.TRUE.equals(options.get(XMLResource.OPTION_INCREMENTAL_SAVE)) &&
+          resource instanceof XMLResourceImpl &&
+          helper instanceof XMLHelperImpl &&
+          resourceEntityHandler == null &&
+          doc.getTemporaryFileName() == null &&
+          options.get(XMLResource.OPTION_ROOT_OBJECTS) == null)
+    {
+      incrementalSaveAdapter = ((XMLResourceImpl)resource).getIncrementalSaveAdapter();
+      segmentExecutor = null;
+    }
+    if (segmentExecutor != null || incrementalSaveAdapter != null)
+    {
+      // The serializers of the segments must not serialize in parallel themselves, must not share any cached state with this one,
+      // and must use the same extended metadata so that they produce the same names and prefixes.
+      //
+      Map<Object, Object> segmentOptions = new HashMap<Object, Object>(options);
+      segmentOptions.remove(XMLResource.OPTION_SAVE_EXECUTOR);
+      segmentOptions.remove(XMLResource.OPTION_INCREMENTAL_SAVE);
+      segmentOptions.remove(XMLResource.OPTION_CONFIGURATION_CACHE);
+      segmentOptions.remove(XMLResource.OPTION_USE_CACHED_LOOKUP_TABLE);
+      segmentOptions.remove(XMLResource.OPTION_USE_FILE_BUFFER);
+      segmentOptions.remove(XMLResource.OPTION_SAVE_DOCTYPE);
+      if (extendedMetaData != null)
+      {
+        segmentOptions.put(XMLResource.OPTION_EXTENDED_META_DATA, extendedMetaData);
+      }
+      this.segmentOptions = segmentOptions;
+    }
+  }
+
+  /**
+   * Traverses the contents, 
+   * or, if this is an {@link XMLResource#OPTION_INCREMENTAL_SAVE incremental save} and the recorded layout is still valid,
+   * {@link #saveModifiedUnits(Map) splices} the serialization of the modified units into the recorded serialization.
+   * @since 2.17
+   */
+  protected void traverseIncrementally(List<? extends EObject> contents, Map<?, ?> options)
+  {
+    if (incrementalSaveAdapter == null)
+    {
+      traverse(contents);
+    }
+    else if (!saveModifiedUnits(options))
+    {
+      startRecording(contents);
+      traverse(contents);
+      finishRecording(options);
+    }
+  }
+
+  private void startRecording(List<? extends EObject> contents)
+  {
+    unitContainers = new HashSet<EObject>();
+    for (EObject eObject : contents)
+    {
+      EClass eClass = eObject.eClass();
+      if (!(eObject instanceof AnyType) && (extendedMetaData == null || featureTable.getDocumentRoot(eClass.getEPackage()) != eClass))
+      {
+        unitContainers.add(eObject);
+      }
+    }
+    units = new ArrayList<IncrementalSaveAdapter.Unit>();
+    unitPositions = new ArrayList<Object>();
+    unitReferencedObjects = new ArrayList<List<EObject>>();
+    ((XMLHelperImpl)helper).referencedObjects = new ArrayList<EObject>();
+  }
+
+  private void finishRecording(Map<?, ?> options)
+  {
+    ((XMLHelperImpl)helper).referencedObjects = null;
+    if (units == null)
+    {
+      incrementalSaveAdapter.invalidate();
+    }
+    else
+    {
+      int[] offsets = doc.getOffsets(unitPositions);
+      for (int i = 0, size = units.size(); i < size; ++i)
+      {
+        IncrementalSaveAdapter.Unit unit = units.get(i);
+        unit.start = offsets[2 * i];
+        unit.end = offsets[2 * i + 1];
+      }
+      char[] text = new char [doc.getLength()];
+      doc.getChars(text, 0);
+      incrementalSaveAdapter.reset(new String(text), units, unitReferencedObjects, options, encoding, xmlVersion, (XMLHelperImpl)helper, declareXSI);
+    }
+    unitContainers = null;
+    units = null;
+    unitPositions = null;
+    unitReferencedObjects = null;
+  }
+
+  private void saveUnit(InternalEObject o, EStructuralFeature f)
+  {
+    // The unit must start on a new line, after the start tag of its container.
+    //
+    if (doc.lastElementIsStart)
+    {
+      doc.closeStartElement();
+    }
+    if (doc.lineWidth != Integer.MAX_VALUE && doc.currentLineWidth != 0)
+    {
+      unitContainers = null;
+      units = null;
+      unitPositions = null;
+      unitReferencedObjects = null;
+      saveElement(o, f);
+    }
+    else
+    {
+      units.add(new IncrementalSaveAdapter.Unit(o, f, doc.depth, doc.isMixed));
+      unitPositions.add(doc.getPosition());
+      List<EObject> referencedObjects = ((XMLHelperImpl)helper).referencedObjects;
+      referencedObjects.clear();
+      Set<EObject> unitContainers = this.unitContainers;
+      this.unitContainers = null;
+      try
+      {
+        saveElement(o, f);
+      }
+      finally
+      {
+        this.unitContainers = unitContainers;
+      }
+      unitPositions.add(doc.getPosition());
+      unitReferencedObjects.add(new ArrayList<EObject>(referencedObjects));
+    }
+  }
+
+  /**
+   * Serializes the units of the {@link #incrementalSaveAdapter recorded layout} that must be serialized again,
+   * using a {@link #createSegmentSave() separate serializer},
+   * and splices them into the recorded serialization, updating the layout.
+   * Returns false, having serialized nothing, if the layout isn't valid for this serialization,
+   * or if the serialization of the units isn't consistent with the recorded serialization,
+   * e.g., because it requires new namespace declarations.
+   * @since 2.17
+   */
+  protected boolean saveModifiedUnits(Map<?, ?> options)
+  {
+    IncrementalSaveAdapter adapter = incrementalSaveAdapter;
+    if (!adapter.isValid(options, encoding, xmlVersion))
+    {
+      return false;
+    }
+
+    // When most units must be serialized again, it's cheaper to do a complete save that records a new layout.
+    //
+    List<IncrementalSaveAdapter.Unit> modifiedUnits = adapter.getModifiedUnits();
+    int size = modifiedUnits.size();
+    if (size > adapter.units.size() / 2)
+    {
+      return false;
+    }
+    String[] unitTexts = new String [size];
+    List<List<EObject>> referencedObjects = new ArrayList<List<EObject>>(size);
+    if (size != 0)
+    {
+      XMLSaveImpl segmentSave = createSegmentSave();
+      if (segmentSave == null)
+      {
+        return false;
+      }
+
+      segmentSave.xmlResource = xmlResource;
+      segmentSave.init(xmlResource, segmentOptions);
+      XMLHelperImpl segmentHelper = (XMLHelperImpl)segmentSave.helper;
+      segmentHelper.initializeSegment(adapter.helper);
+      segmentHelper.referencedObjects = new ArrayList<EObject>();
+      for (int i = 0; i < size; ++i)
+      {
+        IncrementalSaveAdapter.Unit unit = modifiedUnits.get(i);
+        XMLString unitDoc = doc.createSegment(unit.depth, unit.isMixed);
+        segmentSave.doc = unitDoc;
+        segmentSave.root = unit.eObject.eContainer();
+        segmentSave.saveElement((InternalEObject)unit.eObject, unit.feature);
+        char[] text = new char [unitDoc.getLength()];
+        unitDoc.getChars(text, 0);
+        unitTexts[i] = new String(text);
+        referencedObjects.add(new ArrayList<EObject>(segmentHelper.referencedObjects));
+        segmentHelper.referencedObjects.clear();
+      }
+
+      if (!segmentHelper.isSegmentUnchanged() || segmentSave.declareXSI && !adapter.declareXSI)
+      {
+        return false;
+      }
+    }
+
+    String text = adapter.text;
+    StringBuilder result = new StringBuilder(text.length());
+    int position = 0;
+    for (int i = 0, j = 0, count = adapter.units.size(); i < count; ++i)
+    {
+      IncrementalSaveAdapter.Unit unit = adapter.units.get(i);
+      result.append(text, position, unit.start);
+      int start = result.length();
+      if (j < size && modifiedUnits.get(j) == unit)
+      {
+        result.append(unitTexts[j++]);
+      }
+      else
+      {
+        result.append(text, unit.start, unit.end);
+      }
+      position = unit.end;
+      unit.start = start;
+      unit.end = result.length();
+    }
+    result.append(text, position, text.length());
+    for (int i = 0; i < size; ++i)
+    {
+      adapter.setReferences(modifiedUnits.get(i), referencedObjects.get(i));
+    }
+    adapter.text = result.toString();
+
+    // Add the text in pieces that fit the output buffer.
+    //
+    String newText = adapter.text;
+    for (int i = 0, length = newText.length(); i < length; i += StringSegment.BUFFER_SIZE)
+    {
+      doc.add(newText.substring(i, Math.min(length, i + StringSegment.BUFFER_SIZE)));
+    }
+    return true;
   }
 
   public void traverse(List<? extends EObject> contents)
@@ -1023,6 +1301,76 @@ public class XMLSaveImpl implements XMLSave
     os.flush();
   }
 
+  /**
+   * Encodes the serialization directly into a byte buffer that's written to the given channel.
+   * The buffer is pooled in the {@link ConfigurationCache} if the {@link XMLResource#OPTION_CONFIGURATION_CACHE cache} is in use.
+   * @see StringSegment#write(WritableByteChannel, ByteBuffer, String, int)
+   * @since 2.17
+   */
+  public void write(WritableByteChannel channel) throws IOException
+  {
+    ByteBuffer byteBuffer = useCache ? ConfigurationCache.INSTANCE.getByteBuffer() : ByteBuffer.allocate(StringSegment.BYTE_BUFFER_SIZE);
+    try
+    {
+      doc.write(channel, byteBuffer, helper.getJavaEncoding(encoding), flushThreshold);
+    }
+    finally
+    {
+      if (useCache)
+      {
+        ConfigurationCache.INSTANCE.releaseByteBuffer(byteBuffer);
+      }
+    }
+  }
+
+  /**
+   * A channel that writes the {@link ByteBuffer#array() array} of a heap buffer directly to an output stream,
+   * avoiding the intermediate copy of {@link java.nio.channels.Channels#newChannel(OutputStream)}.
+   * It doesn't close the stream.
+   * @since 2.17
+   */
+  protected static class OutputStreamChannel implements WritableByteChannel, Flushable
+  {
+    protected OutputStream outputStream;
+
+    public OutputStreamChannel(OutputStream outputStream)
+    {
+      this.outputStream = outputStream;
+    }
+
+    public int write(ByteBuffer byteBuffer) throws IOException
+    {
+      int length = byteBuffer.remaining();
+      if (byteBuffer.hasArray())
+      {
+        outputStream.write(byteBuffer.array(), byteBuffer.arrayOffset() + byteBuffer.position(), length);
+        byteBuffer.position(byteBuffer.limit());
+      }
+      else
+      {
+        byte[] bytes = new byte [length];
+        byteBuffer.get(bytes);
+        outputStream.write(bytes);
+      }
+      return length;
+    }
+
+    public void flush() throws IOException
+    {
+      outputStream.flush();
+    }
+
+    public boolean isOpen()
+    {
+      return outputStream != null;
+    }
+
+    public void close() throws IOException
+    {
+      outputStream = null;
+    }
+  }
+
   public char[] toChar()
   {
     int size = doc.getLength();
@@ -1033,6 +1381,11 @@ public class XMLSaveImpl implements XMLSave
 
   protected void saveElement(InternalEObject o, EStructuralFeature f)
   {
+    if (unitContainers != null && unitContainers.contains(o.eInternalContainer()))
+    {
+      saveUnit(o, f);
+      return;
+    }
     if (o.eDirectResource() != null || o.eIsProxy())
     {
       saveHref(o, f);
@@ -2409,6 +2762,10 @@ public class XMLSaveImpl implements XMLSave
     @SuppressWarnings("unchecked")  List<? extends InternalEObject> values = 
       ((InternalEList<? extends InternalEObject>)helper.getValue(o, f)).basicList();
     int size = values.size();
+    if (segmentExecutor != null && size > 1 && isSegmentable(o) && saveContainedManySegments(values, f))
+    {
+      return;
+    }
     for (int i = 0; i < size; i++)
     {
       InternalEObject value = values.get(i);
@@ -2419,6 +2776,198 @@ public class XMLSaveImpl implements XMLSave
     }
   }
 
+  /**
+   * Returns whether the contained objects of the given object can be serialized in {@link #saveContainedManySegments(List, EStructuralFeature) parallel segments}.
+   * Only the contained objects of the top level objects, or of the root of a document root, are serialized in parallel.
+   * @since 2.17
+   */
+  protected boolean isSegmentable(EObject o)
+  {
+    EObject eContainer = o.eContainer();
+    if (o != root && eContainer != null && (eContainer != root || extendedMetaData == null || featureTable.getDocumentRoot(root.eClass().getEPackage()) != root.eClass()))
+    {
+      return false;
+    }
+
+    // The namespace declarations of an any type are in scope only for this serializer.
+    //
+    for (EObject eObject = o; eObject != null; eObject = eObject.eContainer())
+    {
+      if (eObject instanceof AnyType)
+      {
+        return false;
+      }
+    }
+    return helper instanceof XMLHelperImpl;
+  }
+
+  /**
+   * Returns a new serializer for serializing a segment of the document serialized by this one,
+   * or null if segments can't be serialized in parallel.
+   * The serializer must be of the same type as this one;
+   * by default, it is {@link XMLResourceImpl#createXMLSave(Map) created} by the resource.
+   * @since 2.17
+   */
+  protected XMLSaveImpl createSegmentSave()
+  {
+    if (xmlResource instanceof XMLResourceImpl)
+    {
+      XMLSave xmlSave = ((XMLResourceImpl)xmlResource).createXMLSave(segmentOptions);
+      if (xmlSave != null && xmlSave.getClass() == getClass())
+      {
+        XMLSaveImpl result = (XMLSaveImpl)xmlSave;
+        if (result.helper != null && result.helper.getClass() == helper.getClass())
+        {
+          return result;
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Serializes the given contained objects by partitioning them into contiguous segments,
+   * all but the first of which are serialized in parallel, as tasks of the {@link #segmentExecutor executor}, by {@link #createSegmentSave() separate serializers}.
+   * The first segment is serialized by this serializer while the others are serialized,
+   * and then each other segment is added to the {@link #doc document}, in order, if its serialization is consistent with that of this serializer,
+   * or is otherwise serialized again by this serializer.
+   * Returns false, having serialized nothing, if the objects can't be serialized in segments.
+   * @since 2.17
+   */
+  protected boolean saveContainedManySegments(final List<? extends InternalEObject> values, final EStructuralFeature f)
+  {
+    int size = values.size();
+    int segmentCount = Math.min(size, getSegmentCount());
+    if (segmentCount < 2)
+    {
+      return false;
+    }
+
+    XMLSaveImpl[] segmentSaves = new XMLSaveImpl [segmentCount];
+    for (int i = 1; i < segmentCount; ++i)
+    {
+      XMLSaveImpl segmentSave = createSegmentSave();
+      if (segmentSave == null)
+      {
+        return false;
+      }
+      segmentSaves[i] = segmentSave;
+    }
+
+    XMLString segmentDoc = doc.createSegment();
+    if (segmentDoc == null)
+    {
+      return false;
+    }
+
+    XMLHelperImpl xmlHelper = (XMLHelperImpl)helper;
+    @SuppressWarnings("unchecked") FutureTask<Object>[] tasks = new FutureTask [segmentCount];
+    try
+    {
+      for (int i = 1; i < segmentCount; ++i)
+      {
+        final XMLSaveImpl segmentSave = segmentSaves[i];
+        segmentSave.xmlResource = xmlResource;
+        segmentSave.init(xmlResource, segmentOptions);
+        segmentSave.doc = i == 1 ? segmentDoc : doc.createSegment();
+        segmentSave.root = root;
+        segmentSave.roots = roots;
+        ((XMLHelperImpl)segmentSave.helper).initializeSegment(xmlHelper);
+
+        final int start = i * size / segmentCount;
+        final int end = (i + 1) * size / segmentCount;
+        FutureTask<Object> task =
+          new FutureTask<Object>
+            (new Callable<Object>()
+             {
+               public Object call() throws Exception
+               {
+                 segmentSave.saveContainedMany(values, f, start, end);
+                 return null;
+               }
+             });
+        try
+        {
+          segmentExecutor.execute(task);
+          tasks[i] = task;
+        }
+        catch (RejectedExecutionException exception)
+        {
+          // The segment will be serialized by this serializer.
+        }
+      }
+
+      saveContainedMany(values, f, 0, size / segmentCount);
+
+      for (int i = 1; i < segmentCount; ++i)
+      {
+        XMLSaveImpl segmentSave = segmentSaves[i];
+        FutureTask<Object> task = tasks[i];
+        boolean merged = false;
+        if (task != null)
+        {
+          try
+          {
+            task.get();
+            merged = xmlHelper.mergeSegment((XMLHelperImpl)segmentSave.helper);
+          }
+          catch (InterruptedException exception)
+          {
+            Thread.currentThread().interrupt();
+          }
+          catch (ExecutionException exception)
+          {
+            // The segment will be serialized again by this serializer, which will report the problem.
+          }
+          tasks[i] = null;
+        }
+
+        if (merged)
+        {
+          declareXSI |= segmentSave.declareXSI;
+          doc.addSegment(segmentSave.doc);
+        }
+        else
+        {
+          saveContainedMany(values, f, i * size / segmentCount, (i + 1) * size / segmentCount);
+        }
+        segmentSaves[i] = null;
+      }
+    }
+    finally
+    {
+      for (FutureTask<Object> task : tasks)
+      {
+        if (task != null)
+        {
+          task.cancel(false);
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the maximum number of segments in which to serialize a list of contained objects in parallel.
+   * @since 2.17
+   */
+  protected int getSegmentCount()
+  {
+    return 4 * Runtime.getRuntime().availableProcessors();
+  }
+
+  private void saveContainedMany(List<? extends InternalEObject> values, EStructuralFeature f, int start, int end)
+  {
+    for (int i = start; i < end; i++)
+    {
+      InternalEObject value = values.get(i);
+      if (value != null)
+      {
+        saveElement(value, f);
+      }
+    }
+  }
+
   protected void saveFeatureMapElementReference(EObject o, EReference f)
   {
     saveElementReference(o, f);
@@ -678,6 +678,65 @@ public class XMLString extends StringSegment
     }
   }
 
+  /**
+   * Returns a new string that continues from the current state of this one,
+   * i.e., such that {@link #addSegment(StringSegment) adding} it to this string once its content is complete
+   * yields the same result as adding that content directly to this string.
+   * The start tag of the current element, if any, is closed.
+   * Returns null if the content can't be produced independently of this string,
+   * i.e., if it depends on the width of the current line.
+   * @since 2.17
+   */
+  public XMLString createSegment()
+  {
+    if (lastElementIsStart)
+    {
+      closeStartElement();
+    }
+    if (lineWidth != Integer.MAX_VALUE && currentLineWidth != 0)
+    {
+      return null;
+    }
+
+    XMLString result = createSegment(depth, isMixed);
+    result.elementNames.addAll(elementNames);
+    result.mixed.addAll(mixed);
+    return result;
+  }
+
+  /**
+   * Returns a new string that continues within the content of an element at the given depth,
+   * i.e., such that {@link #addSegment(StringSegment) adding} it to a string that has the same line width and formatting and that is at that point
+   * yields the same result as adding the content directly to that string.
+   * @since 2.17
+   */
+  public XMLString createSegment(int depth, boolean isMixed)
+  {
+    XMLString result = new XMLString(lineWidth);
+    result.lineSeparator = lineSeparator;
+    result.isUnformatted = isUnformatted;
+    result.isMixed = isMixed;
+    result.depth = depth;
+    result.indents.clear();
+    result.indents.addAll(indents);
+    result.seenRoot = true;
+    result.firstElementMark = firstElementMark == null ? result.cursor : firstElementMark;
+    return result;
+  }
+
+  @Override
+  public void addSegment(StringSegment segment)
+  {
+    super.addSegment(segment);
+    if (segment instanceof XMLString)
+    {
+      XMLString xmlString = (XMLString)segment;
+      currentLineWidth = xmlString.currentLineWidth;
+      isMixed = xmlString.isMixed;
+      lastElementIsStart = xmlString.lastElementIsStart;
+    }
+  }
+
   @Override
   public Object mark()
   {
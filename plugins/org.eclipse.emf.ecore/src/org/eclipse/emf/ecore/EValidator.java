@@ -100,6 +100,17 @@ public interface EValidator
     String getValueLabel(EDataType eDataType, Object value);
   }
 
+  /**
+   * A marker interface for a validator that must not be called by more than one thread at a time.
+   * A {@link org.eclipse.emf.ecore.util.Diagnostician diagnostician} calls such a validator while holding its lock,
+   * so a {@link org.eclipse.emf.ecore.util.Diagnostician#validate(EObject, Map, java.util.concurrent.ExecutorService) parallel validation} calls it serially.
+   * @since 2.33
+   */
+  interface NotThreadSafe
+  {
+    // This is a marker interface.
+  }
+
   /**
    * An common interface for pattern-based constraints.
    */
@@ -0,0 +1,1555 @@
+/**
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package org.eclipse.emf.ecore.impl;
+
+
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.Enumerator;
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.util.FeatureMapUtil;
+
+
+/**
+ * A {@link org.eclipse.emf.ecore.InternalEObject.EStore store} that keeps the values of the features of its objects in columns,
+ * one column for each feature of each class,
+ * rather than in per-object collections.
+ * <p>
+ * Each object of the store is assigned an ID and a row in the table of its class.
+ * The values of primitive attributes are kept in {@link ByteBuffer}s,
+ * which are {@link ByteBuffer#allocateDirect(int) direct}, i.e., off-heap, if so {@link #ColumnarEStore(boolean) specified};
+ * booleans are kept as bits;
+ * strings and {@link Enumerator enumerators} are dictionary-encoded as an int code for each row;
+ * references, single-valued or many-valued, are kept as the int IDs of the referenced objects;
+ * and the values of all other attributes are kept in an array.
+ * A column is only allocated once a value for its feature is stored,
+ * and it grows as rows are added.
+ * The store also keeps the container of each of its {@link EStoreEObject}s as the container's ID.
+ * </p>
+ * <p>
+ * The objects {@link #create(EClass) created} by the store are {@link EStoreEObject}s,
+ * which record their table, ID, and row,
+ * and which don't cache the values of single-valued features.
+ * Other objects that {@link InternalEObject#eStore() use} the store,
+ * e.g., a {@link DynamicEStoreEObjectImpl},
+ * and objects outside the store that are referenced by objects in the store,
+ * are assigned an ID and row on demand via an identity map.
+ * </p>
+ * <p>
+ * The store retains every object that it has assigned an ID until the object is {@link #release(EObject) released},
+ * after which its ID and row are reused by new objects.
+ * A string or enumerator column retains every value it has encoded until the column has too many distinct values,
+ * at which point it {@link DictionaryColumn discards its dictionary}.
+ * The store isn't thread-safe.
+ * </p>
+ * @since 2.33
+ */
+public class ColumnarEStore implements InternalEObject.EStore
+{
+  /**
+   * An object whose values are kept in a columnar store.
+   * It records its ID and its row in the table of its class,
+   * and it doesn't cache the values of its single-valued features.
+   * <p>
+   * An instance has the two fields of a {@link MinimalEObjectImpl}, for its flags and its storage,
+   * plus the three fields for its table, ID, and row;
+   * its store is that of its table.
+   * With compressed references, the default on 64-bit JVMs with heaps smaller than 32GB,
+   * an instance therefore occupies 32 bytes, as measured on a HotSpot JVM,
+   * the same as a {@link MinimalEObjectImpl.Container.Dynamic}, which additionally needs an array for its values,
+   * but its values take space in the store's columns instead.
+   * </p>
+   */
+  public static class EStoreEObject extends MinimalEStoreEObjectImpl
+  {
+    /**
+     * The table of this object's class, which belongs to this object's store.
+     */
+    Table table;
+
+    /**
+     * The ID of this object.
+     */
+    int id;
+
+    /**
+     * The row of this object in its {@link #table}.
+     */
+    int row;
+
+    /**
+     * Creates an instance of the given class, with values kept in the given store.
+     */
+    public EStoreEObject(EClass eClass, ColumnarEStore eStore)
+    {
+      super(eClass);
+      eStore.register(this);
+    }
+
+    @Override
+    public InternalEObject.EStore eStore()
+    {
+      return table.getStore();
+    }
+
+    @Override
+    protected boolean eIsCaching()
+    {
+      return false;
+    }
+
+    @Override
+    public Object dynamicGet(int dynamicFeatureID)
+    {
+      EStructuralFeature eStructuralFeature = eDynamicFeature(dynamicFeatureID);
+      if (eStructuralFeature.isMany() || eStructuralFeature.isTransient())
+      {
+        return super.dynamicGet(dynamicFeatureID);
+      }
+      else
+      {
+        return table.getStore().get(this, eStructuralFeature, NO_INDEX);
+      }
+    }
+
+    @Override
+    public void dynamicSet(int dynamicFeatureID, Object value)
+    {
+      EStructuralFeature eStructuralFeature = eDynamicFeature(dynamicFeatureID);
+      if (eStructuralFeature.isMany() || eStructuralFeature.isTransient())
+      {
+        super.dynamicSet(dynamicFeatureID, value);
+      }
+      else
+      {
+        table.getStore().set(this, eStructuralFeature, NO_INDEX, value);
+      }
+    }
+
+    @Override
+    public void dynamicUnset(int dynamicFeatureID)
+    {
+      EStructuralFeature eStructuralFeature = eDynamicFeature(dynamicFeatureID);
+      if (eStructuralFeature.isMany() || eStructuralFeature.isTransient())
+      {
+        super.dynamicUnset(dynamicFeatureID);
+      }
+      else
+      {
+        table.getStore().unset(this, eStructuralFeature);
+      }
+    }
+
+    /**
+     * Records the container in the store.
+     */
+    @Override
+    protected void eBasicSetContainer(InternalEObject newContainer)
+    {
+      table.getStore().setContainer(this, newContainer);
+    }
+
+    /**
+     * Returns the container as {@link ColumnarEStore#getContainer(InternalEObject) recorded} in the store.
+     */
+    @Override
+    public InternalEObject eInternalContainer()
+    {
+      return table.getStore().getContainer(this);
+    }
+
+    /**
+     * Returns the container feature ID as cached by {@link MinimalEObjectImpl#eContainerFeatureID()}.
+     */
+    @Override
+    public int eContainerFeatureID()
+    {
+      return eBasicContainerFeatureID();
+    }
+  }
+
+  /**
+   * The ID and row of an object that isn't an {@link EStoreEObject} of this store.
+   */
+  protected static final class Location
+  {
+    Table table;
+
+    int id;
+
+    int row;
+  }
+
+  /**
+   * The columns for the objects of a class.
+   */
+  protected final class Table
+  {
+    /**
+     * The class.
+     */
+    final EClass eClass;
+
+    /**
+     * The columns, indexed by {@link EClass#getFeatureID(EStructuralFeature) feature ID}, each allocated on demand.
+     */
+    final Column[] columns;
+
+    /**
+     * The number of rows, including those that are free.
+     */
+    int size;
+
+    /**
+     * The rows of {@link ColumnarEStore#release(EObject) released} objects, available for reuse.
+     */
+    int[] freeRows;
+
+    /**
+     * The number of free rows.
+     */
+    int freeRowCount;
+
+    /**
+     * The ID of the container, or zero, of each row.
+     */
+    final IntColumn containers = new IntColumn();
+
+    Table(EClass eClass)
+    {
+      this.eClass = eClass;
+      columns = new Column [eClass.getFeatureCount()];
+    }
+
+    /**
+     * Returns the store of this table.
+     */
+    ColumnarEStore getStore()
+    {
+      return ColumnarEStore.this;
+    }
+
+    /**
+     * Returns a free row, if there is one, or a new row.
+     */
+    int newRow()
+    {
+      return freeRowCount == 0 ? size++ : freeRows[--freeRowCount];
+    }
+
+    /**
+     * Clears the values of the row and makes it available for reuse.
+     */
+    void freeRow(int row)
+    {
+      for (Column column : columns)
+      {
+        if (column instanceof SingleColumn)
+        {
+          SingleColumn singleColumn = (SingleColumn)column;
+          singleColumn.setIsSet(row, false);
+          singleColumn.setValue(row, null);
+        }
+        else if (column != null)
+        {
+          ((ManyColumn)column).clear(row);
+        }
+      }
+      containers.set(row, 0);
+
+      if (freeRows == null || freeRowCount == freeRows.length)
+      {
+        int[] newFreeRows = new int [freeRows == null ? 16 : freeRowCount * 2];
+        if (freeRows != null)
+        {
+          System.arraycopy(freeRows, 0, newFreeRows, 0, freeRowCount);
+        }
+        freeRows = newFreeRows;
+      }
+      freeRows[freeRowCount++] = row;
+    }
+
+    Column getColumn(EStructuralFeature feature)
+    {
+      int featureID = eClass.getFeatureID(feature);
+      Column column = columns[featureID];
+      if (column == null)
+      {
+        columns[featureID] = column = createColumn(feature);
+      }
+      return column;
+    }
+  }
+
+  /**
+   * A growable column of ints, kept in a byte buffer, where rows that have never been written are zero.
+   */
+  protected final class IntColumn
+  {
+    ByteBuffer buffer;
+
+    int get(int row)
+    {
+      return buffer == null || row >= buffer.capacity() >> 2 ? 0 : buffer.getInt(row << 2);
+    }
+
+    void set(int row, int value)
+    {
+      if (buffer == null || row >= buffer.capacity() >> 2)
+      {
+        if (value == 0)
+        {
+          return;
+        }
+        buffer = grow(buffer, (row + 1) << 2);
+      }
+      buffer.putInt(row << 2, value);
+    }
+  }
+
+  /**
+   * A column for a feature.
+   */
+  protected abstract static class Column
+  {
+    /**
+     * The feature.
+     */
+    final EStructuralFeature feature;
+
+    Column(EStructuralFeature feature)
+    {
+      this.feature = feature;
+    }
+  }
+
+  /**
+   * A column for a single-valued feature, which records whether the feature is set for each row.
+   */
+  protected abstract static class SingleColumn extends Column
+  {
+    /**
+     * The bits that record whether the feature is set for each row.
+     */
+    long[] isSet;
+
+    SingleColumn(EStructuralFeature feature)
+    {
+      super(feature);
+    }
+
+    boolean isSet(int row)
+    {
+      int index = row >>> 6;
+      return isSet != null && index < isSet.length && (isSet[index] & 1L << row) != 0;
+    }
+
+    void setIsSet(int row, boolean value)
+    {
+      int index = row >>> 6;
+      if (isSet == null || index >= isSet.length)
+      {
+        if (!value)
+        {
+          return;
+        }
+        long[] newIsSet = new long [Math.max(index + 1, isSet == null ? 4 : isSet.length * 2)];
+        if (isSet != null)
+        {
+          System.arraycopy(isSet, 0, newIsSet, 0, isSet.length);
+        }
+        isSet = newIsSet;
+      }
+      if (value)
+      {
+        isSet[index] |= 1L << row;
+      }
+      else
+      {
+        isSet[index] &= ~(1L << row);
+      }
+    }
+
+    /**
+     * Returns the value of the row, which must be set.
+     */
+    abstract Object getValue(int row);
+
+    /**
+     * Sets the value of the row, where <code>null</code> clears it.
+     */
+    abstract void setValue(int row, Object value);
+  }
+
+  /**
+   * A column for a <code>boolean</code> attribute, kept as bits.
+   */
+  protected static final class BooleanColumn extends SingleColumn
+  {
+    long[] values;
+
+    BooleanColumn(EStructuralFeature feature)
+    {
+      super(feature);
+    }
+
+    @Override
+    Object getValue(int row)
+    {
+      int index = row >>> 6;
+      return values != null && index < values.length && (values[index] & 1L << row) != 0 ? Boolean.TRUE : Boolean.FALSE;
+    }
+
+    @Override
+    void setValue(int row, Object value)
+    {
+      boolean booleanValue = Boolean.TRUE.equals(value);
+      int index = row >>> 6;
+      if (values == null || index >= values.length)
+      {
+        if (!booleanValue)
+        {
+          return;
+        }
+        long[] newValues = new long [Math.max(index + 1, values == null ? 4 : values.length * 2)];
+        if (values != null)
+        {
+          System.arraycopy(values, 0, newValues, 0, values.length);
+        }
+        values = newValues;
+      }
+      if (booleanValue)
+      {
+        values[index] |= 1L << row;
+      }
+      else
+      {
+        values[index] &= ~(1L << row);
+      }
+    }
+  }
+
+  /**
+   * The kinds of {@link PrimitiveColumn primitive column}.
+   */
+  protected static final int BYTE = 0;
+  protected static final int SHORT = 1;
+  protected static final int CHAR = 2;
+  protected static final int INT = 3;
+  protected static final int FLOAT = 4;
+  protected static final int LONG = 5;
+  protected static final int DOUBLE = 6;
+
+  /**
+   * A column for an attribute of a numeric or <code>char</code> primitive type, kept in a byte buffer.
+   */
+  protected final class PrimitiveColumn extends SingleColumn
+  {
+    final int kind;
+
+    final int shift;
+
+    ByteBuffer buffer;
+
+    PrimitiveColumn(EStructuralFeature feature, int kind)
+    {
+      super(feature);
+      this.kind = kind;
+      shift = kind == BYTE ? 0 : kind < INT ? 1 : kind < LONG ? 2 : 3;
+    }
+
+    @Override
+    Object getValue(int row)
+    {
+      if (buffer == null || row >= buffer.capacity() >> shift)
+      {
+        return getValue(null, 0);
+      }
+      return getValue(buffer, row << shift);
+    }
+
+    private Object getValue(ByteBuffer buffer, int index)
+    {
+      switch (kind)
+      {
+        case BYTE:
+        {
+          return buffer == null ? 0 : buffer.get(index);
+        }
+        case SHORT:
+        {
+          return buffer == null ? 0 : buffer.getShort(index);
+        }
+        case CHAR:
+        {
+          return buffer == null ? 0 : buffer.getChar(index);
+        }
+        case INT:
+        {
+          return buffer == null ? 0 : buffer.getInt(index);
+        }
+        case FLOAT:
+        {
+          return buffer == null ? 0.0F : buffer.getFloat(index);
+        }
+        case LONG:
+        {
+          return buffer == null ? 0L : buffer.getLong(index);
+        }
+        default:
+        {
+          return buffer == null ? 0.0 : buffer.getDouble(index);
+        }
+      }
+    }
+
+    @Override
+    void setValue(int row, Object value)
+    {
+      if (buffer == null || row >= buffer.capacity() >> shift)
+      {
+        if (value == null)
+        {
+          return;
+        }
+        buffer = grow(buffer, (row + 1) << shift);
+      }
+      int index = row << shift;
+      switch (kind)
+      {
+        case BYTE:
+        {
+          buffer.put(index, value == null ? 0 : (Byte)value);
+          break;
+        }
+        case SHORT:
+        {
+          buffer.putShort(index, value == null ? 0 : (Short)value);
+          break;
+        }
+        case CHAR:
+        {
+          buffer.putChar(index, value == null ? 0 : (Character)value);
+          break;
+        }
+        case INT:
+        {
+          buffer.putInt(index, value == null ? 0 : (Integer)value);
+          break;
+        }
+        case FLOAT:
+        {
+          buffer.putFloat(index, value == null ? 0.0F : (Float)value);
+          break;
+        }
+        case LONG:
+        {
+          buffer.putLong(index, value == null ? 0L : (Long)value);
+          break;
+        }
+        default:
+        {
+          buffer.putDouble(index, value == null ? 0.0 : (Double)value);
+          break;
+        }
+      }
+    }
+  }
+
+  /**
+   * The number of values a {@link DictionaryColumn dictionary} may have
+   * before it's discarded if it has more values than half the number of rows with a value.
+   */
+  protected static final int DICTIONARY_THRESHOLD = 256;
+
+  /**
+   * A column for a string or enumerator attribute, kept as an int code for each row
+   * that's one more than the index of the value in the column's dictionary, or zero for <code>null</code>.
+   * The dictionary never forgets a value,
+   * so once it has more than {@link #DICTIONARY_THRESHOLD} values and more values than half the number of rows with a value,
+   * e.g., because most values are unique or because the values keep changing,
+   * the dictionary is discarded and the values are kept in a plain {@link ObjectColumn column} instead.
+   */
+  protected final class DictionaryColumn extends SingleColumn
+  {
+    IntColumn codes = new IntColumn();
+
+    List<Object> values = new ArrayList<Object>();
+
+    Map<Object, Integer> valueToCodeMap = new HashMap<Object, Integer>();
+
+    /**
+     * The number of rows with a non-zero code.
+     */
+    int count;
+
+    /**
+     * The column that keeps the values once the dictionary is discarded.
+     */
+    ObjectColumn plainColumn;
+
+    DictionaryColumn(EStructuralFeature feature)
+    {
+      super(feature);
+    }
+
+    @Override
+    Object getValue(int row)
+    {
+      if (plainColumn != null)
+      {
+        return plainColumn.getValue(row);
+      }
+      int code = codes.get(row);
+      return code == 0 ? null : values.get(code - 1);
+    }
+
+    @Override
+    void setValue(int row, Object value)
+    {
+      if (plainColumn != null)
+      {
+        plainColumn.setValue(row, value);
+        return;
+      }
+
+      int code = 0;
+      if (value != null)
+      {
+        Integer existingCode = valueToCodeMap.get(value);
+        if (existingCode == null)
+        {
+          values.add(value);
+          code = values.size();
+          valueToCodeMap.put(value, code);
+        }
+        else
+        {
+          code = existingCode;
+        }
+      }
+      int oldCode = codes.get(row);
+      codes.set(row, code);
+      if (oldCode == 0)
+      {
+        if (code != 0)
+        {
+          ++count;
+        }
+      }
+      else if (code == 0)
+      {
+        --count;
+      }
+
+      if (values.size() > DICTIONARY_THRESHOLD && values.size() > count / 2)
+      {
+        discardDictionary();
+      }
+    }
+
+    /**
+     * Moves the values to a plain column and discards the codes and the dictionary.
+     */
+    void discardDictionary()
+    {
+      ObjectColumn plainColumn = new ObjectColumn(feature);
+      if (codes.buffer != null)
+      {
+        for (int row = (codes.buffer.capacity() >> 2) - 1; row >= 0; --row)
+        {
+          int code = codes.get(row);
+          if (code != 0)
+          {
+            plainColumn.setValue(row, values.get(code - 1));
+          }
+        }
+      }
+      this.plainColumn = plainColumn;
+      codes = null;
+      values = null;
+      valueToCodeMap = null;
+    }
+  }
+
+  /**
+   * A column for a single-valued reference, kept as the ID, plus one, of the referenced object, or zero for <code>null</code>.
+   */
+  protected final class ReferenceColumn extends SingleColumn
+  {
+    final IntColumn ids = new IntColumn();
+
+    ReferenceColumn(EStructuralFeature feature)
+    {
+      super(feature);
+    }
+
+    @Override
+    Object getValue(int row)
+    {
+      return getObject(ids.get(row));
+    }
+
+    @Override
+    void setValue(int row, Object value)
+    {
+      ids.set(row, getCode(value));
+    }
+  }
+
+  /**
+   * A column for any other single-valued attribute, kept in an array.
+   */
+  protected static final class ObjectColumn extends SingleColumn
+  {
+    Object[] values;
+
+    ObjectColumn(EStructuralFeature feature)
+    {
+      super(feature);
+    }
+
+    @Override
+    Object getValue(int row)
+    {
+      return values == null || row >= values.length ? null : values[row];
+    }
+
+    @Override
+    void setValue(int row, Object value)
+    {
+      if (values == null || row >= values.length)
+      {
+        if (value == null)
+        {
+          return;
+        }
+        Object[] newValues = new Object [Math.max(row + 1, values == null ? 16 : values.length * 2)];
+        if (values != null)
+        {
+          System.arraycopy(values, 0, newValues, 0, values.length);
+        }
+        values = newValues;
+      }
+      values[row] = value;
+    }
+  }
+
+  /**
+   * A column for a many-valued feature, kept as the size of each row along with an array of the row's values,
+   * where, for a reference, the array is an <code>int[]</code> of the codes of the referenced objects.
+   */
+  protected final class ManyColumn extends Column
+  {
+    final boolean isReference;
+
+    final IntColumn sizes = new IntColumn();
+
+    Object[] values;
+
+    ManyColumn(EStructuralFeature feature)
+    {
+      super(feature);
+      isReference = feature instanceof EReference;
+    }
+
+    int size(int row)
+    {
+      return sizes.get(row);
+    }
+
+    Object get(int row, int index)
+    {
+      int size = sizes.get(row);
+      if (index < 0 || index >= size)
+      {
+        throw new IndexOutOfBoundsException("index=" + index + ", size=" + size);
+      }
+      return isReference ? getObject(((int[])values[row])[index]) : ((Object[])values[row])[index];
+    }
+
+    Object set(int row, int index, Object value)
+    {
+      Object oldValue = get(row, index);
+      if (isReference)
+      {
+        ((int[])values[row])[index] = getCode(value);
+      }
+      else
+      {
+        ((Object[])values[row])[index] = value;
+      }
+      return oldValue;
+    }
+
+    void add(int row, int index, Object value)
+    {
+      int size = sizes.get(row);
+      if (index < 0 || index > size)
+      {
+        throw new IndexOutOfBoundsException("index=" + index + ", size=" + size);
+      }
+      if (values == null || row >= values.length)
+      {
+        Object[] newValues = new Object [Math.max(row + 1, values == null ? 16 : values.length * 2)];
+        if (values != null)
+        {
+          System.arraycopy(values, 0, newValues, 0, values.length);
+        }
+        values = newValues;
+      }
+      Object rowValues = values[row];
+      int capacity = rowValues == null ? 0 : Array.getLength(rowValues);
+      if (size == capacity)
+      {
+        int newCapacity = capacity == 0 ? 4 : capacity * 2;
+        Object newRowValues = isReference ? new int [newCapacity] : new Object [newCapacity];
+        if (rowValues != null)
+        {
+          System.arraycopy(rowValues, 0, newRowValues, 0, size);
+        }
+        values[row] = rowValues = newRowValues;
+      }
+      System.arraycopy(rowValues, index, rowValues, index + 1, size - index);
+      if (isReference)
+      {
+        ((int[])rowValues)[index] = getCode(value);
+      }
+      else
+      {
+        ((Object[])rowValues)[index] = value;
+      }
+      sizes.set(row, size + 1);
+    }
+
+    Object remove(int row, int index)
+    {
+      Object oldValue = get(row, index);
+      int size = sizes.get(row) - 1;
+      Object rowValues = values[row];
+      System.arraycopy(rowValues, index + 1, rowValues, index, size - index);
+      if (!isReference)
+      {
+        ((Object[])rowValues)[size] = null;
+      }
+      sizes.set(row, size);
+      return oldValue;
+    }
+
+    Object move(int row, int targetIndex, int sourceIndex)
+    {
+      Object value = get(row, sourceIndex);
+      int size = sizes.get(row);
+      if (targetIndex < 0 || targetIndex >= size)
+      {
+        throw new IndexOutOfBoundsException("targetIndex=" + targetIndex + ", size=" + size);
+      }
+      if (isReference)
+      {
+        int[] rowValues = (int[])values[row];
+        int code = rowValues[sourceIndex];
+        if (targetIndex < sourceIndex)
+        {
+          System.arraycopy(rowValues, targetIndex, rowValues, targetIndex + 1, sourceIndex - targetIndex);
+        }
+        else
+        {
+          System.arraycopy(rowValues, sourceIndex + 1, rowValues, sourceIndex, targetIndex - sourceIndex);
+        }
+        rowValues[targetIndex] = code;
+      }
+      else
+      {
+        Object[] rowValues = (Object[])values[row];
+        if (targetIndex < sourceIndex)
+        {
+          System.arraycopy(rowValues, targetIndex, rowValues, targetIndex + 1, sourceIndex - targetIndex);
+        }
+        else
+        {
+          System.arraycopy(rowValues, sourceIndex + 1, rowValues, sourceIndex, targetIndex - sourceIndex);
+        }
+        rowValues[targetIndex] = value;
+      }
+      return value;
+    }
+
+    void clear(int row)
+    {
+      if (values != null && row < values.length)
+      {
+        values[row] = null;
+      }
+      sizes.set(row, 0);
+    }
+
+    int indexOf(int row, Object value)
+    {
+      int size = sizes.get(row);
+      if (isReference)
+      {
+        int code = size == 0 ? -1 : getExistingCode(value);
+        if (code != -1)
+        {
+          int[] rowValues = (int[])values[row];
+          for (int i = 0; i < size; ++i)
+          {
+            if (rowValues[i] == code)
+            {
+              return i;
+            }
+          }
+        }
+      }
+      else
+      {
+        Object[] rowValues = size == 0 ? null : (Object[])values[row];
+        for (int i = 0; i < size; ++i)
+        {
+          if (value == null ? rowValues[i] == null : value.equals(rowValues[i]))
+          {
+            return i;
+          }
+        }
+      }
+      return -1;
+    }
+
+    int lastIndexOf(int row, Object value)
+    {
+      int size = sizes.get(row);
+      if (isReference)
+      {
+        int code = size == 0 ? -1 : getExistingCode(value);
+        if (code != -1)
+        {
+          int[] rowValues = (int[])values[row];
+          for (int i = size - 1; i >= 0; --i)
+          {
+            if (rowValues[i] == code)
+            {
+              return i;
+            }
+          }
+        }
+      }
+      else
+      {
+        Object[] rowValues = size == 0 ? null : (Object[])values[row];
+        for (int i = size - 1; i >= 0; --i)
+        {
+          if (value == null ? rowValues[i] == null : value.equals(rowValues[i]))
+          {
+            return i;
+          }
+        }
+      }
+      return -1;
+    }
+  }
+
+  /**
+   * Whether to allocate {@link ByteBuffer#allocateDirect(int) direct} byte buffers.
+   */
+  protected final boolean useDirectBuffers;
+
+  /**
+   * The tables of the classes.
+   */
+  protected final Map<EClass, Table> tables = new HashMap<EClass, Table>();
+
+  /**
+   * The objects, indexed by ID; the ID zero is reserved for <code>null</code>.
+   */
+  protected InternalEObject[] objects = new InternalEObject [16];
+
+  /**
+   * The number of assigned IDs, including the reserved ID zero and the IDs that are free.
+   */
+  protected int objectCount = 1;
+
+  /**
+   * The IDs of {@link #release(EObject) released} objects, available for reuse.
+   */
+  protected int[] freeIDs;
+
+  /**
+   * The number of free IDs.
+   */
+  protected int freeIDCount;
+
+  /**
+   * The locations of the objects that aren't {@link EStoreEObject}s of this store.
+   */
+  protected final Map<InternalEObject, Location> locations = new IdentityHashMap<InternalEObject, Location>();
+
+  /**
+   * Creates an instance that keeps primitive values in heap byte buffers.
+   */
+  public ColumnarEStore()
+  {
+    this(false);
+  }
+
+  /**
+   * Creates an instance that keeps primitive values in direct, i.e., off-heap, byte buffers if so specified.
+   * @param useDirectBuffers whether to allocate direct byte buffers.
+   */
+  public ColumnarEStore(boolean useDirectBuffers)
+  {
+    this.useDirectBuffers = useDirectBuffers;
+  }
+
+  /**
+   * Returns a buffer with at least the given capacity, containing the contents of the given buffer.
+   */
+  protected ByteBuffer grow(ByteBuffer buffer, int minimumCapacity)
+  {
+    int capacity = buffer == null ? 64 : buffer.capacity();
+    while (capacity < minimumCapacity)
+    {
+      capacity *= 2;
+    }
+    ByteBuffer result = useDirectBuffers ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+    if (buffer != null)
+    {
+      buffer.clear();
+      result.put(buffer);
+      result.clear();
+    }
+    return result;
+  }
+
+  /**
+   * Creates a column for the feature.
+   */
+  protected Column createColumn(EStructuralFeature feature)
+  {
+    if (feature.isMany() || FeatureMapUtil.isFeatureMap(feature))
+    {
+      return new ManyColumn(feature);
+    }
+    else if (feature instanceof EReference)
+    {
+      return new ReferenceColumn(feature);
+    }
+    else
+    {
+      Class<?> instanceClass = ((EAttribute)feature).getEAttributeType().getInstanceClass();
+      if (instanceClass == boolean.class)
+      {
+        return new BooleanColumn(feature);
+      }
+      else if (instanceClass == byte.class)
+      {
+        return new PrimitiveColumn(feature, BYTE);
+      }
+      else if (instanceClass == short.class)
+      {
+        return new PrimitiveColumn(feature, SHORT);
+      }
+      else if (instanceClass == char.class)
+      {
+        return new PrimitiveColumn(feature, CHAR);
+      }
+      else if (instanceClass == int.class)
+      {
+        return new PrimitiveColumn(feature, INT);
+      }
+      else if (instanceClass == float.class)
+      {
+        return new PrimitiveColumn(feature, FLOAT);
+      }
+      else if (instanceClass == long.class)
+      {
+        return new PrimitiveColumn(feature, LONG);
+      }
+      else if (instanceClass == double.class)
+      {
+        return new PrimitiveColumn(feature, DOUBLE);
+      }
+      else if (instanceClass == String.class || instanceClass != null && Enumerator.class.isAssignableFrom(instanceClass))
+      {
+        return new DictionaryColumn(feature);
+      }
+      else
+      {
+        return new ObjectColumn(feature);
+      }
+    }
+  }
+
+  /**
+   * Assigns an ID and row to a new object of this store.
+   */
+  void register(EStoreEObject eObject)
+  {
+    eObject.id = newID(eObject);
+    Table table = getTable(eObject.eClass());
+    eObject.table = table;
+    eObject.row = table.newRow();
+  }
+
+  private int newID(InternalEObject eObject)
+  {
+    if (freeIDCount != 0)
+    {
+      int id = freeIDs[--freeIDCount];
+      objects[id] = eObject;
+      return id;
+    }
+    if (objectCount == objects.length)
+    {
+      InternalEObject[] newObjects = new InternalEObject [objectCount * 2];
+      System.arraycopy(objects, 0, newObjects, 0, objectCount);
+      objects = newObjects;
+    }
+    objects[objectCount] = eObject;
+    return objectCount++;
+  }
+
+  /**
+   * Returns the table for the class, creating it if necessary.
+   */
+  protected Table getTable(EClass eClass)
+  {
+    Table table = tables.get(eClass);
+    if (table == null)
+    {
+      table = new Table(eClass);
+      tables.put(eClass, table);
+    }
+    return table;
+  }
+
+  /**
+   * Returns the location of an object that isn't an {@link EStoreEObject} of this store, assigning an ID, and, if required, a row.
+   */
+  private Location getLocation(InternalEObject eObject, boolean requiresRow)
+  {
+    Location location = locations.get(eObject);
+    if (location == null)
+    {
+      location = new Location();
+      location.id = newID(eObject);
+      locations.put(eObject, location);
+    }
+    if (requiresRow && location.table == null)
+    {
+      Table table = getTable(eObject.eClass());
+      location.table = table;
+      location.row = table.newRow();
+    }
+    return location;
+  }
+
+  /**
+   * Returns the table of the object.
+   */
+  private Table getTable(InternalEObject eObject)
+  {
+    if (eObject instanceof EStoreEObject && ((EStoreEObject)eObject).table.getStore() == this)
+    {
+      return ((EStoreEObject)eObject).table;
+    }
+    else
+    {
+      return getLocation(eObject, true).table;
+    }
+  }
+
+  /**
+   * Returns the row of the object in its table.
+   */
+  private int getRow(InternalEObject eObject)
+  {
+    if (eObject instanceof EStoreEObject && ((EStoreEObject)eObject).table.getStore() == this)
+    {
+      return ((EStoreEObject)eObject).row;
+    }
+    else
+    {
+      return getLocation(eObject, true).row;
+    }
+  }
+
+  /**
+   * Returns the code of the object, i.e., its ID, assigning one if necessary, or zero for <code>null</code>.
+   */
+  int getCode(Object value)
+  {
+    if (value == null)
+    {
+      return 0;
+    }
+    else if (value instanceof EStoreEObject && ((EStoreEObject)value).table.getStore() == this)
+    {
+      return ((EStoreEObject)value).id;
+    }
+    else
+    {
+      return getLocation((InternalEObject)value, false).id;
+    }
+  }
+
+  /**
+   * Returns the code of the object, or -1 if the object hasn't been assigned an ID.
+   */
+  int getExistingCode(Object value)
+  {
+    if (value == null)
+    {
+      return 0;
+    }
+    else if (value instanceof EStoreEObject && ((EStoreEObject)value).table.getStore() == this)
+    {
+      return ((EStoreEObject)value).id;
+    }
+    else if (value instanceof InternalEObject)
+    {
+      Location location = locations.get(value);
+      return location == null ? -1 : location.id;
+    }
+    else
+    {
+      return -1;
+    }
+  }
+
+  /**
+   * Returns the object with the given code.
+   */
+  InternalEObject getObject(int code)
+  {
+    return objects[code];
+  }
+
+  private Column getColumn(InternalEObject eObject, EStructuralFeature feature)
+  {
+    return getTable(eObject).getColumn(feature);
+  }
+
+  public Object get(InternalEObject eObject, EStructuralFeature feature, int index)
+  {
+    Table table = getTable(eObject);
+    int row = getRow(eObject);
+    Column column = table.getColumn(feature);
+    if (index == NO_INDEX && column instanceof SingleColumn)
+    {
+      SingleColumn singleColumn = (SingleColumn)column;
+      return singleColumn.isSet(row) ? singleColumn.getValue(row) : null;
+    }
+    else
+    {
+      return ((ManyColumn)column).get(row, index);
+    }
+  }
+
+  public Object set(InternalEObject eObject, EStructuralFeature feature, int index, Object value)
+  {
+    if (value == EStructuralFeature.Internal.DynamicValueHolder.NIL)
+    {
+      value = null;
+    }
+    Table table = getTable(eObject);
+    int row = getRow(eObject);
+    Column column = table.getColumn(feature);
+    Object oldValue;
+    if (index == NO_INDEX && column instanceof SingleColumn)
+    {
+      SingleColumn singleColumn = (SingleColumn)column;
+      oldValue = singleColumn.isSet(row) ? singleColumn.getValue(row) : null;
+      if (value == null && !feature.isUnsettable())
+      {
+        singleColumn.setIsSet(row, false);
+        singleColumn.setValue(row, null);
+      }
+      else
+      {
+        singleColumn.setIsSet(row, true);
+        singleColumn.setValue(row, value);
+      }
+    }
+    else
+    {
+      oldValue = ((ManyColumn)column).set(row, index, value);
+    }
+    return oldValue;
+  }
+
+  public boolean isSet(InternalEObject eObject, EStructuralFeature feature)
+  {
+    Table table = getTable(eObject);
+    int row = getRow(eObject);
+    Column column = table.getColumn(feature);
+    if (column instanceof SingleColumn)
+    {
+      SingleColumn singleColumn = (SingleColumn)column;
+      if (!singleColumn.isSet(row))
+      {
+        return false;
+      }
+      else if (feature.isUnsettable())
+      {
+        return true;
+      }
+      else
+      {
+        Object value = singleColumn.getValue(row);
+        Object defaultValue = feature.getDefaultValue();
+        return value == null ? defaultValue != null : !value.equals(defaultValue);
+      }
+    }
+    else
+    {
+      return ((ManyColumn)column).size(row) != 0;
+    }
+  }
+
+  public void unset(InternalEObject eObject, EStructuralFeature feature)
+  {
+    Table table = getTable(eObject);
+    int row = getRow(eObject);
+    Column column = table.getColumn(feature);
+    if (column instanceof SingleColumn)
+    {
+      SingleColumn singleColumn = (SingleColumn)column;
+      singleColumn.setIsSet(row, false);
+      singleColumn.setValue(row, null);
+    }
+    else
+    {
+      clear(eObject, feature);
+    }
+  }
+
+  public boolean isEmpty(InternalEObject eObject, EStructuralFeature feature)
+  {
+    return size(eObject, feature) == 0;
+  }
+
+  public int size(InternalEObject eObject, EStructuralFeature feature)
+  {
+    return ((ManyColumn)getColumn(eObject, feature)).size(getRow(eObject));
+  }
+
+  public boolean contains(InternalEObject eObject, EStructuralFeature feature, Object value)
+  {
+    return indexOf(eObject, feature, value) != -1;
+  }
+
+  public int indexOf(InternalEObject eObject, EStructuralFeature feature, Object value)
+  {
+    return ((ManyColumn)getColumn(eObject, feature)).indexOf(getRow(eObject), value);
+  }
+
+  public int lastIndexOf(InternalEObject eObject, EStructuralFeature feature, Object value)
+  {
+    return ((ManyColumn)getColumn(eObject, feature)).lastIndexOf(getRow(eObject), value);
+  }
+
+  public void add(InternalEObject eObject, EStructuralFeature feature, int index, Object value)
+  {
+    ((ManyColumn)getColumn(eObject, feature)).add(getRow(eObject), index, value);
+  }
+
+  public Object remove(InternalEObject eObject, EStructuralFeature feature, int index)
+  {
+    return ((ManyColumn)getColumn(eObject, feature)).remove(getRow(eObject), index);
+  }
+
+  public Object move(InternalEObject eObject, EStructuralFeature feature, int targetIndex, int sourceIndex)
+  {
+    return ((ManyColumn)getColumn(eObject, feature)).move(getRow(eObject), targetIndex, sourceIndex);
+  }
+
+  public void clear(InternalEObject eObject, EStructuralFeature feature)
+  {
+    ((ManyColumn)getColumn(eObject, feature)).clear(getRow(eObject));
+  }
+
+  public Object[] toArray(InternalEObject eObject, EStructuralFeature feature)
+  {
+    ManyColumn column = (ManyColumn)getColumn(eObject, feature);
+    int row = getRow(eObject);
+    int size = column.size(row);
+    Object[] result = new Object [size];
+    for (int i = 0; i < size; ++i)
+    {
+      result[i] = column.get(row, i);
+    }
+    return result;
+  }
+
+  public <T> T[] toArray(InternalEObject eObject, EStructuralFeature feature, T[] array)
+  {
+    ManyColumn column = (ManyColumn)getColumn(eObject, feature);
+    int row = getRow(eObject);
+    int size = column.size(row);
+    if (array.length < size)
+    {
+      @SuppressWarnings("unchecked") T[] newArray = (T[])Array.newInstance(array.getClass().getComponentType(), size);
+      array = newArray;
+    }
+    for (int i = 0; i < size; ++i)
+    {
+      @SuppressWarnings("unchecked") T value = (T)column.get(row, i);
+      array[i] = value;
+    }
+    if (array.length > size)
+    {
+      array[size] = null;
+    }
+    return array;
+  }
+
+  public int hashCode(InternalEObject eObject, EStructuralFeature feature)
+  {
+    ManyColumn column = (ManyColumn)getColumn(eObject, feature);
+    int row = getRow(eObject);
+    int hashCode = 1;
+    for (int i = 0, size = column.size(row); i < size; ++i)
+    {
+      Object value = column.get(row, i);
+      hashCode = 31 * hashCode + (value == null ? 0 : value.hashCode());
+    }
+    return hashCode;
+  }
+
+  /**
+   * Returns the container recorded for an {@link EStoreEObject} of this store, or <code>null</code> for any other object.
+   */
+  public InternalEObject getContainer(InternalEObject eObject)
+  {
+    if (eObject instanceof EStoreEObject && ((EStoreEObject)eObject).table.getStore() == this)
+    {
+      EStoreEObject eStoreEObject = (EStoreEObject)eObject;
+      return getObject(eStoreEObject.table.containers.get(eStoreEObject.row));
+    }
+    else
+    {
+      return null;
+    }
+  }
+
+  /**
+   * Records the container of an {@link EStoreEObject} of this store.
+   */
+  void setContainer(EStoreEObject eObject, InternalEObject container)
+  {
+    eObject.table.containers.set(eObject.row, getCode(container));
+  }
+
+  /**
+   * Returns the containing feature of an {@link EStoreEObject} of this store, or <code>null</code> for any other object.
+   */
+  public EStructuralFeature getContainingFeature(InternalEObject eObject)
+  {
+    return getContainer(eObject) == null ? null : eObject.eContainingFeature();
+  }
+
+  /**
+   * Creates an {@link EStoreEObject} of the class.
+   */
+  public EObject create(EClass eClass)
+  {
+    return new EStoreEObject(eClass, this);
+  }
+
+  /**
+   * Releases the ID and row of the object, and those of all the objects it contains,
+   * clearing their values, so that the ID and row can be reused by new objects.
+   * The object must have been removed from its container and its resource,
+   * no other object of the store may still reference the object or any of its contents,
+   * and none of them may be used afterwards;
+   * the store can only check the first condition.
+   * @param eObject the object to release.
+   * @throws IllegalArgumentException if the object is still contained by another object or by a resource.
+   */
+  public void release(EObject eObject)
+  {
+    InternalEObject internalEObject = (InternalEObject)eObject;
+    if (internalEObject.eInternalContainer() != null || internalEObject.eDirectResource() != null)
+    {
+      throw new IllegalArgumentException("The object must be removed from its container and its resource before it's released");
+    }
+
+    // Collect the contents first because releasing an object clears its containment lists.
+    //
+    List<InternalEObject> eObjects = new ArrayList<InternalEObject>();
+    eObjects.add(internalEObject);
+    for (TreeIterator<EObject> i = eObject.eAllContents(); i.hasNext(); )
+    {
+      eObjects.add((InternalEObject)i.next());
+    }
+    for (InternalEObject containedEObject : eObjects)
+    {
+      releaseObject(containedEObject);
+    }
+  }
+
+  private void releaseObject(InternalEObject eObject)
+  {
+    Table table;
+    int id;
+    int row;
+    if (eObject instanceof EStoreEObject && ((EStoreEObject)eObject).table.getStore() == this)
+    {
+      EStoreEObject eStoreEObject = (EStoreEObject)eObject;
+      if (eStoreEObject.id == -1)
+      {
+        return;
+      }
+      table = eStoreEObject.table;
+      id = eStoreEObject.id;
+      row = eStoreEObject.row;
+      eStoreEObject.id = -1;
+      eStoreEObject.row = -1;
+    }
+    else
+    {
+      Location location = locations.remove(eObject);
+      if (location == null)
+      {
+        return;
+      }
+      table = location.table;
+      id = location.id;
+      row = location.row;
+    }
+
+    if (table != null)
+    {
+      table.freeRow(row);
+    }
+
+    objects[id] = null;
+    if (freeIDs == null || freeIDCount == freeIDs.length)
+    {
+      int[] newFreeIDs = new int [freeIDs == null ? 16 : freeIDCount * 2];
+      if (freeIDs != null)
+      {
+        System.arraycopy(freeIDs, 0, newFreeIDs, 0, freeIDCount);
+      }
+      freeIDs = newFreeIDs;
+    }
+    freeIDs[freeIDCount++] = id;
+  }
+}
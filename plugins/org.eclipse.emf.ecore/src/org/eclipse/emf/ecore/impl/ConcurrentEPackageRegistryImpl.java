@@ -0,0 +1,318 @@
+/**
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package org.eclipse.emf.ecore.impl;
+
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.emf.ecore.EFactory;
+import org.eclipse.emf.ecore.EPackage;
+
+
+/**
+ * An implementation of a package registry, backed by a concurrent map, that can delegate failed lookup to another registry.
+ * It behaves like an {@link EPackageRegistryImpl}, except that it's safe for concurrent use:
+ * lookups don't lock,
+ * and a {@link EPackage.Descriptor descriptor} is atomically replaced by the package it yields.
+ * Like any concurrent map, it doesn't support <code>null</code> keys or values,
+ * though a lookup with a <code>null</code> key simply finds nothing.
+ * <p>
+ * A {@link Delegator} uses a concurrent registry for each class loader.
+ * To use it as the {@link EPackage.Registry#INSTANCE global registry} outside of OSGi,
+ * set the <code>org.eclipse.emf.ecore.EPackage.Registry.INSTANCE</code> system property
+ * to <code>org.eclipse.emf.ecore.impl.ConcurrentEPackageRegistryImpl$Delegator</code>.
+ * </p>
+ * @see EPackageRegistryImpl#createGlobalRegistry()
+ * @since 2.33
+ */
+public class ConcurrentEPackageRegistryImpl extends ConcurrentHashMap<String, Object> implements EPackage.Registry
+{
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The delegate registry.
+   */
+  protected EPackage.Registry delegateRegistry;
+
+  /**
+   * Creates a non-delegating instance.
+   */
+  public ConcurrentEPackageRegistryImpl()
+  {
+    super();
+  }
+
+  /**
+   * Creates a delegating instance.
+   */
+  public ConcurrentEPackageRegistryImpl(EPackage.Registry delegateRegistry)
+  {
+    this.delegateRegistry = delegateRegistry;
+  }
+
+  /*
+   * Javadoc copied from interface.
+   */
+  public EPackage getEPackage(String nsURI)
+  {
+    Object ePackage = get(nsURI);
+    if (ePackage instanceof EPackage)
+    {
+      EPackage result = (EPackage)ePackage;
+      if (result.getNsURI() == null)
+      {
+        initialize(result);
+      }
+      return result;
+    }
+    else if (ePackage instanceof EPackage.Descriptor)
+    {
+      EPackage.Descriptor ePackageDescriptor = (EPackage.Descriptor)ePackage;
+      EPackage result = ePackageDescriptor.getEPackage();
+      if (result != null)
+      {
+        if (result.getNsURI() == null)
+        {
+          initialize(result);
+        }
+        else if (!replace(nsURI, ePackageDescriptor, result))
+        {
+          // If another thread has already replaced the descriptor, use what that thread registered.
+          //
+          Object otherEPackage = get(nsURI);
+          if (otherEPackage instanceof EPackage)
+          {
+            return (EPackage)otherEPackage;
+          }
+        }
+      }
+      return result;
+    }
+    else
+    {
+      return delegatedGetEPackage(nsURI);
+    }
+  }
+
+  /*
+   * Javadoc copied from interface.
+   */
+  public EFactory getEFactory(String nsURI)
+  {
+    Object ePackage = get(nsURI);
+    if (ePackage instanceof EPackage)
+    {
+      EPackage result = (EPackage)ePackage;
+      if (result.getNsURI() == null)
+      {
+        initialize(result);
+      }
+      return result.getEFactoryInstance();
+    }
+    else if (ePackage instanceof EPackage.Descriptor)
+    {
+      EPackage.Descriptor ePackageDescriptor = (EPackage.Descriptor)ePackage;
+      return ePackageDescriptor.getEFactory();
+    }
+    else
+    {
+      return delegatedGetEFactory(nsURI);
+    }
+  }
+
+  /**
+   * Does nothing, but can be overridden to initialize a package that has no namespace URI.
+   */
+  protected void initialize(EPackage ePackage)
+  {
+    // Do nothing.
+  }
+
+  /**
+   * Returns the package from the delegate registry, if there is one.
+   * @return the package from the delegate registry.
+   */
+  protected EPackage delegatedGetEPackage(String nsURI)
+  {
+    if (delegateRegistry != null)
+    {
+      return delegateRegistry.getEPackage(nsURI);
+    }
+
+    return null;
+  }
+
+  /**
+   * Returns the factory from the delegate registry, if there is one.
+   * @return the factory from the delegate registry.
+   */
+  protected EFactory delegatedGetEFactory(String nsURI)
+  {
+    if (delegateRegistry != null)
+    {
+      return delegateRegistry.getEFactory(nsURI);
+    }
+
+    return null;
+  }
+
+  /**
+   * Returns the value for the key in this map, or <code>null</code> if the key is <code>null</code> or isn't present.
+   */
+  @Override
+  public Object get(Object key)
+  {
+    return key == null ? null : super.get(key);
+  }
+
+  /**
+   * Returns whether this map or the delegate map contains this key. Note that
+   * if there is a delegate map, the result of this method may
+   * <em><b>not</b></em> be the same as <code>keySet().contains(key)</code>.
+   * @param key the key whose presence in this map is to be tested.
+   * @return whether this map or the delegate map contains this key.
+   */
+  @Override
+  public boolean containsKey(Object key)
+  {
+    return key != null && super.containsKey(key) || delegateRegistry != null && delegateRegistry.containsKey(key);
+  }
+
+  /**
+   * A weak reference to a class loader, used as a key in the {@link ConcurrentEPackageRegistryImpl#classLoaderToRegistryMap class loader map}.
+   */
+  private static final class ClassLoaderReference extends WeakReference<ClassLoader>
+  {
+    private final int hashCode;
+
+    ClassLoaderReference(ClassLoader classLoader, ReferenceQueue<ClassLoader> queue)
+    {
+      super(classLoader, queue);
+      hashCode = System.identityHashCode(classLoader);
+    }
+
+    @Override
+    public int hashCode()
+    {
+      return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object object)
+    {
+      if (object == this)
+      {
+        return true;
+      }
+      else if (object instanceof ClassLoaderLookup)
+      {
+        return get() == ((ClassLoaderLookup)object).classLoader;
+      }
+      else if (object instanceof ClassLoaderReference)
+      {
+        ClassLoader classLoader = get();
+        return classLoader != null && classLoader == ((ClassLoaderReference)object).get();
+      }
+      else
+      {
+        return false;
+      }
+    }
+  }
+
+  /**
+   * A strong key for looking up a class loader in the {@link ConcurrentEPackageRegistryImpl#classLoaderToRegistryMap class loader map}.
+   */
+  private static final class ClassLoaderLookup
+  {
+    private final ClassLoader classLoader;
+
+    ClassLoaderLookup(ClassLoader classLoader)
+    {
+      this.classLoader = classLoader;
+    }
+
+    @Override
+    public int hashCode()
+    {
+      return System.identityHashCode(classLoader);
+    }
+
+    @Override
+    public boolean equals(Object object)
+    {
+      return
+        object instanceof ClassLoaderReference ?
+          ((ClassLoaderReference)object).get() == classLoader :
+          object instanceof ClassLoaderLookup && ((ClassLoaderLookup)object).classLoader == classLoader;
+    }
+  }
+
+  /**
+   * A map from class loader to its associated registry, with weakly referenced class loaders.
+   */
+  private static final ConcurrentMap<Object, EPackage.Registry> classLoaderToRegistryMap = new ConcurrentHashMap<Object, EPackage.Registry>();
+
+  /**
+   * The queue of the references to garbage collected class loaders.
+   */
+  private static final ReferenceQueue<ClassLoader> classLoaderReferenceQueue = new ReferenceQueue<ClassLoader>();
+
+  /**
+   * Returns the concurrent package registry associated with the given class loader,
+   * creating it, if necessary, to delegate to the registry of the class loader's parent.
+   * This doesn't lock, though a registry might be created and discarded when two threads concurrently create one for the same class loader.
+   * @param classLoader the class loader.
+   * @return the package registry associated with the given class loader, or <code>null</code> if the class loader is <code>null</code>.
+   */
+  public static EPackage.Registry getRegistry(ClassLoader classLoader)
+  {
+    if (classLoader == null)
+    {
+      return null;
+    }
+
+    EPackage.Registry result = classLoaderToRegistryMap.get(new ClassLoaderLookup(classLoader));
+    if (result == null)
+    {
+      for (Reference<? extends ClassLoader> reference; (reference = classLoaderReferenceQueue.poll()) != null; )
+      {
+        classLoaderToRegistryMap.remove(reference);
+      }
+
+      EPackage.Registry registry = new ConcurrentEPackageRegistryImpl(getRegistry(classLoader.getParent()));
+      result = classLoaderToRegistryMap.putIfAbsent(new ClassLoaderReference(classLoader, classLoaderReferenceQueue), registry);
+      if (result == null)
+      {
+        result = registry;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * A package registry implementation that delegates to a class loader specific {@link ConcurrentEPackageRegistryImpl#getRegistry(ClassLoader) concurrent registry}.
+   */
+  public static class Delegator extends EPackageRegistryImpl.Delegator
+  {
+    public Delegator()
+    {
+      super();
+    }
+
+    @Override
+    protected EPackage.Registry delegateRegistry(ClassLoader classLoader)
+    {
+      return ConcurrentEPackageRegistryImpl.getRegistry(classLoader);
+    }
+  }
+}
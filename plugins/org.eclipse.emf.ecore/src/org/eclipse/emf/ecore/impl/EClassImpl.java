@@ -15,6 +15,7 @@ package org.eclipse.emf.ecore.impl;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Array;
 import java.util.AbstractSequentialList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -112,6 +113,236 @@ public class EClassImpl extends EClassifierImpl implements EClass, ESuperAdapter
    */
   protected EGenericType[] eAllStructuralFeatureTypes;
 
+  /**
+   * The lookup table built when the class is {@link #freeze() frozen}.
+   * It's only used while {@link #eAllStructuralFeaturesData} is the array from which it was built.
+   * @since 2.33
+   */
+  protected FeatureLookupTable eFeatureLookupTable;
+
+  /**
+   * The packing of the primitive values of {@link PackedDynamicEObjectImpl packed} instances,
+   * published so that instances can be created concurrently without locking.
+   * It's only used while {@link PackedDynamicEObjectImpl.Layout#eAllStructuralFeatures its features} are {@link #eAllStructuralFeatures}.
+   */
+  volatile PackedDynamicEObjectImpl.Layout ePackedLayout;
+
+  /**
+   * An immutable table for looking up a feature by its name, and the ID of a feature.
+   * Each is an open addressed hash table whose hash function is seeded with a value chosen, where possible,
+   * so that the table is perfect, i.e., so that each key is found at the first slot probed.
+   * @since 2.33
+   */
+  protected static final class FeatureLookupTable
+  {
+    /**
+     * The number of seeds tried before settling for a table that isn't perfect.
+     */
+    private static final int SEED_COUNT = 32;
+
+    /**
+     * The features, indexed by feature ID.
+     */
+    final EStructuralFeature[] eAllStructuralFeaturesData;
+
+    /**
+     * The mask used to map a hash code to a slot.
+     */
+    final int mask;
+
+    /**
+     * The seed for hashing names.
+     */
+    final int nameSeed;
+
+    /**
+     * The names, indexed by slot, with <code>null</code> for an empty slot.
+     */
+    final String[] names;
+
+    /**
+     * The first feature with each {@link #names name}, indexed by slot.
+     */
+    final EStructuralFeature[] namedFeatures;
+
+    /**
+     * The seed for hashing features.
+     */
+    final int featureSeed;
+
+    /**
+     * The features, indexed by slot.
+     */
+    final EStructuralFeature[] features;
+
+    /**
+     * The feature ID of each {@link #features feature} plus one, indexed by slot, with zero for an empty slot.
+     */
+    final int[] featureIDs;
+
+    public FeatureLookupTable(EStructuralFeature[] eAllStructuralFeaturesData)
+    {
+      this.eAllStructuralFeaturesData = eAllStructuralFeaturesData;
+
+      int length = eAllStructuralFeaturesData.length;
+      int capacity = 2;
+      while (capacity < 2 * length)
+      {
+        capacity <<= 1;
+      }
+      mask = capacity - 1;
+
+      // A name that's a duplicate of an earlier name isn't included so that, like the name map, the first feature is found.
+      //
+      int[] nameHashCodes = new int [length];
+      boolean[] isDuplicate = new boolean [length];
+      for (int i = 0; i < length; ++i)
+      {
+        String name = eAllStructuralFeaturesData[i].getName();
+        if (name == null)
+        {
+          isDuplicate[i] = true;
+        }
+        else
+        {
+          nameHashCodes[i] = name.hashCode();
+          for (int j = 0; j < i; ++j)
+          {
+            if (!isDuplicate[j] && name.equals(eAllStructuralFeaturesData[j].getName()))
+            {
+              isDuplicate[i] = true;
+              break;
+            }
+          }
+        }
+      }
+      nameSeed = findSeed(nameHashCodes, isDuplicate);
+      names = new String [capacity];
+      namedFeatures = new EStructuralFeature [capacity];
+      for (int i = 0; i < length; ++i)
+      {
+        if (!isDuplicate[i])
+        {
+          int slot = hash(nameHashCodes[i], nameSeed) & mask;
+          while (names[slot] != null)
+          {
+            slot = (slot + 1) & mask;
+          }
+          names[slot] = eAllStructuralFeaturesData[i].getName();
+          namedFeatures[slot] = eAllStructuralFeaturesData[i];
+        }
+      }
+
+      int[] featureHashCodes = new int [length];
+      for (int i = 0; i < length; ++i)
+      {
+        featureHashCodes[i] = System.identityHashCode(eAllStructuralFeaturesData[i]);
+      }
+      featureSeed = findSeed(featureHashCodes, new boolean [length]);
+      features = new EStructuralFeature [capacity];
+      featureIDs = new int [capacity];
+      for (int i = 0; i < length; ++i)
+      {
+        int slot = hash(featureHashCodes[i], featureSeed) & mask;
+        while (featureIDs[slot] != 0)
+        {
+          slot = (slot + 1) & mask;
+        }
+        features[slot] = eAllStructuralFeaturesData[i];
+        featureIDs[slot] = i + 1;
+      }
+    }
+
+    private static int hash(int hashCode, int seed)
+    {
+      int result = (hashCode ^ seed) * 0x9E3779B9;
+      return result ^ (result >>> 16);
+    }
+
+    /**
+     * Returns the first seed for which the hash codes map to distinct slots, or zero if there is no such seed.
+     */
+    private int findSeed(int[] hashCodes, boolean[] isExcluded)
+    {
+      boolean[] isUsed = new boolean [mask + 1];
+      LOOP:
+      for (int count = 0; count < SEED_COUNT; ++count)
+      {
+        int seed = count * 0x61C88647;
+        if (count != 0)
+        {
+          Arrays.fill(isUsed, false);
+        }
+        for (int i = 0; i < hashCodes.length; ++i)
+        {
+          if (!isExcluded[i])
+          {
+            int slot = hash(hashCodes[i], seed) & mask;
+            if (isUsed[slot])
+            {
+              continue LOOP;
+            }
+            isUsed[slot] = true;
+          }
+        }
+        return seed;
+      }
+      return 0;
+    }
+
+    /**
+     * Returns the first feature with the given name, or <code>null</code>.
+     */
+    public EStructuralFeature getEStructuralFeature(String name)
+    {
+      // Features without a name aren't hashed, so, like the name map, a null name finds the first of those, if any.
+      //
+      if (name == null)
+      {
+        for (EStructuralFeature eStructuralFeature : eAllStructuralFeaturesData)
+        {
+          if (eStructuralFeature.getName() == null)
+          {
+            return eStructuralFeature;
+          }
+        }
+        return null;
+      }
+
+      for (int slot = hash(name.hashCode(), nameSeed) & mask; ; slot = (slot + 1) & mask)
+      {
+        String otherName = names[slot];
+        if (otherName == null)
+        {
+          return null;
+        }
+        if (otherName == name || otherName.equals(name))
+        {
+          return namedFeatures[slot];
+        }
+      }
+    }
+
+    /**
+     * Returns the ID of the given feature, or <code>-1</code>.
+     */
+    public int getFeatureID(EStructuralFeature feature)
+    {
+      for (int slot = hash(System.identityHashCode(feature), featureSeed) & mask; ; slot = (slot + 1) & mask)
+      {
+        int id = featureIDs[slot];
+        if (id == 0)
+        {
+          return -1;
+        }
+        if (features[slot] == feature)
+        {
+          return id - 1;
+        }
+      }
+    }
+  }
+
   /**
    * <!-- begin-user-doc -->
    * <!-- end-user-doc -->
@@ -150,6 +381,8 @@ public class EClassImpl extends EClassifierImpl implements EClass, ESuperAdapter
       }
     }
 
+    eFeatureLookupTable = new FeatureLookupTable(getEAllStructuralFeaturesData());
+
     // Bug 433108: Lock in the shared extended metadata for this class
     ExtendedMetaData.INSTANCE.getName(this);
 
@@ -1304,6 +1537,11 @@ public class EClassImpl extends EClassifierImpl implements EClass, ESuperAdapter
 
   public EStructuralFeature getEStructuralFeature(String name)
   {
+    FeatureLookupTable eFeatureLookupTable = this.eFeatureLookupTable;
+    if (eFeatureLookupTable != null && eFeatureLookupTable.eAllStructuralFeaturesData == eAllStructuralFeaturesData)
+    {
+      return eFeatureLookupTable.getEStructuralFeature(name);
+    }
     getFeatureCount();
     if (eNameToFeatureMap == null)
     {
@@ -1500,6 +1738,15 @@ public class EClassImpl extends EClassifierImpl implements EClass, ESuperAdapter
     int index = feature.getFeatureID();
     if (index != -1)
     {
+      if (index < eAllStructuralFeaturesData.length && eAllStructuralFeaturesData[index] == feature)
+      {
+        return index;
+      }
+      FeatureLookupTable eFeatureLookupTable = this.eFeatureLookupTable;
+      if (eFeatureLookupTable != null && eFeatureLookupTable.eAllStructuralFeaturesData == eAllStructuralFeaturesData)
+      {
+        return eFeatureLookupTable.getFeatureID(feature);
+      }
       for (int last = eAllStructuralFeaturesData.length; index < last; ++index)
       {
         if (eAllStructuralFeaturesData[index] == feature)
@@ -0,0 +1,424 @@
+/**
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package org.eclipse.emf.ecore.impl;
+
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
+
+
+/**
+ * A dynamic EObject that stores the values of its single-valued attributes of primitive type, e.g., <code>int</code> or <code>boolean</code>,
+ * packed into an array of <code>long</code>s, rather than boxing each value in the {@link #eSettings settings}.
+ * The packing is described by a {@link Layout layout} computed once for each class.
+ * Any other value, e.g., that of a multi-valued feature or of a reference, is stored in the settings as usual,
+ * but the settings are only allocated when such a value is first set,
+ * so an object whose class has only primitive attributes is very compact.
+ * <p>
+ * To use this implementation for all the classes of a dynamic package,
+ * set the package's {@link org.eclipse.emf.ecore.EPackage#setEFactoryInstance(org.eclipse.emf.ecore.EFactory) factory} to a {@link FactoryImpl}.
+ * </p>
+ * @since 2.33
+ */
+public class PackedDynamicEObjectImpl extends DynamicEObjectImpl
+{
+  /**
+   * A factory that creates a {@link PackedDynamicEObjectImpl} for each class that isn't a map entry.
+   */
+  public static class FactoryImpl extends EFactoryImpl
+  {
+    public FactoryImpl()
+    {
+      super();
+    }
+
+    @Override
+    protected EObject basicCreate(EClass eClass)
+    {
+      return
+        eClass.getInstanceClassName() == "java.util.Map$Entry" ?
+          new DynamicEObjectImpl.BasicEMapEntry<String, String>(eClass) :
+          new PackedDynamicEObjectImpl(eClass);
+    }
+  }
+
+  /**
+   * The packing of the primitive values of the instances of a class.
+   * Values are packed by decreasing width, so no value straddles two <code>long</code>s,
+   * followed by one bit for each value to record whether the value is present.
+   * A layout is cached by its class, without locking or modifying the class's adapters, because instances may be created concurrently,
+   * and is replaced when the class's {@link EClass#getEAllStructuralFeatures() features} change.
+   */
+  public static final class Layout
+  {
+    static final byte NONE = 0;
+    static final byte BOOLEAN = 1;
+    static final byte BYTE = 2;
+    static final byte SHORT = 3;
+    static final byte CHAR = 4;
+    static final byte INT = 5;
+    static final byte FLOAT = 6;
+    static final byte LONG = 7;
+    static final byte DOUBLE = 8;
+
+    private static final int[] WIDTHS = { 0, 1, 8, 16, 16, 32, 32, 64, 64 };
+
+    /**
+     * The layouts of classes that aren't {@link EClassImpl}s, which can't cache their own.
+     */
+    private static final Map<EClass, Layout> LAYOUTS = Collections.synchronizedMap(new WeakHashMap<EClass, Layout>());
+
+    /**
+     * Returns the layout for the class, creating it if necessary.
+     * Threads that concurrently find that it's needed may each create an equivalent layout.
+     */
+    public static Layout getLayout(EClass eClass)
+    {
+      List<EStructuralFeature> eAllStructuralFeatures = eClass.getEAllStructuralFeatures();
+      if (eClass instanceof EClassImpl)
+      {
+        EClassImpl eClassImpl = (EClassImpl)eClass;
+        Layout layout = eClassImpl.ePackedLayout;
+        if (layout == null || layout.eAllStructuralFeatures != eAllStructuralFeatures)
+        {
+          layout = new Layout(eAllStructuralFeatures);
+          eClassImpl.ePackedLayout = layout;
+        }
+        return layout;
+      }
+      else
+      {
+        Layout layout = LAYOUTS.get(eClass);
+        if (layout == null || layout.eAllStructuralFeatures != eAllStructuralFeatures)
+        {
+          layout = new Layout(eAllStructuralFeatures);
+          LAYOUTS.put(eClass, layout);
+        }
+        return layout;
+      }
+    }
+
+    /**
+     * The features from which the layout was computed.
+     */
+    final List<EStructuralFeature> eAllStructuralFeatures;
+
+    /**
+     * The kind of each feature, indexed by feature ID, or {@link #NONE} if the feature's value isn't packed.
+     */
+    final byte[] kinds;
+
+    /**
+     * The bit offset of each packed value, indexed by feature ID.
+     */
+    final int[] offsets;
+
+    /**
+     * The bit offset of the bit that records whether the value is present, indexed by feature ID.
+     */
+    final int[] presentOffsets;
+
+    /**
+     * The number of <code>long</code>s needed.
+     */
+    final int length;
+
+    Layout(List<EStructuralFeature> eAllStructuralFeatures)
+    {
+      this.eAllStructuralFeatures = eAllStructuralFeatures;
+      int size = eAllStructuralFeatures.size();
+      kinds = new byte [size];
+      offsets = new int [size];
+      presentOffsets = new int [size];
+
+      List<Integer> packedFeatureIDs = new ArrayList<Integer>();
+      for (int i = 0; i < size; ++i)
+      {
+        byte kind = getKind(eAllStructuralFeatures.get(i));
+        kinds[i] = kind;
+        if (kind != NONE)
+        {
+          packedFeatureIDs.add(i);
+        }
+      }
+
+      int offset = 0;
+      for (int width = 64; width > 0; width >>= 1)
+      {
+        for (int featureID : packedFeatureIDs)
+        {
+          if (WIDTHS[kinds[featureID]] == width)
+          {
+            offsets[featureID] = offset;
+            offset += width;
+          }
+        }
+      }
+      for (int featureID : packedFeatureIDs)
+      {
+        presentOffsets[featureID] = offset++;
+      }
+      length = (offset + 63) >>> 6;
+    }
+
+    private static byte getKind(EStructuralFeature eStructuralFeature)
+    {
+      if (eStructuralFeature instanceof EAttribute && !eStructuralFeature.isMany())
+      {
+        Class<?> instanceClass = eStructuralFeature.getEType().getInstanceClass();
+        if (instanceClass != null && instanceClass.isPrimitive())
+        {
+          return
+            instanceClass == boolean.class ? BOOLEAN :
+              instanceClass == byte.class ? BYTE :
+                instanceClass == short.class ? SHORT :
+                  instanceClass == char.class ? CHAR :
+                    instanceClass == int.class ? INT :
+                      instanceClass == float.class ? FLOAT :
+                        instanceClass == long.class ? LONG :
+                          instanceClass == double.class ? DOUBLE :
+                            NONE;
+        }
+      }
+      return NONE;
+    }
+  }
+
+  /**
+   * The layout of the {@link #ePackedValues packed values}.
+   */
+  protected Layout eLayout;
+
+  /**
+   * The packed values.
+   */
+  protected long[] ePackedValues;
+
+  /**
+   * Creates a dynamic EObject.
+   */
+  public PackedDynamicEObjectImpl()
+  {
+    super();
+  }
+
+  /**
+   * Creates a dynamic EObject.
+   */
+  public PackedDynamicEObjectImpl(EClass eClass)
+  {
+    super(eClass);
+  }
+
+  @Override
+  public void eSetClass(EClass eClass)
+  {
+    super.eSetClass(eClass);
+    eLayout = Layout.getLayout(eClass);
+    ePackedValues = eLayout.length == 0 ? null : new long [eLayout.length];
+    eSettings = null;
+  }
+
+  @Override
+  protected EStructuralFeature.Internal.DynamicValueHolder eSettings()
+  {
+    // The settings are allocated only when needed.
+    //
+    return this;
+  }
+
+  @Override
+  public Object dynamicGet(int dynamicFeatureID)
+  {
+    byte kind = eLayout.kinds[dynamicFeatureID];
+    if (kind != Layout.NONE)
+    {
+      int presentOffset = eLayout.presentOffsets[dynamicFeatureID];
+      if ((ePackedValues[presentOffset >>> 6] & 1L << presentOffset) != 0)
+      {
+        int offset = eLayout.offsets[dynamicFeatureID];
+        long bits = ePackedValues[offset >>> 6] >>> offset;
+        switch (kind)
+        {
+          case Layout.BOOLEAN:
+          {
+            return (bits & 1L) != 0 ? Boolean.TRUE : Boolean.FALSE;
+          }
+          case Layout.BYTE:
+          {
+            return Byte.valueOf((byte)bits);
+          }
+          case Layout.SHORT:
+          {
+            return Short.valueOf((short)bits);
+          }
+          case Layout.CHAR:
+          {
+            return Character.valueOf((char)bits);
+          }
+          case Layout.INT:
+          {
+            return Integer.valueOf((int)bits);
+          }
+          case Layout.FLOAT:
+          {
+            return Float.intBitsToFloat((int)bits);
+          }
+          case Layout.LONG:
+          {
+            return Long.valueOf(bits);
+          }
+          default:
+          {
+            return Double.longBitsToDouble(bits);
+          }
+        }
+      }
+    }
+    return eSettings == null ? null : eSettings[dynamicFeatureID];
+  }
+
+  @Override
+  public void dynamicSet(int dynamicFeatureID, Object value)
+  {
+    byte kind = eLayout.kinds[dynamicFeatureID];
+    if (kind != Layout.NONE)
+    {
+      switch (kind)
+      {
+        case Layout.BOOLEAN:
+        {
+          if (!(value instanceof Boolean))
+          {
+            break;
+          }
+          setPacked(dynamicFeatureID, ((Boolean)value).booleanValue() ? 1L : 0L, 1);
+          return;
+        }
+        case Layout.BYTE:
+        {
+          if (!(value instanceof Byte))
+          {
+            break;
+          }
+          setPacked(dynamicFeatureID, ((Byte)value).byteValue() & 0xFFL, 8);
+          return;
+        }
+        case Layout.SHORT:
+        {
+          if (!(value instanceof Short))
+          {
+            break;
+          }
+          setPacked(dynamicFeatureID, ((Short)value).shortValue() & 0xFFFFL, 16);
+          return;
+        }
+        case Layout.CHAR:
+        {
+          if (!(value instanceof Character))
+          {
+            break;
+          }
+          setPacked(dynamicFeatureID, ((Character)value).charValue(), 16);
+          return;
+        }
+        case Layout.INT:
+        {
+          if (!(value instanceof Integer))
+          {
+            break;
+          }
+          setPacked(dynamicFeatureID, ((Integer)value).intValue() & 0xFFFFFFFFL, 32);
+          return;
+        }
+        case Layout.FLOAT:
+        {
+          if (!(value instanceof Float))
+          {
+            break;
+          }
+          setPacked(dynamicFeatureID, Float.floatToRawIntBits((Float)value) & 0xFFFFFFFFL, 32);
+          return;
+        }
+        case Layout.LONG:
+        {
+          if (!(value instanceof Long))
+          {
+            break;
+          }
+          setPacked(dynamicFeatureID, (Long)value, 64);
+          return;
+        }
+        default:
+        {
+          if (!(value instanceof Double))
+          {
+            break;
+          }
+          setPacked(dynamicFeatureID, Double.doubleToRawLongBits((Double)value), 64);
+          return;
+        }
+      }
+
+      // Any other value, e.g., null or a special marker, is stored in the settings.
+      //
+      clearPresent(dynamicFeatureID);
+    }
+
+    if (eSettings == null)
+    {
+      if (value == null)
+      {
+        return;
+      }
+      eSettings = new Object [eClass().getFeatureCount() - eStaticFeatureCount()];
+    }
+    eSettings[dynamicFeatureID] = value;
+  }
+
+  @Override
+  public void dynamicUnset(int dynamicFeatureID)
+  {
+    if (eLayout.kinds[dynamicFeatureID] != Layout.NONE)
+    {
+      clearPresent(dynamicFeatureID);
+    }
+    if (eSettings != null)
+    {
+      eSettings[dynamicFeatureID] = null;
+    }
+  }
+
+  private void setPacked(int dynamicFeatureID, long bits, int width)
+  {
+    int offset = eLayout.offsets[dynamicFeatureID];
+    int index = offset >>> 6;
+    long mask = width == 64 ? -1L : (1L << width) - 1;
+    ePackedValues[index] = ePackedValues[index] & ~(mask << offset) | bits << offset;
+    int presentOffset = eLayout.presentOffsets[dynamicFeatureID];
+    ePackedValues[presentOffset >>> 6] |= 1L << presentOffset;
+    if (eSettings != null)
+    {
+      eSettings[dynamicFeatureID] = null;
+    }
+  }
+
+  private void clearPresent(int dynamicFeatureID)
+  {
+    int presentOffset = eLayout.presentOffsets[dynamicFeatureID];
+    ePackedValues[presentOffset >>> 6] &= ~(1L << presentOffset);
+  }
+}
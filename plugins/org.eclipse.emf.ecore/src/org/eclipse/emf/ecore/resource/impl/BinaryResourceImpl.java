@@ -12,9 +12,13 @@ package org.eclipse.emf.ecore.resource.impl;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
@@ -23,8 +27,10 @@ import java.util.Map;
 
 import org.eclipse.emf.common.util.BasicEList;
 import org.eclipse.emf.common.util.CommonUtil;
+import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.common.util.Enumerator;
 import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.common.util.WrappedException;
 import org.eclipse.emf.ecore.EAttribute;
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EDataType;
@@ -118,6 +124,12 @@ public class BinaryResourceImpl extends ResourceImpl
    */
   public static final String OPTION_EAGER_PROXY_RESOLUTION = "EAGER_PROXY_RESOLUTION";
 
+  /**
+   * The signature with which every serialization starts.
+   * @see EObjectOutputStream#writeSignature()
+   */
+  private static final byte[] SIGNATURE = { (byte)'\211', 'e', 'm', 'f', '\n', '\r', '\032', '\n' };
+
   /**
    * Specify the capacity of the buffered stream
    * used when {@link #doSave(OutputStream, Map) saving} or {@link #doLoad(InputStream, Map) loading} the resource content.
@@ -249,6 +261,10 @@ public class BinaryResourceImpl extends ResourceImpl
     {
       ((URIConverter.Loadable)inputStream).loadResource(this);
     }
+    else if (inputStream instanceof FileInputStream && loadRandomAccess(((FileInputStream)inputStream).getChannel(), options))
+    {
+      // The root objects will be loaded on demand.
+    }
     else
     {
       if (!(inputStream instanceof BufferedInputStream))
@@ -274,6 +290,340 @@ public class BinaryResourceImpl extends ResourceImpl
     return new EObjectInputStream(inputStream, options);
   }
 
+  /**
+   * Creates a stream for loading the block of a root object of a {@link BinaryIO.Version#VERSION_1_2 random access} serialization.
+   * @see EObjectInputStream#EObjectInputStream(InputStream, Map, BinaryIO.Version, int)
+   * @since 2.33
+   */
+  protected EObjectInputStream createEObjectInputStream(InputStream inputStream, Map<?, ?> options, BinaryIO.Version version, int style) throws IOException
+  {
+    return new EObjectInputStream(inputStream, options, version, style);
+  }
+
+  /**
+   * The state for loading the root objects of a {@link BinaryIO.Version#VERSION_1_2 random access} serialization on demand,
+   * or <code>null</code> if all the root objects are loaded.
+   */
+  private RandomAccessContents randomAccessContents;
+
+  /**
+   * If the channel's content is a {@link BinaryIO.Version#VERSION_1_2 random access} serialization,
+   * it's memory mapped and only its table of root object offsets is read;
+   * each root object, along with all the objects it contains, is loaded when it's first accessed via a URI fragment,
+   * and all the remaining root objects are loaded when the {@link #getContents() contents} are first accessed.
+   * @return whether the channel's content is a random access serialization.
+   * @since 2.33
+   */
+  protected boolean loadRandomAccess(FileChannel fileChannel, Map<?, ?> options) throws IOException
+  {
+    long start = fileChannel.position();
+    long size = fileChannel.size() - start;
+
+    // The signature, the version, the style, and the offset of the offset table.
+    //
+    if (size < 21)
+    {
+      return false;
+    }
+
+    ByteBuffer header = ByteBuffer.allocate(13);
+    read(fileChannel, header, start);
+    for (int i = 0; i < 8; ++i)
+    {
+      if (header.get(i) != SIGNATURE[i])
+      {
+        return false;
+      }
+    }
+    if (header.get(8) != BinaryIO.Version.VERSION_1_2.ordinal())
+    {
+      return false;
+    }
+    int style = header.getInt(9);
+
+    ByteBuffer trailer = ByteBuffer.allocate(8);
+    read(fileChannel, trailer, start + size - 8);
+    long tableOffset = trailer.getLong(0);
+    long tableSize = size - 8 - tableOffset;
+    if (tableOffset < 13 || tableSize < 0 || tableSize % 8 != 0 || tableSize / 8 > Integer.MAX_VALUE)
+    {
+      throw new IOException("Invalid offset table for a random access binary EMF serialization");
+    }
+
+    int count = (int)(tableSize / 8);
+    ByteBuffer table = ByteBuffer.allocate(count * 8);
+    read(fileChannel, table, start + tableOffset);
+    long [] offsets = new long [count + 1];
+    for (int i = 0; i < count; ++i)
+    {
+      offsets[i] = table.getLong(i * 8);
+    }
+    offsets[count] = tableOffset;
+
+    // Map the blocks of the root objects in as few regions as possible, given that a region is limited to Integer.MAX_VALUE bytes.
+    //
+    List<ByteBuffer> regions = new ArrayList<ByteBuffer>();
+    int [] rootRegions = new int [count];
+    int [] rootOffsets = new int [count];
+    for (int i = 0; i < count; )
+    {
+      long regionOffset = offsets[i];
+      int end = i + 1;
+      if (offsets[end] - regionOffset > Integer.MAX_VALUE)
+      {
+        throw new IOException("The block of root object " + i + " exceeds " + Integer.MAX_VALUE + " bytes");
+      }
+      while (end < count && offsets[end + 1] - regionOffset <= Integer.MAX_VALUE)
+      {
+        ++end;
+      }
+      for (int j = i; j < end; ++j)
+      {
+        rootRegions[j] = regions.size();
+        rootOffsets[j] = (int)(offsets[j] - regionOffset);
+      }
+      regions.add(fileChannel.map(FileChannel.MapMode.READ_ONLY, start + regionOffset, offsets[end] - regionOffset));
+      i = end;
+    }
+
+    if (count > 0)
+    {
+      randomAccessContents =  new RandomAccessContents(options, style, regions.toArray(new ByteBuffer [regions.size()]), rootRegions, rootOffsets, offsets);
+    }
+    return true;
+  }
+
+  private static void read(FileChannel fileChannel, ByteBuffer byteBuffer, long position) throws IOException
+  {
+    while (byteBuffer.hasRemaining())
+    {
+      if (fileChannel.read(byteBuffer, position + byteBuffer.position()) == -1)
+      {
+        throw new EOFException();
+      }
+    }
+  }
+
+  /**
+   * Returns the contents, first loading all the root objects not yet loaded
+   * if the resource was loaded from a {@link BinaryIO.Version#VERSION_1_2 random access} serialization.
+   */
+  @Override
+  public EList<EObject> getContents()
+  {
+    if (randomAccessContents != null && !randomAccessContents.isLoadingRoot)
+    {
+      randomAccessContents.loadAll();
+    }
+    return super.getContents();
+  }
+
+  @Override
+  protected EObject getEObjectForURIFragmentRootSegment(String uriFragmentRootSegment)
+  {
+    if (randomAccessContents != null && (uriFragmentRootSegment.length() == 0 || uriFragmentRootSegment.charAt(0) != '?'))
+    {
+      int position = 0;
+      if (uriFragmentRootSegment.length() > 0)
+      {
+        try
+        {
+          position = Integer.parseInt(uriFragmentRootSegment);
+        }
+        catch (NumberFormatException exception)
+        {
+          throw new WrappedException(exception);
+        }
+      }
+      return randomAccessContents.getRoot(position);
+    }
+    else
+    {
+      return super.getEObjectForURIFragmentRootSegment(uriFragmentRootSegment);
+    }
+  }
+
+  @Override
+  protected String getURIFragmentRootSegment(EObject eObject)
+  {
+    if (randomAccessContents != null && unloadingContents == null)
+    {
+      return randomAccessContents.roots.length > 1 ? Integer.toString(randomAccessContents.indexOf(eObject)) : "";
+    }
+    else
+    {
+      return super.getURIFragmentRootSegment(eObject);
+    }
+  }
+
+  @Override
+  protected List<EObject> getUnloadingContents()
+  {
+    return new BasicEList.FastCompare<EObject>(randomAccessContents == null ? getContents() : super.getContents());
+  }
+
+  @Override
+  protected void doUnload()
+  {
+    randomAccessContents = null;
+    super.doUnload();
+  }
+
+  /**
+   * The memory mapped blocks of the root objects of a {@link BinaryIO.Version#VERSION_1_2 random access} serialization,
+   * along with the root objects loaded so far.
+   */
+  private final class RandomAccessContents
+  {
+    final Map<?, ?> options;
+    final int style;
+    final ByteBuffer[] regions;
+    final int[] rootRegions;
+    final int[] rootOffsets;
+    final long[] offsets;
+    final EObject[] roots;
+    int loadedCount;
+    boolean isLoadingRoot;
+
+    RandomAccessContents(Map<?, ?> options, int style, ByteBuffer[] regions, int[] rootRegions, int[] rootOffsets, long[] offsets)
+    {
+      this.options = options;
+      this.style = style;
+      this.regions = regions;
+      this.rootRegions = rootRegions;
+      this.rootOffsets = rootOffsets;
+      this.offsets = offsets;
+      roots = new EObject [rootRegions.length];
+    }
+
+    EObject getRoot(int index)
+    {
+      if (index < 0 || index >= roots.length)
+      {
+        return null;
+      }
+      EObject root = roots[index];
+      if (root == null)
+      {
+        int position = 0;
+        for (int i = 0; i < index; ++i)
+        {
+          if (roots[i] != null)
+          {
+            ++position;
+          }
+        }
+        root = loadRoot(index, position);
+      }
+      return root;
+    }
+
+    void loadAll()
+    {
+      // Loading a root object may load other root objects, but all the root objects before the index will always have been loaded.
+      //
+      for (int i = 0; i < roots.length && randomAccessContents == this; ++i)
+      {
+        if (roots[i] == null)
+        {
+          loadRoot(i, i);
+        }
+      }
+    }
+
+    int indexOf(EObject eObject)
+    {
+      for (int i = 0; i < roots.length; ++i)
+      {
+        if (roots[i] == eObject)
+        {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    EObject loadRoot(int index, int position)
+    {
+      ByteBuffer block = regions[rootRegions[index]].duplicate();
+      block.position(rootOffsets[index]);
+      block.limit(rootOffsets[index] + (int)(offsets[index + 1] - offsets[index]));
+      try
+      {
+        EObjectInputStream eObjectInputStream =
+          createEObjectInputStream(new ByteBufferInputStream(block), options, BinaryIO.Version.VERSION_1_2, style);
+        InternalEObject root = eObjectInputStream.loadRoot(BinaryResourceImpl.this);
+        roots[index] = root;
+
+        boolean isModified = isModified();
+        isLoadingRoot = true;
+        try
+        {
+          @SuppressWarnings("unchecked")
+          InternalEList<InternalEObject> internalEObjects = (InternalEList<InternalEObject>)(InternalEList<?>)BinaryResourceImpl.super.getContents();
+          internalEObjects.addUnique(position, root);
+        }
+        finally
+        {
+          isLoadingRoot = false;
+        }
+        if (!isModified)
+        {
+          setModified(false);
+        }
+
+        if (++loadedCount == roots.length)
+        {
+          // The offsets have served their purpose, and releasing the memory mapped regions allows them to be unmapped.
+          //
+          randomAccessContents = null;
+        }
+
+        eObjectInputStream.resolveLocalProxies();
+        return root;
+      }
+      catch (IOException exception)
+      {
+        throw new WrappedException(exception);
+      }
+    }
+  }
+
+  private static final class ByteBufferInputStream extends InputStream
+  {
+    private final ByteBuffer byteBuffer;
+
+    ByteBufferInputStream(ByteBuffer byteBuffer)
+    {
+      this.byteBuffer = byteBuffer;
+    }
+
+    @Override
+    public int read() throws IOException
+    {
+      return byteBuffer.hasRemaining() ? byteBuffer.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException
+    {
+      int remaining = byteBuffer.remaining();
+      if (remaining == 0)
+      {
+        return length == 0 ? 0 : -1;
+      }
+      int count = Math.min(length, remaining);
+      byteBuffer.get(bytes, offset, count);
+      return count;
+    }
+
+    @Override
+    public int available() throws IOException
+    {
+      return byteBuffer.remaining();
+    }
+  }
+
   /**
    * Generally this abstract class is extended as a stateless singleton returned by a generated factory that implements the {@link DataConverter.Factory factory} interface.
    * The default implementation of {@link EFactoryImpl#create(EDataType)} returns <code>null</code>.
@@ -332,7 +682,33 @@ public class BinaryResourceImpl extends ResourceImpl
        * An extra integer value encoding the style is written after the version number so that deserialization will respect the styles used during serialization.
        * @since 2.7
        */
-      VERSION_1_1
+      VERSION_1_1,
+
+      /**
+       * This version supports random access.
+       * Each root object is serialized as an independently decodable block and a table of the offsets of those blocks is written at the end.
+       * References from the objects of one root object to the objects of another root object are serialized as proxies.
+       * When a resource is loaded from a {@link java.io.FileInputStream file input stream},
+       * the serialization is memory mapped and each root object is decoded only when it's first accessed via an {@link Resource#getEObject(String) URI fragment},
+       * e.g., when a proxy to one of its objects is resolved.
+       * The unit of on-demand decoding is the root object: all the objects it contains, directly or indirectly, are decoded along with it.
+       * Accessing the {@link Resource#getContents() contents} of the resource, e.g., to iterate over them, decodes all the root objects,
+       * so only resources with many roots accessed selectively by URI benefit.
+       * @since 2.33
+       */
+      VERSION_1_2,
+
+      /**
+       * This version supports a columnar layout.
+       * The objects are serialized first, but the values of their attributes are deferred and grouped by class and feature into columns that are serialized after all the objects.
+       * Every unique string and data value is serialized in full at most once and is subsequently referenced by its index in a dictionary of the resource's values,
+       * Boolean values are packed eight per byte,
+       * int and long values are serialized as variable length differences from the preceding value of their column,
+       * and each object ID is serialized relative to the next unused ID,
+       * or, in a non-containment reference list, relative to the ID of the preceding object of the list.
+       * @since 2.33
+       */
+      VERSION_1_3
     }
 
     /**
@@ -651,6 +1027,14 @@ public class BinaryResourceImpl extends ResourceImpl
       }
     }
 
+    /**
+     * Returns whether values of this kind are deferred to a column in a {@link Version#VERSION_1_3 columnar} serialization.
+     */
+    static boolean isColumnKind(FeatureKind kind)
+    {
+      return kind.compareTo(FeatureKind.BOOLEAN) >= 0 && kind != FeatureKind.FEATURE_MAP;
+    }
+
     static final int MAX_DELIMITER = 0xC0;
     static final String[] DELIMITERS = new String[MAX_DELIMITER];
     static final List<String> INTRINSIC_STRINGS = new ArrayList<String>();
@@ -731,10 +1115,26 @@ public class BinaryResourceImpl extends ResourceImpl
        * @since 2.9
        */
       public DataConverter<?> dataConverter;
+      /**
+       * @since 2.33
+       */
+      public int featureID;
+      /**
+       * The objects whose values for this feature are deferred to its column in a {@link Version#VERSION_1_3 columnar} serialization.
+       * @since 2.33
+       */
+      public List<InternalEObject> column;
     }
 
     private byte[] bytes;
     private int index;
+    private long flushedCount;
+
+    /**
+     * The root object whose block is being serialized for a {@link Version#VERSION_1_2 random access} serialization.
+     * @since 2.33
+     */
+    protected InternalEObject root;
 
     protected OutputStream outputStream;
     protected Map<EPackage, EPackageData> ePackageDataMap = new HashMap<EPackage, EPackageData>();
@@ -742,9 +1142,17 @@ public class BinaryResourceImpl extends ResourceImpl
     protected Map<EObject, Integer> eObjectIDMap = new HashMap<EObject, Integer>();
     protected Map<URI, Integer> uriToIDMap = new HashMap<URI, Integer>();
 
+    /**
+     * The features whose columns are to be serialized, in the order in which their columns were first used,
+     * or <code>null</code> if this isn't a {@link Version#VERSION_1_3 columnar} serialization.
+     * @since 2.33
+     */
+    protected List<EStructuralFeatureData> columns;
+
     private Map<String, Integer> segmentedStringToIDMap;
     private Map<String, Integer> segmentToIDMap;
     private String[] segments;
+    private Map<String, Integer> stringToIDMap;
 
     public EObjectOutputStream(OutputStream outputStream, Map<?, ?> options) throws IOException
     {
@@ -779,11 +1187,20 @@ public class BinaryResourceImpl extends ResourceImpl
         writeStyle();
       }
 
+      if (version == Version.VERSION_1_3)
+      {
+        columns = new ArrayList<EStructuralFeatureData>();
+      }
+
       if ((style & STYLE_DATA_CONVERTER) != 0)
       {
         segmentedStringToIDMap = new HashMap<String, Integer>();
         segmentToIDMap = new HashMap<String, Integer>(INTRINSIC_STRING_TO_ID_MAP);
       }
+      else if (columns != null)
+      {
+        stringToIDMap = new HashMap<String, Integer>();
+      }
     }
 
     protected void writeSignature() throws IOException
@@ -852,6 +1269,7 @@ public class BinaryResourceImpl extends ResourceImpl
         {
           EStructuralFeature.Internal eStructuralFeature = (EStructuralFeature.Internal)eClass.getEStructuralFeature(i);
           eStructuralFeaturesData[i] = createEStructuralFeatureData(eStructuralFeature);
+          eStructuralFeaturesData[i].featureID = i;
         }
         ePackageData.eClassData[eClassData.id] = eClassData;
         eClassDataMap.put(eClass, eClassData);
@@ -988,7 +1406,157 @@ public class BinaryResourceImpl extends ResourceImpl
       }
       @SuppressWarnings("unchecked")
       InternalEList<? extends InternalEObject> internalEList = (InternalEList<? extends InternalEObject>)(InternalEList<?>)resource.getContents();
-      saveEObjects(internalEList, Check.CONTAINER);
+      if (version == Version.VERSION_1_2)
+      {
+        saveRoots(internalEList);
+      }
+      else
+      {
+        saveEObjects(internalEList, Check.CONTAINER);
+        if (columns != null)
+        {
+          saveColumns();
+        }
+      }
+    }
+
+    /**
+     * Saves the deferred values of each column, in the order in which the columns were first used.
+     * The values of a column are saved in the order in which their objects were saved,
+     * so the number of values is implied by the serialization of the objects.
+     * @see Version#VERSION_1_3
+     * @since 2.33
+     */
+    protected void saveColumns() throws IOException
+    {
+      for (EStructuralFeatureData eStructuralFeatureData : columns)
+      {
+        List<InternalEObject> column = eStructuralFeatureData.column;
+        int featureID = eStructuralFeatureData.featureID;
+        int size = column.size();
+        if (eStructuralFeatureData.kind == FeatureKind.BOOLEAN)
+        {
+          for (int i = 0; i < size; i += 8)
+          {
+            int bits = 0;
+            for (int j = i, end = Math.min(i + 8, size); j < end; ++j)
+            {
+              if ((Boolean)column.get(j).eGet(featureID, false, true))
+              {
+                bits |= 1 << j - i;
+              }
+            }
+            writeByte(bits);
+          }
+        }
+        else if (eStructuralFeatureData.kind == FeatureKind.INT)
+        {
+          int previousValue = 0;
+          for (int i = 0; i < size; ++i)
+          {
+            int value = (Integer)column.get(i).eGet(featureID, false, true);
+            int delta = value - previousValue;
+            writeVariableLengthLong((delta << 1 ^ delta >> 31) & 0xFFFFFFFFL);
+            previousValue = value;
+          }
+        }
+        else if (eStructuralFeatureData.kind == FeatureKind.LONG)
+        {
+          long previousValue = 0;
+          for (int i = 0; i < size; ++i)
+          {
+            long value = (Long)column.get(i).eGet(featureID, false, true);
+            long delta = value - previousValue;
+            writeVariableLengthLong(delta << 1 ^ delta >> 63);
+            previousValue = value;
+          }
+        }
+        else
+        {
+          for (int i = 0; i < size; ++i)
+          {
+            InternalEObject internalEObject = column.get(i);
+            saveFeatureValue(internalEObject, internalEObject.eGet(featureID, false, true), featureID, eStructuralFeatureData);
+          }
+        }
+        eStructuralFeatureData.column = null;
+      }
+      columns.clear();
+    }
+
+    /**
+     * Saves each root object as an independently decodable block, followed by the table of the offsets of those blocks,
+     * followed by the offset of that table.
+     * The offsets are relative to the start of the serialization.
+     * @see Version#VERSION_1_2
+     * @since 2.33
+     */
+    protected void saveRoots(InternalEList<? extends InternalEObject> roots) throws IOException
+    {
+      int size = roots.size();
+      InternalEObject [] values = allocateInternalEObjectArray(size);
+      roots.basicToArray(values);
+      writeCompressedInt(size);
+      long [] offsets = new long [size];
+      for (int i = 0; i < size; ++i)
+      {
+        offsets[i] = getByteCount();
+        resetTables();
+        root = values[i];
+        saveEObject(root, Check.CONTAINER);
+      }
+      root = null;
+      recycle(values);
+
+      long tableOffset = getByteCount();
+      for (int i = 0; i < size; ++i)
+      {
+        writeLong(offsets[i]);
+      }
+      writeLong(tableOffset);
+    }
+
+    /**
+     * Clears all the tables of previously serialized packages, classes, objects, URIs, strings, and data values
+     * so that what's serialized next can be decoded independently of what was serialized before.
+     * @since 2.33
+     */
+    protected void resetTables()
+    {
+      ePackageDataMap.clear();
+      eClassDataMap.clear();
+      eObjectIDMap.clear();
+      uriToIDMap.clear();
+      dataConverterMap.clear();
+      if (segmentedStringToIDMap != null)
+      {
+        segmentedStringToIDMap.clear();
+        segmentToIDMap = new HashMap<String, Integer>(INTRINSIC_STRING_TO_ID_MAP);
+      }
+    }
+
+    /**
+     * Returns whether the object is contained by a root object of the resource other than the {@link #root} object being serialized.
+     * Such an object is serialized as a proxy.
+     * @since 2.33
+     */
+    protected boolean isInOtherRoot(InternalEObject internalEObject)
+    {
+      for (InternalEObject eObject = internalEObject; eObject != root; )
+      {
+        InternalEObject container = eObject.eInternalContainer();
+        if (container == null || eObject.eDirectResource() != null)
+        {
+          return eObject.eDirectResource() == resource;
+        }
+        eObject = container;
+      }
+      return false;
+    }
+
+    private long getByteCount()
+    {
+      return flushedCount + index;
     }
 
     public void saveEObjects(InternalEList<? extends InternalEObject> internalEObjects, Check check) throws IOException
@@ -1155,87 +1723,132 @@ public class BinaryResourceImpl extends ResourceImpl
         if (id == null)
         {
           int idValue = eObjectIDMap.size();
-          writeCompressedInt(idValue);
-          eObjectIDMap.put(internalEObject, idValue);
-          EClass eClass = internalEObject.eClass();
-          EClassData eClassData = writeEClass(eClass);
-          boolean checkIsTransientProxy = false;
-          switch (check)
+          writeCompressedInt(columns == null ? idValue : 0);
+          saveNewEObject(internalEObject, idValue, check);
+        }
+        else
+        {
+          writeCompressedInt(columns == null ? id : eObjectIDMap.size() - id);
+        }
+      }
+    }
+
+    /**
+     * Saves the objects of a non-containment reference list of a {@link Version#VERSION_1_3 columnar} serialization,
+     * each as the difference between its ID and the ID of the preceding object,
+     * or, for the first object, the next unused ID.
+     * @since 2.33
+     */
+    protected void saveEObjectReferences(InternalEList<? extends InternalEObject> internalEObjects, Check check) throws IOException
+    {
+      int size = internalEObjects.size();
+      InternalEObject [] values = allocateInternalEObjectArray(size);
+      internalEObjects.basicToArray(values);
+      writeCompressedInt(size);
+      int previousID = eObjectIDMap.size();
+      for (int i = 0; i < size; ++i)
+      {
+        InternalEObject internalEObject = values[i];
+        Integer id = eObjectIDMap.get(internalEObject);
+        int idValue = id == null ? eObjectIDMap.size() : id;
+        int delta = idValue - previousID;
+        writeCompressedInt(delta << 1 ^ delta >> 31);
+        previousID = idValue;
+        if (id == null)
+        {
+          saveNewEObject(internalEObject, idValue, check);
+        }
+      }
+      recycle(values);
+    }
+
+    private void saveNewEObject(InternalEObject internalEObject, int idValue, Check check) throws IOException
+    {
+      eObjectIDMap.put(internalEObject, idValue);
+      EClass eClass = internalEObject.eClass();
+      EClassData eClassData = writeEClass(eClass);
+      boolean checkIsTransientProxy = false;
+      switch (check)
+      {
+        case DIRECT_RESOURCE:
+        {
+          Internal resource = internalEObject.eDirectResource();
+          if (resource != null)
           {
-            case DIRECT_RESOURCE:
+            writeCompressedInt(-1);
+            writeURI(resource.getURI(), resource.getURIFragment(internalEObject));
+            if ((style & STYLE_PROXY_ATTRIBUTES) == 0)
             {
-              Internal resource = internalEObject.eDirectResource();
-              if (resource != null)
-              {
-                writeCompressedInt(-1);
-                writeURI(resource.getURI(), resource.getURIFragment(internalEObject));
-                if ((style & STYLE_PROXY_ATTRIBUTES) == 0)
-                {
-                  return;
-                }
-                checkIsTransientProxy = true;
-              }
-              else if (internalEObject.eIsProxy())
-              {
-                writeCompressedInt(-1);
-                writeURI(internalEObject.eProxyURI());
-                if ((style & STYLE_PROXY_ATTRIBUTES) == 0)
-                {
-                  return;
-                }
-                checkIsTransientProxy = true;
-              }
-              break;
+              return;
             }
-            case RESOURCE:
+            checkIsTransientProxy = true;
+          }
+          else if (internalEObject.eIsProxy())
+          {
+            writeCompressedInt(-1);
+            writeURI(internalEObject.eProxyURI());
+            if ((style & STYLE_PROXY_ATTRIBUTES) == 0)
             {
-              Resource resource = internalEObject.eResource();
-              if (resource != this.resource && resource != null)
-              {
-                writeCompressedInt(-1);
-                writeURI(resource.getURI(), resource.getURIFragment(internalEObject));
-                if ((style & STYLE_PROXY_ATTRIBUTES) == 0)
-                {
-                  return;
-                }
-                checkIsTransientProxy = true;
-              }
-              else if (internalEObject.eIsProxy())
-              {
-                writeCompressedInt(-1);
-                writeURI(internalEObject.eProxyURI());
-                if ((style & STYLE_PROXY_ATTRIBUTES) == 0)
-                {
-                  return;
-                }
-                checkIsTransientProxy = true;
-              }
-              break;
+              return;
             }
-            case NOTHING:
-            case CONTAINER:
+            checkIsTransientProxy = true;
+          }
+          break;
+        }
+        case RESOURCE:
+        {
+          Resource resource = internalEObject.eResource();
+          if (resource != this.resource && resource != null)
+          {
+            writeCompressedInt(-1);
+            writeURI(resource.getURI(), resource.getURIFragment(internalEObject));
+            if ((style & STYLE_PROXY_ATTRIBUTES) == 0)
             {
-              break;
+              return;
             }
+            checkIsTransientProxy = true;
           }
-          EStructuralFeatureData [] eStructuralFeatureData = eClassData.eStructuralFeatureData;
-          for (int i = 0, length = eStructuralFeatureData.length; i < length; ++i)
+          else if (internalEObject.eIsProxy())
           {
-            EStructuralFeatureData structuralFeatureData = eStructuralFeatureData[i];
-            if (!structuralFeatureData.isTransient &&
-                  (structuralFeatureData.kind != FeatureKind.EOBJECT_CONTAINER_PROXY_RESOLVING || check == Check.CONTAINER) &&
-                  (!checkIsTransientProxy || !structuralFeatureData.isProxyTransient))
+            writeCompressedInt(-1);
+            writeURI(internalEObject.eProxyURI());
+            if ((style & STYLE_PROXY_ATTRIBUTES) == 0)
             {
-              saveFeatureValue(internalEObject, i, structuralFeatureData);
+              return;
             }
+            checkIsTransientProxy = true;
           }
-          writeCompressedInt(0);
+          break;
         }
-        else
+        case NOTHING:
+        case CONTAINER:
         {
-          writeCompressedInt(id);
+          break;
+        }
+      }
+      if (root != null && check != Check.CONTAINER && !checkIsTransientProxy && isInOtherRoot(internalEObject))
+      {
+        writeCompressedInt(-1);
+        URI uri = resource.getURI();
+        writeURI(uri == null ? URI.createURI("") : uri, resource.getURIFragment(internalEObject));
+        if ((style & STYLE_PROXY_ATTRIBUTES) == 0)
+        {
+          return;
         }
+        checkIsTransientProxy = true;
       }
+      EStructuralFeatureData [] eStructuralFeatureData = eClassData.eStructuralFeatureData;
+      for (int i = 0, length = eStructuralFeatureData.length; i < length; ++i)
+      {
+        EStructuralFeatureData structuralFeatureData = eStructuralFeatureData[i];
+        if (!structuralFeatureData.isTransient &&
+              (structuralFeatureData.kind != FeatureKind.EOBJECT_CONTAINER_PROXY_RESOLVING || check == Check.CONTAINER) &&
+              (!checkIsTransientProxy || !structuralFeatureData.isProxyTransient))
+        {
+          saveFeatureValue(internalEObject, i, structuralFeatureData);
+        }
+      }
+      writeCompressedInt(0);
     }
 
     protected void saveFeatureValue(InternalEObject internalEObject, int featureID, EStructuralFeatureData eStructuralFeatureData) throws IOException
@@ -1252,8 +1865,21 @@ public class BinaryResourceImpl extends ResourceImpl
           }
           eStructuralFeatureData.name = null;
         }
-        Object value = internalEObject.eGet(featureID, false, true);
-        saveFeatureValue(internalEObject, value, featureID, eStructuralFeatureData);
+        if (columns != null && isColumnKind(eStructuralFeatureData.kind))
+        {
+          List<InternalEObject> column = eStructuralFeatureData.column;
+          if (column == null)
+          {
+            column = eStructuralFeatureData.column = new ArrayList<InternalEObject>();
+            columns.add(eStructuralFeatureData);
+          }
+          column.add(internalEObject);
+        }
+        else
+        {
+          Object value = internalEObject.eGet(featureID, false, true);
+          saveFeatureValue(internalEObject, value, featureID, eStructuralFeatureData);
+        }
       }
     }
 
@@ -1286,6 +1912,19 @@ public class BinaryResourceImpl extends ResourceImpl
           break;
         }
         case EOBJECT_LIST:
+        {
+          @SuppressWarnings("unchecked")
+          InternalEList<? extends InternalEObject> internalEList = (InternalEList<? extends InternalEObject>)value;
+          if (columns == null)
+          {
+            saveEObjects(internalEList, Check.NOTHING);
+          }
+          else
+          {
+            saveEObjectReferences(internalEList, Check.NOTHING);
+          }
+          break;
+        }
         case EOBJECT_CONTAINMENT_LIST:
         {
           @SuppressWarnings("unchecked")
@@ -1304,7 +1943,14 @@ public class BinaryResourceImpl extends ResourceImpl
         {
           @SuppressWarnings("unchecked")
           InternalEList<? extends InternalEObject> internalEList = (InternalEList<? extends InternalEObject>)value;
-          saveEObjects(internalEList, Check.RESOURCE);
+          if (columns == null)
+          {
+            saveEObjects(internalEList, Check.RESOURCE);
+          }
+          else
+          {
+            saveEObjectReferences(internalEList, Check.RESOURCE);
+          }
           break;
         }
         case BOOLEAN:
@@ -1386,7 +2032,7 @@ public class BinaryResourceImpl extends ResourceImpl
           }
           else
           {
-            writeString(eStructuralFeatureData.eFactory.convertToString(eStructuralFeatureData.eDataType, value));
+            writeEnumeratorLiteral(eStructuralFeatureData.eFactory.convertToString(eStructuralFeatureData.eDataType, value));
           }
           break;
         }
@@ -1437,6 +2083,7 @@ public class BinaryResourceImpl extends ResourceImpl
       if (bytes == null)
       {
         outputStream.write(value);
+        ++flushedCount;
       }
       else
       {
@@ -1462,6 +2109,7 @@ public class BinaryResourceImpl extends ResourceImpl
     private void doFlush() throws IOException
     {
       outputStream.write(bytes, 0, index);
+      flushedCount += index;
       index = 0;
     }
 
@@ -1579,7 +2227,11 @@ public class BinaryResourceImpl extends ResourceImpl
      */
     public void writeSegmentedString(String value) throws IOException
     {
-      if (segmentedStringToIDMap == null)
+      if (stringToIDMap != null)
+      {
+        writeTabulatedString(value);
+      }
+      else if (segmentedStringToIDMap == null)
       {
         writeString(value);
       }
@@ -1670,33 +2322,92 @@ public class BinaryResourceImpl extends ResourceImpl
 
         int length = value.length();
         writeCompressedInt(length);
-        if (characters == null || characters.length < length)
-        {
-          characters = new char[length];
-        }
-        value.getChars(0, length, characters, 0);
-        LOOP:
-        for (int i = 0; i < length; ++i)
+        writeCharacters(value, length);
+      }
+    }
+
+    private void writeCharacters(String value, int length) throws IOException
+    {
+      if (characters == null || characters.length < length)
+      {
+        characters = new char[length];
+      }
+      value.getChars(0, length, characters, 0);
+      LOOP:
+      for (int i = 0; i < length; ++i)
+      {
+        char character = characters[i];
+        if (character == 0 || character > 0xFF)
         {
-          char character = characters[i];
-          if (character == 0 || character > 0xFF)
+          writeByte((byte)0);
+          writeChar(character);
+          while (++i < length)
           {
-            writeByte((byte)0);
-            writeChar(character);
-            while (++i < length)
-            {
-              writeChar(characters[i]);
-            }
-            break LOOP;
-          }
-          else
-          {
-            writeByte((byte)character);
+            writeChar(characters[i]);
           }
+          break LOOP;
+        }
+        else
+        {
+          writeByte((byte)character);
+        }
+      }
+    }
+
+    /**
+     * Writes a string of a {@link Version#VERSION_1_3 columnar} serialization using the dictionary of the resource's strings.
+     * A string is written in full, preceded by twice its length, only the first time it's written;
+     * subsequently it's written as one more than twice its index in the dictionary.
+     */
+    private void writeTabulatedString(String value) throws IOException
+    {
+      if (value == null)
+      {
+        writeCompressedInt(-1);
+      }
+      else
+      {
+        Integer id = stringToIDMap.get(value);
+        if (id == null)
+        {
+          stringToIDMap.put(value, stringToIDMap.size());
+          int length = value.length();
+          writeCompressedInt(2 * length);
+          writeCharacters(value, length);
+        }
+        else
+        {
+          writeCompressedInt(2 * id + 1);
         }
       }
     }
 
+    private void writeEnumeratorLiteral(String value) throws IOException
+    {
+      if (columns == null)
+      {
+        writeString(value);
+      }
+      else
+      {
+        writeSegmentedString(value);
+      }
+    }
+
+    /**
+     * Writes an unsigned value in groups of seven bits, least significant group first,
+     * where the high bit of each byte indicates whether another byte follows.
+     */
+    private void writeVariableLengthLong(long value) throws IOException
+    {
+      while ((value & ~0x7FL) != 0)
+      {
+        writeByte((int)value & 0x7F | 0x80);
+        value >>>= 7;
+      }
+      writeByte((int)value);
+    }
+
     public void writeDate(Date date) throws IOException
     {
       writeLong(date.getTime());
@@ -1772,6 +2483,11 @@ public class BinaryResourceImpl extends ResourceImpl
        * @since 2.9
        */
       public DataConverter<?> dataConverter;
+      /**
+       * The objects whose values for this feature are deferred to its column in a {@link Version#VERSION_1_3 columnar} serialization.
+       * @since 2.33
+       */
+      public List<InternalEObject> column;
     }
 
     private static class InternalEObjectList extends BasicEList<InternalEObject>
@@ -1942,12 +2658,29 @@ public class BinaryResourceImpl extends ResourceImpl
 
     private final StringList segmentedStringsList;
     private final StringList segmentsList;
+    private StringList stringsList;
     private char[] builder;
 
     /**
-     * @since 2.9
+     * @since 2.9
+     */
+    protected boolean isEagerProxyResolution;
+
+    private int localProxyCount;
+
+    /**
+     * The objects with non-proxy-resolving references to proxies for objects of other root objects of the resource.
+     * @see #resolveLocalProxies()
+     * @since 2.33
+     */
+    protected BasicEList<InternalEObject> localProxyReferencers = new BasicEList<InternalEObject>();
+
+    /**
+     * The features whose columns are to be loaded, in the order in which their columns were first used,
+     * or <code>null</code> if this isn't a {@link Version#VERSION_1_3 columnar} serialization.
+     * @since 2.33
      */
-    protected boolean isEagerProxyResolution;
+    protected List<EStructuralFeatureData> columns;
 
     public EObjectInputStream(InputStream inputStream, Map<?, ?> options) throws IOException
     {
@@ -1990,6 +2723,61 @@ public class BinaryResourceImpl extends ResourceImpl
         segmentedStringsList = null;
         segmentsList = null;
       }
+
+      initializeColumns();
+    }
+
+    /**
+     * Creates an instance for reading the block of a root object of a {@link Version#VERSION_1_2 random access} serialization,
+     * i.e., the signature, version, and style of the serialization have already been read.
+     * @see #loadRoot(Resource)
+     * @since 2.33
+     */
+    public EObjectInputStream(InputStream inputStream, Map<?, ?> options, Version version, int style) throws IOException
+    {
+      this.inputStream = inputStream;
+      this.options = options;
+      this.version = version;
+      this.style = style;
+
+      int bufferCapacity = getInternalBufferCapacity(options);
+      if (bufferCapacity > 1)
+      {
+       bytes = new byte[bufferCapacity];
+      }
+      isMarkSupported = inputStream.markSupported();
+
+      if (options != null)
+      {
+        isEagerProxyResolution = Boolean.TRUE.equals(options.get(OPTION_EAGER_PROXY_RESOLUTION));
+      }
+
+      if ((style & STYLE_DATA_CONVERTER) != 0)
+      {
+        segmentedStringsList = new StringList();
+        segmentsList = new StringList();
+        segmentsList.addAllUnique(INTRINSIC_STRINGS);
+        builder = new char[200];
+      }
+      else
+      {
+        segmentedStringsList = null;
+        segmentsList = null;
+      }
+
+      initializeColumns();
+    }
+
+    private void initializeColumns()
+    {
+      if (version == Version.VERSION_1_3)
+      {
+        columns = new ArrayList<EStructuralFeatureData>();
+        if (segmentedStringsList == null)
+        {
+          stringsList = new StringList();
+        }
+      }
     }
 
     protected void readSignature() throws IOException
@@ -2216,24 +3004,233 @@ public class BinaryResourceImpl extends ResourceImpl
       InternalEObject[] values = allocateInternalEObjectArray(size);
       for (int i = 0; i < size; ++i)
       {
+        if (version == Version.VERSION_1_2)
+        {
+          resetTables();
+        }
         values[i] = loadEObject();
       }
+      if (version == Version.VERSION_1_2)
+      {
+        // Consume the table of offsets and the offset of that table.
+        //
+        for (int i = 0; i <= size; ++i)
+        {
+          readLong();
+        }
+      }
+      else if (columns != null)
+      {
+        loadColumns();
+      }
       internalEObjectList.setData(size, values);
       @SuppressWarnings("unchecked")
       InternalEList<InternalEObject> internalEObjects = (InternalEList<InternalEObject>)(InternalEList<?>)resource.getContents();
       internalEObjects.addAllUnique(internalEObjectList);
       recycle(values);
+      resolveLocalProxies();
+    }
+
+    /**
+     * Loads the block of a single root object of a {@link Version#VERSION_1_2 random access} serialization.
+     * The caller is responsible for adding the result to the resource's contents
+     * and then for {@link #resolveLocalProxies() resolving} the local proxies.
+     * @see #EObjectInputStream(InputStream, Map, Version, int)
+     * @since 2.33
+     */
+    public InternalEObject loadRoot(Resource resource) throws IOException
+    {
+      this.resource = resource;
+      this.resourceSet = resource.getResourceSet();
+      URI uri = resource.getURI();
+      if (uri != null && uri.isHierarchical() && !uri.isRelative())
+      {
+        baseURI = uri;
+      }
+      return loadEObject();
+    }
+
+    /**
+     * Clears all the tables of previously deserialized packages, classes, objects, URIs, strings, and data values
+     * in preparation for reading the independently decodable block of the next root object.
+     * @see EObjectOutputStream#resetTables()
+     * @since 2.33
+     */
+    protected void resetTables()
+    {
+      internalEPackageDataList.setData(0, internalEPackageDataList.ePackageData);
+      internalInternalEObjectList.setData(0, internalInternalEObjectList.eObjects);
+      internalURIList.setData(0, internalURIList.uris);
+      dataConverterMap.clear();
+      if (segmentedStringsList != null)
+      {
+        segmentedStringsList.setData(0, segmentedStringsList.strings);
+        segmentsList.setData(0, segmentsList.strings);
+        segmentsList.addAllUnique(INTRINSIC_STRINGS);
+      }
+    }
+
+    /**
+     * Returns whether the proxy URI references an object in a different root object of the resource being loaded.
+     * @since 2.33
+     */
+    protected boolean isLocalProxyURI(URI proxyURI)
+    {
+      URI uri = resource.getURI();
+      URI trimmedProxyURI = proxyURI.trimFragment();
+      return uri == null ? trimmedProxyURI.toString().length() == 0 : uri.equals(trimmedProxyURI);
+    }
+
+    /**
+     * Replaces each local proxy held by a non-proxy-resolving reference of the {@link #localProxyReferencers}
+     * with the object it represents,
+     * i.e., with the object in a different root object of the resource,
+     * which requires that the root object containing this stream's objects is already contained by the resource.
+     * @since 2.33
+     */
+    public void resolveLocalProxies()
+    {
+      for (int i = 0, size = localProxyReferencers.size(); i < size; ++i)
+      {
+        InternalEObject internalEObject = localProxyReferencers.get(i);
+        for (EReference eReference : internalEObject.eClass().getEAllReferences())
+        {
+          if (!eReference.isResolveProxies() && !eReference.isContainment() && !eReference.isContainer() && internalEObject.eIsSet(eReference))
+          {
+            if (eReference.isMany())
+            {
+              @SuppressWarnings("unchecked")
+              InternalEList<InternalEObject> internalEList = (InternalEList<InternalEObject>)internalEObject.eGet(eReference, false);
+              for (int j = 0; j < internalEList.size(); ++j)
+              {
+                InternalEObject value = internalEList.basicGet(j);
+                if (value.eIsProxy() && isLocalProxyURI(value.eProxyURI()))
+                {
+                  EObject resolvedEObject = resource.getEObject(value.eProxyURI().fragment());
+                  if (resolvedEObject == null)
+                  {
+                    continue;
+                  }
+                  else if (internalEList.basicContains(resolvedEObject))
+                  {
+                    // A bidirectional reference will have already added the resolved object.
+                    //
+                    internalEList.remove(j--);
+                  }
+                  else
+                  {
+                    internalEList.set(j, (InternalEObject)resolvedEObject);
+                  }
+                }
+              }
+            }
+            else
+            {
+              InternalEObject value = (InternalEObject)internalEObject.eGet(eReference, false);
+              if (value != null && value.eIsProxy() && isLocalProxyURI(value.eProxyURI()))
+              {
+                EObject resolvedEObject = resource.getEObject(value.eProxyURI().fragment());
+                if (resolvedEObject != null)
+                {
+                  internalEObject.eSet(eReference, resolvedEObject);
+                }
+              }
+            }
+          }
+        }
+      }
+      localProxyReferencers.clear();
+    }
+
+    /**
+     * Loads the deferred values of each column, in the order in which the columns were first used.
+     * @see EObjectOutputStream#saveColumns()
+     * @since 2.33
+     */
+    protected void loadColumns() throws IOException
+    {
+      for (EStructuralFeatureData eStructuralFeatureData : columns)
+      {
+        List<InternalEObject> column = eStructuralFeatureData.column;
+        int size = column.size();
+        if (eStructuralFeatureData.kind == FeatureKind.BOOLEAN)
+        {
+          int featureID = eStructuralFeatureData.featureID;
+          for (int i = 0; i < size; i += 8)
+          {
+            int bits = readByte();
+            for (int j = i, end = Math.min(i + 8, size); j < end; ++j)
+            {
+              column.get(j).eSet(featureID, (bits & 1 << j - i) != 0);
+            }
+          }
+        }
+        else if (eStructuralFeatureData.kind == FeatureKind.INT)
+        {
+          int featureID = eStructuralFeatureData.featureID;
+          int value = 0;
+          for (int i = 0; i < size; ++i)
+          {
+            int delta = (int)readVariableLengthLong();
+            value += delta >>> 1 ^ -(delta & 1);
+            column.get(i).eSet(featureID, value);
+          }
+        }
+        else if (eStructuralFeatureData.kind == FeatureKind.LONG)
+        {
+          int featureID = eStructuralFeatureData.featureID;
+          long value = 0;
+          for (int i = 0; i < size; ++i)
+          {
+            long delta = readVariableLengthLong();
+            value += delta >>> 1 ^ -(delta & 1);
+            column.get(i).eSet(featureID, value);
+          }
+        }
+        else
+        {
+          for (int i = 0; i < size; ++i)
+          {
+            loadFeatureValue(column.get(i), eStructuralFeatureData);
+          }
+        }
+        eStructuralFeatureData.column = null;
+      }
+      columns.clear();
     }
 
     public void loadEObjects(InternalEList<InternalEObject> internalEObjects) throws IOException
+    {
+      loadEObjects(internalEObjects, false);
+    }
+
+    /**
+     * Loads the objects of a list, where the objects of a non-containment reference list of a {@link Version#VERSION_1_3 columnar} serialization
+     * are serialized relative to the ID of the preceding object.
+     * @see EObjectOutputStream#saveEObjectReferences(InternalEList, EObjectOutputStream.Check)
+     */
+    private void loadEObjects(InternalEList<InternalEObject> internalEObjects, boolean isReferenceList) throws IOException
     {
       // Read all the values into an array.
       //
       int size = readCompressedInt();
       InternalEObject[] values = allocateInternalEObjectArray(size);
-      for (int i = 0; i < size; ++i)
+      if (isReferenceList && columns != null)
       {
-        values[i] = loadEObject();
+        int previousID = internalInternalEObjectList.size();
+        for (int i = 0; i < size; ++i)
+        {
+          int delta = readCompressedInt();
+          previousID += delta >>> 1 ^ -(delta & 1);
+          values[i] = loadEObject(previousID);
+        }
+      }
+      else
+      {
+        for (int i = 0; i < size; ++i)
+        {
+          values[i] = loadEObject();
+        }
       }
       int existingSize = internalEObjects.size();
 
@@ -2490,57 +3487,84 @@ public class BinaryResourceImpl extends ResourceImpl
       }
       else
       {
-        if (internalInternalEObjectList.size() <= id)
+        return loadEObject(columns == null ? id : internalInternalEObjectList.size() - id);
+      }
+    }
+
+    private InternalEObject loadEObject(int id) throws IOException
+    {
+      if (internalInternalEObjectList.size() <= id)
+      {
+        EClassData eClassData = readEClass();
+        InternalEObject internalEObject =  (InternalEObject)eClassData.eFactory.create(eClassData.eClass);
+        InternalEObject result = internalEObject;
+
+        // Check if we have a "feature" representing the proxy URI...
+        //
+        int featureID = readCompressedInt() - 1;
+        if (featureID == -2)
         {
-          EClassData eClassData = readEClass();
-          InternalEObject internalEObject =  (InternalEObject)eClassData.eFactory.create(eClassData.eClass);
-          InternalEObject result = internalEObject;
+          URI proxyURI = readURI();
+          internalEObject.eSetProxyURI(proxyURI);
+          boolean isLocalProxy = version == Version.VERSION_1_2 && isLocalProxyURI(proxyURI);
+          if (isLocalProxy)
+          {
+            ++localProxyCount;
+          }
 
-          // Check if we have a "feature" representing the proxy URI...
+          // A proxy for an object in another root object of this resource must not be resolved while this root object is being loaded.
           //
-          int featureID = readCompressedInt() - 1;
-          if (featureID == -2)
+          if (isEagerProxyResolution && !isLocalProxy)
           {
-            internalEObject.eSetProxyURI(readURI());
-            if (isEagerProxyResolution)
-            {
-              result = (InternalEObject)EcoreUtil.resolve(internalEObject, resource);
-              internalInternalEObjectList.add(result);
-              if ((style & STYLE_PROXY_ATTRIBUTES) == 0)
-              {
-                return result;
-              }
-            }
-            else
+            result = (InternalEObject)EcoreUtil.resolve(internalEObject, resource);
+            internalInternalEObjectList.add(result);
+            if ((style & STYLE_PROXY_ATTRIBUTES) == 0)
             {
-              internalInternalEObjectList.add(internalEObject);
-              if ((style & STYLE_PROXY_ATTRIBUTES) == 0)
-              {
-                return internalEObject;
-              }
+              return result;
             }
-
-            // We must process the proxy attributes even for the case of eager proxy resolution when we will immediately discard the proxy.
-            //
-            featureID = readCompressedInt() - 1;
           }
           else
           {
             internalInternalEObjectList.add(internalEObject);
+            if ((style & STYLE_PROXY_ATTRIBUTES) == 0)
+            {
+              return internalEObject;
+            }
           }
 
-          for (; featureID != -1; featureID = readCompressedInt() - 1)
-          {
-            EStructuralFeatureData eStructuralFeatureData = getEStructuralFeatureData(eClassData, featureID);
-            loadFeatureValue(internalEObject, eStructuralFeatureData);
-          }
-
-          return result;
+          // We must process the proxy attributes even for the case of eager proxy resolution when we will immediately discard the proxy.
+          //
+          featureID = readCompressedInt() - 1;
         }
         else
         {
-          return internalInternalEObjectList.eObjects[id];
+          internalInternalEObjectList.add(internalEObject);
+        }
+
+        for (; featureID != -1; featureID = readCompressedInt() - 1)
+        {
+          EStructuralFeatureData eStructuralFeatureData = getEStructuralFeatureData(eClassData, featureID);
+          if (columns != null && isColumnKind(eStructuralFeatureData.kind))
+          {
+            List<InternalEObject> column = eStructuralFeatureData.column;
+            if (column == null)
+            {
+              column = eStructuralFeatureData.column = new ArrayList<InternalEObject>();
+              columns.add(eStructuralFeatureData);
+            }
+            column.add(internalEObject);
+          }
+          else
+          {
+            loadFeatureValue(internalEObject, eStructuralFeatureData);
+          }
         }
+
+        return result;
+      }
+      else
+      {
+        return internalInternalEObjectList.eObjects[id];
       }
     }
 
@@ -2548,9 +3572,30 @@ public class BinaryResourceImpl extends ResourceImpl
     {
       switch (eStructuralFeatureData.kind)
       {
+        case EOBJECT:
+        {
+          int localProxyCount = this.localProxyCount;
+          internalEObject.eSet(eStructuralFeatureData.featureID, loadEObject());
+          if (localProxyCount != this.localProxyCount)
+          {
+            localProxyReferencers.add(internalEObject);
+          }
+          break;
+        }
+        case EOBJECT_LIST:
+        {
+          int localProxyCount = this.localProxyCount;
+          @SuppressWarnings("unchecked")
+          InternalEList<InternalEObject> internalEList = (InternalEList<InternalEObject>)internalEObject.eGet(eStructuralFeatureData.featureID, false, true);
+          loadEObjects(internalEList, true);
+          if (localProxyCount != this.localProxyCount)
+          {
+            localProxyReferencers.add(internalEObject);
+          }
+          break;
+        }
         case EOBJECT_CONTAINER:
         case EOBJECT_CONTAINER_PROXY_RESOLVING:
-        case EOBJECT:
         case EOBJECT_PROXY_RESOLVING:
         case EOBJECT_CONTAINMENT:
         case EOBJECT_CONTAINMENT_PROXY_RESOLVING:
@@ -2558,8 +3603,13 @@ public class BinaryResourceImpl extends ResourceImpl
           internalEObject.eSet(eStructuralFeatureData.featureID, loadEObject());
           break;
         }
-        case EOBJECT_LIST:
         case EOBJECT_LIST_PROXY_RESOLVING:
+        {
+          @SuppressWarnings("unchecked")
+          InternalEList<InternalEObject> internalEList = (InternalEList<InternalEObject>)internalEObject.eGet(eStructuralFeatureData.featureID, false, true);
+          loadEObjects(internalEList, true);
+          break;
+        }
         case EOBJECT_CONTAINMENT_LIST:
         case EOBJECT_CONTAINMENT_LIST_PROXY_RESOLVING:
         {
@@ -2607,7 +3657,7 @@ public class BinaryResourceImpl extends ResourceImpl
           }
           else
           {
-            internalEObject.eSet(eStructuralFeatureData.featureID, eStructuralFeatureData.eFactory.createFromString(eStructuralFeatureData.eDataType, readString()));
+            internalEObject.eSet(eStructuralFeatureData.featureID, eStructuralFeatureData.eFactory.createFromString(eStructuralFeatureData.eDataType, readEnumeratorLiteral()));
           }
           break;
         }
@@ -2861,7 +3911,11 @@ public class BinaryResourceImpl extends ResourceImpl
      */
     public String readSegmentedString() throws IOException
     {
-      if (segmentedStringsList == null)
+      if (stringsList != null)
+      {
+        return readTabulatedString();
+      }
+      else if (segmentedStringsList == null)
       {
         return basicReadString();
       }
@@ -2954,29 +4008,80 @@ public class BinaryResourceImpl extends ResourceImpl
       }
       else
       {
-        if (characters == null || characters.length < length)
-        {
-          characters = new char[length];
-        }
-        LOOP:
-        for (int i = 0; i < length; ++i)
+        return readCharacters(length);
+      }
+    }
+
+    private String readCharacters(int length) throws IOException
+    {
+      if (characters == null || characters.length < length)
+      {
+        characters = new char[length];
+      }
+      LOOP:
+      for (int i = 0; i < length; ++i)
+      {
+        byte value = readByte();
+        if (value == 0)
         {
-          byte value = readByte();
-          if (value == 0)
-          {
-            do
-            {
-              characters[i] = readChar();
-            }
-            while (++i < length);
-            break LOOP;
-          }
-          else
+          do
           {
-            characters[i] = (char)(value & 0xFF);
+            characters[i] = readChar();
           }
+          while (++i < length);
+          break LOOP;
+        }
+        else
+        {
+          characters[i] = (char)(value & 0xFF);
+        }
+      }
+      return new String(characters, 0, length);
+    }
+
+    /**
+     * Reads a string of a {@link Version#VERSION_1_3 columnar} serialization using the dictionary of the resource's strings.
+     * @see EObjectOutputStream#writeSegmentedString(String)
+     */
+    private String readTabulatedString() throws IOException
+    {
+      int code = readCompressedInt();
+      if (code == -1)
+      {
+        return null;
+      }
+      else if ((code & 1) == 0)
+      {
+        String value = readCharacters(code >> 1);
+        stringsList.add(value);
+        return value;
+      }
+      else
+      {
+        return stringsList.strings[code >> 1];
+      }
+    }
+
+    private String readEnumeratorLiteral() throws IOException
+    {
+      return columns == null ? readString() : readSegmentedString();
+    }
+
+    /**
+     * Reads an unsigned value written in groups of seven bits.
+     * @see EObjectOutputStream#saveColumns()
+     */
+    private long readVariableLengthLong() throws IOException
+    {
+      long result = 0;
+      for (int shift = 0; ; shift += 7)
+      {
+        byte value = readByte();
+        result |= (long)(value & 0x7F) << shift;
+        if (value >= 0)
+        {
+          return result;
         }
-        return new String(characters, 0, length);
       }
     }
 
@@ -12,15 +12,24 @@ package org.eclipse.emf.ecore.resource.impl;
 
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
 
 import org.eclipse.emf.common.notify.AdapterFactory;
 import org.eclipse.emf.common.notify.Notification;
 import org.eclipse.emf.common.notify.NotificationChain;
 import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
 import org.eclipse.emf.common.notify.impl.NotifierImpl;
 import org.eclipse.emf.common.util.BasicEList;
 import org.eclipse.emf.common.util.ECollections;
@@ -111,6 +120,14 @@ public class ResourceSetImpl extends NotifierImpl implements ResourceSet
    */
   protected ResourceLocator resourceLocator;
 
+  /**
+   * A cache used for efficiently {@link #getEObject(URI, boolean) resolving} URIs, including those that fail to resolve.
+   * It's only active if not <code>null</code>; creating a {@link ProxyResolutionCache} sets it.
+   * @see ProxyResolutionCache
+   * @since 2.33
+   */
+  protected ProxyResolutionCache proxyResolutionCache;
+
   /**
    * Creates an empty instance.
    */
@@ -217,6 +234,11 @@ public class ResourceSetImpl extends NotifierImpl implements ResourceSet
    */
   public EObject getEObject(URI uri, boolean loadOnDemand)
   {
+    if (proxyResolutionCache != null)
+    {
+      return proxyResolutionCache.getEObject(uri, loadOnDemand);
+    }
+
     Resource resource = getResource(uri.trimFragment(), loadOnDemand);
     if (resource != null)
     {
@@ -415,6 +437,232 @@ public class ResourceSetImpl extends NotifierImpl implements ResourceSet
     return null;
   }
 
+  /**
+   * Returns the resources for the given URIs, in the same order, demand loading those that aren't yet part of this resource set concurrently.
+   * <p>
+   * Each missing resource is created in the caller's thread, in a separate {@link #createLoadingResourceSet() loading resource set},
+   * and is then {@link #demandLoad(Resource) loaded} by a task run on the given executor,
+   * so the parsing of independent resources proceeds in parallel without any contention on this resource set.
+   * URIs that {@link URIConverter#normalize(URI) normalize} to the same URI yield the same resource.
+   * Once all the tasks have completed, the loaded resources, along with any other resources demand loaded while loading them,
+   * are attached to this resource set and the proxies of each loaded resource are {@link EcoreUtil#resolveAll(Resource) resolved},
+   * all in the caller's thread.
+   * Resources that are part of this resource set but aren't yet loaded are demand loaded, and then resolved, in the caller's thread.
+   * </p>
+   * <p>
+   * The {@link #getPackageRegistry() package registry}, {@link #getURIConverter() URI converter},
+   * and {@link #getResourceFactoryRegistry() resource factory registry} are shared by the concurrent loads,
+   * as are the {@link #getLoadOptions() load options},
+   * so, for XML resources, it's best to specify a thread-safe parser pool load option and to ensure that all the packages needed are registered beforehand.
+   * The concurrent loads also share the classes of the objects they create,
+   * and a class computes information such as {@link org.eclipse.emf.ecore.EClass#getEAllStructuralFeatures() all its features} lazily, without locking,
+   * so any dynamic package, i.e., one that isn't generated, must be prepared beforehand,
+   * e.g., by {@link EcoreUtil#prepareForConcurrentReading(Resource) preparing} its resource for concurrent reading,
+   * which computes that information and {@link EcoreUtil#freeze(EPackage) freezes} the package.
+   * </p>
+   * <p>
+   * If a resource fails to load, the other resources are still attached and resolved,
+   * and the exception is then handled just as it would be by {@link #getResource(URI, boolean) getResource(uri, true)};
+   * a resource that fails to load isn't resolved.
+   * If the executor rejects a task, the tasks already submitted are waited for, and their resources are attached, before the rejection is thrown.
+   * </p>
+   * @param uris the URIs of the resources to load.
+   * @param executor the executor with which to run the load tasks.
+   * @return the resources for the given URIs.
+   * @see #createLoadingResourceSet()
+   * @since 2.33
+   */
+  public EList<Resource> loadResources(Collection<URI> uris, Executor executor)
+  {
+    EList<Resource> result = new BasicEList<Resource>(uris.size());
+    URIConverter uriConverter = getURIConverter();
+    Map<URI, Resource> uriToLoadingResourceMap = new HashMap<URI, Resource>();
+    List<Resource> loadingResources = new ArrayList<Resource>();
+    List<FutureTask<Object>> loadTasks = new ArrayList<FutureTask<Object>>();
+    List<Resource> unloadedResources = new UniqueEList.FastCompare<Resource>();
+    List<Resource> failedResources = new UniqueEList.FastCompare<Resource>();
+    Resource failedResource = null;
+    Throwable failure = null;
+    boolean interrupted = false;
+    try
+    {
+      for (URI uri : uris)
+      {
+        URI normalizedURI = uriConverter.normalize(uri);
+        Resource resource = uriToLoadingResourceMap.get(normalizedURI);
+        if (resource == null)
+        {
+          resource = getResource(uri, false);
+          if (resource == null)
+          {
+            final Resource loadingResource = createLoadingResourceSet().createResource(uri, ContentHandler.UNSPECIFIED_CONTENT_TYPE);
+            if (loadingResource == null)
+            {
+              throw new RuntimeException("Cannot create a resource for '" + uri + "'; a registered resource factory is needed");
+            }
+
+            FutureTask<Object> loadTask =
+              new FutureTask<Object>
+                (new Callable<Object>()
+                 {
+                   public Object call() throws Exception
+                   {
+                     demandLoad(loadingResource);
+                     return null;
+                   }
+                 });
+            executor.execute(loadTask);
+
+            loadTasks.add(loadTask);
+            loadingResources.add(loadingResource);
+            uriToLoadingResourceMap.put(normalizedURI, resource = loadingResource);
+          }
+          else if (!resource.isLoaded())
+          {
+            unloadedResources.add(resource);
+          }
+        }
+        result.add(resource);
+      }
+    }
+    finally
+    {
+      // Wait for each task to complete and attach its resource, along with any other resources demand loaded in the loading resource set.
+      // This is done even if submitting a task fails, so that no task is left loading a resource that's never attached.
+      //
+      // A resource must never be attached while it's still being loaded, so an interrupt is deferred until all the tasks have completed.
+      //
+      Map<URI, Resource> map = getURIResourceMap();
+      for (int i = 0, size = loadTasks.size(); i < size; ++i)
+      {
+        Resource resource = loadingResources.get(i);
+        for (FutureTask<Object> loadTask = loadTasks.get(i);;)
+        {
+          try
+          {
+            loadTask.get();
+          }
+          catch (ExecutionException exception)
+          {
+            failedResources.add(resource);
+            if (failure == null)
+            {
+              failedResource = resource;
+              failure = exception.getCause();
+            }
+          }
+          catch (InterruptedException exception)
+          {
+            interrupted = true;
+            continue;
+          }
+          break;
+        }
+
+        ResourceSet loadingResourceSet = resource.getResourceSet();
+        getResources().add(resource);
+        if (map != null)
+        {
+          map.put(resource.getURI(), resource);
+        }
+
+        for (Resource otherResource : new ArrayList<Resource>(loadingResourceSet.getResources()))
+        {
+          if (getResource(otherResource.getURI(), false) == null)
+          {
+            getResources().add(otherResource);
+          }
+        }
+      }
+
+      if (interrupted)
+      {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    // Load and resolve all the resources that can be, so the resource set is fully initialized, before handling the first failure.
+    //
+    RuntimeException demandLoadException = null;
+    for (Resource resource : unloadedResources)
+    {
+      try
+      {
+        demandLoadHelper(resource);
+      }
+      catch (RuntimeException exception)
+      {
+        failedResources.add(resource);
+        if (demandLoadException == null)
+        {
+          demandLoadException = exception;
+        }
+      }
+    }
+
+    for (Resource resource : loadingResources)
+    {
+      if (!failedResources.contains(resource))
+      {
+        EcoreUtil.resolveAll(resource);
+      }
+    }
+
+    for (Resource resource : unloadedResources)
+    {
+      if (!failedResources.contains(resource))
+      {
+        EcoreUtil.resolveAll(resource);
+      }
+    }
+
+    if (failure instanceof IOException)
+    {
+      handleDemandLoadException(failedResource, (IOException)failure);
+    }
+    else if (failure instanceof RuntimeException)
+    {
+      throw (RuntimeException)failure;
+    }
+    else if (failure instanceof Error)
+    {
+      throw (Error)failure;
+    }
+    else if (failure != null)
+    {
+      throw new WrappedException((Exception)failure);
+    }
+
+    if (demandLoadException != null)
+    {
+      throw demandLoadException;
+    }
+
+    return result;
+  }
+
+  /**
+   * Creates the resource set in which a resource is {@link #loadResources(Collection, Executor) loaded concurrently}.
+   * This implementation creates a resource set that shares this resource set's
+   * {@link #getPackageRegistry() package registry},
+   * {@link #getURIConverter() URI converter},
+   * {@link #getResourceFactoryRegistry() resource factory registry},
+   * and {@link #getLoadOptions() load options}.
+   * Clients may extend this as appropriate.
+   * @return a new resource set.
+   * @see #loadResources(Collection, Executor)
+   * @since 2.33
+   */
+  protected ResourceSetImpl createLoadingResourceSet()
+  {
+    ResourceSetImpl loadingResourceSet = new ResourceSetImpl();
+    loadingResourceSet.setPackageRegistry(getPackageRegistry());
+    loadingResourceSet.setURIConverter(getURIConverter());
+    loadingResourceSet.setResourceFactoryRegistry(getResourceFactoryRegistry());
+    loadingResourceSet.loadOptions = getLoadOptions();
+    return loadingResourceSet;
+  }
+
   /*
    * Javadoc copied from interface.
    */
@@ -1210,4 +1458,290 @@ public class ResourceSetImpl extends NotifierImpl implements ResourceSet
       return null;
     }
   }
+
+  /**
+   * A cache of the results of {@link ResourceSetImpl#getEObject(URI, boolean) resolving} URIs in a resource set,
+   * typically the URIs of {@link EObject#eIsProxy() proxies}, keyed by the URI.
+   * <p>
+   * A URI that resolves to an object is mapped to the object's resource,
+   * and is resolved by that resource's {@link Resource#getEObject(String) fragment lookup},
+   * thereby avoiding the costly {@link ResourceSetImpl#getResource(URI, boolean) resource lookup}.
+   * A URI that doesn't resolve, e.g., because the resource doesn't exist, failed to load, or doesn't contain the fragment,
+   * is recorded as a negative entry that yields <code>null</code> until it expires after the {@link #timeToLive time to live}.
+   * A negative entry recorded without demand loading isn't used for a lookup with demand loading.
+   * </p>
+   * <p>
+   * The cache listens to the resource set and to its resources.
+   * Adding a resource to or removing a resource from the resource set, and changing a resource's URI or {@link Resource#isLoaded() loaded} state,
+   * e.g., by {@link Resource#unload() unloading} it,
+   * discards the entries for that resource and all negative entries.
+   * Other changes, e.g., adding an object to a resource, aren't tracked,
+   * so negative entries may be stale until they expire.
+   * </p>
+   * @see ResourceSetImpl#proxyResolutionCache
+   * @since 2.33
+   */
+  public static class ProxyResolutionCache
+  {
+    /**
+     * A cached result.
+     */
+    protected static final class Entry
+    {
+      /**
+       * The resource of the resolved object, or <code>null</code> for a negative entry.
+       */
+      final Resource resource;
+
+      /**
+       * The {@link System#nanoTime() time} at which a negative entry was recorded.
+       */
+      final long time;
+
+      /**
+       * Whether a negative entry was recorded with demand loading.
+       */
+      final boolean loadOnDemand;
+
+      Entry(Resource resource, long time, boolean loadOnDemand)
+      {
+        this.resource = resource;
+        this.time = time;
+        this.loadOnDemand = loadOnDemand;
+      }
+    }
+
+    /**
+     * An adapter that listens to the {@link ProxyResolutionCache#resourceSet resource set}
+     * for resources being added and removed, and to its resources for changes to their URI and their loaded state.
+     */
+    protected class ResourceAdapter extends AdapterImpl
+    {
+      @Override
+      public void notifyChanged(Notification notification)
+      {
+        Object notifier = notification.getNotifier();
+        if (notifier == resourceSet)
+        {
+          if (notification.getFeatureID(ResourceSet.class) == ResourceSet.RESOURCE_SET__RESOURCES)
+          {
+            switch (notification.getEventType())
+            {
+              case Notification.ADD:
+              {
+                added((Resource)notification.getNewValue());
+                break;
+              }
+              case Notification.ADD_MANY:
+              {
+                for (Object resource : (Collection<?>)notification.getNewValue())
+                {
+                  added((Resource)resource);
+                }
+                break;
+              }
+              case Notification.REMOVE:
+              {
+                removed((Resource)notification.getOldValue());
+                break;
+              }
+              case Notification.REMOVE_MANY:
+              {
+                for (Object resource : (Collection<?>)notification.getOldValue())
+                {
+                  removed((Resource)resource);
+                }
+                break;
+              }
+              case Notification.SET:
+              {
+                removed((Resource)notification.getOldValue());
+                added((Resource)notification.getNewValue());
+                break;
+              }
+            }
+          }
+        }
+        else if (notifier instanceof Resource)
+        {
+          switch (notification.getFeatureID(Resource.class))
+          {
+            case Resource.RESOURCE__URI:
+            case Resource.RESOURCE__IS_LOADED:
+            {
+              invalidate((Resource)notifier);
+              break;
+            }
+          }
+        }
+      }
+
+      @Override
+      public void setTarget(Notifier newTarget)
+      {
+        if (newTarget == resourceSet)
+        {
+          super.setTarget(newTarget);
+        }
+      }
+
+      @Override
+      public void unsetTarget(Notifier oldTarget)
+      {
+        if (oldTarget == resourceSet)
+        {
+          super.unsetTarget(oldTarget);
+        }
+      }
+    }
+
+    /**
+     * The resource set whose URI resolution is cached.
+     */
+    protected final ResourceSetImpl resourceSet;
+
+    /**
+     * The number of milliseconds after which a negative entry expires.
+     */
+    protected final long timeToLive;
+
+    /**
+     * The cached entries; they may be accessed concurrently, e.g., in a resource set {@link org.eclipse.emf.ecore.util.EcoreUtil#prepareForConcurrentReading(ResourceSet) prepared for concurrent reading}.
+     */
+    protected final Map<URI, Entry> entries = new ConcurrentHashMap<URI, Entry>();
+
+    /**
+     * The adapter that discards the affected entries when the resource set or its resources change.
+     */
+    protected final ResourceAdapter resourceAdapter = new ResourceAdapter();
+
+    /**
+     * Creates an instance for the given resource set, and sets the resource set's {@link ResourceSetImpl#proxyResolutionCache proxy resolution cache}.
+     * @param resourceSet the resource set.
+     * @param timeToLive the number of milliseconds after which a negative entry expires.
+     */
+    public ProxyResolutionCache(ResourceSetImpl resourceSet, long timeToLive)
+    {
+      this.resourceSet = resourceSet;
+      this.timeToLive = timeToLive;
+      if (resourceSet.proxyResolutionCache != null)
+      {
+        resourceSet.proxyResolutionCache.dispose();
+      }
+      resourceSet.proxyResolutionCache = this;
+      resourceSet.eAdapters().add(resourceAdapter);
+      for (Resource resource : resourceSet.getResources())
+      {
+        resource.eAdapters().add(resourceAdapter);
+      }
+    }
+
+    /**
+     * Returns the object for the given URI, using the cached result if there is one.
+     * This is called by the {@link #resourceSet resource set}'s {@link ResourceSetImpl#getEObject(URI, boolean)}.
+     */
+    public EObject getEObject(URI uri, boolean loadOnDemand)
+    {
+      Entry entry = entries.get(uri);
+      if (entry != null)
+      {
+        Resource resource = entry.resource;
+        if (resource == null)
+        {
+          if ((entry.loadOnDemand || !loadOnDemand) && (System.nanoTime() - entry.time) / 1000000L < timeToLive)
+          {
+            return null;
+          }
+        }
+        else if (!loadOnDemand || resource.isLoaded())
+        {
+          EObject eObject = resource.getEObject(uri.fragment());
+          if (eObject != null)
+          {
+            return eObject;
+          }
+          entries.put(uri, new Entry(null, System.nanoTime(), loadOnDemand));
+          return null;
+        }
+      }
+
+      Resource resource = null;
+      try
+      {
+        resource = resourceSet.getResource(uri.trimFragment(), loadOnDemand);
+        EObject eObject = resource == null ? null : resource.getEObject(uri.fragment());
+        if (eObject != null)
+        {
+          entries.put(uri, new Entry(resource, 0, loadOnDemand));
+          return eObject;
+        }
+        entries.put(uri, new Entry(null, System.nanoTime(), loadOnDemand));
+        return null;
+      }
+      catch (RuntimeException exception)
+      {
+        entries.put(uri, new Entry(null, System.nanoTime(), loadOnDemand));
+        throw exception;
+      }
+    }
+
+    /**
+     * Discards all entries.
+     */
+    public void clear()
+    {
+      entries.clear();
+    }
+
+    /**
+     * Discards the entries for the given resource, and all negative entries.
+     */
+    public void invalidate(Resource resource)
+    {
+      for (Iterator<Entry> i = entries.values().iterator(); i.hasNext(); )
+      {
+        Resource entryResource = i.next().resource;
+        if (entryResource == null || entryResource == resource)
+        {
+          i.remove();
+        }
+      }
+    }
+
+    /**
+     * Called when a resource is added to the resource set.
+     */
+    protected void added(Resource resource)
+    {
+      resource.eAdapters().add(resourceAdapter);
+      invalidate(resource);
+    }
+
+    /**
+     * Called when a resource is removed from the resource set.
+     */
+    protected void removed(Resource resource)
+    {
+      resource.eAdapters().remove(resourceAdapter);
+      invalidate(resource);
+    }
+
+    /**
+     * Discards all entries, stops listening to the resource set and its resources,
+     * and, if this is the resource set's proxy resolution cache, removes it from the resource set.
+     */
+    public void dispose()
+    {
+      entries.clear();
+      resourceSet.eAdapters().remove(resourceAdapter);
+      for (Resource resource : resourceSet.getResources())
+      {
+        resource.eAdapters().remove(resourceAdapter);
+      }
+      if (resourceSet.proxyResolutionCache == this)
+      {
+        resourceSet.proxyResolutionCache = null;
+      }
+    }
+  }
 }
@@ -11,17 +11,23 @@
 package org.eclipse.emf.ecore.util;
 
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.eclipse.emf.common.util.BasicDiagnostic;
 import org.eclipse.emf.common.util.Diagnostic;
 import org.eclipse.emf.common.util.DiagnosticChain;
 import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.common.util.WrappedException;
 
 import org.eclipse.emf.ecore.EValidator;
 
@@ -154,6 +160,155 @@ public class Diagnostician implements EValidator.SubstitutionLabelProvider, EVal
     return validate(eObject, diagnostics, createDefaultContext());
   }
 
+  /**
+   * Validates the object and its content tree, as for {@link #validate(EObject, Map)},
+   * but using tasks run by the executor service.
+   * @see #validate(EObject, DiagnosticChain, Map, ExecutorService)
+   * @since 2.33
+   */
+  public Diagnostic validate(EObject eObject, Map<?, ?> contextEntries, ExecutorService executorService)
+  {
+    BasicDiagnostic diagnostics = createDefaultDiagnostic(eObject);
+    Map<Object, Object> context = createDefaultContext();
+    context.putAll(contextEntries);
+    validate(eObject, diagnostics, context, executorService);
+    return diagnostics;
+  }
+
+  /**
+   * The minimum number of tasks into which a {@link #validate(EObject, DiagnosticChain, Map, ExecutorService) parallel validation} splits the content tree.
+   */
+  private static final int MINIMUM_TASK_COUNT = 64;
+
+  /**
+   * The maximum depth of the content tree to which a {@link #validate(EObject, DiagnosticChain, Map, ExecutorService) parallel validation} splits it into tasks.
+   */
+  private static final int MAXIMUM_TASK_DEPTH = 8;
+
+  /**
+   * Validates the object and its content tree, as for {@link #validate(EObject, DiagnosticChain, Map)},
+   * but using tasks run by the executor service.
+   * The top levels of the content tree are split into tasks, each validating either a single object or a whole subtree,
+   * such that there are enough tasks to keep the executor service busy.
+   * Each task uses its own copy of the context and its own diagnostics,
+   * and the diagnostics of the tasks are added in the same order in which the iterative validation of the tree would produce them,
+   * so the result is deterministic.
+   * The model and the {@link #eValidatorRegistry validator registry} must not be modified during the validation;
+   * a validator that isn't thread-safe must implement {@link EValidator.NotThreadSafe} so that it's called serially.
+   * The cross references of the tree are {@link EcoreUtil#resolveAll(EObject) resolved} in the current thread before any task is submitted,
+   * so the tasks don't demand load resources, as checking that {@link EObjectValidator#validate_EveryProxyResolves(EObject, DiagnosticChain, Map) every proxy resolves} otherwise would.
+   * But the classes of the objects must also be safe to read concurrently, i.e., their packages must be {@link EcoreUtil#freeze(org.eclipse.emf.ecore.EPackage) frozen},
+   * and validators must not resolve proxies beyond the tree,
+   * so it's best to {@link EcoreUtil#prepareForConcurrentReading(org.eclipse.emf.ecore.resource.ResourceSet) prepare} the resource set of the model for concurrent reading.
+   * <p>
+   * If this diagnostician {@link #isValidateContentsRecursively() validates recursively}, or if <code>diagnostics</code> is <code>null</code>,
+   * this simply calls {@link #validate(EObject, DiagnosticChain, Map)} in the current thread.
+   * </p>
+   * @since 2.33
+   */
+  public boolean validate(EObject eObject, DiagnosticChain diagnostics, Map<Object, Object> context, ExecutorService executorService)
+  {
+    if (isValidateContentsRecursively() || diagnostics == null)
+    {
+      return validate(eObject, diagnostics, context);
+    }
+
+    // Resolve the proxies here so that the tasks don't demand load into the resource set concurrently.
+    //
+    EcoreUtil.resolveAll(eObject);
+
+    // Determine how deep to split the tree into single objects before splitting it into subtrees.
+    //
+    int depth = 0;
+    for (List<EObject> level = Collections.singletonList(eObject); level.size() < MINIMUM_TASK_COUNT && depth < MAXIMUM_TASK_DEPTH; ++depth)
+    {
+      List<EObject> nextLevel = new ArrayList<EObject>();
+      for (EObject object : level)
+      {
+        nextLevel.addAll(object.eContents());
+      }
+      if (nextLevel.isEmpty())
+      {
+        break;
+      }
+      level = nextLevel;
+    }
+
+    List<Future<Object[]>> futures = new ArrayList<Future<Object[]>>();
+    submitValidationTasks(eObject, 0, depth, context, executorService, futures);
+
+    boolean result = true;
+    try
+    {
+      for (Future<Object[]> future : futures)
+      {
+        Object[] taskResult = future.get();
+        result &= (Boolean)taskResult[0];
+        diagnostics.addAll((Diagnostic)taskResult[1]);
+      }
+    }
+    catch (InterruptedException exception)
+    {
+      Thread.currentThread().interrupt();
+      throw new WrappedException(exception);
+    }
+    catch (ExecutionException exception)
+    {
+      Throwable cause = exception.getCause();
+      if (cause instanceof RuntimeException)
+      {
+        throw (RuntimeException)cause;
+      }
+      else if (cause instanceof Error)
+      {
+        throw (Error)cause;
+      }
+      throw new WrappedException(exception);
+    }
+    return result;
+  }
+
+  /**
+   * Submits, in the order of the iterative validation of the tree, a task to validate just the object if it's above the split depth,
+   * followed by the tasks for each of its children,
+   * or, if it's at the split depth, a task to validate the object's whole subtree.
+   * Each task yields an array of the Boolean result and the diagnostics.
+   */
+  private void submitValidationTasks
+    (final EObject eObject, int depth, int splitDepth, Map<Object, Object> context, ExecutorService executorService, List<Future<Object[]>> futures)
+  {
+    final Map<Object, Object> taskContext = new HashMap<Object, Object>(context);
+    final boolean isSubtree = depth == splitDepth;
+    futures.add
+      (executorService.submit
+        (new Callable<Object[]>()
+         {
+           public Object[] call() throws Exception
+           {
+             BasicDiagnostic taskDiagnostics = new BasicDiagnostic();
+             boolean result;
+             if (isSubtree)
+             {
+               result = validate(eObject, taskDiagnostics, taskContext);
+             }
+             else
+             {
+               taskContext.put(VALIDATE_RECURSIVELY, Boolean.FALSE);
+               result = validate(eObject.eClass(), eObject, taskDiagnostics, taskContext);
+             }
+             return new Object [] { result, taskDiagnostics };
+           }
+         }));
+
+    if (!isSubtree)
+    {
+      for (EObject child : eObject.eContents())
+      {
+        submitValidationTasks(child, depth + 1, splitDepth, context, executorService, futures);
+      }
+    }
+  }
+
   /**
    * Returns whether
    * {@link #validate(EObject, DiagnosticChain, Map)} should call {@link #validate(EClass, EObject, DiagnosticChain, Map)} once
@@ -296,7 +451,17 @@ public class Diagnostician implements EValidator.SubstitutionLabelProvider, EVal
    */
   protected boolean doValidate(EValidator eValidator, EClass eClass, EObject eObject, DiagnosticChain diagnostics, Map<Object, Object> context)
   {
-    return eValidator.validate(eClass, eObject, diagnostics, context);
+    if (eValidator instanceof EValidator.NotThreadSafe)
+    {
+      synchronized (eValidator)
+      {
+        return eValidator.validate(eClass, eObject, diagnostics, context);
+      }
+    }
+    else
+    {
+      return eValidator.validate(eClass, eObject, diagnostics, context);
+    }
   }
 
   protected boolean doValidateContents(EObject eObject, DiagnosticChain diagnostics, Map<Object, Object> context)
@@ -343,7 +508,17 @@ public class Diagnostician implements EValidator.SubstitutionLabelProvider, EVal
    */
   protected boolean doValidate(EValidator eValidator, EDataType eDataType, Object value, DiagnosticChain diagnostics, Map<Object, Object> context)
   {
-    return eValidator.validate(eDataType, value, diagnostics, context);
+    if (eValidator instanceof EValidator.NotThreadSafe)
+    {
+      synchronized (eValidator)
+      {
+        return eValidator.validate(eDataType, value, diagnostics, context);
+      }
+    }
+    else
+    {
+      return eValidator.validate(eDataType, value, diagnostics, context);
+    }
   }
 
   private static class OverrideChecker
@@ -30,9 +30,16 @@ import java.util.Random;
 import java.util.RandomAccess;
 import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.eclipse.emf.common.notify.Adapter;
 import org.eclipse.emf.common.notify.AdapterFactory;
+import org.eclipse.emf.common.notify.Notification;
 import org.eclipse.emf.common.notify.Notifier;
 import org.eclipse.emf.common.notify.impl.BasicNotifierImpl;
 import org.eclipse.emf.common.util.AbstractTreeIterator;
@@ -43,6 +50,7 @@ import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.common.util.SegmentSequence;
 import org.eclipse.emf.common.util.TreeIterator;
 import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.common.util.WrappedException;
 import org.eclipse.emf.ecore.EAnnotation;
 import org.eclipse.emf.ecore.EAttribute;
 import org.eclipse.emf.ecore.EClass;
@@ -62,6 +70,8 @@ import org.eclipse.emf.ecore.InternalEObject;
 import org.eclipse.emf.ecore.impl.EPackageImpl;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
 
 
 /**
@@ -418,6 +428,80 @@ public class EcoreUtil
      */
     protected boolean useOriginalReferences = true;
 
+    /**
+     * The features to copy for an EClass.
+     */
+    private static final class CopyPlan
+    {
+      /**
+       * The changeable, non-derived attributes and containment references, in feature ID order.
+       */
+      final EStructuralFeature[] contents;
+
+      /**
+       * The changeable, non-derived cross references and feature map attributes, in feature ID order.
+       */
+      final EStructuralFeature[] references;
+
+      CopyPlan(EClass eClass)
+      {
+        List<EStructuralFeature> contents = new ArrayList<EStructuralFeature>();
+        List<EStructuralFeature> references = new ArrayList<EStructuralFeature>();
+        for (int i = 0, size = eClass.getFeatureCount(); i < size; ++i)
+        {
+          EStructuralFeature eStructuralFeature = eClass.getEStructuralFeature(i);
+          if (eStructuralFeature.isChangeable() && !eStructuralFeature.isDerived())
+          {
+            if (eStructuralFeature instanceof EAttribute)
+            {
+              contents.add(eStructuralFeature);
+              if (FeatureMapUtil.isFeatureMap(eStructuralFeature))
+              {
+                references.add(eStructuralFeature);
+              }
+            }
+            else
+            {
+              EReference eReference = (EReference)eStructuralFeature;
+              if (eReference.isContainment())
+              {
+                contents.add(eReference);
+              }
+              else if (!eReference.isContainer())
+              {
+                references.add(eReference);
+              }
+            }
+          }
+        }
+        this.contents = contents.toArray(new EStructuralFeature [contents.size()]);
+        this.references = references.toArray(new EStructuralFeature [references.size()]);
+      }
+    }
+
+    /**
+     * The copy plan of each class, computed when an instance of the class is first copied.
+     */
+    private transient Map<EClass, CopyPlan> copyPlans;
+
+    /**
+     * Returns the copy plan for the class, computing it if necessary.
+     */
+    private CopyPlan getCopyPlan(EClass eClass)
+    {
+      if (copyPlans == null)
+      {
+        copyPlans = new HashMap<EClass, CopyPlan>();
+      }
+      CopyPlan copyPlan = copyPlans.get(eClass);
+      if (copyPlan == null)
+      {
+        copyPlan = new CopyPlan(eClass);
+        copyPlans.put(eClass, copyPlan);
+      }
+      return copyPlan;
+    }
+
     /**
      * Creates an instance.
      */
@@ -465,6 +549,96 @@ public class EcoreUtil
       return result;
     }
 
+    /**
+     * Returns a collection containing a copy of each EObject in the given collection,
+     * copying the content tree of each object as a separate task of the executor service.
+     * Each task uses its own {@link #createSubtreeCopier() subtree copier},
+     * and the results of the tasks are added to this copier in the order of the collection,
+     * so the result is the same as that of {@link #copyAll(Collection)}.
+     * The content trees must be disjoint,
+     * must not need proxy resolution,
+     * and their classes must not change during the copy;
+     * {@link EcoreUtil#prepareForConcurrentReading(ResourceSet) preparing} the resource set of the objects for concurrent reading ensures this.
+     * If there is no subtree copier, this simply copies all the objects in the current thread.
+     * @param eObjects the collection of objects to copy.
+     * @param executorService the executor service used to run the tasks.
+     * @return the collection of copies.
+     * @since 2.33
+     */
+    public <T> Collection<T> copyAll(Collection<? extends T> eObjects, ExecutorService executorService)
+    {
+      // The copier that determines whether content trees can be copied in other threads is used for the first content tree.
+      //
+      Copier firstSubtreeCopier = createSubtreeCopier();
+      if (firstSubtreeCopier == null)
+      {
+        return copyAll(eObjects);
+      }
+
+      List<EObject> originals = new ArrayList<EObject>(eObjects.size());
+      List<Future<Copier>> futures = new ArrayList<Future<Copier>>(eObjects.size());
+      for (Object object : eObjects)
+      {
+        final EObject eObject = (EObject)object;
+        final Copier subtreeCopier = originals.isEmpty() ? firstSubtreeCopier : createSubtreeCopier();
+        originals.add(eObject);
+        futures.add
+          (executorService.submit
+            (new Callable<Copier>()
+             {
+               public Copier call() throws Exception
+               {
+                 subtreeCopier.copy(eObject);
+                 return subtreeCopier;
+               }
+             }));
+      }
+
+      Collection<T> result = new ArrayList<T>(eObjects.size());
+      try
+      {
+        for (int i = 0, size = futures.size(); i < size; ++i)
+        {
+          Copier subtreeCopier = futures.get(i).get();
+          putAll(subtreeCopier);
+          @SuppressWarnings("unchecked") T t = (T)subtreeCopier.get(originals.get(i));
+          if (t != null)
+          {
+            result.add(t);
+          }
+        }
+      }
+      catch (InterruptedException exception)
+      {
+        Thread.currentThread().interrupt();
+        throw new WrappedException(exception);
+      }
+      catch (ExecutionException exception)
+      {
+        Throwable cause = exception.getCause();
+        if (cause instanceof RuntimeException)
+        {
+          throw (RuntimeException)cause;
+        }
+        throw new WrappedException(exception);
+      }
+      return result;
+    }
+
+    /**
+     * Returns a new copier, equivalent to this one, used to {@link #copyAll(Collection, ExecutorService) copy a content tree} in another thread,
+     * or <code>null</code> if content trees can't be copied in other threads.
+     * It's called once per content tree, so each copier returned is used.
+     * This implementation returns a new {@link Copier} with the same settings when this is exactly a <code>Copier</code>, and <code>null</code> otherwise,
+     * so a specialized copier must override this to copy in parallel.
+     * @return a new copier for copying a content tree, or <code>null</code>.
+     * @since 2.33
+     */
+    protected Copier createSubtreeCopier()
+    {
+      return getClass() == Copier.class ? new Copier(resolveProxies, useOriginalReferences) : null;
+    }
+
     /**
      * Returns a copy of the given eObject.
      * @param eObject the object to copy.
@@ -482,24 +656,15 @@ public class EcoreUtil
         if (copyEObject != null)
         {
           put(eObject, copyEObject);
-          EClass eClass = eObject.eClass();
-          for (int i = 0, size = eClass.getFeatureCount(); i < size; ++i)
+          for (EStructuralFeature eStructuralFeature : getCopyPlan(eObject.eClass()).contents)
           {
-            EStructuralFeature eStructuralFeature = eClass.getEStructuralFeature(i);
-            if (eStructuralFeature.isChangeable() && !eStructuralFeature.isDerived())
+            if (eStructuralFeature instanceof EAttribute)
             {
-              if (eStructuralFeature instanceof EAttribute)
-              {
-                copyAttribute((EAttribute)eStructuralFeature, eObject, copyEObject);
-              }
-              else
-              {
-                EReference eReference = (EReference)eStructuralFeature;
-                if (eReference.isContainment())
-                {
-                  copyContainment(eReference, eObject, copyEObject);
-                }
-              }
+              copyAttribute((EAttribute)eStructuralFeature, eObject, copyEObject);
+            }
+            else
+            {
+              copyContainment((EReference)eStructuralFeature, eObject, copyEObject);
             }
           }
 
@@ -684,63 +849,54 @@ public class EcoreUtil
       {
         EObject eObject = entry.getKey();
         EObject copyEObject = entry.getValue();
-        EClass eClass = eObject.eClass();
-        for (int j = 0, size = eClass.getFeatureCount(); j < size; ++j)
+        for (EStructuralFeature eStructuralFeature : getCopyPlan(eObject.eClass()).references)
         {
-          EStructuralFeature eStructuralFeature = eClass.getEStructuralFeature(j);
-          if (eStructuralFeature.isChangeable() && !eStructuralFeature.isDerived())
+          if (eStructuralFeature instanceof EReference)
           {
-            if (eStructuralFeature instanceof EReference)
-            {
-              EReference eReference = (EReference)eStructuralFeature;
-              if (!eReference.isContainment() && !eReference.isContainer())
-              {
-                copyReference(eReference, eObject, copyEObject);
-              }
-            }
-            else if (FeatureMapUtil.isFeatureMap(eStructuralFeature))
+            copyReference((EReference)eStructuralFeature, eObject, copyEObject);
+          }
+          else
+          {
+            FeatureMap copyFeatureMap = (FeatureMap)getTarget(eStructuralFeature, eObject, copyEObject);
+            if (copyFeatureMap != null)
             {
-              FeatureMap copyFeatureMap = (FeatureMap)getTarget(eStructuralFeature, eObject, copyEObject);
-              if (copyFeatureMap != null)
+              FeatureMap featureMap = (FeatureMap)eObject.eGet(eStructuralFeature);
+              int copyFeatureMapSize = copyFeatureMap.size();
+              for (int k = 0, featureMapSize = featureMap.size(); k < featureMapSize; ++k)
               {
-                FeatureMap featureMap = (FeatureMap)eObject.eGet(eStructuralFeature);
-                int copyFeatureMapSize = copyFeatureMap.size();
-                for (int k = 0, featureMapSize = featureMap.size(); k < featureMapSize; ++k)
+                EStructuralFeature feature = featureMap.getEStructuralFeature(k);
+                if (feature instanceof EReference)
                 {
-                  EStructuralFeature feature = featureMap.getEStructuralFeature(k);
-                  if (feature instanceof EReference)
+                  Object referencedEObject = featureMap.getValue(k);
+                  Object copyReferencedEObject = get(referencedEObject);
+                  if (copyReferencedEObject == null && referencedEObject != null)
                   {
-                    Object referencedEObject = featureMap.getValue(k);
-                    Object copyReferencedEObject = get(referencedEObject);
-                    if (copyReferencedEObject == null && referencedEObject != null)
+                    EReference reference = (EReference)feature;
+                    if (!useOriginalReferences || reference.isContainment() || reference.getEOpposite() != null)
                     {
-                      EReference reference = (EReference)feature;
-                      if (!useOriginalReferences || reference.isContainment() || reference.getEOpposite() != null)
-                      {
-                        continue;
-                      }
-                      copyReferencedEObject = referencedEObject;
+                      continue;
                     }
-  
-                    // If we can't add it, it must already be in the list so find it and move it to the end.
-                    //
-                    if (!copyFeatureMap.add(feature, copyReferencedEObject))
+                    copyReferencedEObject = referencedEObject;
+                  }
+
+                  // If we can't add it, it must already be in the list so find it and move it to the end.
+                  //
+                  if (!copyFeatureMap.add(feature, copyReferencedEObject))
+                  {
+                    for (int l = 0; l < copyFeatureMapSize; ++l)
                     {
-                      for (int l = 0; l < copyFeatureMapSize; ++l)
+                      if (copyFeatureMap.getEStructuralFeature(l) == feature && copyFeatureMap.getValue(l) == copyReferencedEObject)
                       {
-                        if (copyFeatureMap.getEStructuralFeature(l) == feature && copyFeatureMap.getValue(l) == copyReferencedEObject)
-                        {
-                          copyFeatureMap.move(copyFeatureMap.size() - 1, l);
-                          --copyFeatureMapSize;
-                          break;
-                        }
+                        copyFeatureMap.move(copyFeatureMap.size() - 1, l);
+                        --copyFeatureMapSize;
+                        break;
                       }
                     }
                   }
-                  else
-                  {
-                    copyFeatureMap.add(getTarget(featureMap.getEStructuralFeature(k)), featureMap.getValue(k));
-                  }
+                }
+                else
+                {
+                  copyFeatureMap.add(getTarget(featureMap.getEStructuralFeature(k)), featureMap.getValue(k));
                 }
               }
             }
@@ -4362,6 +4518,276 @@ public class EcoreUtil
     }
   }
 
+  /**
+   * Prepares the resource set and each of its resources for concurrent reading as described for {@link #prepareForConcurrentReading(Resource)}.
+   * All the resources are {@link #resolveAll(ResourceSet) resolved}, possibly demand loading additional resources, before any of them is prepared.
+   * The {@link ResourceSetImpl#getURIResourceMap() URI resource map} of a {@link ResourceSetImpl}, if there is one,
+   * is replaced by a concurrent map, so that {@link ResourceSet#getResource(URI, boolean) resource lookup} is safe for concurrent readers.
+   * A {@link ResourceSetImpl.ResourceLocator resource locator} that caches lookups must itself be safe for concurrent readers.
+   * Adding or removing resources afterwards isn't safe while there are concurrent readers.
+   * @param resourceSet the resource set to prepare.
+   * @see #detectModifications(ResourceSet)
+   * @since 2.33
+   */
+  public static void prepareForConcurrentReading(ResourceSet resourceSet)
+  {
+    resolveAll(resourceSet);
+
+    resourceSet.getLoadOptions();
+    resourceSet.getPackageRegistry();
+    resourceSet.getResourceFactoryRegistry();
+    resourceSet.getURIConverter();
+    if (resourceSet instanceof ResourceSetImpl)
+    {
+      ResourceSetImpl resourceSetImpl = (ResourceSetImpl)resourceSet;
+      Map<URI, Resource> uriResourceMap = resourceSetImpl.getURIResourceMap();
+      if (uriResourceMap != null && !(uriResourceMap instanceof ConcurrentMap<?, ?>))
+      {
+        resourceSetImpl.setURIResourceMap(new ConcurrentHashMap<URI, Resource>(uriResourceMap));
+      }
+    }
+
+    ConcurrentReadingPreparer preparer = new ConcurrentReadingPreparer();
+    for (Resource resource : resourceSet.getResources())
+    {
+      preparer.prepare(resource);
+    }
+  }
+
+  /**
+   * Prepares the resource and all its objects so that they can be read concurrently, without locking, by any number of threads,
+   * as long as nothing modifies them.
+   * <p>
+   * The resource is {@link #resolveAll(Resource) resolved}, so that reading a reference never needs to resolve a proxy,
+   * all the lazily computed information of the objects' classes, e.g., {@link EClass#getEAllStructuralFeatures() all features} and the feature lookup maps,
+   * is computed and the {@link EClass#getEPackage() packages} of the classes are {@link #freeze(EPackage) frozen},
+   * all the lazily created values of the objects, e.g., the lists of many-valued features, are created,
+   * and the {@link ResourceImpl#getIntrinsicIDToEObjectMap() ID map}, if there is one, is replaced by a fully populated concurrent map.
+   * A resource that isn't in a resource set can only resolve proxies to resources in a {@link #prepareForConcurrentReading(ResourceSet) prepared resource set},
+   * so it's best to prepare the whole resource set.
+   * </p>
+   * <p>
+   * This doesn't prevent modification; modifying the resource or one of its objects while there are concurrent readers isn't safe.
+   * A prepared resource can still be saved,
+   * but because saving records the {@link Resource#getErrors() errors} and {@link Resource#getWarnings() warnings} in the resource,
+   * only one thread at a time should save it.
+   * </p>
+   * @param resource the resource to prepare.
+   * @see #detectModifications(Resource)
+   * @since 2.33
+   */
+  public static void prepareForConcurrentReading(Resource resource)
+  {
+    resolveAll(resource);
+    new ConcurrentReadingPreparer().prepare(resource);
+  }
+
+  /**
+   * Installs a best-effort modification detector on the resource set, each of its resources, and all their objects,
+   * as described for {@link #detectModifications(Resource)}.
+   * Adding or removing resources is also detected.
+   * @param resourceSet the resource set whose modification is to be detected.
+   * @see #isDetectingModifications(Notifier)
+   * @since 2.33
+   */
+  public static void detectModifications(ResourceSet resourceSet)
+  {
+    if (!isDetectingModifications(resourceSet))
+    {
+      for (Resource resource : resourceSet.getResources())
+      {
+        detectModifications(resource);
+      }
+      resourceSet.eAdapters().add(0, MODIFICATION_DETECTOR);
+    }
+  }
+
+  /**
+   * Installs a best-effort modification detector on the resource and all its objects,
+   * e.g., to find the code that erroneously modifies a model that's {@link #prepareForConcurrentReading(Resource) read concurrently}.
+   * <p>
+   * The detector is an adapter, shared by all the notifiers, that throws an {@link IllegalStateException} for any change notification,
+   * other than recording the errors and warnings of a resource while saving it.
+   * Because a change is notified after it's made, the exception is thrown only after the change has been made,
+   * so concurrent readers may already observe it.
+   * Changes made while {@link Notifier#eDeliver() delivery} is disabled,
+   * and the addition or removal of {@link Notifier#eAdapters() adapters}, aren't detected at all.
+   * The detector itself is added to the adapters of each object, so it also adds an adapter list to each object that doesn't have one.
+   * The detector can't be removed.
+   * </p>
+   * @param resource the resource whose modification is to be detected.
+   * @see #isDetectingModifications(Notifier)
+   * @since 2.33
+   */
+  public static void detectModifications(Resource resource)
+  {
+    if (!isDetectingModifications(resource))
+    {
+      for (TreeIterator<EObject> i = resource.getAllContents(); i.hasNext(); )
+      {
+        i.next().eAdapters().add(0, MODIFICATION_DETECTOR);
+      }
+      resource.eAdapters().add(0, MODIFICATION_DETECTOR);
+    }
+  }
+
+  /**
+   * Returns whether {@link #detectModifications(Resource) modification detection} is installed on the resource set, resource, or object.
+   * @param notifier the resource set, resource, or object to test.
+   * @return whether modification detection is installed on the notifier.
+   * @since 2.33
+   */
+  public static boolean isDetectingModifications(Notifier notifier)
+  {
+    return getExistingAdapter(notifier, MODIFICATION_DETECTOR) != null;
+  }
+
+  /**
+   * The adapter shared by all notifiers whose {@link #detectModifications(Resource) modifications are detected};
+   * it throws an exception for any change and is only ever {@link Adapter#isAdapterForType(Object) an adapter for} itself.
+   */
+  private static final Adapter MODIFICATION_DETECTOR =
+    new Adapter()
+    {
+      public void notifyChanged(Notification notification)
+      {
+        if (!notification.isTouch())
+        {
+          // Recording the errors and warnings of a resource, e.g., while saving it, isn't a change to the model.
+          //
+          if (notification.getNotifier() instanceof Resource)
+          {
+            switch (notification.getFeatureID(Resource.class))
+            {
+              case Resource.RESOURCE__ERRORS:
+              case Resource.RESOURCE__WARNINGS:
+              {
+                return;
+              }
+            }
+          }
+          throw new IllegalStateException("A model that's read concurrently has been modified: " + notification);
+        }
+      }
+
+      public Notifier getTarget()
+      {
+        return null;
+      }
+
+      public void setTarget(Notifier newTarget)
+      {
+        // The adapter is shared so it has no target.
+      }
+
+      public boolean isAdapterForType(Object type)
+      {
+        return type == this;
+      }
+    };
+
+  /**
+   * A helper for preparing {@link #prepareForConcurrentReading(Resource) resources} and {@link #prepareForConcurrentReading(ResourceSet) resource sets}
+   * for concurrent reading.
+   */
+  private static final class ConcurrentReadingPreparer
+  {
+    /**
+     * The classes whose lazily computed information has already been computed.
+     */
+    final Set<EClass> eClasses = new HashSet<EClass>();
+
+    /**
+     * The packages already frozen.
+     */
+    final Set<EPackage> ePackages = new HashSet<EPackage>();
+
+    void prepare(Resource resource)
+    {
+      resource.getErrors();
+      resource.getWarnings();
+      for (TreeIterator<EObject> i = resource.getAllContents(); i.hasNext(); )
+      {
+        prepare(i.next());
+      }
+      if (resource instanceof ResourceImpl)
+      {
+        // Fully populate the ID map so that looking up an ID never needs to modify it.
+        //
+        ResourceImpl resourceImpl = (ResourceImpl)resource;
+        Map<String, EObject> intrinsicIDToEObjectMap = resourceImpl.getIntrinsicIDToEObjectMap();
+        if (intrinsicIDToEObjectMap != null)
+        {
+          Map<String, EObject> map = new ConcurrentHashMap<String, EObject>();
+          for (TreeIterator<EObject> i = resource.getAllContents(); i.hasNext(); )
+          {
+            EObject eObject = i.next();
+            String id = getID(eObject);
+            if (id != null)
+            {
+              map.put(id, eObject);
+            }
+          }
+          resourceImpl.setIntrinsicIDToEObjectMap(map);
+        }
+      }
+    }
+
+    void prepare(EObject eObject)
+    {
+      eObject.eContainer();
+      EClass eClass = eObject.eClass();
+      prepare(eClass);
+      for (EStructuralFeature eStructuralFeature : eClass.getEAllStructuralFeatures())
+      {
+        if (eStructuralFeature.isMany() && !eStructuralFeature.isDerived())
+        {
+          eObject.eGet(eStructuralFeature, false);
+        }
+      }
+    }
+
+    void prepare(EClass eClass)
+    {
+      if (eClasses.add(eClass))
+      {
+        prepare(eClass.getEPackage());
+        for (EClass eSuperType : eClass.getEAllSuperTypes())
+        {
+          prepare(eSuperType.getEPackage());
+        }
+        for (EStructuralFeature eStructuralFeature : eClass.getEAllStructuralFeatures())
+        {
+          eClass.getFeatureType(eStructuralFeature);
+          eStructuralFeature.getDefaultValue();
+          if (eStructuralFeature instanceof EStructuralFeature.Internal)
+          {
+            ((EStructuralFeature.Internal)eStructuralFeature).getSettingDelegate();
+          }
+          EClassifier eType = eStructuralFeature.getEType();
+          if (eType instanceof EDataType.Internal)
+          {
+            eType.getDefaultValue();
+            ((EDataType.Internal)eType).getConversionDelegate();
+          }
+        }
+        for (EOperation eOperation : eClass.getEAllOperations())
+        {
+          eClass.getOverride(eOperation);
+        }
+      }
+    }
+
+    void prepare(EPackage ePackage)
+    {
+      if (ePackage != null && ePackages.add(ePackage))
+      {
+        resolveAll(ePackage);
+        EcoreUtil.freeze(ePackage);
+      }
+    }
+  }
+
   /**
    * Computes a {@link Diagnostic} from the errors and warnings stored in the specified resource.
    * @param resource
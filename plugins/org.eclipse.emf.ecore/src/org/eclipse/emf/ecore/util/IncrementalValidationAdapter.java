@@ -0,0 +1,341 @@
+/**
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package org.eclipse.emf.ecore.util;
+
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.util.BasicDiagnostic;
+import org.eclipse.emf.common.util.Diagnostic;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.InternalEObject;
+
+
+/**
+ * An adapter that maintains the diagnostics of each object in the content trees to which it's attached,
+ * revalidating, when {@link #validate() validate} is called, only the objects that may have become valid or invalid since they were last validated.
+ * It can be installed for an {@link EObject}, a {@link org.eclipse.emf.ecore.resource.Resource Resource},
+ * or a {@link org.eclipse.emf.ecore.resource.ResourceSet ResourceSet}.
+ * <p>
+ * An object needs to be revalidated when it's first attached,
+ * when it changes,
+ * when one of its contained objects changes, because a constraint such as the uniqueness of the names of the contents may depend on them,
+ * and when an object on which its validity depends changes or is detached.
+ * The objects on which an object's validity depends are learned during its validation:
+ * they are the objects it {@link EObject#eCrossReferences() cross references},
+ * e.g., so that an object is revalidated when an object it references is detached from its container,
+ * the objects referenced by its {@link #addDependency(EReference) dependency references},
+ * and the objects mentioned in the {@link Diagnostic#getData() data} of its diagnostics.
+ * </p>
+ * <p>
+ * Each object is validated by itself, i.e., without its contents,
+ * by the {@link Diagnostician#validate(org.eclipse.emf.ecore.EClass, EObject, org.eclipse.emf.common.util.DiagnosticChain, Map) diagnostician},
+ * with {@link Diagnostician#VALIDATE_RECURSIVELY} mapped to <code>false</code> in the context.
+ * </p>
+ * @since 2.33
+ */
+public class IncrementalValidationAdapter extends EContentAdapter
+{
+  /**
+   * The diagnostician used to validate each object.
+   */
+  protected final Diagnostician diagnostician;
+
+  /**
+   * The objects that need to be validated.
+   */
+  protected final Set<EObject> dirtyObjects = new LinkedHashSet<EObject>();
+
+  /**
+   * The diagnostics of each object with at least one diagnostic.
+   */
+  protected final Map<EObject, Diagnostic> diagnostics = new LinkedHashMap<EObject, Diagnostic>();
+
+  /**
+   * The objects on which each object's validity depends.
+   */
+  protected final Map<EObject, Set<EObject>> dependencies = new HashMap<EObject, Set<EObject>>();
+
+  /**
+   * The objects whose validity depends on each object.
+   */
+  protected final Map<EObject, Set<EObject>> dependents = new HashMap<EObject, Set<EObject>>();
+
+  /**
+   * The references whose values an object's validity depends on.
+   */
+  protected final Set<EReference> dependencyReferences = new HashSet<EReference>();
+
+  /**
+   * Creates an instance that uses the {@link Diagnostician#INSTANCE default diagnostician}.
+   */
+  public IncrementalValidationAdapter()
+  {
+    this(Diagnostician.INSTANCE);
+  }
+
+  /**
+   * Creates an instance that uses the given diagnostician.
+   */
+  public IncrementalValidationAdapter(Diagnostician diagnostician)
+  {
+    this.diagnostician = diagnostician;
+  }
+
+  /**
+   * Declares that the validity of an object depends on the objects it references via the given reference,
+   * so that it's revalidated when any of them changes.
+   * This only affects subsequent validations.
+   * @param eReference the reference.
+   */
+  public void addDependency(EReference eReference)
+  {
+    dependencyReferences.add(eReference);
+  }
+
+  /**
+   * Returns <code>false</code> so that the adapter is attached iteratively to large content trees.
+   */
+  @Override
+  protected boolean useRecursion()
+  {
+    return false;
+  }
+
+  @Override
+  public void notifyChanged(Notification notification)
+  {
+    super.notifyChanged(notification);
+
+    Object notifier = notification.getNotifier();
+    if (notifier instanceof EObject && !notification.isTouch())
+    {
+      invalidate((EObject)notifier);
+    }
+  }
+
+  @Override
+  protected void setTarget(EObject target)
+  {
+    super.setTarget(target);
+    dirtyObjects.add(target);
+  }
+
+  @Override
+  protected void unsetTarget(EObject target)
+  {
+    super.unsetTarget(target);
+    dirtyObjects.remove(target);
+    diagnostics.remove(target);
+    removeDependencies(target);
+    Set<EObject> targetDependents = dependents.remove(target);
+    if (targetDependents != null)
+    {
+      for (EObject dependent : targetDependents)
+      {
+        Set<EObject> dependentDependencies = dependencies.get(dependent);
+        if (dependentDependencies != null)
+        {
+          dependentDependencies.remove(target);
+        }
+        dirtyObjects.add(dependent);
+      }
+    }
+  }
+
+  /**
+   * Records that the object, its container, and the objects that depend on it need to be revalidated.
+   * @param eObject the object that has changed.
+   */
+  protected void invalidate(EObject eObject)
+  {
+    dirtyObjects.add(eObject);
+
+    EObject eContainer = ((InternalEObject)eObject).eInternalContainer();
+    if (eContainer != null && eContainer.eAdapters().contains(this))
+    {
+      dirtyObjects.add(eContainer);
+    }
+
+    Set<EObject> eObjectDependents = dependents.get(eObject);
+    if (eObjectDependents != null)
+    {
+      dirtyObjects.addAll(eObjectDependents);
+    }
+  }
+
+  /**
+   * Returns whether there are objects that need to be revalidated.
+   * @return whether there are objects that need to be revalidated.
+   */
+  public boolean isDirty()
+  {
+    return !dirtyObjects.isEmpty();
+  }
+
+  /**
+   * Validates each object that needs to be revalidated.
+   */
+  public void validate()
+  {
+    if (!dirtyObjects.isEmpty())
+    {
+      List<EObject> eObjects = new ArrayList<EObject>(dirtyObjects);
+      dirtyObjects.clear();
+      Map<Object, Object> context = diagnostician.createDefaultContext();
+      context.put(Diagnostician.VALIDATE_RECURSIVELY, Boolean.FALSE);
+      for (EObject eObject : eObjects)
+      {
+        validate(eObject, context);
+      }
+    }
+  }
+
+  /**
+   * Validates the object by itself, recording its diagnostics and the objects on which its validity depends.
+   * @param eObject the object to validate.
+   * @param context the context of the validation.
+   */
+  protected void validate(EObject eObject, Map<Object, Object> context)
+  {
+    BasicDiagnostic eObjectDiagnostics = new BasicDiagnostic();
+    diagnostician.validate(eObject.eClass(), eObject, eObjectDiagnostics, context);
+
+    removeDependencies(eObject);
+    if (eObjectDiagnostics.getChildren().isEmpty())
+    {
+      diagnostics.remove(eObject);
+    }
+    else
+    {
+      diagnostics.put(eObject, eObjectDiagnostics);
+      addDependencies(eObject, eObjectDiagnostics);
+    }
+
+    // Constraints such as every reference being contained depend on the referenced objects, whether or not the object is valid now.
+    //
+    for (Iterator<EObject> i = ((InternalEList<EObject>)eObject.eCrossReferences()).basicIterator(); i.hasNext(); )
+    {
+      addDependency(eObject, i.next());
+    }
+
+    if (!dependencyReferences.isEmpty())
+    {
+      for (EReference eReference : eObject.eClass().getEAllReferences())
+      {
+        if (dependencyReferences.contains(eReference) && eObject.eIsSet(eReference))
+        {
+          Object value = eObject.eGet(eReference, false);
+          if (eReference.isMany())
+          {
+            for (Object object : (List<?>)value)
+            {
+              addDependency(eObject, (EObject)object);
+            }
+          }
+          else
+          {
+            addDependency(eObject, (EObject)value);
+          }
+        }
+      }
+    }
+  }
+
+  private void addDependencies(EObject eObject, Diagnostic diagnostic)
+  {
+    List<?> data = diagnostic.getData();
+    if (data != null)
+    {
+      for (Object object : data)
+      {
+        if (object instanceof EObject)
+        {
+          addDependency(eObject, (EObject)object);
+        }
+      }
+    }
+    for (Diagnostic child : diagnostic.getChildren())
+    {
+      addDependencies(eObject, child);
+    }
+  }
+
+  private void addDependency(EObject eObject, EObject dependency)
+  {
+    if (dependency != null && dependency != eObject)
+    {
+      Set<EObject> eObjectDependencies = dependencies.get(eObject);
+      if (eObjectDependencies == null)
+      {
+        eObjectDependencies = new HashSet<EObject>();
+        dependencies.put(eObject, eObjectDependencies);
+      }
+      if (eObjectDependencies.add(dependency))
+      {
+        Set<EObject> dependencyDependents = dependents.get(dependency);
+        if (dependencyDependents == null)
+        {
+          dependencyDependents = new HashSet<EObject>();
+          dependents.put(dependency, dependencyDependents);
+        }
+        dependencyDependents.add(eObject);
+      }
+    }
+  }
+
+  private void removeDependencies(EObject eObject)
+  {
+    Set<EObject> eObjectDependencies = dependencies.remove(eObject);
+    if (eObjectDependencies != null)
+    {
+      for (EObject dependency : eObjectDependencies)
+      {
+        Set<EObject> dependencyDependents = dependents.get(dependency);
+        if (dependencyDependents != null)
+        {
+          dependencyDependents.remove(eObject);
+          if (dependencyDependents.isEmpty())
+          {
+            dependents.remove(dependency);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the diagnostics of the object as of the last validation, or <code>null</code> if it had none.
+   * @param eObject the object.
+   * @return the diagnostics of the object, or <code>null</code>.
+   */
+  public Diagnostic getDiagnostic(EObject eObject)
+  {
+    return diagnostics.get(eObject);
+  }
+
+  /**
+   * Returns an unmodifiable map of the diagnostics of each object that had at least one diagnostic as of the last validation.
+   * @return the diagnostics of the objects.
+   */
+  public Map<EObject, Diagnostic> getDiagnostics()
+  {
+    return Collections.unmodifiableMap(diagnostics);
+  }
+}
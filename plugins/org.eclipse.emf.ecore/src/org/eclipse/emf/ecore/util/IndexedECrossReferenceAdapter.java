@@ -0,0 +1,940 @@
+/**
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package org.eclipse.emf.ecore.util;
+
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.eclipse.emf.common.util.BasicEList;
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.common.util.WrappedException;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.impl.EClassImpl;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+
+
+/**
+ * A cross reference adapter for large models
+ * that indexes the inverse references compactly rather than as a map from each referenced object to a collection of {@link EStructuralFeature.Setting settings}.
+ * <p>
+ * The referenced objects are the keys of an identity-based open addressing hash table,
+ * and each inverse reference is recorded as the referencing object along with the {@link org.eclipse.emf.ecore.EClass#getFeatureID(EStructuralFeature) ID} of the reference,
+ * stored directly in the table when an object is referenced only once,
+ * and in a pair of arrays otherwise.
+ * The settings are created only when the inverse references of an object are requested,
+ * so {@link #getNonNavigableInverseReferences(EObject, boolean) getNonNavigableInverseReferences} returns a new list each time.
+ * The size of the index can be monitored with {@link #getIndexedObjectCount()}, {@link #getInverseReferenceCount()}, and {@link #getEstimatedSize()}.
+ * </p>
+ * <p>
+ * The adapter can be {@link #initialize(ResourceSet, ExecutorService) installed} on a resource set
+ * such that the resources are indexed in parallel before the adapter is attached to their contents.
+ * </p>
+ * @since 2.33
+ */
+public class IndexedECrossReferenceAdapter extends ECrossReferenceAdapter
+{
+  /**
+   * The estimated size, in bytes, of an object header.
+   */
+  private static final int OBJECT_HEADER_SIZE = 12;
+
+  /**
+   * The estimated size, in bytes, of an array header.
+   */
+  private static final int ARRAY_HEADER_SIZE = 16;
+
+  /**
+   * The estimated size, in bytes, of an object reference.
+   */
+  private static final int REFERENCE_SIZE = 4;
+
+  /**
+   * The resources indexed by {@link #initialize(ResourceSet, ExecutorService) initialize} while the adapter is being attached to their contents.
+   */
+  protected Set<Resource> indexedResources;
+
+  /**
+   * The inverse references of an object when it's referenced more than once.
+   */
+  private static final class Entries
+  {
+    EObject[] sources = new EObject [4];
+
+    int[] features = new int [4];
+
+    int size;
+  }
+
+  /**
+   * An identity-based open addressing hash table from each referenced object to its inverse references.
+   */
+  private static final class Index
+  {
+    /**
+     * The referenced objects.
+     */
+    Object[] keys = new Object [16];
+
+    /**
+     * The referencing object, or the {@link Entries entries}, of each referenced object.
+     */
+    Object[] values = new Object [16];
+
+    /**
+     * The feature code of the referencing object of each object referenced only once.
+     */
+    int[] features = new int [16];
+
+    /**
+     * The number of referenced objects.
+     */
+    int size;
+
+    /**
+     * The number of inverse references.
+     */
+    int entryCount;
+
+    int slot(Object key)
+    {
+      int mask = keys.length - 1;
+      for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask)
+      {
+        Object otherKey = keys[slot];
+        if (otherKey == key)
+        {
+          return slot;
+        }
+        if (otherKey == null)
+        {
+          return -1;
+        }
+      }
+    }
+
+    private static int hash(Object key)
+    {
+      int result = System.identityHashCode(key) * 0x9E3779B9;
+      return result ^ (result >>> 16);
+    }
+
+    /**
+     * Adds an inverse reference unless it's already present.
+     * All the inverse references of the object are checked if <code>checkAll</code> is true,
+     * otherwise only the most recently added ones with the same referencing object are checked,
+     * which is sufficient while each referencing object is indexed exactly once.
+     */
+    boolean add(Object key, EObject source, int feature, boolean checkAll)
+    {
+      int mask = keys.length - 1;
+      int slot = hash(key) & mask;
+      for (Object otherKey; (otherKey = keys[slot]) != key; slot = (slot + 1) & mask)
+      {
+        if (otherKey == null)
+        {
+          keys[slot] = key;
+          values[slot] = source;
+          features[slot] = feature;
+          ++entryCount;
+          if (++size * 3 > keys.length * 2)
+          {
+            grow();
+          }
+          return true;
+        }
+      }
+
+      Object value = values[slot];
+      Entries entries;
+      if (value instanceof Entries)
+      {
+        entries = (Entries)value;
+        EObject[] sources = entries.sources;
+        int[] entryFeatures = entries.features;
+        for (int i = entries.size - 1; i >= 0; --i)
+        {
+          EObject otherSource = sources[i];
+          if (otherSource == source)
+          {
+            if (entryFeatures[i] == feature)
+            {
+              return false;
+            }
+          }
+          else if (!checkAll)
+          {
+            break;
+          }
+        }
+        if (entries.size == sources.length)
+        {
+          int newLength = sources.length * 2;
+          EObject[] newSources = new EObject [newLength];
+          System.arraycopy(sources, 0, newSources, 0, entries.size);
+          entries.sources = newSources;
+          int[] newFeatures = new int [newLength];
+          System.arraycopy(entryFeatures, 0, newFeatures, 0, entries.size);
+          entries.features = newFeatures;
+        }
+      }
+      else
+      {
+        if (value == source && features[slot] == feature)
+        {
+          return false;
+        }
+        entries = new Entries();
+        entries.sources[0] = (EObject)value;
+        entries.features[0] = features[slot];
+        entries.size = 1;
+        values[slot] = entries;
+        features[slot] = 0;
+      }
+      entries.sources[entries.size] = source;
+      entries.features[entries.size] = feature;
+      ++entries.size;
+      ++entryCount;
+      return true;
+    }
+
+    private void grow()
+    {
+      Object[] oldKeys = keys;
+      Object[] oldValues = values;
+      int[] oldFeatures = features;
+      int length = oldKeys.length * 2;
+      int mask = length - 1;
+      keys = new Object [length];
+      values = new Object [length];
+      features = new int [length];
+      for (int i = 0; i < oldKeys.length; ++i)
+      {
+        Object key = oldKeys[i];
+        if (key != null)
+        {
+          int slot = hash(key) & mask;
+          while (keys[slot] != null)
+          {
+            slot = (slot + 1) & mask;
+          }
+          keys[slot] = key;
+          values[slot] = oldValues[i];
+          features[slot] = oldFeatures[i];
+        }
+      }
+    }
+
+    /**
+     * Removes the first matching inverse reference, if present.
+     */
+    void remove(Object key, EObject source, int feature)
+    {
+      int slot = slot(key);
+      if (slot != -1)
+      {
+        Object value = values[slot];
+        if (value instanceof Entries)
+        {
+          Entries entries = (Entries)value;
+          EObject[] sources = entries.sources;
+          int[] entryFeatures = entries.features;
+          for (int i = 0, size = entries.size; i < size; ++i)
+          {
+            if (sources[i] == source && entryFeatures[i] == feature)
+            {
+              --entryCount;
+              if (size == 2)
+              {
+                values[slot] = sources[1 - i];
+                features[slot] = entryFeatures[1 - i];
+              }
+              else
+              {
+                System.arraycopy(sources, i + 1, sources, i, size - i - 1);
+                System.arraycopy(entryFeatures, i + 1, entryFeatures, i, size - i - 1);
+                sources[--entries.size] = null;
+                if (entries.size * 4 < sources.length && sources.length > 4)
+                {
+                  int newLength = sources.length / 2;
+                  EObject[] newSources = new EObject [newLength];
+                  System.arraycopy(sources, 0, newSources, 0, entries.size);
+                  entries.sources = newSources;
+                  int[] newFeatures = new int [newLength];
+                  System.arraycopy(entryFeatures, 0, newFeatures, 0, entries.size);
+                  entries.features = newFeatures;
+                }
+              }
+              break;
+            }
+          }
+        }
+        else if (value == source && features[slot] == feature)
+        {
+          removeSlot(slot);
+        }
+      }
+    }
+
+    /**
+     * Removes all the inverse references of the object at the slot,
+     * shifting back the subsequent objects of the probe sequence so that no deleted markers are needed.
+     */
+    void removeSlot(int slot)
+    {
+      Object value = values[slot];
+      if (value instanceof Entries)
+      {
+        entryCount -= ((Entries)value).size;
+      }
+      else
+      {
+        --entryCount;
+      }
+      --size;
+
+      int mask = keys.length - 1;
+      for (int next = (slot + 1) & mask; ; next = (next + 1) & mask)
+      {
+        Object key = keys[next];
+        if (key == null)
+        {
+          break;
+        }
+        int home = hash(key) & mask;
+        if (slot <= next ? slot < home && home <= next : slot < home || home <= next)
+        {
+          continue;
+        }
+        keys[slot] = key;
+        values[slot] = values[next];
+        features[slot] = features[next];
+        slot = next;
+      }
+      keys[slot] = null;
+      values[slot] = null;
+      features[slot] = 0;
+    }
+
+    void clear()
+    {
+      keys = new Object [16];
+      values = new Object [16];
+      features = new int [16];
+      size = 0;
+      entryCount = 0;
+    }
+
+    long getEstimatedSize()
+    {
+      long result = 3 * ARRAY_HEADER_SIZE + (long)keys.length * (2 * REFERENCE_SIZE + 4);
+      for (Object value : values)
+      {
+        if (value instanceof Entries)
+        {
+          Entries entries = (Entries)value;
+          result += OBJECT_HEADER_SIZE + 2 * REFERENCE_SIZE + 4 + 2 * ARRAY_HEADER_SIZE + (long)entries.sources.length * (REFERENCE_SIZE + 4);
+        }
+      }
+      return result;
+    }
+  }
+
+  /**
+   * An inverse cross referencer that records the inverse references in an {@link Index index}
+   * rather than in the map itself;
+   * the map methods are implemented in terms of the index,
+   * and those that return a view return a view of a snapshot.
+   */
+  protected class IndexedInverseCrossReferencer extends InverseCrossReferencer
+  {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The index of the inverse references.
+     */
+    private Index index = new Index();
+
+    /**
+     * The features, other than those of the referencing object's class, that have been encoded.
+     */
+    private final List<EStructuralFeature> extraFeatures = new ArrayList<EStructuralFeature>();
+
+    /**
+     * The classes whose lazily computed feature information has been computed for {@link #index(Resource) indexing} in other threads.
+     */
+    private final Set<EClass> preparedEClasses = new HashSet<EClass>();
+
+    protected IndexedInverseCrossReferencer()
+    {
+      super();
+    }
+
+    /**
+     * Returns the compact encoding of the referencing object's feature:
+     * the feature's ID in the object's class,
+     * or, if it has none, a negative number that identifies an extra feature,
+     * or {@link Integer#MIN_VALUE} if it has none and isn't to be created.
+     */
+    protected int encode(EObject eObject, EStructuralFeature eStructuralFeature, boolean create)
+    {
+      int featureID = eObject.eClass().getFeatureID(eStructuralFeature);
+      if (featureID != -1)
+      {
+        return featureID;
+      }
+      synchronized (extraFeatures)
+      {
+        int index = extraFeatures.indexOf(eStructuralFeature);
+        if (index == -1)
+        {
+          if (!create)
+          {
+            return Integer.MIN_VALUE;
+          }
+          index = extraFeatures.size();
+          extraFeatures.add(eStructuralFeature);
+        }
+        return -index - 1;
+      }
+    }
+
+    /**
+     * Returns the feature of the referencing object for the given {@link #encode(EObject, EStructuralFeature, boolean) encoding}.
+     */
+    protected EStructuralFeature decode(EObject eObject, int feature)
+    {
+      if (feature >= 0)
+      {
+        return eObject.eClass().getEStructuralFeature(feature);
+      }
+      synchronized (extraFeatures)
+      {
+        return extraFeatures.get(-feature - 1);
+      }
+    }
+
+    private List<EStructuralFeature.Setting> getSettings(int slot)
+    {
+      Object value = index.values[slot];
+      if (value instanceof Entries)
+      {
+        Entries entries = (Entries)value;
+        List<EStructuralFeature.Setting> result = new BasicEList<EStructuralFeature.Setting>(entries.size);
+        for (int i = 0; i < entries.size; ++i)
+        {
+          EObject eObject = entries.sources[i];
+          result.add(((InternalEObject)eObject).eSetting(decode(eObject, entries.features[i])));
+        }
+        return result;
+      }
+      else
+      {
+        EObject eObject = (EObject)value;
+        List<EStructuralFeature.Setting> result = new BasicEList<EStructuralFeature.Setting>(1);
+        result.add(((InternalEObject)eObject).eSetting(decode(eObject, index.features[slot])));
+        return result;
+      }
+    }
+
+    /**
+     * Indexes the object unless it's in one of the {@link IndexedECrossReferenceAdapter#indexedResources already indexed resources}.
+     */
+    @Override
+    public void add(EObject eObject)
+    {
+      if (indexedResources == null || !indexedResources.contains(eObject.eResource()))
+      {
+        super.add(eObject);
+      }
+    }
+
+    @Override
+    protected void add(InternalEObject eObject, EReference eReference, EObject crossReferencedEObject)
+    {
+      // While the adapter is being attached, each object is indexed once,
+      // so only a duplicate from the object itself, e.g., due to a proxy resolved during the indexing, needs to be avoided.
+      //
+      index.add(crossReferencedEObject, eObject, encode(eObject, eReference, true), !settingTargets);
+      if (!resolve())
+      {
+        addProxy(crossReferencedEObject, eObject);
+      }
+    }
+
+    @Override
+    public void remove(EObject eObject, EReference eReference, EObject crossReferencedEObject)
+    {
+      if (!resolve())
+      {
+        removeProxy(crossReferencedEObject, eObject);
+      }
+      int feature = encode(eObject, eReference, false);
+      if (feature != Integer.MIN_VALUE)
+      {
+        index.remove(crossReferencedEObject, eObject, feature);
+      }
+    }
+
+    @Override
+    public Object remove(EObject eObject)
+    {
+      if (!resolve())
+      {
+        removeProxy(eObject, eObject);
+      }
+      return remove((Object)eObject);
+    }
+
+    @Override
+    public Collection<EStructuralFeature.Setting> remove(Object key)
+    {
+      int slot = index.slot(key);
+      if (slot == -1)
+      {
+        return null;
+      }
+      List<EStructuralFeature.Setting> result = getSettings(slot);
+      index.removeSlot(slot);
+      return result;
+    }
+
+    @Override
+    public Collection<EStructuralFeature.Setting> get(Object key)
+    {
+      int slot = index.slot(key);
+      return slot == -1 ? null : getSettings(slot);
+    }
+
+    @Override
+    public boolean containsKey(Object key)
+    {
+      return index.slot(key) != -1;
+    }
+
+    @Override
+    public int size()
+    {
+      return index.size;
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+      return index.size == 0;
+    }
+
+    /**
+     * Records the given settings in the index in place of those currently recorded for the key.
+     * The collection itself isn't retained,
+     * so adding to it afterwards has no effect; use {@link #getCollection(Object)} for that.
+     */
+    @Override
+    public Collection<EStructuralFeature.Setting> put(EObject key, Collection<EStructuralFeature.Setting> value)
+    {
+      Collection<EStructuralFeature.Setting> result = remove((Object)key);
+      for (EStructuralFeature.Setting setting : value)
+      {
+        EObject eObject = setting.getEObject();
+        index.add(key, eObject, encode(eObject, setting.getEStructuralFeature(), true), true);
+      }
+      return result;
+    }
+
+    /**
+     * Returns a view of the settings recorded in the index for the key,
+     * through which settings can be added and removed.
+     */
+    @Override
+    protected Collection<EStructuralFeature.Setting> getCollection(final Object key)
+    {
+      return
+        new AbstractCollection<EStructuralFeature.Setting>()
+        {
+          @Override
+          public boolean add(EStructuralFeature.Setting setting)
+          {
+            EObject eObject = setting.getEObject();
+            return index.add(key, eObject, encode(eObject, setting.getEStructuralFeature(), true), true);
+          }
+
+          @Override
+          public Iterator<EStructuralFeature.Setting> iterator()
+          {
+            int slot = index.slot(key);
+            final Iterator<EStructuralFeature.Setting> settings =
+              slot == -1 ? Collections.<EStructuralFeature.Setting>emptyList().iterator() : getSettings(slot).iterator();
+            return
+              new Iterator<EStructuralFeature.Setting>()
+              {
+                EStructuralFeature.Setting setting;
+
+                public boolean hasNext()
+                {
+                  return settings.hasNext();
+                }
+
+                public EStructuralFeature.Setting next()
+                {
+                  return setting = settings.next();
+                }
+
+                public void remove()
+                {
+                  if (setting == null)
+                  {
+                    throw new IllegalStateException();
+                  }
+                  EObject eObject = setting.getEObject();
+                  int feature = encode(eObject, setting.getEStructuralFeature(), false);
+                  if (feature != Integer.MIN_VALUE)
+                  {
+                    index.remove(key, eObject, feature);
+                  }
+                  setting = null;
+                }
+              };
+          }
+
+          @Override
+          public int size()
+          {
+            int slot = index.slot(key);
+            if (slot == -1)
+            {
+              return 0;
+            }
+            Object value = index.values[slot];
+            return value instanceof Entries ? ((Entries)value).size : 1;
+          }
+        };
+    }
+
+    @Override
+    public void clear()
+    {
+      index.clear();
+      super.clear();
+    }
+
+    /**
+     * Returns a map of the inverse references as currently indexed.
+     */
+    protected Map<EObject, Collection<EStructuralFeature.Setting>> snapshot()
+    {
+      Map<EObject, Collection<EStructuralFeature.Setting>> result = new HashMap<EObject, Collection<EStructuralFeature.Setting>>(index.size * 4 / 3 + 1);
+      Object[] keys = index.keys;
+      for (int i = 0; i < keys.length; ++i)
+      {
+        Object key = keys[i];
+        if (key != null)
+        {
+          result.put((EObject)key, getSettings(i));
+        }
+      }
+      return result;
+    }
+
+    @Override
+    public Set<Map.Entry<EObject, Collection<EStructuralFeature.Setting>>> entrySet()
+    {
+      return snapshot().entrySet();
+    }
+
+    @Override
+    public Set<EObject> keySet()
+    {
+      return snapshot().keySet();
+    }
+
+    @Override
+    public Collection<Collection<EStructuralFeature.Setting>> values()
+    {
+      return snapshot().values();
+    }
+
+    /**
+     * Returns a new index of the cross references of the proper contents of the resource.
+     * This may be called in any thread, so it doesn't resolve proxies.
+     */
+    private Index index(Resource resource)
+    {
+      Index result = new Index();
+      Set<EClass> eClasses = new HashSet<EClass>();
+      for (TreeIterator<EObject> i = EcoreUtil.getAllProperContents(resource, false); i.hasNext(); )
+      {
+        InternalEObject eObject = (InternalEObject)i.next();
+        EClass eClass = eObject.eClass();
+        if (eClasses.add(eClass))
+        {
+          prepare(eClass);
+        }
+        EContentsEList.FeatureIterator<EObject> crossReferences =
+          (EContentsEList.FeatureIterator<EObject>)((InternalEList<EObject>)eObject.eCrossReferences()).basicIterator();
+        if (crossReferences instanceof EContentsEList.Filterable)
+        {
+          ((EContentsEList.Filterable)crossReferences).filter(crossReferenceFilter);
+        }
+        while (crossReferences.hasNext())
+        {
+          EObject crossReferencedEObject = crossReferences.next();
+          if (crossReferencedEObject != null)
+          {
+            EReference eReference = (EReference)crossReferences.feature();
+            if (crossReference(eObject, eReference, crossReferencedEObject))
+            {
+              result.add(crossReferencedEObject, eObject, encode(eObject, eReference, true), false);
+            }
+          }
+        }
+      }
+      return result;
+    }
+
+    /**
+     * Computes the lazily computed feature information of the class used while {@link #index(Resource) indexing},
+     * which isn't safe to compute concurrently for the classes of a package that isn't {@link EcoreUtil#freeze(org.eclipse.emf.ecore.EPackage) frozen}.
+     * Each thread calls this before it first uses a class,
+     * so the lock ensures that only one thread computes the information and that the other threads see it.
+     */
+    private void prepare(EClass eClass)
+    {
+      synchronized (preparedEClasses)
+      {
+        if (preparedEClasses.add(eClass))
+        {
+          List<EStructuralFeature> eAllStructuralFeatures = eClass.getEAllStructuralFeatures();
+          if (eAllStructuralFeatures instanceof EClassImpl.FeatureSubsetSupplier)
+          {
+            ((EClassImpl.FeatureSubsetSupplier)eAllStructuralFeatures).crossReferences();
+          }
+          for (EStructuralFeature eStructuralFeature : eAllStructuralFeatures)
+          {
+            eClass.getFeatureID(eStructuralFeature);
+          }
+        }
+      }
+    }
+
+    /**
+     * Adds the inverse references of the given index to this one.
+     */
+    private void merge(Index otherIndex, boolean checkAll)
+    {
+      Object[] keys = otherIndex.keys;
+      for (int i = 0; i < keys.length; ++i)
+      {
+        Object key = keys[i];
+        if (key != null)
+        {
+          Object value = otherIndex.values[i];
+          if (value instanceof Entries)
+          {
+            Entries entries = (Entries)value;
+            for (int j = 0; j < entries.size; ++j)
+            {
+              index.add(key, entries.sources[j], entries.features[j], checkAll);
+            }
+          }
+          else
+          {
+            index.add(key, (EObject)value, otherIndex.features[i], checkAll);
+          }
+        }
+      }
+    }
+
+    /**
+     * Handles the proxies indexed by {@link #index(Resource)},
+     * either recording them, if proxies aren't resolved, or resolving them and indexing the inverse references of the resolved objects instead.
+     */
+    private void handleProxies()
+    {
+      List<EObject> proxies = new ArrayList<EObject>();
+      for (Object key : index.keys)
+      {
+        if (key != null && ((EObject)key).eIsProxy())
+        {
+          proxies.add((EObject)key);
+        }
+      }
+
+      for (EObject proxy : proxies)
+      {
+        List<EStructuralFeature.Setting> settings = getSettings(index.slot(proxy));
+        if (resolve())
+        {
+          EObject resolvedEObject = EcoreUtil.resolve(proxy, settings.get(0).getEObject());
+          if (resolvedEObject != proxy)
+          {
+            remove((Object)proxy);
+            for (EStructuralFeature.Setting setting : settings)
+            {
+              EObject eObject = setting.getEObject();
+              index.add(resolvedEObject, eObject, encode(eObject, setting.getEStructuralFeature(), true), true);
+            }
+          }
+        }
+        else
+        {
+          for (EStructuralFeature.Setting setting : settings)
+          {
+            addProxy(proxy, setting.getEObject());
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Creates an instance.
+   */
+  public IndexedECrossReferenceAdapter()
+  {
+    super();
+  }
+
+  /**
+   * Returns an {@link IndexedInverseCrossReferencer indexed inverse cross referencer};
+   * a specialization must also return one.
+   */
+  @Override
+  protected IndexedInverseCrossReferencer createInverseCrossReferencer()
+  {
+    return new IndexedInverseCrossReferencer();
+  }
+
+  /**
+   * Returns <code>false</code> because the content trees of large models may be too deep to attach the adapter recursively.
+   */
+  @Override
+  protected boolean useRecursion()
+  {
+    return false;
+  }
+
+  /**
+   * Indexes each resource of the resource set as a separate task of the executor service
+   * and then attaches this adapter to the resource set without indexing again the contents of those resources.
+   * The tasks don't resolve proxies;
+   * once they're done, if this adapter {@link #resolve() resolves} proxies, the referenced proxies are resolved,
+   * which may load additional resources, and those are indexed when the adapter is attached.
+   * The resource set must not be modified by other threads while this is called.
+   * The lazily computed feature information of each class is computed by the first task that uses the class,
+   * under a lock that the other tasks also acquire before they use it,
+   * so the classes of packages that aren't {@link EcoreUtil#freeze(org.eclipse.emf.ecore.EPackage) frozen}, e.g., dynamic packages, are safe to use,
+   * as long as they aren't modified.
+   * @param resourceSet the resource set to which to attach this adapter.
+   * @param executorService the executor service used to run the tasks.
+   * @throws IllegalStateException if this adapter is already attached to the resource set.
+   */
+  public void initialize(ResourceSet resourceSet, ExecutorService executorService)
+  {
+    if (resourceSet.eAdapters().contains(this))
+    {
+      throw new IllegalStateException();
+    }
+
+    final IndexedInverseCrossReferencer indexedInverseCrossReferencer = (IndexedInverseCrossReferencer)inverseCrossReferencer;
+    List<Resource> resources = new ArrayList<Resource>(resourceSet.getResources());
+    List<Future<Index>> futures = new ArrayList<Future<Index>>(resources.size());
+    for (final Resource resource : resources)
+    {
+      futures.add
+        (executorService.submit
+          (new Callable<Index>()
+           {
+             public Index call() throws Exception
+             {
+               return indexedInverseCrossReferencer.index(resource);
+             }
+           }));
+    }
+
+    try
+    {
+      boolean checkAll = !indexedInverseCrossReferencer.isEmpty();
+      for (Future<Index> future : futures)
+      {
+        indexedInverseCrossReferencer.merge(future.get(), checkAll);
+      }
+    }
+    catch (InterruptedException exception)
+    {
+      Thread.currentThread().interrupt();
+      throw new WrappedException(exception);
+    }
+    catch (ExecutionException exception)
+    {
+      Throwable cause = exception.getCause();
+      if (cause instanceof RuntimeException)
+      {
+        throw (RuntimeException)cause;
+      }
+      throw new WrappedException(exception);
+    }
+
+    indexedInverseCrossReferencer.handleProxies();
+
+    indexedResources = new HashSet<Resource>(resources);
+    try
+    {
+      resourceSet.eAdapters().add(this);
+    }
+    finally
+    {
+      indexedResources = null;
+    }
+  }
+
+  /**
+   * Returns the number of objects that have at least one indexed inverse reference.
+   * @return the number of referenced objects.
+   */
+  public int getIndexedObjectCount()
+  {
+    return ((IndexedInverseCrossReferencer)inverseCrossReferencer).index.size;
+  }
+
+  /**
+   * Returns the number of indexed inverse references.
+   * @return the number of inverse references.
+   */
+  public int getInverseReferenceCount()
+  {
+    return ((IndexedInverseCrossReferencer)inverseCrossReferencer).index.entryCount;
+  }
+
+  /**
+   * Returns an estimate of the memory, in bytes, used by the index,
+   * assuming compressed object references,
+   * and excluding the indexed objects themselves.
+   * @return the estimated size of the index.
+   */
+  public long getEstimatedSize()
+  {
+    return ((IndexedInverseCrossReferencer)inverseCrossReferencer).index.getEstimatedSize();
+  }
+}
@@ -49,11 +49,19 @@ package org.eclipse.emf.ecore.xml.type.internal;
 
 
 import java.text.CharacterIterator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Hashtable;
+import java.util.Iterator;
 import java.util.Locale;
 import java.util.ResourceBundle;
 import java.util.Stack;
+import java.util.TreeSet;
 import java.util.Vector;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 import org.eclipse.emf.ecore.plugin.EcorePlugin;
 
@@ -3931,17 +3939,19 @@ public static class RegularExpression implements java.io.Serializable {
      */
     public boolean matches(char[] target, int start, int end, Match match) {
 
-        synchronized (this) {
-            if (this.operations == null)
-                this.prepare();
-            if (this.context == null)
-                this.context = new Context();
+        if (!this.prepared) {
+            synchronized (this) {
+                if (!this.prepared)
+                    this.prepare();
+            }
         }
-        Context con = null;
-        synchronized (this.context) {
-            con = this.context.inuse ? new Context() : this.context;
-            con.reset(target, start, end, this.numberOfClosures);
+        if (match == null && this.dfa != null) {
+            int result = this.dfa.matches(target, start, end);
+            if (result != DFA.UNKNOWN)
+                return result == DFA.MATCH;
         }
+        Context con = this.acquireContext();
+        con.reset(target, start, end, this.numberOfClosures);
         if (match != null) {
             match.setNumberOfGroups(this.nofparen);
             match.setSource(target);
@@ -3961,9 +3971,10 @@ public static class RegularExpression implements java.io.Serializable {
                     con.match.setBeginning(0, con.start);
                     con.match.setEnd(0, matchEnd);
                 }
-                con.setInUse(false);
+                this.releaseContext(con);
                 return true;
             }
+            this.releaseContext(con);
             return false;
         }
 
@@ -3979,10 +3990,10 @@ public static class RegularExpression implements java.io.Serializable {
                     con.match.setBeginning(0, o);
                     con.match.setEnd(0, o+this.fixedString.length());
                 }
-                con.setInUse(false);
+                this.releaseContext(con);
                 return true;
             }
-            con.setInUse(false);
+            this.releaseContext(con);
             return false;
         }
 
@@ -3995,7 +4006,7 @@ public static class RegularExpression implements java.io.Serializable {
             int o = this.fixedStringTable.matches(target, con.start, con.limit);
             if (o < 0) {
                 //System.err.println("Non-match in fixed-string search.");
-                con.setInUse(false);
+                this.releaseContext(con);
                 return false;
             }
         }
@@ -4066,10 +4077,10 @@ public static class RegularExpression implements java.io.Serializable {
                 con.match.setBeginning(0, matchStart);
                 con.match.setEnd(0, matchEnd);
             }
-            con.setInUse(false);
+            this.releaseContext(con);
             return true;
         } else {
-            con.setInUse(false);
+            this.releaseContext(con);
             return false;
         }
     }
@@ -4116,17 +4127,19 @@ public static class RegularExpression implements java.io.Serializable {
      */
     public boolean matches(String  target, int start, int end, Match match) {
 
-        synchronized (this) {
-            if (this.operations == null)
-                this.prepare();
-            if (this.context == null)
-                this.context = new Context();
+        if (!this.prepared) {
+            synchronized (this) {
+                if (!this.prepared)
+                    this.prepare();
+            }
         }
-        Context con = null;
-        synchronized (this.context) {
-            con = this.context.inuse ? new Context() : this.context;
-            con.reset(target, start, end, this.numberOfClosures);
+        if (match == null && this.dfa != null) {
+            int result = this.dfa.matches(target, start, end);
+            if (result != DFA.UNKNOWN)
+                return result == DFA.MATCH;
         }
+        Context con = this.acquireContext();
+        con.reset(target, start, end, this.numberOfClosures);
         if (match != null) {
             match.setNumberOfGroups(this.nofparen);
             match.setSource(target);
@@ -4152,9 +4165,10 @@ public static class RegularExpression implements java.io.Serializable {
                     con.match.setBeginning(0, con.start);
                     con.match.setEnd(0, matchEnd);
                 }
-                con.setInUse(false);
+                this.releaseContext(con);
                 return true;
             }
+            this.releaseContext(con);
             return false;
         }
 
@@ -4170,10 +4184,10 @@ public static class RegularExpression implements java.io.Serializable {
                     con.match.setBeginning(0, o);
                     con.match.setEnd(0, o+this.fixedString.length());
                 }
-                con.setInUse(false);
+                this.releaseContext(con);
                 return true;
             }
-            con.setInUse(false);
+            this.releaseContext(con);
             return false;
         }
 
@@ -4186,7 +4200,7 @@ public static class RegularExpression implements java.io.Serializable {
             int o = this.fixedStringTable.matches(target, con.start, con.limit);
             if (o < 0) {
                 //System.err.println("Non-match in fixed-string search.");
-                con.setInUse(false);
+                this.releaseContext(con);
                 return false;
             }
         }
@@ -4257,10 +4271,10 @@ public static class RegularExpression implements java.io.Serializable {
                 con.match.setBeginning(0, matchStart);
                 con.match.setEnd(0, matchEnd);
             }
-            con.setInUse(false);
+            this.releaseContext(con);
             return true;
         } else {
-            con.setInUse(false);
+            this.releaseContext(con);
             return false;
         }
     }
@@ -4795,17 +4809,14 @@ public static class RegularExpression implements java.io.Serializable {
 
 
 
-        synchronized (this) {
-            if (this.operations == null)
-                this.prepare();
-            if (this.context == null)
-                this.context = new Context();
-        }
-        Context con = null;
-        synchronized (this.context) {
-            con = this.context.inuse ? new Context() : this.context;
-            con.reset(target, start, end, this.numberOfClosures);
+        if (!this.prepared) {
+            synchronized (this) {
+                if (!this.prepared)
+                    this.prepare();
+            }
         }
+        Context con = this.acquireContext();
+        con.reset(target, start, end, this.numberOfClosures);
         if (match != null) {
             match.setNumberOfGroups(this.nofparen);
             match.setSource(target);
@@ -4825,9 +4836,10 @@ public static class RegularExpression implements java.io.Serializable {
                     con.match.setBeginning(0, con.start);
                     con.match.setEnd(0, matchEnd);
                 }
-                con.setInUse(false);
+                this.releaseContext(con);
                 return true;
             }
+            this.releaseContext(con);
             return false;
         }
 
@@ -4843,10 +4855,10 @@ public static class RegularExpression implements java.io.Serializable {
                     con.match.setBeginning(0, o);
                     con.match.setEnd(0, o+this.fixedString.length());
                 }
-                con.setInUse(false);
+                this.releaseContext(con);
                 return true;
             }
-            con.setInUse(false);
+            this.releaseContext(con);
             return false;
         }
 
@@ -4859,7 +4871,7 @@ public static class RegularExpression implements java.io.Serializable {
             int o = this.fixedStringTable.matches(target, con.start, con.limit);
             if (o < 0) {
                 //System.err.println("Non-match in fixed-string search.");
-                con.setInUse(false);
+                this.releaseContext(con);
                 return false;
             }
         }
@@ -4930,10 +4942,10 @@ public static class RegularExpression implements java.io.Serializable {
                 con.match.setBeginning(0, matchStart);
                 con.match.setEnd(0, matchEnd);
             }
-            con.setInUse(false);
+            this.releaseContext(con);
             return true;
         } else {
-            con.setInUse(false);
+            this.releaseContext(con);
             return false;
         }
     }
@@ -4966,7 +4978,35 @@ public static class RegularExpression implements java.io.Serializable {
     transient int minlength;
     transient Op operations = null;
     transient int numberOfClosures;
-    transient Context context = null;
+    /**
+     * Whether {@link #prepare()} has been called;
+     * it's set last so that the prepared state is visible to any thread that sees it set.
+     */
+    transient volatile boolean prepared = false;
+    /**
+     * A context that isn't in use, available to the next match.
+     * A matching thread takes it, or creates a new one if there is none,
+     * and puts it back when done,
+     * so concurrent matches never share a context and never need to lock.
+     */
+    transient volatile Context context = null;
+    /**
+     * The automaton used instead of the interpreter, when possible, to check whether an XML Schema expression matches.
+     */
+    transient DFA dfa = null;
+
+    private static final AtomicReferenceFieldUpdater<RegularExpression, Context> CONTEXT_UPDATER =
+      AtomicReferenceFieldUpdater.newUpdater(RegularExpression.class, Context.class, "context");
+
+    private Context acquireContext() {
+        Context con = CONTEXT_UPDATER.getAndSet(this, null);
+        return con == null ? new Context() : con;
+    }
+
+    private void releaseContext(Context con) {
+        con.match = null;
+        this.context = con;
+    }
     transient RangeToken firstChar = null;
 
     transient String fixedString = null;
@@ -5241,7 +5281,6 @@ public static class RegularExpression implements java.io.Serializable {
         int limit;
         int length;
         Match match;
-        boolean inuse = false;
         ClosureContext[] closureContexts;
         
         private StringTarget stringTarget; 
@@ -5255,7 +5294,6 @@ public static class RegularExpression implements java.io.Serializable {
 
         private void resetCommon(int nofclosures) {
             this.length = this.limit-this.start;
-            setInUse(true);
             this.match = null;
             if (this.closureContexts == null || this.closureContexts.length != nofclosures) {
                 this.closureContexts = new ClosureContext[nofclosures];
@@ -5308,8 +5346,405 @@ public static class RegularExpression implements java.io.Serializable {
             this.limit = limit;
             this.resetCommon(nofclosures);
         }
-        synchronized void setInUse(boolean inUse) {
-            this.inuse = inUse;
+    }
+
+    /**
+     * A deterministic automaton for an XML Schema expression without back references,
+     * built lazily, one state transition at a time, from a nondeterministic automaton over the basic multilingual plane.
+     * The characters are partitioned into classes whose members aren't distinguished by any of the expression's character sets,
+     * so each state has one transition per class.
+     * States are published with final fields and transitions are added under a lock,
+     * so any number of threads can match concurrently without locking once the needed transitions exist.
+     * An input that includes a surrogate, or that needs more than {@link #MAX_STATES} states, yields {@link #UNKNOWN},
+     * in which case the interpreter must be used;
+     * once the states are exhausted, every input yields {@link #UNKNOWN} without any further attempt to compute transitions.
+     */
+    static final class DFA {
+        static final int NO_MATCH = 0;
+        static final int MATCH = 1;
+        static final int UNKNOWN = -1;
+
+        private static final int MAX_NFA_NODES = 4096;
+        private static final int MAX_STATES = 1024;
+
+        private static final int[] DOT_RANGES = {
+            0, LINE_FEED - 1, LINE_FEED + 1, CARRIAGE_RETURN - 1, CARRIAGE_RETURN + 1, LINE_SEPARATOR - 1, PARAGRAPH_SEPARATOR + 1, 0xFFFF
+        };
+
+        static final class State {
+            final int[] nodes;
+            final boolean accepting;
+            final State[] next;
+
+            State(int[] nodes, boolean accepting, int classCount) {
+                this.nodes = nodes;
+                this.accepting = accepting;
+                this.next = new State[classCount];
+            }
+        }
+
+        static final class NodesKey {
+            final int[] nodes;
+            final int hashCode;
+
+            NodesKey(int[] nodes) {
+                this.nodes = nodes;
+                this.hashCode = Arrays.hashCode(nodes);
+            }
+
+            public boolean equals(Object object) {
+                return object instanceof NodesKey && Arrays.equals(this.nodes, ((NodesKey)object).nodes);
+            }
+
+            public int hashCode() {
+                return this.hashCode;
+            }
+        }
+
+        /**
+         * The sorted character ranges consumed by each node, or null for a node that consumes nothing.
+         */
+        private final int[][] nodeRanges;
+        /**
+         * The node following each consuming node.
+         */
+        private final int[] nodeNext;
+        /**
+         * The nodes reached without consuming from each node that consumes nothing.
+         */
+        private final int[][] nodeEpsilons;
+        private final int acceptNode;
+
+        /**
+         * The first character of each class, in increasing order, starting with 0.
+         */
+        private final int[] classStarts;
+        private final int[] asciiClasses = new int[128];
+
+        private final State start;
+        private final State dead;
+        private final HashMap<NodesKey, State> states = new HashMap<NodesKey, State>();
+        private volatile boolean exhausted;
+
+        /**
+         * Returns an automaton for the expression, or null if the expression uses a construct other than
+         * characters, character classes, strings, concatenation, alternation, repetition, and groups,
+         * or if it's too large.
+         */
+        static DFA create(Token tokentree) {
+            ArrayList<int[]> ranges = new ArrayList<int[]>();
+            ArrayList<Integer> next = new ArrayList<Integer>();
+            ArrayList<int[]> epsilons = new ArrayList<int[]>();
+            int acceptNode = addNode(ranges, next, epsilons, null, -1);
+            epsilons.set(acceptNode, new int[0]);
+            int startNode = build(tokentree, acceptNode, ranges, next, epsilons);
+            if (startNode < 0)
+                return null;
+            return new DFA(ranges, next, epsilons, acceptNode, startNode);
+        }
+
+        private static int addNode(ArrayList<int[]> ranges, ArrayList<Integer> next, ArrayList<int[]> epsilons, int[] range, int nextNode) {
+            ranges.add(range);
+            next.add(nextNode);
+            epsilons.add(null);
+            return ranges.size() - 1;
+        }
+
+        /**
+         * Adds the nodes for the token, followed by the given node, and returns the first one, or -1 if that's not possible.
+         * This mirrors {@link RegularExpression#compile(Token, Op, boolean)}.
+         */
+        private static int build(Token tok, int next, ArrayList<int[]> ranges, ArrayList<Integer> nexts, ArrayList<int[]> epsilons) {
+            if (next < 0 || ranges.size() > MAX_NFA_NODES)
+                return -1;
+            switch (tok.type) {
+            case Token.CHAR: {
+                int ch = tok.getChar();
+                return addNode(ranges, nexts, epsilons, ch > 0xFFFF ? new int[0] : new int[] {ch, ch}, next);
+            }
+            case Token.DOT:
+                return addNode(ranges, nexts, epsilons, DOT_RANGES, next);
+            case Token.RANGE:
+            case Token.NRANGE:
+                return addNode(ranges, nexts, epsilons, normalize(((RangeToken)tok).ranges, tok.type == Token.NRANGE), next);
+            case Token.STRING: {
+                String string = tok.getString();
+                int ret = next;
+                for (int i = string.length() - 1;  i >= 0;  i --) {
+                    char ch = string.charAt(i);
+                    ret = addNode(ranges, nexts, epsilons, new int[] {ch, ch}, ret);
+                }
+                return ret;
+            }
+            case Token.CONCAT: {
+                int ret = next;
+                for (int i = tok.size() - 1;  i >= 0;  i --) {
+                    ret = build(tok.getChild(i), ret, ranges, nexts, epsilons);
+                }
+                return ret;
+            }
+            case Token.UNION: {
+                int[] alternatives = new int[tok.size()];
+                for (int i = 0;  i < alternatives.length;  i ++) {
+                    alternatives[i] = build(tok.getChild(i), next, ranges, nexts, epsilons);
+                    if (alternatives[i] < 0)
+                        return -1;
+                }
+                int ret = addNode(ranges, nexts, epsilons, null, -1);
+                epsilons.set(ret, alternatives);
+                return ret;
+            }
+            case Token.CLOSURE:
+            case Token.NONGREEDYCLOSURE: {
+                Token child = tok.getChild(0);
+                int min = tok.getMin();
+                int max = tok.getMax();
+                int ret = next;
+                if (min >= 0 && min == max) {
+                    for (int i = 0;  i < min;  i ++) {
+                        ret = build(child, ret, ranges, nexts, epsilons);
+                    }
+                    return ret;
+                }
+                if (min > 0 && max > 0)
+                    max -= min;
+                if (max > 0) {
+                    for (int i = 0;  i < max;  i ++) {
+                        int q = build(child, ret, ranges, nexts, epsilons);
+                        if (q < 0)
+                            return -1;
+                        ret = addNode(ranges, nexts, epsilons, null, -1);
+                        epsilons.set(ret, new int[] {q, next});
+                    }
+                } else {
+                    ret = addNode(ranges, nexts, epsilons, null, -1);
+                    int q = build(child, ret, ranges, nexts, epsilons);
+                    if (q < 0)
+                        return -1;
+                    epsilons.set(ret, new int[] {q, next});
+                }
+                for (int i = 0;  i < min;  i ++) {
+                    ret = build(child, ret, ranges, nexts, epsilons);
+                }
+                return ret;
+            }
+            case Token.PAREN:
+                return build(tok.getChild(0), next, ranges, nexts, epsilons);
+            case Token.EMPTY:
+                return next;
+            default:
+                return -1;
+            }
+        }
+
+        /**
+         * Returns the sorted disjoint ranges, within the basic multilingual plane, of the given ranges or of their complement.
+         */
+        private static int[] normalize(int[] ranges, boolean complement) {
+            int count = ranges == null ? 0 : ranges.length / 2;
+            long[] pairs = new long[count];
+            for (int i = 0;  i < count;  i ++) {
+                pairs[i] = ((long)ranges[2 * i] << 32) | ranges[2 * i + 1];
+            }
+            Arrays.sort(pairs);
+            int[] merged = new int[2 * count];
+            int size = 0;
+            for (int i = 0;  i < count;  i ++) {
+                int low = (int)(pairs[i] >>> 32);
+                int high = Math.min((int)pairs[i], 0xFFFF);
+                if (low > high)
+                    continue;
+                if (size > 0 && low <= merged[size - 1] + 1) {
+                    merged[size - 1] = Math.max(merged[size - 1], high);
+                } else {
+                    merged[size ++] = low;
+                    merged[size ++] = high;
+                }
+            }
+            if (!complement) {
+                int[] result = new int[size];
+                System.arraycopy(merged, 0, result, 0, size);
+                return result;
+            }
+            int[] result = new int[size + 2];
+            int resultSize = 0;
+            int low = 0;
+            for (int i = 0;  i < size;  i += 2) {
+                if (merged[i] > low) {
+                    result[resultSize ++] = low;
+                    result[resultSize ++] = merged[i] - 1;
+                }
+                low = merged[i + 1] + 1;
+            }
+            if (low <= 0xFFFF) {
+                result[resultSize ++] = low;
+                result[resultSize ++] = 0xFFFF;
+            }
+            int[] trimmed = new int[resultSize];
+            System.arraycopy(result, 0, trimmed, 0, resultSize);
+            return trimmed;
+        }
+
+        private DFA(ArrayList<int[]> ranges, ArrayList<Integer> next, ArrayList<int[]> epsilons, int acceptNode, int startNode) {
+            int count = ranges.size();
+            this.nodeRanges = ranges.toArray(new int[count][]);
+            this.nodeEpsilons = epsilons.toArray(new int[count][]);
+            this.nodeNext = new int[count];
+            for (int i = 0;  i < count;  i ++) {
+                this.nodeNext[i] = next.get(i);
+            }
+            this.acceptNode = acceptNode;
+
+            TreeSet<Integer> boundaries = new TreeSet<Integer>();
+            boundaries.add(0);
+            for (int[] range : this.nodeRanges) {
+                if (range != null) {
+                    for (int i = 0;  i < range.length;  i += 2) {
+                        boundaries.add(range[i]);
+                        if (range[i + 1] < 0xFFFF)
+                            boundaries.add(range[i + 1] + 1);
+                    }
+                }
+            }
+            this.classStarts = new int[boundaries.size()];
+            int index = 0;
+            for (Integer boundary : boundaries) {
+                this.classStarts[index ++] = boundary;
+            }
+            for (int ch = 0;  ch < this.asciiClasses.length;  ch ++) {
+                this.asciiClasses[ch] = this.getClass(ch);
+            }
+
+            this.dead = new State(new int[0], false, this.classStarts.length);
+            Arrays.fill(this.dead.next, this.dead);
+            this.states.put(new NodesKey(this.dead.nodes), this.dead);
+            this.start = this.getState(this.closure(new int[] {startNode}, 1));
+        }
+
+        private int getClass(int ch) {
+            int index = Arrays.binarySearch(this.classStarts, ch);
+            return index >= 0 ? index : -index - 2;
+        }
+
+        /**
+         * Returns the sorted consuming and accepting nodes reachable, without consuming, from the given nodes.
+         */
+        private int[] closure(int[] nodes, int size) {
+            boolean[] visited = new boolean[this.nodeRanges.length];
+            IntStack stack = new IntStack();
+            for (int i = 0;  i < size;  i ++) {
+                stack.push(nodes[i]);
+            }
+            TreeSet<Integer> result = new TreeSet<Integer>();
+            while (stack.size() > 0) {
+                int node = stack.pop();
+                if (visited[node])
+                    continue;
+                visited[node] = true;
+                int[] nodeEpsilons = this.nodeEpsilons[node];
+                if (nodeEpsilons == null || node == this.acceptNode) {
+                    result.add(node);
+                } else {
+                    for (int i = 0;  i < nodeEpsilons.length;  i ++) {
+                        stack.push(nodeEpsilons[i]);
+                    }
+                }
+            }
+            int[] closure = new int[result.size()];
+            int index = 0;
+            for (Integer node : result) {
+                closure[index ++] = node;
+            }
+            return closure;
+        }
+
+        /**
+         * Returns the state for the nodes, creating it if needed, or null if there are too many states.
+         */
+        private State getState(int[] nodes) {
+            NodesKey key = new NodesKey(nodes);
+            State state = this.states.get(key);
+            if (state == null) {
+                if (this.states.size() >= MAX_STATES)
+                    return null;
+                state = new State(nodes, Arrays.binarySearch(nodes, this.acceptNode) >= 0, this.classStarts.length);
+                this.states.put(key, state);
+            }
+            return state;
+        }
+
+        /**
+         * Computes the transition of the state for the character class, or returns null if there are too many states.
+         */
+        private synchronized State computeNext(State state, int characterClass) {
+            State result = state.next[characterClass];
+            if (result == null) {
+                int ch = this.classStarts[characterClass];
+                int[] targets = new int[state.nodes.length];
+                int size = 0;
+                for (int i = 0;  i < state.nodes.length;  i ++) {
+                    int node = state.nodes[i];
+                    int[] range = this.nodeRanges[node];
+                    if (range != null) {
+                        for (int j = 0;  j < range.length;  j += 2) {
+                            if (range[j] <= ch && ch <= range[j + 1]) {
+                                targets[size ++] = this.nodeNext[node];
+                                break;
+                            }
+                        }
+                    }
+                }
+                result = this.getState(this.closure(targets, size));
+                if (result != null)
+                    state.next[characterClass] = result;
+                else
+                    this.exhausted = true;
+            }
+            return result;
+        }
+
+        int matches(String target, int start, int end) {
+            State state = this.start;
+            if (state == null || this.exhausted)
+                return UNKNOWN;
+            for (int i = start;  i < end;  i ++) {
+                char ch = target.charAt(i);
+                if (ch >= 0xD800 && ch <= 0xDFFF)
+                    return UNKNOWN;
+                int characterClass = ch < 128 ? this.asciiClasses[ch] : this.getClass(ch);
+                State next = state.next[characterClass];
+                if (next == null) {
+                    next = this.computeNext(state, characterClass);
+                    if (next == null)
+                        return UNKNOWN;
+                }
+                if (next == this.dead)
+                    return NO_MATCH;
+                state = next;
+            }
+            return state.accepting ? MATCH : NO_MATCH;
+        }
+
+        int matches(char[] target, int start, int end) {
+            State state = this.start;
+            if (state == null)
+                return UNKNOWN;
+            for (int i = start;  i < end;  i ++) {
+                char ch = target[i];
+                if (ch >= 0xD800 && ch <= 0xDFFF)
+                    return UNKNOWN;
+                int characterClass = ch < 128 ? this.asciiClasses[ch] : this.getClass(ch);
+                State next = state.next[characterClass];
+                if (next == null) {
+                    next = this.computeNext(state, characterClass);
+                    if (next == null)
+                        return UNKNOWN;
+                }
+                if (next == this.dead)
+                    return NO_MATCH;
+                state = next;
+            }
+            return state.accepting ? MATCH : NO_MATCH;
         }
     }
 
@@ -5382,6 +5817,10 @@ public static class RegularExpression implements java.io.Serializable {
                 }
             }
         }
+
+        this.dfa = this.options == XMLSCHEMA_MODE && !this.hasBackReferences ? DFA.create(this.tokentree) : null;
+
+        this.prepared = true;
     }
 
     /**
@@ -5521,6 +5960,8 @@ public static class RegularExpression implements java.io.Serializable {
         this.hasBackReferences = rp.hasBackReferences;
 
         this.operations = null;
+        this.dfa = null;
+        this.prepared = false;
         this.context = null;
     }
     /**
@@ -5927,7 +6368,38 @@ final static class REUtil {
     }
 
     static final int CACHESIZE = 20;
-    static final RegularExpression[] regexCache = new RegularExpression[CACHESIZE];
+
+    /**
+     * The key of a cached regular expression.
+     */
+    static final class CacheKey {
+        final String pattern;
+        final int options;
+
+        CacheKey(String pattern, int options) {
+            this.pattern = pattern;
+            this.options = options;
+        }
+
+        public boolean equals(Object object) {
+            if (object instanceof CacheKey) {
+                CacheKey other = (CacheKey)object;
+                return this.options == other.options && this.pattern.equals(other.pattern);
+            }
+            return false;
+        }
+
+        public int hashCode() {
+            return this.pattern.hashCode() ^ this.options;
+        }
+    }
+
+    /**
+     * The cached regular expressions.
+     * Lookups don't lock, and when the cache grows beyond {@link #CACHESIZE} entries,
+     * arbitrary entries are evicted.
+     */
+    static final ConcurrentMap<CacheKey, RegularExpression> regexCache = new ConcurrentHashMap<CacheKey, RegularExpression>();
     /**
      * Creates a RegularExpression instance.
      * This method caches created instances.
@@ -5936,31 +6408,21 @@ final static class REUtil {
      */
     public static RegularExpression createRegex(String pattern, String options)
         throws ParseException {
-        RegularExpression re = null;
         int intOptions = REUtil.parseOptions(options);
-        synchronized (REUtil.regexCache) {
-            int i;
-            for (i = 0;  i < REUtil.CACHESIZE;  i ++) {
-                RegularExpression cached = REUtil.regexCache[i];
-                if (cached == null) {
-                    i = -1;
-                    break;
-                }
-                if (cached.equals(pattern, intOptions)) {
-                    re = cached;
-                    break;
+        CacheKey key = new CacheKey(pattern, intOptions);
+        RegularExpression re = REUtil.regexCache.get(key);
+        if (re == null) {
+            re = new RegularExpression(pattern, options);
+            RegularExpression cached = REUtil.regexCache.putIfAbsent(key, re);
+            if (cached != null) {
+                re = cached;
+            } else if (REUtil.regexCache.size() > REUtil.CACHESIZE) {
+                for (Iterator<CacheKey> i = REUtil.regexCache.keySet().iterator();
+                     i.hasNext() && REUtil.regexCache.size() > REUtil.CACHESIZE; ) {
+                    if (!key.equals(i.next()))
+                        i.remove();
                 }
             }
-            if (re != null) {
-                if (i != 0) {
-                    System.arraycopy(REUtil.regexCache, 0, REUtil.regexCache, 1, i);
-                    REUtil.regexCache[0] = re;
-                }
-            } else {
-                re = new RegularExpression(pattern, options);
-                System.arraycopy(REUtil.regexCache, 0, REUtil.regexCache, 1, REUtil.CACHESIZE-1);
-                REUtil.regexCache[0] = re;
-            }
         }
         return re;
     }
@@ -15,6 +15,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
@@ -168,7 +169,25 @@ public abstract class XSDNamedComponentImpl
   {
     private static final long serialVersionUID = 1L;
 
+    /**
+     * The components in the owning schema's namespace, keyed by local name.
+     */
     protected Map<String, XSDNamedComponent> map;
+
+    /**
+     * The components in other namespaces, keyed by namespace and then by local name.
+     * @since 2.19
+     */
+    protected Map<String, Map<String, XSDNamedComponent>> namespaceMap;
+
+    /**
+     * The key under which each component was indexed,
+     * i.e., either <code>{ localName }</code> for the owning schema's namespace or <code>{ namespace, localName }</code>.
+     * It's used to remove an entry for a component that has since been renamed.
+     * @since 2.19
+     */
+    protected Map<XSDNamedComponent, String[]> keys;
+
     protected XSDSchemaImpl xsdSchema;
 
     public XSDNamedComponentList(Class<?> dataClass, XSDSchemaImpl owner, int featureID)
@@ -183,35 +202,91 @@ public abstract class XSDNamedComponentImpl
       return targetNamespace == null ? xsdSchema.getTargetNamespace() == null : targetNamespace.equals(xsdSchema.getTargetNamespace());
     }
 
-    @Override
-    protected void didAdd(int index, Object newObject)
+    /**
+     * Returns the index map for the given key, creating it if requested.
+     */
+    private Map<String, XSDNamedComponent> getMap(String[] key, boolean create)
     {
-      XSDNamedComponent xsdNamedComponent = (XSDNamedComponent)newObject;
-      if (isFromThisNamespace(xsdNamedComponent))
+      if (key.length == 1)
       {
-        if (map == null)
+        if (map == null && create)
         {
           map = new HashMap<String, XSDNamedComponent>();
         }
-        map.put(xsdNamedComponent.getName(), xsdNamedComponent);
+        return map;
+      }
+      else
+      {
+        if (namespaceMap == null)
+        {
+          if (!create)
+          {
+            return null;
+          }
+          namespaceMap = new HashMap<String, Map<String, XSDNamedComponent>>();
+        }
+        Map<String, XSDNamedComponent> result = namespaceMap.get(key[0]);
+        if (result == null && create)
+        {
+          result = new HashMap<String, XSDNamedComponent>();
+          namespaceMap.put(key[0], result);
+        }
+        return result;
+      }
+    }
+
+    @Override
+    protected void didAdd(int index, Object newObject)
+    {
+      XSDNamedComponent xsdNamedComponent = (XSDNamedComponent)newObject;
+      String[] key =
+        isFromThisNamespace(xsdNamedComponent) ?
+          new String [] { xsdNamedComponent.getName() } :
+          new String [] { xsdNamedComponent.getTargetNamespace(), xsdNamedComponent.getName() };
+      getMap(key, true).put(key[key.length - 1], xsdNamedComponent);
+      if (keys == null)
+      {
+        keys = new IdentityHashMap<XSDNamedComponent, String[]>();
       }
+      keys.put(xsdNamedComponent, key);
     }
 
     @Override
     protected void didClear(int size, Object[] oldObjects)
     {
       map = null;
+      namespaceMap = null;
+      keys = null;
     }
 
     @Override
     protected void didRemove(int index, Object oldObject)
     {
-      if (map != null)
+      if (keys != null)
       {
-        XSDNamedComponent xsdNamedComponent = (XSDNamedComponent)oldObject;
-        if (isFromThisNamespace(xsdNamedComponent))
+        // The component may have been renamed since it was indexed, so use the key under which it was indexed.
+        //
+        String[] key = keys.remove(oldObject);
+        if (key != null)
         {
-          map.values().remove(xsdNamedComponent);
+          Map<String, XSDNamedComponent> indexMap = getMap(key, false);
+          String localName = key[key.length - 1];
+          if (indexMap != null && indexMap.get(localName) == oldObject)
+          {
+            indexMap.remove(localName);
+
+            // Duplicates are adjacent in the sorted list, so another component with the same key will be a neighbor.
+            //
+            for (int i = Math.max(0, index - 1), end = Math.min(size, index + 1); i < end; ++i)
+            {
+              XSDNamedComponent neighbor = (XSDNamedComponent)data[i];
+              if (Arrays.equals(key, keys.get(neighbor)))
+              {
+                indexMap.put(localName, neighbor);
+                break;
+              }
+            }
+          }
         }
       }
     }
@@ -232,29 +307,21 @@ public abstract class XSDNamedComponentImpl
         return null;
       }
 
-      // If we are looking up a name in the owning schema's namespace...
+      // If we are looking up a name in the owning schema's namespace, look up the result by local name,
+      // otherwise look up the result by namespace and then by local name.
       //
       if (targetNamespace == null ? xsdSchema.getTargetNamespace() == null : targetNamespace.equals(xsdSchema.getTargetNamespace()))
       {
-        // Look up the result in the map if there is one.
-        //
-        if (map == null)
-        {
-          return null;
-        }
-        XSDNamedComponent result = map.get(localName);
-        return result;
+        return map == null ? null : map.get(localName);
       }
-
-      int index = 
-        Collections.binarySearch(this, new String [] { targetNamespace, localName}, StringPairComparator.getInstance());
-      if (index < 0)
+      else if (namespaceMap == null)
       {
         return null;
       }
-      else 
+      else
       {
-        return this.get(index);
+        Map<String, XSDNamedComponent> indexMap = namespaceMap.get(targetNamespace);
+        return indexMap == null ? null : indexMap.get(localName);
       }
     }
   }
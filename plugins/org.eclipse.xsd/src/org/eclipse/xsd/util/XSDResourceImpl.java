@@ -88,6 +88,16 @@ public class XSDResourceImpl extends ResourceImpl
    */
   public static String XSD_JAXP_CONFIG = "XSD_JAXP_CONFIG";
 
+  /**
+   * This option can be used as an option on Resource#load methods to specify an {@link XSDSchemaCache}
+   * from which to restore schema documents that are unchanged since they were last loaded, rather than parsing them.
+   * It's not used in combination with {@link #XSD_TRACK_LOCATION}.
+   * @see Resource#load(InputStream, Map)
+   * @see Resource#load(Map)
+   * @since 2.19
+   */
+  public static String XSD_SCHEMA_CACHE = "XSD_SCHEMA_CACHE";
+
   public static class SchemaLocator extends AdapterImpl implements XSDSchemaLocator
   {
     public XSDSchema locateSchema(XSDSchema xsdSchema, String namespaceURI,  String rawSchemaLocationURI, String resolvedSchemaLocation)
@@ -676,7 +686,11 @@ public class XSDResourceImpl extends ResourceImpl
         DefaultErrorHandler errorHandler = new DefaultErrorHandler();
         try
         {
-          document = getDocument(inputSource, errorHandler, options);
+          XSDSchemaCache xsdSchemaCache = options == null || getURI() == null ? null : (XSDSchemaCache)options.get(XSD_SCHEMA_CACHE);
+          document = 
+            xsdSchemaCache == null ?
+              getDocument(inputSource, errorHandler, options) :
+              xsdSchemaCache.getDocument(getURI(), inputSource, errorHandler, options);
         }
         finally
         {
@@ -716,6 +730,28 @@ public class XSDResourceImpl extends ResourceImpl
       ioException = exception;
     }
 
+    handleLoadedSchemas(errors);
+
+    if (progressMonitor != null)
+    {
+      progressMonitor.worked(1);
+    }
+
+    if (ioException != null)
+    {
+      throw ioException;
+    }
+  }
+
+  /**
+   * Completes the loading of the schemas attached while loading.
+   * It records the diagnostics with each schema and in the resource's errors and warnings,
+   * and then sets the location of each attached schema, which patches and analyzes it.
+   * @param errors the diagnostics produced by parsing, or <code>null</code>.
+   * @since 2.19
+   */
+  protected void handleLoadedSchemas(Collection<XSDDiagnostic> errors)
+  {
     if (errors != null)
     {
       for (Iterator<?> i = getContents().iterator(); i.hasNext();)
@@ -756,15 +792,55 @@ public class XSDResourceImpl extends ResourceImpl
     {
       xsdSchema.setSchemaLocation(schemaLocation);
     }
+  }
 
-    if (progressMonitor != null)
+  /**
+   * Loads this resource from a schema that has already been built from a parsed document,
+   * e.g., by an {@link XSDSchemaSetLoader}.
+   * The parser's diagnostics are recorded just as when loading from an input source.
+   * @param xsdSchema the schema built from the document.
+   * @param errors the diagnostics produced by parsing, or <code>null</code>.
+   * @param encoding the encoding of the document, or <code>null</code>.
+   * @since 2.19
+   */
+  public final void load(XSDSchema xsdSchema, Collection<XSDDiagnostic> errors, String encoding)
+  {
+    if (!isLoaded)
     {
-      progressMonitor.worked(1);
-    }
+      Notification notification = setLoaded(true);
+      isLoading = true;
 
-    if (ioException != null)
-    {
-      throw ioException;
+      if (this.errors != null)
+      {
+        this.errors.clear();
+      }
+
+      if (warnings != null)
+      {
+        warnings.clear();
+      }
+
+      try
+      {
+        if (encoding != null)
+        {
+          getDefaultSaveOptions().put(XSD_ENCODING, encoding);
+        }
+        attachedSchemas = new ArrayList<XSDSchema>();
+        getContents().add(xsdSchema);
+        handleLoadedSchemas(errors);
+      }
+      finally
+      {
+        isLoading = false;
+
+        if (notification != null)
+        {
+          eNotify(notification);
+        }
+
+        setModified(false);
+      }
     }
   }
 
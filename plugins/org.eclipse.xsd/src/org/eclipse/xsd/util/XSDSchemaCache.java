@@ -0,0 +1,561 @@
+/**
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package org.eclipse.xsd.util;
+
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.common.util.WrappedException;
+
+
+/**
+ * A persistent cache of schema documents in a compact binary form, keyed by location, parser configuration, and content digest.
+ * <p>
+ * It's used by {@link XSDResourceImpl} when specified as the value of the {@link XSDResourceImpl#XSD_SCHEMA_CACHE} load option.
+ * When a document at a location has the same content as when it was cached,
+ * its DOM is built directly from the cached nodes rather than parsed,
+ * avoiding the character decoding, tokenizing, and entity resolution of the XML parser;
+ * otherwise the document is parsed as usual and cached if it parses without diagnostics.
+ * The schema's components are built from the restored DOM as usual,
+ * because the DOM is the primary representation of a schema, e.g., for annotations and non-schema attributes,
+ * and because the analysis of a schema depends on the other schemas that it references.
+ * </p>
+ * <p>
+ * An instance may be used concurrently and the same directory may be shared by several processes.
+ * </p>
+ * @since 2.19
+ */
+public class XSDSchemaCache
+{
+  private static final int MAGIC = 0x58534443;
+
+  private static final int VERSION = 1;
+
+  private static final byte END = 0;
+
+  private static final byte ELEMENT = 1;
+
+  private static final byte TEXT = 2;
+
+  private static final byte CDATA = 3;
+
+  private static final byte COMMENT = 4;
+
+  private static final byte PROCESSING_INSTRUCTION = 5;
+
+  private static final int NULL_STRING = -1;
+
+  private static final int NEW_STRING = -2;
+
+  protected File directory;
+
+  private final AtomicInteger hitCount = new AtomicInteger();
+
+  private final AtomicInteger missCount = new AtomicInteger();
+
+  /**
+   * Creates an instance that stores the cached documents in the given directory, creating it when the first document is stored.
+   * @param directory the directory in which to store the cached documents.
+   */
+  public XSDSchemaCache(File directory)
+  {
+    this.directory = directory;
+  }
+
+  /**
+   * Returns the directory in which the cached documents are stored.
+   * @return the directory in which the cached documents are stored.
+   */
+  public File getDirectory()
+  {
+    return directory;
+  }
+
+  /**
+   * Returns the number of documents restored from the cache.
+   * @return the number of documents restored from the cache.
+   */
+  public int getHitCount()
+  {
+    return hitCount.get();
+  }
+
+  /**
+   * Returns the number of documents that needed to be parsed.
+   * @return the number of documents that needed to be parsed.
+   */
+  public int getMissCount()
+  {
+    return missCount.get();
+  }
+
+  /**
+   * Returns the document for the input source, either restored from the cache or parsed.
+   * @param uri the location of the document.
+   * @param inputSource the contents of the document.
+   * @param errorHandler the handler used to record any parsing errors.
+   * @param options the load options.
+   * @return the document.
+   * @throws IOException if the document can't be read or parsed.
+   * @see XSDResourceImpl#getDocument(InputSource, org.xml.sax.ErrorHandler, Map)
+   */
+  public Document getDocument(URI uri, InputSource inputSource, DefaultErrorHandler errorHandler, Map<?, ?> options) throws IOException
+  {
+    // Read the contents so that they can be digested.
+    //
+    byte[] content;
+    InputSource contentInputSource = new InputSource();
+    contentInputSource.setPublicId(inputSource.getPublicId());
+    contentInputSource.setSystemId(inputSource.getSystemId());
+    if (inputSource.getByteStream() != null)
+    {
+      content = readAll(inputSource.getByteStream());
+      contentInputSource.setByteStream(new ByteArrayInputStream(content));
+      contentInputSource.setEncoding(inputSource.getEncoding());
+    }
+    else if (inputSource.getCharacterStream() != null)
+    {
+      String characters = readAll(inputSource.getCharacterStream());
+      content = characters.getBytes("UTF-8");
+      contentInputSource.setCharacterStream(new StringReader(characters));
+    }
+    else
+    {
+      return XSDResourceImpl.getDocument(inputSource, errorHandler, options);
+    }
+
+    // The parser configuration determines the resulting DOM, so it's part of the key.
+    //
+    String key = uri + " " + getConfigurationKey(options);
+    byte[] digest = digest(content);
+    File file = getFile(key);
+    if (file.exists())
+    {
+      try
+      {
+        Document document = restore(file, key, digest, options);
+        if (document != null)
+        {
+          document.setDocumentURI(uri.toString());
+          hitCount.incrementAndGet();
+          return document;
+        }
+      }
+      catch (IOException exception)
+      {
+        // A damaged or incompatible entry is simply replaced.
+      }
+      catch (RuntimeException exception)
+      {
+        // Decoding a damaged entry may also fail with an index, array size, or DOM exception.
+      }
+    }
+
+    missCount.incrementAndGet();
+    Document document = XSDResourceImpl.getDocument(contentInputSource, errorHandler, options);
+    if (document != null && errorHandler.getDiagnostics().isEmpty() && (directory.isDirectory() || directory.mkdirs()))
+    {
+      try
+      {
+        store(file, key, digest, document);
+      }
+      catch (IOException exception)
+      {
+        // A directory that can't be written, e.g., because it's read-only or full, just means the document isn't cached.
+      }
+    }
+    return document;
+  }
+
+  /**
+   * Returns a key that identifies the parser configuration specified by the {@link XSDResourceImpl#XSD_JAXP_POOL JAXP pool}
+   * or {@link XSDResourceImpl#XSD_JAXP_CONFIG JAXP configuration} of the options.
+   * Instances of the same class are assumed to configure parsers the same way;
+   * a subclass can specialize this to distinguish differently configured instances.
+   */
+  protected String getConfigurationKey(Map<?, ?> options)
+  {
+    Object jaxpPool = null;
+    Object config = null;
+    if (options != null)
+    {
+      jaxpPool = options.get(XSDResourceImpl.XSD_JAXP_POOL);
+      config = options.get(XSDResourceImpl.XSD_JAXP_CONFIG);
+    }
+    return
+      jaxpPool != null ?
+        "pool:" + jaxpPool.getClass().getName() :
+        config != null ?
+          "config:" + config.getClass().getName() :
+          "default";
+  }
+
+  /**
+   * Returns the file in which the document with the given key, i.e., location and parser configuration, is cached.
+   */
+  protected File getFile(String key) throws IOException
+  {
+    return new File(directory, toHexString(digest(key.getBytes("UTF-8"))) + ".xsdc");
+  }
+
+  /**
+   * Writes the document to the file via a temporary file, so that readers never see a partially written file.
+   */
+  protected void store(File file, String key, byte[] digest, Document document) throws IOException
+  {
+    File temporaryFile = File.createTempFile(file.getName(), ".tmp", directory);
+    try
+    {
+      DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new DeflaterOutputStream(new FileOutputStream(temporaryFile))));
+      try
+      {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        Map<String, Integer> strings = new HashMap<String, Integer>();
+        writeString(out, strings, key);
+        out.writeInt(digest.length);
+        out.write(digest);
+        writeString(out, strings, document.getXmlVersion());
+        writeChildren(out, strings, document);
+      }
+      finally
+      {
+        out.close();
+      }
+
+      if (!temporaryFile.renameTo(file))
+      {
+        file.delete();
+        temporaryFile.renameTo(file);
+      }
+    }
+    finally
+    {
+      temporaryFile.delete();
+    }
+  }
+
+  /**
+   * Reads the document from the file, returning <code>null</code> if it was cached for a different key or content.
+   */
+  protected Document restore(File file, String key, byte[] digest, Map<?, ?> options) throws IOException
+  {
+    DataInputStream in = new DataInputStream(new BufferedInputStream(new InflaterInputStream(new FileInputStream(file))));
+    try
+    {
+      if (in.readInt() != MAGIC || in.readInt() != VERSION)
+      {
+        return null;
+      }
+      List<String> strings = new ArrayList<String>();
+      if (!key.equals(readString(in, strings)))
+      {
+        return null;
+      }
+      byte[] cachedDigest = new byte [in.readInt()];
+      in.readFully(cachedDigest);
+      if (!Arrays.equals(digest, cachedDigest))
+      {
+        return null;
+      }
+
+      Document document = createDocument(options);
+      String xmlVersion = readString(in, strings);
+      if (xmlVersion != null)
+      {
+        document.setXmlVersion(xmlVersion);
+      }
+      readChildren(in, strings, document, document);
+      return document;
+    }
+    finally
+    {
+      in.close();
+    }
+  }
+
+  /**
+   * Creates an empty document using the JAXP pool or configuration of the options, if any.
+   */
+  protected Document createDocument(Map<?, ?> options) throws IOException
+  {
+    JAXPPool jaxpPool = null;
+    JAXPConfiguration config = null;
+    if (options != null)
+    {
+      jaxpPool = (JAXPPool)options.get(XSDResourceImpl.XSD_JAXP_POOL);
+      config = (JAXPConfiguration)options.get(XSDResourceImpl.XSD_JAXP_CONFIG);
+    }
+
+    DefaultErrorHandler errorHandler = new DefaultErrorHandler();
+    DocumentBuilder documentBuilder = null;
+    try
+    {
+      if (jaxpPool != null)
+      {
+        documentBuilder = jaxpPool.getDocumentBuilder(errorHandler);
+        return documentBuilder.newDocument();
+      }
+      else
+      {
+        documentBuilder = (config == null ? new DefaultJAXPConfiguration() : config).createDocumentBuilder(errorHandler);
+        return documentBuilder.newDocument();
+      }
+    }
+    catch (ParserConfigurationException exception)
+    {
+      throw new XSDResourceImpl.IOWrappedException(exception);
+    }
+    catch (SAXException exception)
+    {
+      throw new XSDResourceImpl.IOWrappedException(exception);
+    }
+    finally
+    {
+      if (jaxpPool != null && documentBuilder != null)
+      {
+        jaxpPool.releaseDocumentBuilder(documentBuilder);
+      }
+    }
+  }
+
+  private void writeChildren(DataOutputStream out, Map<String, Integer> strings, Node node) throws IOException
+  {
+    for (Node child = node.getFirstChild(); child != null; child = child.getNextSibling())
+    {
+      switch (child.getNodeType())
+      {
+        case Node.ELEMENT_NODE:
+        {
+          out.writeByte(ELEMENT);
+          writeString(out, strings, child.getNamespaceURI());
+          writeString(out, strings, child.getNodeName());
+          NamedNodeMap attributes = child.getAttributes();
+          int length = attributes.getLength();
+          out.writeInt(length);
+          for (int i = 0; i < length; ++i)
+          {
+            Attr attr = (Attr)attributes.item(i);
+            writeString(out, strings, attr.getNamespaceURI());
+            writeString(out, strings, attr.getNodeName());
+            writeString(out, strings, attr.getValue());
+          }
+          writeChildren(out, strings, child);
+          break;
+        }
+        case Node.TEXT_NODE:
+        {
+          out.writeByte(TEXT);
+          writeString(out, strings, child.getNodeValue());
+          break;
+        }
+        case Node.CDATA_SECTION_NODE:
+        {
+          out.writeByte(CDATA);
+          writeString(out, strings, child.getNodeValue());
+          break;
+        }
+        case Node.COMMENT_NODE:
+        {
+          out.writeByte(COMMENT);
+          writeString(out, strings, child.getNodeValue());
+          break;
+        }
+        case Node.PROCESSING_INSTRUCTION_NODE:
+        {
+          out.writeByte(PROCESSING_INSTRUCTION);
+          writeString(out, strings, child.getNodeName());
+          writeString(out, strings, child.getNodeValue());
+          break;
+        }
+        case Node.ENTITY_REFERENCE_NODE:
+        {
+          // The expansion of an entity reference is stored in its place.
+          //
+          writeChildren(out, strings, child);
+          break;
+        }
+      }
+    }
+    out.writeByte(END);
+  }
+
+  private void readChildren(DataInputStream in, List<String> strings, Document document, Node node) throws IOException
+  {
+    for (;;)
+    {
+      byte type = in.readByte();
+      switch (type)
+      {
+        case END:
+        {
+          return;
+        }
+        case ELEMENT:
+        {
+          Element element = document.createElementNS(readString(in, strings), readString(in, strings));
+          for (int i = in.readInt(); i > 0; --i)
+          {
+            element.setAttributeNS(readString(in, strings), readString(in, strings), readString(in, strings));
+          }
+          node.appendChild(element);
+          readChildren(in, strings, document, element);
+          break;
+        }
+        case TEXT:
+        {
+          node.appendChild(document.createTextNode(readString(in, strings)));
+          break;
+        }
+        case CDATA:
+        {
+          node.appendChild(document.createCDATASection(readString(in, strings)));
+          break;
+        }
+        case COMMENT:
+        {
+          node.appendChild(document.createComment(readString(in, strings)));
+          break;
+        }
+        case PROCESSING_INSTRUCTION:
+        {
+          node.appendChild(document.createProcessingInstruction(readString(in, strings), readString(in, strings)));
+          break;
+        }
+        default:
+        {
+          throw new IOException("Unexpected node type " + type);
+        }
+      }
+    }
+  }
+
+  private void writeString(DataOutputStream out, Map<String, Integer> strings, String string) throws IOException
+  {
+    if (string == null)
+    {
+      out.writeInt(NULL_STRING);
+    }
+    else
+    {
+      Integer index = strings.get(string);
+      if (index == null)
+      {
+        strings.put(string, strings.size());
+        byte[] bytes = string.getBytes("UTF-8");
+        out.writeInt(NEW_STRING);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+      }
+      else
+      {
+        out.writeInt(index);
+      }
+    }
+  }
+
+  private String readString(DataInputStream in, List<String> strings) throws IOException
+  {
+    int index = in.readInt();
+    if (index == NULL_STRING)
+    {
+      return null;
+    }
+    else if (index == NEW_STRING)
+    {
+      byte[] bytes = new byte [in.readInt()];
+      in.readFully(bytes);
+      String result = new String(bytes, "UTF-8");
+      strings.add(result);
+      return result;
+    }
+    else
+    {
+      return strings.get(index);
+    }
+  }
+
+  private static byte[] readAll(InputStream inputStream) throws IOException
+  {
+    ByteArrayOutputStream result = new ByteArrayOutputStream();
+    byte[] buffer = new byte [8192];
+    for (int count = inputStream.read(buffer); count != -1; count = inputStream.read(buffer))
+    {
+      result.write(buffer, 0, count);
+    }
+    return result.toByteArray();
+  }
+
+  private static String readAll(Reader reader) throws IOException
+  {
+    StringBuilder result = new StringBuilder();
+    char[] buffer = new char [8192];
+    for (int count = reader.read(buffer); count != -1; count = reader.read(buffer))
+    {
+      result.append(buffer, 0, count);
+    }
+    return result.toString();
+  }
+
+  private static byte[] digest(byte[] bytes)
+  {
+    try
+    {
+      return MessageDigest.getInstance("SHA-256").digest(bytes);
+    }
+    catch (NoSuchAlgorithmException exception)
+    {
+      throw new WrappedException(exception);
+    }
+  }
+
+  private static String toHexString(byte[] bytes)
+  {
+    StringBuilder result = new StringBuilder(bytes.length * 2);
+    for (byte b : bytes)
+    {
+      result.append(Character.forDigit((b >> 4) & 0xF, 16));
+      result.append(Character.forDigit(b & 0xF, 16));
+    }
+    return result.toString();
+  }
+}
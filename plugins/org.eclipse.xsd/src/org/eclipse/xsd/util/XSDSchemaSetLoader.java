@@ -0,0 +1,382 @@
+/**
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package org.eclipse.xsd.util;
+
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.xml.sax.InputSource;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.common.util.WrappedException;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.URIConverter;
+
+import org.eclipse.xsd.XSDAnnotation;
+import org.eclipse.xsd.XSDDiagnostic;
+import org.eclipse.xsd.XSDImport;
+import org.eclipse.xsd.XSDSchema;
+import org.eclipse.xsd.XSDSchemaContent;
+import org.eclipse.xsd.XSDSchemaDirective;
+import org.eclipse.xsd.impl.XSDSchemaImpl;
+
+
+/**
+ * A loader for a large set of schemas that are related by imports, includes, and redefines.
+ * <p>
+ * Loading a schema via {@link XSDResourceImpl} parses its document, builds its components,
+ * and then resolves its directives, which recursively loads each referenced schema in turn, all on a single thread.
+ * This loader instead discovers the closure of schema documents referenced from the root locations,
+ * and parses each document and builds its components in parallel, as soon as it's discovered;
+ * the components of a schema can be built independently because nothing is resolved against other schemas until the schema has a location.
+ * Each built schema is held by a resource in the resource set until that resource is loaded,
+ * so when the root schemas are then loaded on the calling thread,
+ * the directives are resolved, patched, and analyzed in the same order as usual,
+ * but each referenced schema is completed from its already built components rather than parsed and built in turn.
+ * </p>
+ * <p>
+ * The discovery uses the {@link XSDConstants#resolveSchemaLocation(String, String, String) default resolution} of schema locations.
+ * Any schema that isn't discovered this way, e.g., because of an {@link XSDSchemaLocator} or {@link XSDSchemaLocationResolver},
+ * or that isn't a simple schema document, is simply loaded on demand as usual.
+ * </p>
+ * @since 2.19
+ */
+public class XSDSchemaSetLoader
+{
+  /**
+   * The schema built from a parsed document along with the parser's diagnostics.
+   */
+  protected static class PreparedSchema
+  {
+    protected URI uri;
+
+    protected XSDSchema xsdSchema;
+
+    protected Collection<XSDDiagnostic> diagnostics;
+
+    protected String encoding;
+
+    protected List<URI> dependencies = new ArrayList<URI>();
+  }
+
+  /**
+   * A resource that completes its loading from a prepared schema.
+   */
+  protected static class PreparedResource extends XSDResourceImpl
+  {
+    protected PreparedSchema preparedSchema;
+
+    public PreparedResource(URI uri, PreparedSchema preparedSchema)
+    {
+      super(uri);
+      this.preparedSchema = preparedSchema;
+    }
+
+    @Override
+    public void load(Map<?, ?> options) throws IOException
+    {
+      if (!isLoaded && preparedSchema != null)
+      {
+        PreparedSchema preparedSchema = this.preparedSchema;
+        this.preparedSchema = null;
+        load(preparedSchema.xsdSchema, preparedSchema.diagnostics, preparedSchema.encoding);
+      }
+      else
+      {
+        super.load(options);
+      }
+    }
+  }
+
+  protected ResourceSet resourceSet;
+
+  protected ExecutorService executorService;
+
+  protected Map<?, ?> options;
+
+  /**
+   * Creates an instance that loads schemas into the resource set, using the executor service to parse and build them.
+   * @param resourceSet the resource set into which to load.
+   * @param executorService the executor service used to parse and build the schemas.
+   * @param options the load options, or <code>null</code>; the resource set's load options are used if <code>null</code>.
+   */
+  public XSDSchemaSetLoader(ResourceSet resourceSet, ExecutorService executorService, Map<?, ?> options)
+  {
+    this.resourceSet = resourceSet;
+    this.executorService = executorService;
+    this.options = options == null ? resourceSet.getLoadOptions() : options;
+  }
+
+  /**
+   * Loads the schemas at the given locations, along with all the schemas they reference, into the resource set.
+   * @param uris the locations of the root schemas.
+   * @return the root schemas, in the order of the locations.
+   */
+  public List<XSDSchema> load(Collection<URI> uris)
+  {
+    // Parse and build the closure of the schemas in parallel.
+    //
+    Map<URI, PreparedSchema> preparedSchemas = prepare(uris);
+
+    // Create a resource for each prepared schema so that resolving a directive finds it.
+    //
+    List<PreparedResource> preparedResources = new ArrayList<PreparedResource>();
+    for (PreparedSchema preparedSchema : preparedSchemas.values())
+    {
+      if (resourceSet.getResource(preparedSchema.uri, false) == null)
+      {
+        PreparedResource preparedResource = new PreparedResource(preparedSchema.uri, preparedSchema);
+        resourceSet.getResources().add(preparedResource);
+        preparedResources.add(preparedResource);
+      }
+    }
+
+    List<XSDSchema> result = new ArrayList<XSDSchema>();
+    for (URI uri : uris)
+    {
+      Resource resource = resourceSet.getResource(uri, true);
+      result.add(resource instanceof XSDResourceImpl ? ((XSDResourceImpl)resource).getSchema() : null);
+    }
+
+    // Remove the resources of any prepared schemas that weren't referenced after all, e.g., because of a schema locator.
+    //
+    for (PreparedResource preparedResource : preparedResources)
+    {
+      if (!preparedResource.isLoaded())
+      {
+        resourceSet.getResources().remove(preparedResource);
+      }
+    }
+
+    return result;
+  }
+
+  /**
+   * Discovers, parses, and builds the closure of the schemas at the given locations in parallel.
+   * Schemas that are already loaded into the resource set or can't be read are skipped.
+   */
+  protected Map<URI, PreparedSchema> prepare(Collection<URI> uris)
+  {
+    Map<URI, PreparedSchema> result = new LinkedHashMap<URI, PreparedSchema>();
+    Map<URI, Future<PreparedSchema>> futures = new HashMap<URI, Future<PreparedSchema>>();
+    List<URI> pending = new ArrayList<URI>();
+    boolean isComplete = false;
+    try
+    {
+      for (URI uri : uris)
+      {
+        submit(uri, futures, pending);
+      }
+
+      // Each prepared schema yields more locations, so wait for the results in the order they're submitted.
+      //
+      for (int i = 0; i < pending.size(); ++i)
+      {
+        URI uri = pending.get(i);
+        PreparedSchema preparedSchema = futures.get(uri).get();
+        if (preparedSchema != null)
+        {
+          result.put(uri, preparedSchema);
+          for (URI dependency : preparedSchema.dependencies)
+          {
+            submit(dependency, futures, pending);
+          }
+        }
+      }
+      isComplete = true;
+    }
+    catch (InterruptedException exception)
+    {
+      Thread.currentThread().interrupt();
+      throw new WrappedException(exception);
+    }
+    catch (ExecutionException exception)
+    {
+      Throwable cause = exception.getCause();
+      if (cause instanceof RuntimeException)
+      {
+        throw (RuntimeException)cause;
+      }
+      throw new WrappedException(exception);
+    }
+    finally
+    {
+      // If a task fails or can't be submitted, don't leave the others running.
+      //
+      if (!isComplete)
+      {
+        for (Future<PreparedSchema> future : futures.values())
+        {
+          future.cancel(true);
+        }
+      }
+    }
+
+    return result;
+  }
+
+  private void submit(final URI uri, Map<URI, Future<PreparedSchema>> futures, List<URI> pending)
+  {
+    if (!futures.containsKey(uri))
+    {
+      Resource resource = resourceSet.getResource(uri, false);
+      if (resource == null || !resource.isLoaded())
+      {
+        futures.put
+          (uri,
+           executorService.submit
+             (new Callable<PreparedSchema>()
+              {
+                public PreparedSchema call() throws Exception
+                {
+                  return prepare(uri);
+                }
+              }));
+        pending.add(uri);
+      }
+    }
+  }
+
+  /**
+   * Parses the document at the location and builds its schema, which isn't yet attached to a resource.
+   * Returns <code>null</code> if the document can't be read or doesn't have a schema as its root element.
+   */
+  protected PreparedSchema prepare(URI uri)
+  {
+    PreparedSchema result = new PreparedSchema();
+    result.uri = uri;
+
+    Document document;
+    try
+    {
+      InputStream inputStream = resourceSet.getURIConverter().createInputStream(uri, options);
+      try
+      {
+        InputSource inputSource =
+          inputStream instanceof URIConverter.ReadableInputStream ?
+            new InputSource(((URIConverter.ReadableInputStream)inputStream).asReader()) :
+            new InputSource(inputStream);
+        String id = uri.toString();
+        inputSource.setPublicId(id);
+        inputSource.setSystemId(id);
+
+        if (options != null && Boolean.TRUE.equals(options.get(XSDResourceImpl.XSD_TRACK_LOCATION)))
+        {
+          XSDParser xsdParser = new XSDParser(options);
+          xsdParser.parse(inputSource);
+          document = xsdParser.getDocument();
+          result.encoding = xsdParser.getEncoding();
+          result.diagnostics = xsdParser.getDiagnostics();
+        }
+        else
+        {
+          DefaultErrorHandler errorHandler = new DefaultErrorHandler();
+          try
+          {
+            XSDSchemaCache xsdSchemaCache = options == null ? null : (XSDSchemaCache)options.get(XSDResourceImpl.XSD_SCHEMA_CACHE);
+            document = 
+              xsdSchemaCache == null ?
+                XSDResourceImpl.getDocument(inputSource, errorHandler, options) :
+                xsdSchemaCache.getDocument(uri, inputSource, errorHandler, options);
+          }
+          finally
+          {
+            result.diagnostics = errorHandler.getDiagnostics();
+          }
+        }
+      }
+      finally
+      {
+        inputStream.close();
+      }
+    }
+    catch (IOException exception)
+    {
+      // Leave it to the usual loading on demand to report the problem.
+      //
+      return null;
+    }
+
+    Element element = document == null ? null : document.getDocumentElement();
+    if (element == null || XSDConstants.nodeType(element) != XSDConstants.SCHEMA_ELEMENT)
+    {
+      return null;
+    }
+
+    result.xsdSchema = XSDSchemaImpl.createSchema(element);
+
+    String schemaLocation = uri.toString();
+    for (XSDSchemaContent xsdSchemaContent : result.xsdSchema.getContents())
+    {
+      if (xsdSchemaContent instanceof XSDSchemaDirective)
+      {
+        XSDSchemaDirective xsdSchemaDirective = (XSDSchemaDirective)xsdSchemaContent;
+        String rawSchemaLocation = xsdSchemaDirective.getSchemaLocation();
+        String namespace = xsdSchemaDirective instanceof XSDImport ? ((XSDImport)xsdSchemaDirective).getNamespace() : null;
+
+        // An import without a location is generally resolved to a namespace rather than to a document.
+        //
+        if (rawSchemaLocation != null && !"".equals(rawSchemaLocation))
+        {
+          String resolvedSchemaLocation = XSDConstants.resolveSchemaLocation(schemaLocation, namespace, rawSchemaLocation);
+          if (resolvedSchemaLocation != null)
+          {
+            result.dependencies.add(URI.createURI(resolvedSchemaLocation));
+          }
+        }
+      }
+      else if (!(xsdSchemaContent instanceof XSDAnnotation))
+      {
+        break;
+      }
+    }
+
+    return result;
+  }
+
+  /**
+   * Loads the schemas at the given locations, along with all the schemas they reference, into the resource set,
+   * using the executor service to parse and build them.
+   * @param resourceSet the resource set into which to load.
+   * @param uris the locations of the root schemas.
+   * @param executorService the executor service used to parse and build the schemas.
+   * @return the root schemas, in the order of the locations.
+   */
+  public static List<XSDSchema> load(ResourceSet resourceSet, Collection<URI> uris, ExecutorService executorService)
+  {
+    return new XSDSchemaSetLoader(resourceSet, executorService, null).load(uris);
+  }
+
+  /**
+   * Loads the schema at the given location, along with all the schemas it references, into the resource set,
+   * using the executor service to parse and build them.
+   * @param resourceSet the resource set into which to load.
+   * @param uri the location of the root schema.
+   * @param executorService the executor service used to parse and build the schemas.
+   * @return the root schema.
+   */
+  public static XSDSchema load(ResourceSet resourceSet, URI uri, ExecutorService executorService)
+  {
+    return load(resourceSet, Collections.singleton(uri), executorService).get(0);
+  }
+}
@@ -0,0 +1,38 @@
+/**
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package org.eclipse.emf.test.benchmark;
+
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+
+/**
+ * Runs the benchmarks with the {@link GCProfiler GC profiler} so that the allocation rate is reported along with the throughput.
+ * The arguments are the same as those of <code>org.openjdk.jmh.Main</code>,
+ * e.g., <code>XMLResourceBenchmark.load -p shape=WIDE -p size=100000</code>.
+ */
+public class BenchmarkRunner
+{
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException
+  {
+    CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+    OptionsBuilder optionsBuilder = new OptionsBuilder();
+    optionsBuilder.parent(commandLineOptions);
+    if (commandLineOptions.getIncludes().isEmpty())
+    {
+      optionsBuilder.include(BenchmarkRunner.class.getPackage().getName() + ".*Benchmark");
+    }
+    optionsBuilder.addProfiler(GCProfiler.class);
+    new Runner(optionsBuilder.build()).run();
+  }
+}
@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package org.eclipse.emf.test.benchmark;
+
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Measures the load and save throughput of {@link BinaryResourceImpl}
+ * for each {@link ModelGenerator.Shape shape} of model and each {@link BinaryResourceImpl.BinaryIO.Version version} of the serialization.
+ * By default, every version supported by the build being measured is used.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinaryResourceBenchmark
+{
+  @Param({ "DEEP", "WIDE", "CROSS_REFERENCED", "MIXED" })
+  public ModelGenerator.Shape shape;
+
+  @Param({ "10000" })
+  public int size;
+
+  @Param
+  public BinaryResourceImpl.BinaryIO.Version version;
+
+  @Param({ "false", "true" })
+  public boolean dataConverter;
+
+  protected ResourceSet resourceSet;
+
+  protected Resource resource;
+
+  protected Map<Object, Object> options;
+
+  protected byte[] bytes;
+
+  protected ByteArrayOutputStream outputStream;
+
+  @Setup
+  public void setUp() throws IOException
+  {
+    ModelGenerator modelGenerator = new ModelGenerator();
+    resourceSet = new ResourceSetImpl();
+    resourceSet.getPackageRegistry().put(ModelGenerator.NS_URI, modelGenerator.getEPackage());
+
+    options = new HashMap<Object, Object>();
+    options.put(BinaryResourceImpl.OPTION_VERSION, version);
+    if (dataConverter)
+    {
+      options.put(BinaryResourceImpl.OPTION_STYLE_DATA_CONVERTER, Boolean.TRUE);
+    }
+
+    resource = createResource();
+    resource.getContents().add(modelGenerator.generate(shape, size));
+    outputStream = new ByteArrayOutputStream();
+    resource.save(outputStream, options);
+    bytes = outputStream.toByteArray();
+
+    // Ensure that what's measured actually round trips.
+    //
+    if (!EcoreUtil.equals(resource.getContents(), load().getContents()))
+    {
+      throw new IllegalStateException("The loaded model isn't equal to the saved model");
+    }
+  }
+
+  protected Resource createResource()
+  {
+    Resource resource = new BinaryResourceImpl(URI.createURI("model.bin"));
+    resourceSet.getResources().add(resource);
+    return resource;
+  }
+
+  @Benchmark
+  public Resource load() throws IOException
+  {
+    Resource resource = createResource();
+    try
+    {
+      resource.load(new ByteArrayInputStream(bytes), options);
+    }
+    finally
+    {
+      resourceSet.getResources().remove(resource);
+    }
+    return resource;
+  }
+
+  @Benchmark
+  public int save() throws IOException
+  {
+    outputStream.reset();
+    resource.save(outputStream, options);
+    return outputStream.size();
+  }
+}
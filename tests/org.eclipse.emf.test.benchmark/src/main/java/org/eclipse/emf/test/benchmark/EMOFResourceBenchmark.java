@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package org.eclipse.emf.test.benchmark;
+
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+import org.eclipse.emf.ecore.xmi.impl.EMOFResourceFactoryImpl;
+import org.eclipse.emf.ecore.xmi.impl.EMOFResourceImpl;
+import org.eclipse.emf.ecore.xmi.impl.XMLParserPoolImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Measures the load and save throughput of {@link EMOFResourceImpl} for a {@link ModelGenerator#generateEPackage(int) generated Ecore model}
+ * with the given number of classes.
+ * The resources are created by an {@link EMOFResourceFactoryImpl} to use the same default options as in practice.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EMOFResourceBenchmark
+{
+  @Param({ "100", "1000" })
+  public int size;
+
+  @Param({ "DEFAULT", "ALL" })
+  public XMLResourceBenchmark.Options options;
+
+  protected Resource.Factory resourceFactory;
+
+  protected Resource resource;
+
+  protected Map<Object, Object> loadOptions;
+
+  protected Map<Object, Object> saveOptions;
+
+  protected byte[] bytes;
+
+  protected ByteArrayOutputStream outputStream;
+
+  @Setup
+  public void setUp() throws IOException
+  {
+    loadOptions = new HashMap<Object, Object>();
+    saveOptions = new HashMap<Object, Object>();
+    if (options == XMLResourceBenchmark.Options.ALL)
+    {
+      loadOptions.put(XMLResource.OPTION_USE_PARSER_POOL, new XMLParserPoolImpl());
+      loadOptions.put(XMLResource.OPTION_USE_XML_NAME_TO_FEATURE_MAP, new HashMap<Object, Object>());
+      loadOptions.put(XMLResource.OPTION_CONFIGURATION_CACHE, Boolean.TRUE);
+      loadOptions.put(XMLResource.OPTION_DEFER_IDREF_RESOLUTION, Boolean.TRUE);
+      loadOptions.put(XMLResource.OPTION_USE_STAX, Boolean.TRUE);
+      saveOptions.put(XMLResource.OPTION_CONFIGURATION_CACHE, Boolean.TRUE);
+    }
+
+    resourceFactory = new EMOFResourceFactoryImpl();
+    resource = resourceFactory.createResource(URI.createURI("model.emof"));
+    resource.getContents().add(new ModelGenerator().generateEPackage(size));
+    outputStream = new ByteArrayOutputStream();
+    resource.save(outputStream, saveOptions);
+    bytes = outputStream.toByteArray();
+  }
+
+  @Benchmark
+  public Resource load() throws IOException
+  {
+    Resource resource = resourceFactory.createResource(URI.createURI("model.emof"));
+    resource.load(new ByteArrayInputStream(bytes), loadOptions);
+    return resource;
+  }
+
+  @Benchmark
+  public int save() throws IOException
+  {
+    outputStream.reset();
+    resource.save(outputStream, saveOptions);
+    return outputStream.size();
+  }
+}
@@ -0,0 +1,306 @@
+/**
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package org.eclipse.emf.test.benchmark;
+
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EDataType;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.util.ExtendedMetaData;
+import org.eclipse.emf.ecore.util.FeatureMap;
+import org.eclipse.emf.ecore.util.FeatureMapUtil;
+
+
+/**
+ * Generates synthetic instance models of a configurable {@link Shape shape} and size,
+ * as well as synthetic Ecore models, for benchmarking resource implementations.
+ * The instance models conform to a dynamic package with a <code>Node</code> class and a mixed content <code>Paragraph</code> class.
+ * Generation is deterministic so that every trial measures the same model.
+ */
+public class ModelGenerator
+{
+  /**
+   * The shapes of generated instance models.
+   */
+  public enum Shape
+  {
+    /**
+     * Chains of nodes, each nested {@link ModelGenerator#DEEP_DEPTH} levels deep.
+     */
+    DEEP,
+
+    /**
+     * A single root node with a flat list of child nodes.
+     */
+    WIDE,
+
+    /**
+     * A two level tree of nodes in which each node has {@link ModelGenerator#REFERENCE_COUNT} references to other random nodes.
+     */
+    CROSS_REFERENCED,
+
+    /**
+     * A root node with paragraphs of feature map based mixed content, i.e., text interleaved with nodes.
+     */
+    MIXED
+  }
+
+  /**
+   * The namespace URI of the generated package.
+   */
+  public static final String NS_URI = "http://www.eclipse.org/emf/test/benchmark";
+
+  /**
+   * The nesting depth of each chain of a {@link Shape#DEEP deep} model.
+   */
+  public static final int DEEP_DEPTH = 50;
+
+  /**
+   * The number of references of each node of a {@link Shape#CROSS_REFERENCED cross referenced} model.
+   */
+  public static final int REFERENCE_COUNT = 4;
+
+  protected final EPackage ePackage;
+
+  protected final EClass nodeEClass;
+
+  protected final EAttribute nameEAttribute;
+
+  protected final EAttribute valueEAttribute;
+
+  protected final EReference childrenEReference;
+
+  protected final EReference referencesEReference;
+
+  protected final EReference paragraphsEReference;
+
+  protected final EClass paragraphEClass;
+
+  protected final EAttribute mixedEAttribute;
+
+  protected final EReference emphasisEReference;
+
+  public ModelGenerator()
+  {
+    EcoreFactory ecoreFactory = EcoreFactory.eINSTANCE;
+    ePackage = ecoreFactory.createEPackage();
+    ePackage.setName("benchmark");
+    ePackage.setNsPrefix("benchmark");
+    ePackage.setNsURI(NS_URI);
+
+    nodeEClass = ecoreFactory.createEClass();
+    nodeEClass.setName("Node");
+    ePackage.getEClassifiers().add(nodeEClass);
+
+    paragraphEClass = ecoreFactory.createEClass();
+    paragraphEClass.setName("Paragraph");
+    ePackage.getEClassifiers().add(paragraphEClass);
+
+    nameEAttribute = createEAttribute(nodeEClass, "name", EcorePackage.Literals.ESTRING);
+    valueEAttribute = createEAttribute(nodeEClass, "value", EcorePackage.Literals.EINT);
+    childrenEReference = createEReference(nodeEClass, "children", nodeEClass, true);
+    referencesEReference = createEReference(nodeEClass, "references", nodeEClass, false);
+    paragraphsEReference = createEReference(nodeEClass, "paragraphs", paragraphEClass, true);
+
+    ExtendedMetaData extendedMetaData = ExtendedMetaData.INSTANCE;
+    extendedMetaData.setContentKind(paragraphEClass, ExtendedMetaData.MIXED_CONTENT);
+    mixedEAttribute = createEAttribute(paragraphEClass, "mixed", EcorePackage.Literals.EFEATURE_MAP_ENTRY);
+    mixedEAttribute.setUpperBound(EStructuralFeature.UNBOUNDED_MULTIPLICITY);
+    extendedMetaData.setName(mixedEAttribute, ":mixed");
+    extendedMetaData.setFeatureKind(mixedEAttribute, ExtendedMetaData.ELEMENT_WILDCARD_FEATURE);
+    emphasisEReference = createEReference(paragraphEClass, "emphasis", nodeEClass, true);
+    emphasisEReference.setTransient(true);
+    emphasisEReference.setVolatile(true);
+    emphasisEReference.setDerived(true);
+    extendedMetaData.setFeatureKind(emphasisEReference, ExtendedMetaData.ELEMENT_FEATURE);
+    extendedMetaData.setGroup(emphasisEReference, mixedEAttribute);
+  }
+
+  protected EAttribute createEAttribute(EClass eClass, String name, EDataType eDataType)
+  {
+    EAttribute eAttribute = EcoreFactory.eINSTANCE.createEAttribute();
+    eAttribute.setName(name);
+    eAttribute.setEType(eDataType);
+    eClass.getEStructuralFeatures().add(eAttribute);
+    return eAttribute;
+  }
+
+  protected EReference createEReference(EClass eClass, String name, EClass eType, boolean isContainment)
+  {
+    EReference eReference = EcoreFactory.eINSTANCE.createEReference();
+    eReference.setName(name);
+    eReference.setEType(eType);
+    eReference.setContainment(isContainment);
+    eReference.setUpperBound(EStructuralFeature.UNBOUNDED_MULTIPLICITY);
+    eClass.getEStructuralFeatures().add(eReference);
+    return eReference;
+  }
+
+  /**
+   * Returns the package to which the generated instance models conform.
+   */
+  public EPackage getEPackage()
+  {
+    return ePackage;
+  }
+
+  /**
+   * Returns the root of a new instance model of the given shape with approximately the given number of objects.
+   */
+  public EObject generate(Shape shape, int size)
+  {
+    Random random = new Random(size);
+    EObject root = createNode(0);
+    switch (shape)
+    {
+      case DEEP:
+      {
+        for (int i = 1; i < size; )
+        {
+          EObject parent = root;
+          for (int depth = 0; depth < DEEP_DEPTH && i < size; ++depth, ++i)
+          {
+            EObject node = createNode(i);
+            getChildren(parent).add(node);
+            parent = node;
+          }
+        }
+        break;
+      }
+      case WIDE:
+      {
+        List<EObject> children = getChildren(root);
+        for (int i = 1; i < size; ++i)
+        {
+          children.add(createNode(i));
+        }
+        break;
+      }
+      case CROSS_REFERENCED:
+      {
+        List<EObject> nodes = new ArrayList<EObject>(size);
+        nodes.add(root);
+        int groupSize = Math.max(1, (int)Math.sqrt(size));
+        EObject group = root;
+        for (int i = 1; i < size; ++i)
+        {
+          EObject node = createNode(i);
+          if ((i - 1) % groupSize == 0)
+          {
+            getChildren(root).add(node);
+            group = node;
+          }
+          else
+          {
+            getChildren(group).add(node);
+          }
+          nodes.add(node);
+        }
+        for (EObject node : nodes)
+        {
+          List<EObject> references = getReferences(node);
+          for (int i = 0; i < REFERENCE_COUNT; ++i)
+          {
+            EObject target = nodes.get(random.nextInt(size));
+            if (!references.contains(target))
+            {
+              references.add(target);
+            }
+          }
+        }
+        break;
+      }
+      case MIXED:
+      {
+        @SuppressWarnings("unchecked")
+        List<EObject> paragraphs = (List<EObject>)root.eGet(paragraphsEReference);
+        for (int i = 1; i < size; i += 3)
+        {
+          EObject paragraph = EcoreUtil.create(paragraphEClass);
+          FeatureMap mixed = (FeatureMap)paragraph.eGet(mixedEAttribute);
+          FeatureMapUtil.addText(mixed, "Some text before the first node " + i + " ");
+          mixed.add(emphasisEReference, createNode(i + 1));
+          FeatureMapUtil.addText(mixed, " some text between the nodes ");
+          mixed.add(emphasisEReference, createNode(i + 2));
+          FeatureMapUtil.addText(mixed, " and some text after the last node.");
+          paragraphs.add(paragraph);
+        }
+        break;
+      }
+    }
+    return root;
+  }
+
+  protected EObject createNode(int index)
+  {
+    EObject node = EcoreUtil.create(nodeEClass);
+    node.eSet(nameEAttribute, "node" + index);
+    node.eSet(valueEAttribute, index);
+    return node;
+  }
+
+  @SuppressWarnings("unchecked")
+  protected List<EObject> getChildren(EObject node)
+  {
+    return (List<EObject>)node.eGet(childrenEReference);
+  }
+
+  @SuppressWarnings("unchecked")
+  protected List<EObject> getReferences(EObject node)
+  {
+    return (List<EObject>)node.eGet(referencesEReference);
+  }
+
+  /**
+   * Returns a new Ecore model with the given number of classes,
+   * each with attributes, references to other random classes, and a random super type.
+   */
+  public EPackage generateEPackage(int size)
+  {
+    Random random = new Random(size);
+    EcoreFactory ecoreFactory = EcoreFactory.eINSTANCE;
+    EPackage ePackage = ecoreFactory.createEPackage();
+    ePackage.setName("generated");
+    ePackage.setNsPrefix("generated");
+    ePackage.setNsURI(NS_URI + "/generated");
+
+    List<EClass> eClasses = new ArrayList<EClass>(size);
+    for (int i = 0; i < size; ++i)
+    {
+      EClass eClass = ecoreFactory.createEClass();
+      eClass.setName("Class" + i);
+      ePackage.getEClassifiers().add(eClass);
+      createEAttribute(eClass, "name" + i, EcorePackage.Literals.ESTRING);
+      createEAttribute(eClass, "count" + i, EcorePackage.Literals.EINT);
+      createEAttribute(eClass, "enabled" + i, EcorePackage.Literals.EBOOLEAN);
+      if (i > 0)
+      {
+        eClass.getESuperTypes().add(eClasses.get(random.nextInt(i)));
+      }
+      eClasses.add(eClass);
+    }
+    for (int i = 0; i < size; ++i)
+    {
+      EClass eClass = eClasses.get(i);
+      createEReference(eClass, "contents" + i, eClasses.get(random.nextInt(size)), true);
+      createEReference(eClass, "target" + i, eClasses.get(random.nextInt(size)), false);
+    }
+    return ePackage;
+  }
+}
@@ -0,0 +1,226 @@
+/**
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package org.eclipse.emf.test.benchmark;
+
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.eclipse.emf.ecore.xmi.impl.XMLParserPoolImpl;
+import org.eclipse.emf.ecore.xmi.impl.XMLResourceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Measures the load and save throughput of {@link XMIResourceImpl} and {@link XMLResourceImpl}
+ * for each {@link ModelGenerator.Shape shape} of model under the main {@link Options option} combinations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class XMLResourceBenchmark
+{
+  /**
+   * The resource implementations being measured.
+   */
+  public enum Format
+  {
+    XMI,
+    XML
+  }
+
+  /**
+   * The option combinations being measured.
+   */
+  public enum Options
+  {
+    /**
+     * No performance related options.
+     */
+    DEFAULT,
+
+    /**
+     * {@link XMLResource#OPTION_USE_PARSER_POOL}, with a pool shared across loads.
+     */
+    PARSER_POOL,
+
+    /**
+     * {@link XMLResource#OPTION_USE_XML_NAME_TO_FEATURE_MAP}, with a map shared across loads.
+     */
+    NAME_TO_FEATURE_MAP,
+
+    /**
+     * {@link XMLResource#OPTION_CONFIGURATION_CACHE}.
+     */
+    CONFIGURATION_CACHE,
+
+    /**
+     * {@link XMLResource#OPTION_DEFER_IDREF_RESOLUTION}.
+     */
+    DEFER_IDREF_RESOLUTION,
+
+    /**
+     * {@link XMLResource#OPTION_USE_STAX}.
+     */
+    STAX,
+
+    /**
+     * {@link XMLResource#OPTION_SAVE_EXECUTOR}.
+     */
+    SAVE_EXECUTOR,
+
+    /**
+     * All of the above.
+     */
+    ALL
+  }
+
+  @Param({ "XMI", "XML" })
+  public Format format;
+
+  @Param({ "DEEP", "WIDE", "CROSS_REFERENCED", "MIXED" })
+  public ModelGenerator.Shape shape;
+
+  @Param({ "10000" })
+  public int size;
+
+  @Param({ "DEFAULT", "PARSER_POOL", "NAME_TO_FEATURE_MAP", "CONFIGURATION_CACHE", "DEFER_IDREF_RESOLUTION", "STAX", "SAVE_EXECUTOR", "ALL" })
+  public Options options;
+
+  protected ResourceSet resourceSet;
+
+  protected Resource resource;
+
+  protected Map<Object, Object> loadOptions;
+
+  protected Map<Object, Object> saveOptions;
+
+  protected byte[] bytes;
+
+  protected ByteArrayOutputStream outputStream;
+
+  protected ExecutorService executorService;
+
+  @Setup
+  public void setUp() throws IOException
+  {
+    ModelGenerator modelGenerator = new ModelGenerator();
+    resourceSet = new ResourceSetImpl();
+    resourceSet.getPackageRegistry().put(ModelGenerator.NS_URI, modelGenerator.getEPackage());
+
+    loadOptions = new HashMap<Object, Object>();
+    saveOptions = new HashMap<Object, Object>();
+    loadOptions.put(XMLResource.OPTION_EXTENDED_META_DATA, Boolean.TRUE);
+    saveOptions.put(XMLResource.OPTION_EXTENDED_META_DATA, Boolean.TRUE);
+    if (options == Options.PARSER_POOL || options == Options.ALL)
+    {
+      loadOptions.put(XMLResource.OPTION_USE_PARSER_POOL, new XMLParserPoolImpl());
+    }
+    if (options == Options.NAME_TO_FEATURE_MAP || options == Options.ALL)
+    {
+      loadOptions.put(XMLResource.OPTION_USE_XML_NAME_TO_FEATURE_MAP, new HashMap<Object, Object>());
+    }
+    if (options == Options.CONFIGURATION_CACHE || options == Options.ALL)
+    {
+      loadOptions.put(XMLResource.OPTION_CONFIGURATION_CACHE, Boolean.TRUE);
+      saveOptions.put(XMLResource.OPTION_CONFIGURATION_CACHE, Boolean.TRUE);
+    }
+    if (options == Options.DEFER_IDREF_RESOLUTION || options == Options.ALL)
+    {
+      loadOptions.put(XMLResource.OPTION_DEFER_IDREF_RESOLUTION, Boolean.TRUE);
+    }
+    if (options == Options.STAX || options == Options.ALL)
+    {
+      loadOptions.put(XMLResource.OPTION_USE_STAX, Boolean.TRUE);
+    }
+    if (options == Options.SAVE_EXECUTOR || options == Options.ALL)
+    {
+      executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+      saveOptions.put(XMLResource.OPTION_SAVE_EXECUTOR, executorService);
+    }
+
+    resource = createResource();
+    resource.getContents().add(modelGenerator.generate(shape, size));
+    outputStream = new ByteArrayOutputStream();
+    resource.save(outputStream, saveOptions);
+    bytes = outputStream.toByteArray();
+
+    // Ensure that what's measured actually round trips.
+    //
+    if (!EcoreUtil.equals(resource.getContents(), load().getContents()))
+    {
+      throw new IllegalStateException("The loaded model isn't equal to the saved model");
+    }
+  }
+
+  @TearDown
+  public void tearDown()
+  {
+    if (executorService != null)
+    {
+      executorService.shutdown();
+    }
+  }
+
+  protected Resource createResource()
+  {
+    Resource resource = format == Format.XMI ? new XMIResourceImpl(URI.createURI("model.xmi")) : new XMLResourceImpl(URI.createURI("model.xml"));
+    resourceSet.getResources().add(resource);
+    return resource;
+  }
+
+  @Benchmark
+  public Resource load() throws IOException
+  {
+    Resource resource = createResource();
+    try
+    {
+      resource.load(new ByteArrayInputStream(bytes), loadOptions);
+    }
+    finally
+    {
+      resourceSet.getResources().remove(resource);
+    }
+    return resource;
+  }
+
+  @Benchmark
+  public int save() throws IOException
+  {
+    outputStream.reset();
+    resource.save(outputStream, saveOptions);
+    return outputStream.size();
+  }
+}
@@ -24,6 +24,7 @@ import org.junit.runners.Suite;
       org.eclipse.emf.test.core.ecore.EcoreValidationTest.class,
       org.eclipse.emf.test.core.ecore.EcoreTest.class,
       org.eclipse.emf.test.core.common.NotificationTest.class,
+      org.eclipse.emf.test.core.common.NotificationBatchTest.class,
       org.eclipse.emf.test.core.common.EnumeratorSerialization.class,
       org.eclipse.emf.test.core.common.util.EqualityTest.class,
       org.eclipse.emf.test.core.common.util.ECollectionsTest.class,
@@ -61,6 +62,16 @@ import org.junit.runners.Suite;
       org.eclipse.emf.test.core.ecore.SwitchTest.class,
       org.eclipse.emf.test.core.ecore.ResourceURIFragmentsTest.class,
       org.eclipse.emf.test.core.ecore.ResourceSetMappedResourceLocatorTest.class,
+      org.eclipse.emf.test.core.ecore.ResourceSetLoadResourcesTest.class,
+      org.eclipse.emf.test.core.ecore.ResourceSetProxyResolutionCacheTest.class,
+      org.eclipse.emf.test.core.ecore.ColumnarEStoreTest.class,
+      org.eclipse.emf.test.core.ecore.ConcurrentReadingResourceSetTest.class,
+      org.eclipse.emf.test.core.ecore.EClassFeatureLookupTest.class,
+      org.eclipse.emf.test.core.ecore.PackedDynamicEObjectTest.class,
+      org.eclipse.emf.test.core.ecore.ConcurrentEPackageRegistryTest.class,
+      org.eclipse.emf.test.core.ecore.CopierTest.class,
+      org.eclipse.emf.test.core.ecore.IncrementalValidationAdapterTest.class,
+      org.eclipse.emf.test.core.ecore.IndexedECrossReferenceAdapterTest.class,
       org.eclipse.emf.test.core.ecore.ReificationTest.class,
       org.eclipse.emf.test.core.ecore.ECrossReferenceAdapterTest.class,
       org.eclipse.emf.test.core.ecore.ECrossReferenceAdapterStressTest.class,
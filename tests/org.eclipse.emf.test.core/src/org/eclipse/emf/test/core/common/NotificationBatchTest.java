@@ -0,0 +1,324 @@
+/**
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package org.eclipse.emf.test.core.common;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.common.notify.impl.NotificationBatch;
+import org.eclipse.emf.ecore.EAnnotation;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EClassifier;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.impl.EPackageImpl;
+import org.eclipse.emf.ecore.util.EContentAdapter;
+import org.junit.Test;
+
+
+/**
+ * Tests that a {@link NotificationBatch} defers and merges notifications.
+ */
+public class NotificationBatchTest
+{
+  protected static class RecordingAdapter extends AdapterImpl
+  {
+    public final List<Notification> notifications = new ArrayList<Notification>();
+
+    @Override
+    public void notifyChanged(Notification notification)
+    {
+      notifications.add(notification);
+    }
+  }
+
+  @Test
+  public void testMerge()
+  {
+    EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+    RecordingAdapter adapter = new RecordingAdapter();
+    ePackage.eAdapters().add(adapter);
+
+    List<EClassifier> eClasses = new ArrayList<EClassifier>();
+    NotificationBatch batch = NotificationBatch.open();
+    assertTrue(NotificationBatch.isOpen());
+    try
+    {
+      ePackage.setName("a");
+      ePackage.setName("b");
+      for (int i = 0; i < 100; ++i)
+      {
+        EClass eClass = EcoreFactory.eINSTANCE.createEClass();
+        eClasses.add(eClass);
+        ePackage.getEClassifiers().add(eClass);
+      }
+      ePackage.getEClassifiers().remove(10);
+      ePackage.getEClassifiers().remove(10);
+      assertTrue(adapter.notifications.isEmpty());
+    }
+    finally
+    {
+      batch.close();
+    }
+    assertFalse(NotificationBatch.isOpen());
+
+    // Each removal is preceded by the removed class's notification of its new container,
+    // so the removals aren't adjacent and aren't merged.
+    //
+    assertEquals(4, adapter.notifications.size());
+
+    Notification set = adapter.notifications.get(0);
+    assertEquals(Notification.SET, set.getEventType());
+    assertEquals(null, set.getOldValue());
+    assertEquals("b", set.getNewValue());
+
+    Notification addMany = adapter.notifications.get(1);
+    assertEquals(Notification.ADD_MANY, addMany.getEventType());
+    assertSame(EcorePackage.Literals.EPACKAGE__ECLASSIFIERS, addMany.getFeature());
+    assertEquals(0, addMany.getPosition());
+    assertFalse(addMany.wasSet());
+    assertEquals(eClasses, addMany.getNewValue());
+
+    assertEquals(Notification.REMOVE, adapter.notifications.get(2).getEventType());
+    assertSame(eClasses.get(10), adapter.notifications.get(2).getOldValue());
+    assertEquals(Notification.REMOVE, adapter.notifications.get(3).getEventType());
+    assertSame(eClasses.get(11), adapter.notifications.get(3).getOldValue());
+
+    // Once closed, notifications are delivered immediately again.
+    //
+    ePackage.setNsPrefix("p");
+    assertEquals(5, adapter.notifications.size());
+
+    // Adjacent removals are merged.
+    //
+    EAnnotation eAnnotation = EcoreFactory.eINSTANCE.createEAnnotation();
+    eAnnotation.getReferences().addAll(eClasses.subList(0, 4));
+    RecordingAdapter eAnnotationAdapter = new RecordingAdapter();
+    eAnnotation.eAdapters().add(eAnnotationAdapter);
+    batch = NotificationBatch.open();
+    try
+    {
+      eAnnotation.getReferences().remove(1);
+      eAnnotation.getReferences().remove(1);
+    }
+    finally
+    {
+      batch.close();
+    }
+    assertEquals(1, eAnnotationAdapter.notifications.size());
+    Notification removeMany = eAnnotationAdapter.notifications.get(0);
+    assertEquals(Notification.REMOVE_MANY, removeMany.getEventType());
+    assertEquals(eClasses.subList(1, 3), removeMany.getOldValue());
+  }
+
+  @Test
+  public void testNewContents()
+  {
+    final List<String> names = new ArrayList<String>();
+    EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+    EContentAdapter contentAdapter =
+      new EContentAdapter()
+      {
+        @Override
+        public void notifyChanged(Notification notification)
+        {
+          super.notifyChanged(notification);
+          if (notification.getFeature() == EcorePackage.Literals.ENAMED_ELEMENT__NAME)
+          {
+            names.add(notification.getNewStringValue());
+          }
+        }
+      };
+    ePackage.eAdapters().add(contentAdapter);
+
+    // The classes have no adapters when they're named, but the content adapter is notified once it adapts them.
+    //
+    NotificationBatch batch = NotificationBatch.open();
+    try
+    {
+      for (int i = 0; i < 10; ++i)
+      {
+        EClass eClass = EcoreFactory.eINSTANCE.createEClass();
+        ePackage.getEClassifiers().add(eClass);
+        eClass.setName("Class" + i);
+      }
+    }
+    finally
+    {
+      batch.close();
+    }
+    assertEquals(10, names.size());
+    for (int i = 0; i < 10; ++i)
+    {
+      assertEquals("Class" + i, names.get(i));
+      assertTrue(ePackage.getEClassifiers().get(i).eAdapters().contains(contentAdapter));
+    }
+  }
+
+  @Test
+  public void testOrder()
+  {
+    EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+    EClass eClass = EcoreFactory.eINSTANCE.createEClass();
+    RecordingAdapter adapter = new RecordingAdapter();
+    ePackage.eAdapters().add(adapter);
+    eClass.eAdapters().add(adapter);
+
+    NotificationBatch batch = NotificationBatch.open();
+    try
+    {
+      ePackage.setName("a");
+      eClass.setName("b");
+      ePackage.setName("c");
+      ePackage.setName("d");
+    }
+    finally
+    {
+      batch.close();
+    }
+
+    // Only adjacent notifications are merged, so the notifications are delivered in the order in which they were produced.
+    //
+    assertEquals(3, adapter.notifications.size());
+    assertSame(ePackage, adapter.notifications.get(0).getNotifier());
+    assertEquals("a", adapter.notifications.get(0).getNewValue());
+    assertSame(eClass, adapter.notifications.get(1).getNotifier());
+    assertSame(ePackage, adapter.notifications.get(2).getNotifier());
+    assertEquals("a", adapter.notifications.get(2).getOldValue());
+    assertEquals("d", adapter.notifications.get(2).getNewValue());
+  }
+
+  @Test
+  public void testNotificationsUnchanged()
+  {
+    RecordingAdapter adapter = new RecordingAdapter();
+
+    // Record the notifications as produced, before they're queued.
+    //
+    final List<Notification> producedNotifications = new ArrayList<Notification>();
+    EPackage notifyingEPackage =
+      new EPackageImpl()
+      {
+        @Override
+        public void eNotify(Notification notification)
+        {
+          producedNotifications.add(notification);
+          super.eNotify(notification);
+        }
+      };
+    notifyingEPackage.eAdapters().add(adapter);
+
+    NotificationBatch batch = NotificationBatch.open();
+    try
+    {
+      notifyingEPackage.setName("a");
+      notifyingEPackage.setName("b");
+      notifyingEPackage.getEClassifiers().add(EcoreFactory.eINSTANCE.createEClass());
+      notifyingEPackage.getEClassifiers().add(EcoreFactory.eINSTANCE.createEClass());
+    }
+    finally
+    {
+      batch.close();
+    }
+
+    assertEquals(2, adapter.notifications.size());
+    assertEquals(Notification.ADD_MANY, adapter.notifications.get(1).getEventType());
+    assertEquals(4, producedNotifications.size());
+    assertEquals("a", producedNotifications.get(0).getNewValue());
+    assertEquals("b", producedNotifications.get(1).getNewValue());
+    assertEquals(Notification.ADD, producedNotifications.get(2).getEventType());
+    assertEquals(Notification.ADD, producedNotifications.get(3).getEventType());
+  }
+
+  @Test
+  public void testCloseException()
+  {
+    EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+    EClass eClass = EcoreFactory.eINSTANCE.createEClass();
+    ePackage.eAdapters().add
+      (new AdapterImpl()
+       {
+         @Override
+         public void notifyChanged(Notification notification)
+         {
+           throw new IllegalArgumentException();
+         }
+       });
+    RecordingAdapter adapter = new RecordingAdapter();
+    eClass.eAdapters().add(adapter);
+
+    NotificationBatch batch = NotificationBatch.open();
+    ePackage.setName("a");
+    eClass.setName("b");
+    try
+    {
+      batch.close();
+      fail("Expecting an IllegalArgumentException");
+    }
+    catch (IllegalArgumentException exception)
+    {
+      // Expected.
+    }
+
+    // The other notifications are delivered, and the batch is reset.
+    //
+    assertFalse(NotificationBatch.isOpen());
+    assertEquals(0, batch.size());
+    assertEquals(1, adapter.notifications.size());
+    eClass.setName("c");
+    assertEquals(2, adapter.notifications.size());
+  }
+
+  @Test
+  public void testNested()
+  {
+    EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+    EContentAdapter contentAdapter = new EContentAdapter();
+    ePackage.eAdapters().add(contentAdapter);
+
+    NotificationBatch batch = NotificationBatch.open();
+    EClass eClass = EcoreFactory.eINSTANCE.createEClass();
+    try
+    {
+      NotificationBatch nestedBatch = NotificationBatch.open();
+      assertSame(batch, nestedBatch);
+      ePackage.getEClassifiers().add(eClass);
+      nestedBatch.close();
+      assertTrue(NotificationBatch.isOpen());
+
+      // The content adapter only sees the new class once the outermost batch closes.
+      //
+      assertFalse(eClass.eAdapters().contains(contentAdapter));
+    }
+    finally
+    {
+      batch.close();
+    }
+    assertTrue(eClass.eAdapters().contains(contentAdapter));
+
+    try
+    {
+      batch.close();
+      fail("Expecting an IllegalStateException");
+    }
+    catch (IllegalStateException exception)
+    {
+      // Expected.
+    }
+  }
+}
@@ -31,12 +31,17 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random;
 
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EAttribute;
 import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EEnum;
+import org.eclipse.emf.ecore.EEnumLiteral;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
 import org.eclipse.emf.ecore.EcoreFactory;
 import org.eclipse.emf.ecore.EcorePackage;
 import org.eclipse.emf.ecore.InternalEObject;
@@ -122,6 +127,12 @@ public class BinaryResourceTest
     options.put(BinaryResourceImpl.OPTION_STYLE_DATA_CONVERTER, Boolean.TRUE);
     options.put(BinaryResourceImpl.OPTION_VERSION, BinaryResourceImpl.BinaryIO.Version.VERSION_1_1);
     testSaveAndLoad1Helper(options);
+    options.put(BinaryResourceImpl.OPTION_VERSION, BinaryResourceImpl.BinaryIO.Version.VERSION_1_2);
+    testSaveAndLoad1Helper(options);
+    options.put(BinaryResourceImpl.OPTION_VERSION, BinaryResourceImpl.BinaryIO.Version.VERSION_1_3);
+    testSaveAndLoad1Helper(options);
+    options.remove(BinaryResourceImpl.OPTION_STYLE_DATA_CONVERTER);
+    testSaveAndLoad1Helper(options);
   }
 
   public void testSaveAndLoad1Helper(Map<?, ?> options) throws Exception
@@ -144,6 +155,12 @@ public class BinaryResourceTest
     options.put(BinaryResourceImpl.OPTION_STYLE_DATA_CONVERTER, Boolean.TRUE);
     options.put(BinaryResourceImpl.OPTION_VERSION, BinaryResourceImpl.BinaryIO.Version.VERSION_1_1);
     testSaveAndLoad2Helper(options);
+    options.put(BinaryResourceImpl.OPTION_VERSION, BinaryResourceImpl.BinaryIO.Version.VERSION_1_2);
+    testSaveAndLoad2Helper(options);
+    options.put(BinaryResourceImpl.OPTION_VERSION, BinaryResourceImpl.BinaryIO.Version.VERSION_1_3);
+    testSaveAndLoad2Helper(options);
+    options.remove(BinaryResourceImpl.OPTION_STYLE_DATA_CONVERTER);
+    testSaveAndLoad2Helper(options);
   }
 
   public void testSaveAndLoad2Helper(Map<?, ?> options) throws Exception
@@ -338,6 +355,288 @@ public class BinaryResourceTest
     assertTrue(EcoreUtil.equals(rootObjects, resource.getContents()));
   }
 
+  @Test
+  public void testRandomAccess() throws Exception
+  {
+    Map<Object, Object> options = new HashMap<Object, Object>();
+    options.put(BinaryResourceImpl.OPTION_VERSION, BinaryResourceImpl.BinaryIO.Version.VERSION_1_2);
+    Resource resource = new BinaryResourceImpl(resourceURI);
+    resource.getContents().addAll(rootObjects);
+    resource.save(options);
+
+    final List<Object> loadedRoots = new ArrayList<Object>();
+    resource = new BinaryResourceImpl(resourceURI);
+    resource.load(null);
+    resource.eAdapters().add
+      (new AdapterImpl()
+       {
+         @Override
+         public void notifyChanged(Notification notification)
+         {
+           if (notification.getFeatureID(Resource.class) == Resource.RESOURCE__CONTENTS && notification.getEventType() == Notification.ADD)
+           {
+             loadedRoots.add(notification.getNewValue());
+           }
+         }
+       });
+
+    // Only the root object containing the requested object is loaded.
+    //
+    Item item = (Item)resource.getEObject("/50/@items.3");
+    assertEquals("item 50-3", item.getProductName());
+    assertEquals(1, loadedRoots.size());
+    assertEquals(EcoreUtil.getURI(rootObjects.get(50).eContents().get(3)).fragment(), resource.getURIFragment(item));
+    assertEquals(1, loadedRoots.size());
+
+    // Accessing the contents loads the remaining root objects in order.
+    //
+    assertTrue(EcoreUtil.equals(rootObjects, resource.getContents()));
+    assertEquals(rootObjects.size(), loadedRoots.size());
+    assertEquals(50, resource.getContents().indexOf(item.eContainer()));
+    assertFalse(resource.isModified());
+  }
+
+  @Test
+  public void testRandomAccessReferences() throws Exception
+  {
+    EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+    ePackage.setName("randomAccess");
+    ePackage.setNsPrefix("randomAccess");
+    ePackage.setNsURI("http://www.example.org/randomAccess");
+
+    EClass nodeEClass = EcoreFactory.eINSTANCE.createEClass();
+    nodeEClass.setName("Node");
+    ePackage.getEClassifiers().add(nodeEClass);
+    EAttribute nameEAttribute = EcoreFactory.eINSTANCE.createEAttribute();
+    nameEAttribute.setName("name");
+    nameEAttribute.setEType(EcorePackage.Literals.ESTRING);
+    nodeEClass.getEStructuralFeatures().add(nameEAttribute);
+    EReference childrenEReference = EcoreFactory.eINSTANCE.createEReference();
+    childrenEReference.setName("children");
+    childrenEReference.setEType(nodeEClass);
+    childrenEReference.setContainment(true);
+    childrenEReference.setUpperBound(-1);
+    nodeEClass.getEStructuralFeatures().add(childrenEReference);
+    EReference nextEReference = EcoreFactory.eINSTANCE.createEReference();
+    nextEReference.setName("next");
+    nextEReference.setEType(nodeEClass);
+    nodeEClass.getEStructuralFeatures().add(nextEReference);
+    EReference peersEReference = EcoreFactory.eINSTANCE.createEReference();
+    peersEReference.setName("peers");
+    peersEReference.setEType(nodeEClass);
+    peersEReference.setResolveProxies(false);
+    peersEReference.setUpperBound(-1);
+    nodeEClass.getEStructuralFeatures().add(peersEReference);
+
+    ResourceSet resourceSet = new ResourceSetImpl();
+    resourceSet.getPackageRegistry().put(ePackage.getNsURI(), ePackage);
+    Resource resource = new BinaryResourceImpl(resourceURI);
+    resourceSet.getResources().add(resource);
+    int count = 5;
+    List<EObject> children = new ArrayList<EObject>();
+    for (int i = 0; i < count; ++i)
+    {
+      EObject root = EcoreUtil.create(nodeEClass);
+      root.eSet(nameEAttribute, "root" + i);
+      resource.getContents().add(root);
+      EObject child = EcoreUtil.create(nodeEClass);
+      child.eSet(nameEAttribute, "child" + i);
+      @SuppressWarnings("unchecked")
+      List<EObject> rootChildren = (List<EObject>)root.eGet(childrenEReference);
+      rootChildren.add(child);
+      children.add(child);
+    }
+    for (int i = 0; i < count; ++i)
+    {
+      EObject child = children.get(i);
+      child.eSet(nextEReference, children.get((i + 1) % count));
+      @SuppressWarnings("unchecked")
+      List<EObject> peers = (List<EObject>)child.eGet(peersEReference);
+      peers.add(children.get((i + count - 1) % count));
+      peers.add(child);
+    }
+
+    Map<Object, Object> options = new HashMap<Object, Object>();
+    options.put(BinaryResourceImpl.OPTION_VERSION, BinaryResourceImpl.BinaryIO.Version.VERSION_1_2);
+    resource.save(options);
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    resource.save(outputStream, options);
+
+    // Load lazily from the memory mapped file.
+    //
+    ResourceSet lazyResourceSet = new ResourceSetImpl();
+    lazyResourceSet.getPackageRegistry().put(ePackage.getNsURI(), ePackage);
+    Resource lazyResource = new BinaryResourceImpl(resourceURI);
+    lazyResourceSet.getResources().add(lazyResource);
+    lazyResource.load(null);
+    EObject child = lazyResource.getEObject("/2/@children.0");
+    assertEquals("child2", child.eGet(nameEAttribute));
+
+    // The proxy resolving reference resolves to the object of another root object on demand.
+    //
+    EObject next = (EObject)child.eGet(nextEReference);
+    assertFalse(next.eIsProxy());
+    assertEquals("child3", next.eGet(nameEAttribute));
+
+    // The non-proxy-resolving reference has already been resolved.
+    //
+    @SuppressWarnings("unchecked")
+    List<EObject> peers = (List<EObject>)child.eGet(peersEReference);
+    assertEquals(2, peers.size());
+    assertFalse(((InternalEObject)peers.get(0)).eIsProxy());
+    assertEquals("child1", peers.get(0).eGet(nameEAttribute));
+    assertTrue(peers.get(1) == child);
+    assertTrue(EcoreUtil.equals(resource.getContents(), lazyResource.getContents()));
+
+    // Load eagerly from a stream.
+    //
+    ResourceSet eagerResourceSet = new ResourceSetImpl();
+    eagerResourceSet.getPackageRegistry().put(ePackage.getNsURI(), ePackage);
+    Resource eagerResource = new BinaryResourceImpl(resourceURI);
+    eagerResourceSet.getResources().add(eagerResource);
+    eagerResource.load(new ByteArrayInputStream(outputStream.toByteArray()), null);
+    assertTrue(EcoreUtil.equals(resource.getContents(), eagerResource.getContents()));
+  }
+
+  @Test
+  public void testColumnar() throws Exception
+  {
+    EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+    ePackage.setName("columnar");
+    ePackage.setNsPrefix("columnar");
+    ePackage.setNsURI("http://www.example.org/columnar");
+
+    EEnum colorEEnum = EcoreFactory.eINSTANCE.createEEnum();
+    colorEEnum.setName("Color");
+    for (String literal : new String [] { "red", "green", "blue" })
+    {
+      EEnumLiteral eEnumLiteral = EcoreFactory.eINSTANCE.createEEnumLiteral();
+      eEnumLiteral.setName(literal);
+      eEnumLiteral.setValue(colorEEnum.getELiterals().size());
+      colorEEnum.getELiterals().add(eEnumLiteral);
+    }
+    ePackage.getEClassifiers().add(colorEEnum);
+
+    EClass nodeEClass = EcoreFactory.eINSTANCE.createEClass();
+    nodeEClass.setName("Node");
+    ePackage.getEClassifiers().add(nodeEClass);
+    EAttribute nameEAttribute = EcoreFactory.eINSTANCE.createEAttribute();
+    nameEAttribute.setName("name");
+    nameEAttribute.setEType(EcorePackage.Literals.ESTRING);
+    nodeEClass.getEStructuralFeatures().add(nameEAttribute);
+    EAttribute activeEAttribute = EcoreFactory.eINSTANCE.createEAttribute();
+    activeEAttribute.setName("active");
+    activeEAttribute.setEType(EcorePackage.Literals.EBOOLEAN);
+    nodeEClass.getEStructuralFeatures().add(activeEAttribute);
+    EAttribute sizeEAttribute = EcoreFactory.eINSTANCE.createEAttribute();
+    sizeEAttribute.setName("size");
+    sizeEAttribute.setEType(EcorePackage.Literals.EINT);
+    nodeEClass.getEStructuralFeatures().add(sizeEAttribute);
+    EAttribute colorEAttribute = EcoreFactory.eINSTANCE.createEAttribute();
+    colorEAttribute.setName("color");
+    colorEAttribute.setEType(colorEEnum);
+    nodeEClass.getEStructuralFeatures().add(colorEAttribute);
+    EAttribute tagsEAttribute = EcoreFactory.eINSTANCE.createEAttribute();
+    tagsEAttribute.setName("tags");
+    tagsEAttribute.setEType(EcorePackage.Literals.ESTRING);
+    tagsEAttribute.setUpperBound(-1);
+    tagsEAttribute.setUnique(false);
+    nodeEClass.getEStructuralFeatures().add(tagsEAttribute);
+    EReference childrenEReference = EcoreFactory.eINSTANCE.createEReference();
+    childrenEReference.setName("children");
+    childrenEReference.setEType(nodeEClass);
+    childrenEReference.setContainment(true);
+    childrenEReference.setUpperBound(-1);
+    nodeEClass.getEStructuralFeatures().add(childrenEReference);
+    EReference peersEReference = EcoreFactory.eINSTANCE.createEReference();
+    peersEReference.setName("peers");
+    peersEReference.setEType(nodeEClass);
+    peersEReference.setUpperBound(-1);
+    nodeEClass.getEStructuralFeatures().add(peersEReference);
+    EReference nextEReference = EcoreFactory.eINSTANCE.createEReference();
+    nextEReference.setName("next");
+    nextEReference.setEType(nodeEClass);
+    nodeEClass.getEStructuralFeatures().add(nextEReference);
+
+    ResourceSet resourceSet = new ResourceSetImpl();
+    resourceSet.getPackageRegistry().put(ePackage.getNsURI(), ePackage);
+    Resource resource = new BinaryResourceImpl(resourceURI);
+    resourceSet.getResources().add(resource);
+    Random random = new Random(0);
+    List<EObject> nodes = new ArrayList<EObject>();
+    for (int i = 0; i < 10; ++i)
+    {
+      EObject root = EcoreUtil.create(nodeEClass);
+      root.eSet(nameEAttribute, "root" + i);
+      resource.getContents().add(root);
+      @SuppressWarnings("unchecked")
+      List<EObject> children = (List<EObject>)root.eGet(childrenEReference);
+      for (int j = 0; j < 100; ++j)
+      {
+        EObject child = EcoreUtil.create(nodeEClass);
+        child.eSet(nameEAttribute, "child" + j % 7);
+        child.eSet(activeEAttribute, random.nextBoolean());
+        child.eSet(sizeEAttribute, random.nextInt(1000));
+        child.eSet(colorEAttribute, colorEEnum.getEEnumLiteral(j % 3).getInstance());
+        @SuppressWarnings("unchecked")
+        List<String> tags = (List<String>)child.eGet(tagsEAttribute);
+        tags.add("tag" + j % 5);
+        tags.add("tag" + j % 5);
+        children.add(child);
+        nodes.add(child);
+      }
+    }
+    for (EObject node : nodes)
+    {
+      node.eSet(nextEReference, nodes.get(random.nextInt(nodes.size())));
+      @SuppressWarnings("unchecked")
+      List<EObject> peers = (List<EObject>)node.eGet(peersEReference);
+      for (int i = 0, start = random.nextInt(nodes.size() - 5); i < 5; ++i)
+      {
+        peers.add(nodes.get(start + i));
+      }
+    }
+
+    // The columnar serialization is smaller than the others and round trips.
+    //
+    Map<Object, Object> options = new HashMap<Object, Object>();
+    options.put(BinaryResourceImpl.OPTION_STYLE_DATA_CONVERTER, Boolean.TRUE);
+    options.put(BinaryResourceImpl.OPTION_VERSION, BinaryResourceImpl.BinaryIO.Version.VERSION_1_1);
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    resource.save(outputStream, options);
+    int size = outputStream.size();
+
+    options.put(BinaryResourceImpl.OPTION_VERSION, BinaryResourceImpl.BinaryIO.Version.VERSION_1_3);
+    for (Boolean dataConverter : new Boolean [] { Boolean.TRUE, Boolean.FALSE })
+    {
+      options.put(BinaryResourceImpl.OPTION_STYLE_DATA_CONVERTER, dataConverter);
+      outputStream.reset();
+      resource.save(outputStream, options);
+      assertTrue(outputStream.size() < size);
+
+      Resource loadedResource = new BinaryResourceImpl(resourceURI);
+      resourceSet.getResources().add(loadedResource);
+      loadedResource.load(new ByteArrayInputStream(outputStream.toByteArray()), null);
+      assertTrue(EcoreUtil.equals(resource.getContents(), loadedResource.getContents()));
+      resourceSet.getResources().remove(loadedResource);
+    }
+
+    // The columnar serialization also supports an XMI resource's binary serialization.
+    //
+    XMLResource xmlResource = new XMIResourceImpl(resourceURI);
+    resourceSet.getResources().add(xmlResource);
+    xmlResource.getContents().addAll(EcoreUtil.copyAll(resource.getContents()));
+    xmlResource.setID(xmlResource.getContents().get(0), "root");
+    options.put(XMLResource.OPTION_BINARY, Boolean.TRUE);
+    outputStream.reset();
+    xmlResource.save(outputStream, options);
+    XMLResource loadedXMLResource = new XMIResourceImpl(resourceURI);
+    resourceSet.getResources().add(loadedXMLResource);
+    loadedXMLResource.load(new ByteArrayInputStream(outputStream.toByteArray()), options);
+    assertTrue(EcoreUtil.equals(xmlResource.getContents(), loadedXMLResource.getContents()));
+    assertEquals("root", loadedXMLResource.getID(loadedXMLResource.getContents().get(0)));
+  }
+
   @Test
   public void testBidirectionalReferenceOrder() throws Exception
   {
@@ -0,0 +1,430 @@
+/**
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package org.eclipse.emf.test.core.ecore;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EDataType;
+import org.eclipse.emf.ecore.EEnum;
+import org.eclipse.emf.ecore.EEnumLiteral;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.impl.ColumnarEStore;
+import org.eclipse.emf.ecore.impl.DynamicEStoreEObjectImpl;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class ColumnarEStoreTest
+{
+  protected EPackage ePackage;
+  protected EClass nodeEClass;
+  protected EAttribute nameEAttribute;
+  protected EAttribute countEAttribute;
+  protected EAttribute weightEAttribute;
+  protected EAttribute flagEAttribute;
+  protected EAttribute levelEAttribute;
+  protected EAttribute kindEAttribute;
+  protected EAttribute tagsEAttribute;
+  protected EAttribute dataEAttribute;
+  protected EReference childrenEReference;
+  protected EReference parentEReference;
+  protected EReference nextEReference;
+  protected EReference previousEReference;
+  protected EReference peersEReference;
+  protected EEnum kindEEnum;
+
+  @Before
+  public void setUp()
+  {
+    EcoreFactory ecoreFactory = EcoreFactory.eINSTANCE;
+    ePackage = ecoreFactory.createEPackage();
+    ePackage.setName("columnar");
+    ePackage.setNsURI("http://www.eclipse.org/emf/test/core/columnar");
+    ePackage.setNsPrefix("columnar");
+
+    kindEEnum = ecoreFactory.createEEnum();
+    kindEEnum.setName("Kind");
+    for (String name : new String [] { "small", "medium", "large" })
+    {
+      EEnumLiteral eEnumLiteral = ecoreFactory.createEEnumLiteral();
+      eEnumLiteral.setName(name);
+      eEnumLiteral.setValue(kindEEnum.getELiterals().size());
+      kindEEnum.getELiterals().add(eEnumLiteral);
+    }
+    ePackage.getEClassifiers().add(kindEEnum);
+
+    nodeEClass = ecoreFactory.createEClass();
+    nodeEClass.setName("Node");
+    ePackage.getEClassifiers().add(nodeEClass);
+
+    nameEAttribute = createEAttribute("name", EcorePackage.Literals.ESTRING);
+    countEAttribute = createEAttribute("count", EcorePackage.Literals.EINT);
+    countEAttribute.setDefaultValueLiteral("-1");
+    weightEAttribute = createEAttribute("weight", EcorePackage.Literals.EDOUBLE);
+    flagEAttribute = createEAttribute("flag", EcorePackage.Literals.EBOOLEAN);
+    levelEAttribute = createEAttribute("level", EcorePackage.Literals.ELONG);
+    levelEAttribute.setUnsettable(true);
+    kindEAttribute = createEAttribute("kind", kindEEnum);
+    tagsEAttribute = createEAttribute("tags", EcorePackage.Literals.ESTRING);
+    tagsEAttribute.setUpperBound(-1);
+    tagsEAttribute.setUnique(false);
+    dataEAttribute = createEAttribute("data", EcorePackage.Literals.EBIG_INTEGER);
+
+    childrenEReference = createEReference("children", true, -1);
+    parentEReference = createEReference("parent", false, 1);
+    childrenEReference.setEOpposite(parentEReference);
+    parentEReference.setEOpposite(childrenEReference);
+    parentEReference.setTransient(true);
+    nextEReference = createEReference("next", false, 1);
+    previousEReference = createEReference("previous", false, 1);
+    nextEReference.setEOpposite(previousEReference);
+    previousEReference.setEOpposite(nextEReference);
+    peersEReference = createEReference("peers", false, -1);
+  }
+
+  protected EAttribute createEAttribute(String name, EDataType eDataType)
+  {
+    EAttribute eAttribute = EcoreFactory.eINSTANCE.createEAttribute();
+    eAttribute.setName(name);
+    eAttribute.setEType(eDataType);
+    nodeEClass.getEStructuralFeatures().add(eAttribute);
+    return eAttribute;
+  }
+
+  protected EReference createEReference(String name, boolean isContainment, int upperBound)
+  {
+    EReference eReference = EcoreFactory.eINSTANCE.createEReference();
+    eReference.setName(name);
+    eReference.setEType(nodeEClass);
+    eReference.setContainment(isContainment);
+    eReference.setUpperBound(upperBound);
+    nodeEClass.getEStructuralFeatures().add(eReference);
+    return eReference;
+  }
+
+  @SuppressWarnings("unchecked")
+  protected static EList<Object> getList(EObject eObject, EStructuralFeature eStructuralFeature)
+  {
+    return (EList<Object>)eObject.eGet(eStructuralFeature);
+  }
+
+  /**
+   * Creates a tree of nodes, either using the store or, if the store is null, the default factory.
+   */
+  protected EObject createTree(ColumnarEStore store, int width)
+  {
+    EObject root = store == null ? EcoreUtil.create(nodeEClass) : store.create(nodeEClass);
+    root.eSet(nameEAttribute, "root");
+    EObject previous = null;
+    for (int i = 0; i < width; ++i)
+    {
+      EObject child = store == null ? EcoreUtil.create(nodeEClass) : store.create(nodeEClass);
+      getList(root, childrenEReference).add(child);
+      child.eSet(nameEAttribute, "child" + i % 7);
+      child.eSet(countEAttribute, i);
+      child.eSet(weightEAttribute, i / 4.0);
+      child.eSet(flagEAttribute, i % 3 == 0);
+      if (i % 5 == 0)
+      {
+        child.eSet(levelEAttribute, (long)i << 33);
+      }
+      child.eSet(kindEAttribute, kindEEnum.getELiterals().get(i % 3).getInstance());
+      getList(child, tagsEAttribute).addAll(Arrays.asList("a", "b" + i % 2, "a"));
+      if (i % 4 == 0)
+      {
+        child.eSet(dataEAttribute, BigInteger.valueOf(i).shiftLeft(70));
+      }
+      if (previous != null)
+      {
+        child.eSet(previousEReference, previous);
+        getList(child, peersEReference).add(root);
+        getList(child, peersEReference).add(previous);
+      }
+      for (int j = 0; j < i % 3; ++j)
+      {
+        EObject grandchild = store == null ? EcoreUtil.create(nodeEClass) : store.create(nodeEClass);
+        grandchild.eSet(nameEAttribute, "grandchild" + j);
+        getList(child, childrenEReference).add(grandchild);
+      }
+      previous = child;
+    }
+    return root;
+  }
+
+  @Test
+  public void testHeap()
+  {
+    assertEqualTree(new ColumnarEStore());
+  }
+
+  @Test
+  public void testDirect()
+  {
+    assertEqualTree(new ColumnarEStore(true));
+  }
+
+  protected void assertEqualTree(ColumnarEStore store)
+  {
+    EObject expected = createTree(null, 300);
+    EObject actual = createTree(store, 300);
+    assertTrue(EcoreUtil.equals(expected, actual));
+    assertTrue(EcoreUtil.equals(EcoreUtil.copy(actual), expected));
+
+    EObject child = (EObject)getList(actual, childrenEReference).get(10);
+    assertSame(actual, child.eContainer());
+    assertSame(actual, child.eGet(parentEReference));
+    assertSame(childrenEReference, child.eContainmentFeature());
+    assertSame(child, ((EObject)child.eGet(previousEReference)).eGet(nextEReference));
+    assertEquals(Arrays.asList("a", "b0", "a"), child.eGet(tagsEAttribute));
+    assertTrue(child.eIsSet(levelEAttribute));
+    assertEquals(10L << 33, child.eGet(levelEAttribute));
+    assertFalse(((EObject)getList(actual, childrenEReference).get(11)).eIsSet(levelEAttribute));
+  }
+
+  @Test
+  public void testDefaults()
+  {
+    ColumnarEStore store = new ColumnarEStore();
+    EObject node = store.create(nodeEClass);
+    assertEquals(-1, node.eGet(countEAttribute));
+    assertEquals(0.0, node.eGet(weightEAttribute));
+    assertEquals(Boolean.FALSE, node.eGet(flagEAttribute));
+    assertSame(kindEEnum.getELiterals().get(0).getInstance(), node.eGet(kindEAttribute));
+    assertNull(node.eGet(nameEAttribute));
+    for (EStructuralFeature eStructuralFeature : nodeEClass.getEAllStructuralFeatures())
+    {
+      assertFalse(eStructuralFeature.getName(), node.eIsSet(eStructuralFeature));
+    }
+
+    node.eSet(countEAttribute, 0);
+    assertTrue(node.eIsSet(countEAttribute));
+    node.eSet(countEAttribute, -1);
+    assertFalse(node.eIsSet(countEAttribute));
+    node.eSet(countEAttribute, 42);
+    node.eUnset(countEAttribute);
+    assertEquals(-1, node.eGet(countEAttribute));
+
+    node.eSet(levelEAttribute, 0L);
+    assertTrue(node.eIsSet(levelEAttribute));
+    node.eUnset(levelEAttribute);
+    assertFalse(node.eIsSet(levelEAttribute));
+
+    node.eSet(nameEAttribute, "name");
+    assertTrue(node.eIsSet(nameEAttribute));
+    node.eSet(nameEAttribute, null);
+    assertFalse(node.eIsSet(nameEAttribute));
+  }
+
+  @Test
+  public void testContainment()
+  {
+    ColumnarEStore store = new ColumnarEStore();
+    EObject root = createTree(store, 20);
+    Resource resource = new ResourceImpl(URI.createURI("columnar.xmi"));
+    resource.getContents().add(root);
+
+    EList<Object> children = getList(root, childrenEReference);
+    EObject child = (EObject)children.get(5);
+    EObject otherChild = (EObject)children.get(6);
+    EObject grandchild = (EObject)getList(child, childrenEReference).get(0);
+    assertSame(resource, grandchild.eResource());
+
+    // Moving a node from one container to another.
+    //
+    getList(otherChild, childrenEReference).add(grandchild);
+    assertSame(otherChild, grandchild.eContainer());
+    assertFalse(getList(child, childrenEReference).contains(grandchild));
+
+    // Moving a node within its container.
+    //
+    children.move(0, child);
+    assertSame(child, children.get(0));
+    assertSame(root, child.eContainer());
+
+    // Removing a node.
+    //
+    EcoreUtil.delete(otherChild);
+    assertNull(otherChild.eContainer());
+    assertNull(otherChild.eResource());
+    assertFalse(children.contains(otherChild));
+    assertNull(((EObject)children.get(6)).eGet(previousEReference));
+    assertSame(otherChild, grandchild.eContainer());
+
+    // Moving a node to a container that doesn't use the store.
+    //
+    EObject node = EcoreUtil.create(nodeEClass);
+    getList(node, childrenEReference).add(child);
+    assertSame(node, child.eContainer());
+    assertSame(childrenEReference, child.eContainmentFeature());
+    assertFalse(children.contains(child));
+    children.add(child);
+    assertSame(root, child.eContainer());
+    assertTrue(getList(node, childrenEReference).isEmpty());
+  }
+
+  @Test
+  public void testSaveAndLoad() throws Exception
+  {
+    ResourceSet resourceSet = new ResourceSetImpl();
+    resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("xmi", new XMIResourceFactoryImpl());
+    resourceSet.getPackageRegistry().put(ePackage.getNsURI(), ePackage);
+
+    Resource resource = resourceSet.createResource(URI.createURI("expected.xmi"));
+    resource.getContents().add(createTree(null, 50));
+    ByteArrayOutputStream expected = new ByteArrayOutputStream();
+    resource.save(expected, null);
+
+    Resource storeResource = resourceSet.createResource(URI.createURI("actual.xmi"));
+    storeResource.getContents().add(createTree(new ColumnarEStore(), 50));
+    ByteArrayOutputStream actual = new ByteArrayOutputStream();
+    storeResource.save(actual, null);
+    assertEquals(expected.toString("UTF-8"), actual.toString("UTF-8"));
+
+    Resource loadedResource = resourceSet.createResource(URI.createURI("loaded.xmi"));
+    loadedResource.load(new ByteArrayInputStream(actual.toByteArray()), null);
+    assertTrue(EcoreUtil.equals(storeResource.getContents(), loadedResource.getContents()));
+  }
+
+  @Test
+  public void testDynamicEStoreEObject()
+  {
+    ColumnarEStore store = new ColumnarEStore();
+    EObject node = new DynamicEStoreEObjectImpl(nodeEClass, store);
+    EObject child = new DynamicEStoreEObjectImpl(nodeEClass, store);
+    node.eSet(nameEAttribute, "node");
+    node.eSet(countEAttribute, 3);
+    getList(node, childrenEReference).add(child);
+    getList(node, tagsEAttribute).add("tag");
+    child.eSet(nextEReference, node);
+    assertEquals("node", store.get((InternalEObject)node, nameEAttribute, ColumnarEStore.NO_INDEX));
+    assertEquals(3, store.get((InternalEObject)node, countEAttribute, ColumnarEStore.NO_INDEX));
+    assertEquals(1, store.size((InternalEObject)node, childrenEReference));
+    assertSame(child, store.get((InternalEObject)node, childrenEReference, 0));
+    assertSame(node, child.eContainer());
+    assertSame(node, child.eGet(nextEReference));
+    assertSame(child, node.eGet(previousEReference));
+    assertEquals(Arrays.asList("tag"), node.eGet(tagsEAttribute));
+  }
+
+  @Test
+  public void testDictionaryFallback()
+  {
+    ColumnarEStore store = new ColumnarEStore();
+    EObject root = createTree(store, 1000);
+    EList<Object> children = getList(root, childrenEReference);
+
+    // Mostly unique names make the dictionary of the name column useless, so it's discarded.
+    //
+    for (int i = 0; i < children.size(); ++i)
+    {
+      ((EObject)children.get(i)).eSet(nameEAttribute, "unique" + i);
+    }
+    for (int i = 0; i < children.size(); ++i)
+    {
+      EObject child = (EObject)children.get(i);
+      assertEquals("unique" + i, child.eGet(nameEAttribute));
+      assertSame(kindEEnum.getELiterals().get(i % 3).getInstance(), child.eGet(kindEAttribute));
+    }
+
+    EObject child = (EObject)children.get(1);
+    child.eSet(nameEAttribute, null);
+    assertFalse(child.eIsSet(nameEAttribute));
+    child.eSet(nameEAttribute, "again");
+    assertEquals("again", child.eGet(nameEAttribute));
+    assertEquals("root", root.eGet(nameEAttribute));
+  }
+
+  @Test
+  public void testRelease()
+  {
+    class TestColumnarEStore extends ColumnarEStore
+    {
+      int getObjectCount()
+      {
+        return objectCount;
+      }
+    }
+    TestColumnarEStore store = new TestColumnarEStore();
+    EObject root = createTree(store, 20);
+    EList<Object> children = getList(root, childrenEReference);
+    EObject child = (EObject)children.get(5);
+    assertEquals(2, getList(child, childrenEReference).size());
+    try
+    {
+      store.release(child);
+      fail("Expecting a contained object not to be released");
+    }
+    catch (IllegalArgumentException exception)
+    {
+      // Expected.
+    }
+
+    // Releasing a node and its two children frees three IDs and rows, which are reused by new nodes.
+    //
+    EcoreUtil.delete(child);
+    store.release(child);
+    int objectCount = store.getObjectCount();
+    List<EObject> nodes = new ArrayList<EObject>();
+    for (int i = 0; i < 3; ++i)
+    {
+      EObject node = store.create(nodeEClass);
+      for (EStructuralFeature eStructuralFeature : nodeEClass.getEAllStructuralFeatures())
+      {
+        assertFalse(eStructuralFeature.getName(), node.eIsSet(eStructuralFeature));
+      }
+      assertNull(node.eContainer());
+      nodes.add(node);
+    }
+    assertEquals(objectCount, store.getObjectCount());
+    store.create(nodeEClass);
+    assertEquals(objectCount + 1, store.getObjectCount());
+
+    for (int i = 0; i < nodes.size(); ++i)
+    {
+      nodes.get(i).eSet(nameEAttribute, "node" + i);
+      children.add(nodes.get(i));
+    }
+    assertEquals(22, children.size());
+    for (int i = 0; i < 3; ++i)
+    {
+      assertSame(root, nodes.get(i).eContainer());
+      assertEquals("node" + i, nodes.get(i).eGet(nameEAttribute));
+    }
+    EObject otherChild = (EObject)children.get(5);
+    assertEquals("child" + 6 % 7, otherChild.eGet(nameEAttribute));
+    assertSame(root, otherChild.eContainer());
+  }
+}
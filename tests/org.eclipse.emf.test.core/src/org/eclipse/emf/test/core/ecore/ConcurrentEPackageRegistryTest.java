@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package org.eclipse.emf.test.core.ecore;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.emf.ecore.EFactory;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.impl.ConcurrentEPackageRegistryImpl;
+import org.junit.Test;
+
+
+/**
+ * Tests that a {@link ConcurrentEPackageRegistryImpl} behaves like a package registry when used concurrently.
+ */
+public class ConcurrentEPackageRegistryTest
+{
+  protected static class TestDescriptor implements EPackage.Descriptor
+  {
+    protected final AtomicInteger count = new AtomicInteger();
+
+    protected final String nsURI;
+
+    public TestDescriptor(String nsURI)
+    {
+      this.nsURI = nsURI;
+    }
+
+    public EPackage getEPackage()
+    {
+      count.incrementAndGet();
+      EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+      ePackage.setNsURI(nsURI);
+      return ePackage;
+    }
+
+    public EFactory getEFactory()
+    {
+      return null;
+    }
+  }
+
+  @Test
+  public void testDescriptor() throws Exception
+  {
+    final ConcurrentEPackageRegistryImpl registry = new ConcurrentEPackageRegistryImpl();
+    final String nsURI = "http://www.example.org/test";
+    TestDescriptor descriptor = new TestDescriptor(nsURI);
+    registry.put(nsURI, descriptor);
+
+    int threadCount = 8;
+    final CountDownLatch start = new CountDownLatch(1);
+    final EPackage[] results = new EPackage [threadCount];
+    Thread[] threads = new Thread [threadCount];
+    for (int i = 0; i < threadCount; ++i)
+    {
+      final int index = i;
+      threads[i] =
+        new Thread()
+        {
+          @Override
+          public void run()
+          {
+            try
+            {
+              start.await();
+              results[index] = registry.getEPackage(nsURI);
+            }
+            catch (InterruptedException exception)
+            {
+              // Leave the result null.
+            }
+          }
+        };
+      threads[i].start();
+    }
+    start.countDown();
+    for (Thread thread : threads)
+    {
+      thread.join();
+    }
+
+    // Every thread sees the one package that replaced the descriptor.
+    //
+    EPackage ePackage = (EPackage)registry.get(nsURI);
+    for (EPackage result : results)
+    {
+      assertSame(ePackage, result);
+    }
+    assertTrue(descriptor.count.get() >= 1);
+    int count = descriptor.count.get();
+    assertSame(ePackage, registry.getEPackage(nsURI));
+    assertEquals(count, descriptor.count.get());
+  }
+
+  @Test
+  public void testDelegation()
+  {
+    ConcurrentEPackageRegistryImpl parent = new ConcurrentEPackageRegistryImpl();
+    parent.put(EcorePackage.eNS_URI, EcorePackage.eINSTANCE);
+    ConcurrentEPackageRegistryImpl registry = new ConcurrentEPackageRegistryImpl(parent);
+    assertSame(EcorePackage.eINSTANCE, registry.getEPackage(EcorePackage.eNS_URI));
+    assertSame(EcorePackage.eINSTANCE.getEFactoryInstance(), registry.getEFactory(EcorePackage.eNS_URI));
+    assertTrue(registry.containsKey(EcorePackage.eNS_URI));
+    assertTrue(registry.isEmpty());
+    assertNull(registry.getEPackage("http://www.example.org/none"));
+    assertNull(registry.getEPackage(null));
+    assertFalse(registry.containsKey(null));
+  }
+
+  @Test
+  public void testClassLoaderRegistry()
+  {
+    ClassLoader parentClassLoader = getClass().getClassLoader();
+    ClassLoader classLoader = new URLClassLoader(new URL [0], parentClassLoader);
+    EPackage.Registry parentRegistry = ConcurrentEPackageRegistryImpl.getRegistry(parentClassLoader);
+    EPackage.Registry registry = ConcurrentEPackageRegistryImpl.getRegistry(classLoader);
+    assertSame(parentRegistry, ConcurrentEPackageRegistryImpl.getRegistry(parentClassLoader));
+    assertSame(registry, ConcurrentEPackageRegistryImpl.getRegistry(classLoader));
+    assertNotSame(parentRegistry, registry);
+    assertNull(ConcurrentEPackageRegistryImpl.getRegistry(null));
+
+    String nsURI = "http://www.example.org/classLoader";
+    EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+    ePackage.setNsURI(nsURI);
+    parentRegistry.put(nsURI, ePackage);
+    try
+    {
+      assertSame(ePackage, registry.getEPackage(nsURI));
+
+      Thread thread = Thread.currentThread();
+      ClassLoader contextClassLoader = thread.getContextClassLoader();
+      thread.setContextClassLoader(classLoader);
+      try
+      {
+        EPackage.Registry delegator = new ConcurrentEPackageRegistryImpl.Delegator();
+        assertSame(ePackage, delegator.getEPackage(nsURI));
+      }
+      finally
+      {
+        thread.setContextClassLoader(contextClassLoader);
+      }
+    }
+    finally
+    {
+      parentRegistry.remove(nsURI);
+    }
+  }
+}
@@ -0,0 +1,332 @@
+/**
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package org.eclipse.emf.test.core.ecore;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.impl.EClassImpl;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.util.InternalEList;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class ConcurrentReadingResourceSetTest
+{
+  protected EPackage ePackage;
+  protected EClass nodeEClass;
+  protected EAttribute nameEAttribute;
+  protected EReference childrenEReference;
+  protected EReference referencesEReference;
+  protected URI baseURI;
+
+  @Before
+  public void setUp() throws Exception
+  {
+    EcoreFactory ecoreFactory = EcoreFactory.eINSTANCE;
+    ePackage = ecoreFactory.createEPackage();
+    ePackage.setName("freeze");
+    ePackage.setNsURI("http://www.eclipse.org/emf/test/core/freeze");
+    ePackage.setNsPrefix("freeze");
+    nodeEClass = ecoreFactory.createEClass();
+    nodeEClass.setName("Node");
+    ePackage.getEClassifiers().add(nodeEClass);
+    nameEAttribute = ecoreFactory.createEAttribute();
+    nameEAttribute.setName("name");
+    nameEAttribute.setEType(EcorePackage.Literals.ESTRING);
+    nodeEClass.getEStructuralFeatures().add(nameEAttribute);
+    childrenEReference = ecoreFactory.createEReference();
+    childrenEReference.setName("children");
+    childrenEReference.setEType(nodeEClass);
+    childrenEReference.setContainment(true);
+    childrenEReference.setUpperBound(-1);
+    nodeEClass.getEStructuralFeatures().add(childrenEReference);
+    referencesEReference = ecoreFactory.createEReference();
+    referencesEReference.setName("references");
+    referencesEReference.setEType(nodeEClass);
+    referencesEReference.setUpperBound(-1);
+    nodeEClass.getEStructuralFeatures().add(referencesEReference);
+
+    File directory = File.createTempFile("freeze", "");
+    directory.delete();
+    baseURI = URI.createFileURI(directory.getAbsolutePath() + "/");
+
+    // Save two resources whose nodes reference the nodes of the other resource.
+    //
+    ResourceSet resourceSet = createResourceSet();
+    Resource resourceA = resourceSet.createResource(baseURI.appendSegment("a.xmi"));
+    Resource resourceB = resourceSet.createResource(baseURI.appendSegment("b.xmi"));
+    resourceA.getContents().add(createTree("a", 20));
+    resourceB.getContents().add(createTree("b", 20));
+    List<EObject> nodesA = getAllContents(resourceA);
+    List<EObject> nodesB = getAllContents(resourceB);
+    for (int i = 0; i < nodesA.size(); ++i)
+    {
+      getList(nodesA.get(i), referencesEReference).add(nodesB.get((7 * i) % nodesB.size()));
+      getList(nodesB.get(i), referencesEReference).add(nodesA.get((3 * i) % nodesA.size()));
+      getList(nodesB.get(i), referencesEReference).add(nodesB.get((5 * i) % nodesB.size()));
+    }
+    resourceA.save(null);
+    resourceB.save(null);
+  }
+
+  protected ResourceSet createResourceSet()
+  {
+    ResourceSet resourceSet = new ResourceSetImpl();
+    resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("xmi", new XMIResourceFactoryImpl());
+    resourceSet.getPackageRegistry().put(ePackage.getNsURI(), ePackage);
+    return resourceSet;
+  }
+
+  protected EObject createTree(String name, int width)
+  {
+    EObject root = EcoreUtil.create(nodeEClass);
+    root.eSet(nameEAttribute, name);
+    for (int i = 0; i < width; ++i)
+    {
+      EObject child = EcoreUtil.create(nodeEClass);
+      child.eSet(nameEAttribute, name + i);
+      getList(root, childrenEReference).add(child);
+      for (int j = 0; j < i % 3; ++j)
+      {
+        EObject grandchild = EcoreUtil.create(nodeEClass);
+        grandchild.eSet(nameEAttribute, name + i + "." + j);
+        getList(child, childrenEReference).add(grandchild);
+      }
+    }
+    return root;
+  }
+
+  @SuppressWarnings("unchecked")
+  protected static EList<EObject> getList(EObject eObject, EStructuralFeature eStructuralFeature)
+  {
+    return (EList<EObject>)eObject.eGet(eStructuralFeature);
+  }
+
+  protected static List<EObject> getAllContents(Resource resource)
+  {
+    List<EObject> result = new ArrayList<EObject>();
+    for (Iterator<EObject> i = resource.getAllContents(); i.hasNext(); )
+    {
+      result.add(i.next());
+    }
+    return result;
+  }
+
+  @Test
+  public void testPrepare() throws Exception
+  {
+    ResourceSet resourceSet = createResourceSet();
+    Resource resourceA = resourceSet.getResource(baseURI.appendSegment("a.xmi"), true);
+    assertEquals(1, resourceSet.getResources().size());
+
+    // Preparing resolves all proxies, demand loading the other resource, and freezes the package.
+    //
+    EcoreUtil.prepareForConcurrentReading(resourceSet);
+    assertEquals(2, resourceSet.getResources().size());
+    assertTrue(((EClassImpl)nodeEClass).isFrozen());
+    for (Resource resource : resourceSet.getResources())
+    {
+      for (EObject eObject : getAllContents(resource))
+      {
+        for (Iterator<EObject> i = ((InternalEList<EObject>)getList(eObject, referencesEReference)).basicIterator(); i.hasNext(); )
+        {
+          assertFalse(i.next().eIsProxy());
+        }
+
+        // No adapters are added to the objects.
+        //
+        assertTrue(eObject.eAdapters().isEmpty());
+      }
+    }
+
+    // Preparing again is harmless.
+    //
+    EcoreUtil.prepareForConcurrentReading(resourceSet);
+    EcoreUtil.prepareForConcurrentReading(resourceA);
+    assertEquals(2, resourceSet.getResources().size());
+    assertFalse(EcoreUtil.isDetectingModifications(resourceSet));
+  }
+
+  @Test
+  public void testDetectModifications() throws Exception
+  {
+    ResourceSet resourceSet = createResourceSet();
+    Resource resourceA = resourceSet.getResource(baseURI.appendSegment("a.xmi"), true);
+    EcoreUtil.prepareForConcurrentReading(resourceSet);
+    assertFalse(EcoreUtil.isDetectingModifications(resourceSet));
+
+    EcoreUtil.detectModifications(resourceSet);
+    assertTrue(EcoreUtil.isDetectingModifications(resourceSet));
+    for (Resource resource : resourceSet.getResources())
+    {
+      assertTrue(EcoreUtil.isDetectingModifications(resource));
+      for (EObject eObject : getAllContents(resource))
+      {
+        assertTrue(EcoreUtil.isDetectingModifications(eObject));
+      }
+    }
+
+    // Installing it again has no effect.
+    //
+    EcoreUtil.detectModifications(resourceSet);
+    EcoreUtil.detectModifications(resourceA);
+    assertEquals(1, resourceA.getContents().get(0).eAdapters().size());
+
+    // Saving is reading.
+    //
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    resourceA.save(outputStream, null);
+    assertTrue(outputStream.size() > 0);
+
+    // Modifications are detected, though only after they're made.
+    //
+    EObject root = resourceA.getContents().get(0);
+    try
+    {
+      root.eSet(nameEAttribute, "changed");
+      fail("Expecting an IllegalStateException");
+    }
+    catch (IllegalStateException exception)
+    {
+      // Expected.
+    }
+    try
+    {
+      getList(root, childrenEReference).add(EcoreUtil.create(nodeEClass));
+      fail("Expecting an IllegalStateException");
+    }
+    catch (IllegalStateException exception)
+    {
+      // Expected.
+    }
+    try
+    {
+      resourceA.getContents().add(EcoreUtil.create(nodeEClass));
+      fail("Expecting an IllegalStateException");
+    }
+    catch (IllegalStateException exception)
+    {
+      // Expected.
+    }
+    try
+    {
+      resourceSet.createResource(baseURI.appendSegment("c.xmi"));
+      fail("Expecting an IllegalStateException");
+    }
+    catch (IllegalStateException exception)
+    {
+      // Expected.
+    }
+
+    // Touching isn't a modification.
+    //
+    root.eSet(nameEAttribute, root.eGet(nameEAttribute));
+
+    // Other objects aren't affected.
+    //
+    EObject node = EcoreUtil.create(nodeEClass);
+    assertFalse(EcoreUtil.isDetectingModifications(node));
+    getList(node, referencesEReference).add(root);
+    assertSame(root, getList(node, referencesEReference).get(0));
+  }
+
+  @Test
+  public void testConcurrentReaders() throws Exception
+  {
+    final ResourceSet resourceSet = createResourceSet();
+    resourceSet.getResource(baseURI.appendSegment("a.xmi"), true);
+    ((ResourceSetImpl)resourceSet).setURIResourceMap(new HashMap<URI, Resource>());
+    EcoreUtil.prepareForConcurrentReading(resourceSet);
+    final URI uriA = baseURI.appendSegment("a.xmi");
+    final URI uriB = baseURI.appendSegment("b.xmi");
+    final String expected = toString(resourceSet.getResources());
+
+    ExecutorService executorService = Executors.newFixedThreadPool(8);
+    try
+    {
+      List<Future<String>> futures = new ArrayList<Future<String>>();
+      for (int i = 0; i < 32; ++i)
+      {
+        futures.add
+          (executorService.submit
+            (new Callable<String>()
+             {
+               public String call() throws Exception
+               {
+                 Resource resourceA = resourceSet.getResource(uriA, false);
+                 Resource resourceB = resourceSet.getResource(uriB, false);
+                 assertSame(resourceA.getContents().get(0), resourceSet.getEObject(uriA.appendFragment("/"), false));
+                 assertNull(resourceB.getEObject("/1"));
+                 assertSame(resourceB.getContents().get(0), resourceB.getEObject(resourceB.getURIFragment(resourceB.getContents().get(0))));
+                 return ConcurrentReadingResourceSetTest.this.toString(resourceSet.getResources());
+               }
+             }));
+      }
+      for (Future<String> future : futures)
+      {
+        assertEquals(expected, future.get());
+      }
+    }
+    finally
+    {
+      executorService.shutdownNow();
+    }
+  }
+
+  protected String toString(List<Resource> resources)
+  {
+    StringBuilder result = new StringBuilder();
+    for (Resource resource : resources)
+    {
+      for (EObject eObject : getAllContents(resource))
+      {
+        result.append(EcoreUtil.getURI(eObject));
+        result.append(' ');
+        result.append(eObject.eGet(nameEAttribute));
+        for (EObject reference : getList(eObject, referencesEReference))
+        {
+          result.append(' ');
+          result.append(reference.eGet(nameEAttribute));
+        }
+        result.append('\n');
+      }
+    }
+    return result.toString();
+  }
+}
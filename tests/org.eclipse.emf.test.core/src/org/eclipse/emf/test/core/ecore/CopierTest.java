@@ -0,0 +1,139 @@
+/**
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package org.eclipse.emf.test.core.ecore;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EClassifier;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.junit.Test;
+
+
+/**
+ * Tests that a {@link EcoreUtil.Copier} copies in parallel exactly as it copies sequentially.
+ */
+public class CopierTest
+{
+  @Test
+  public void testCopyAll() throws Exception
+  {
+    List<EClassifier> eClassifiers = EcorePackage.eINSTANCE.getEClassifiers();
+
+    EcoreUtil.Copier copier = new EcoreUtil.Copier();
+    Collection<EClassifier> copies = copier.copyAll(eClassifiers);
+    copier.copyReferences();
+
+    ExecutorService executorService = Executors.newFixedThreadPool(4);
+    try
+    {
+      EcoreUtil.Copier parallelCopier = new EcoreUtil.Copier();
+      Collection<EClassifier> parallelCopies = parallelCopier.copyAll(eClassifiers, executorService);
+      parallelCopier.copyReferences();
+
+      assertEquals(copier.size(), parallelCopier.size());
+      assertEquals(new ArrayList<EObject>(copier.keySet()), new ArrayList<EObject>(parallelCopier.keySet()));
+      assertTrue(EcoreUtil.equals(new ArrayList<EObject>(copies), new ArrayList<EObject>(parallelCopies)));
+
+      // The cross references between the content trees copied by different tasks refer to the copies.
+      //
+      EClass eClass = (EClass)parallelCopier.get(EcorePackage.Literals.ECLASS);
+      EReference eReference = (EReference)parallelCopier.get(EcorePackage.Literals.ECLASS__ESTRUCTURAL_FEATURES);
+      assertSame(eClass, eReference.getEContainingClass());
+      assertSame(parallelCopier.get(EcorePackage.Literals.ESTRUCTURAL_FEATURE), eReference.getEType());
+      assertSame(parallelCopier.get(EcorePackage.Literals.ECLASSIFIER), eClass.getESuperTypes().get(0));
+      assertNotSame(EcorePackage.Literals.ECLASSIFIER, eClass.getESuperTypes().get(0));
+    }
+    finally
+    {
+      executorService.shutdown();
+    }
+  }
+
+  @Test
+  public void testSpecializedCopier() throws Exception
+  {
+    // A specialized copier that doesn't provide a subtree copier copies in the current thread.
+    //
+    final Thread thread = Thread.currentThread();
+    EcoreUtil.Copier copier =
+      new EcoreUtil.Copier()
+      {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected EObject createCopy(EObject eObject)
+        {
+          assertSame(thread, Thread.currentThread());
+          return super.createCopy(eObject);
+        }
+      };
+
+    ExecutorService executorService = Executors.newFixedThreadPool(2);
+    try
+    {
+      Collection<EClassifier> copies = copier.copyAll(EcorePackage.eINSTANCE.getEClassifiers(), executorService);
+      copier.copyReferences();
+      assertEquals(EcorePackage.eINSTANCE.getEClassifiers().size(), copies.size());
+    }
+    finally
+    {
+      executorService.shutdown();
+    }
+  }
+
+  @Test
+  public void testSubtreeCopiers() throws Exception
+  {
+    // Each subtree copier that's created is used to copy a content tree.
+    //
+    final List<EcoreUtil.Copier> subtreeCopiers = new ArrayList<EcoreUtil.Copier>();
+    EcoreUtil.Copier copier =
+      new EcoreUtil.Copier()
+      {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected EcoreUtil.Copier createSubtreeCopier()
+        {
+          EcoreUtil.Copier subtreeCopier = new EcoreUtil.Copier();
+          subtreeCopiers.add(subtreeCopier);
+          return subtreeCopier;
+        }
+      };
+
+    ExecutorService executorService = Executors.newFixedThreadPool(2);
+    try
+    {
+      List<EClassifier> eClassifiers = EcorePackage.eINSTANCE.getEClassifiers();
+      Collection<EClassifier> copies = copier.copyAll(eClassifiers, executorService);
+      assertEquals(eClassifiers.size(), copies.size());
+      assertEquals(eClassifiers.size(), subtreeCopiers.size());
+      for (int i = 0; i < eClassifiers.size(); ++i)
+      {
+        assertSame(copier.get(eClassifiers.get(i)), subtreeCopiers.get(i).get(eClassifiers.get(i)));
+      }
+    }
+    finally
+    {
+      executorService.shutdown();
+    }
+  }
+}
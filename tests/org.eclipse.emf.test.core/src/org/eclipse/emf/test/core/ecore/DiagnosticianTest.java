@@ -8,19 +8,33 @@
 package org.eclipse.emf.test.core.ecore;
 
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.emf.common.util.BasicDiagnostic;
 import org.eclipse.emf.common.util.Diagnostic;
 import org.eclipse.emf.common.util.DiagnosticChain;
 import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EDataType;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EPackage;
 import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EValidator;
 import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.InternalEObject;
 import org.eclipse.emf.ecore.impl.EClassImpl;
+import org.eclipse.emf.ecore.impl.EValidatorRegistryImpl;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
 import org.eclipse.emf.ecore.util.Diagnostician;
 import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.junit.Assert;
@@ -394,6 +408,164 @@ public class DiagnosticianTest
     }
   }
 
+  /**
+   * A validator that isn't thread-safe, and that records a warning for each object.
+   */
+  public static class NotThreadSafeValidator implements EValidator, EValidator.NotThreadSafe
+  {
+    public final AtomicInteger activeCount = new AtomicInteger();
+
+    public volatile boolean concurrent;
+
+    public boolean validate(EObject eObject, DiagnosticChain diagnostics, Map<Object, Object> context)
+    {
+      return validate(eObject.eClass(), eObject, diagnostics, context);
+    }
+
+    public boolean validate(EClass eClass, EObject eObject, DiagnosticChain diagnostics, Map<Object, Object> context)
+    {
+      if (activeCount.incrementAndGet() > 1)
+      {
+        concurrent = true;
+      }
+      Thread.yield();
+      diagnostics.add(new BasicDiagnostic(Diagnostic.WARNING, "test", 0, EcoreUtil.getURI(eObject).fragment(), new Object [] { eObject }));
+      activeCount.decrementAndGet();
+      return false;
+    }
+
+    public boolean validate(EDataType eDataType, Object value, DiagnosticChain diagnostics, Map<Object, Object> context)
+    {
+      return true;
+    }
+  }
+
+  /**
+   * This tests that a parallel validation produces the same diagnostics as a sequential validation,
+   * and calls a validator that isn't thread-safe serially.
+   */
+  @Test
+  public void testParallel() throws Exception
+  {
+    EObject rootNode = createNode();
+    for (int i = 0; i < 10; ++i)
+    {
+      EObject childNode = createNode();
+      addChild(rootNode, childNode);
+      for (int j = 0; j < 10; ++j)
+      {
+        EObject grandchildNode = createNode();
+        addChild(childNode, grandchildNode);
+        for (int k = 0; k < j; ++k)
+        {
+          addChild(grandchildNode, createNode());
+        }
+      }
+    }
+
+    NotThreadSafeValidator validator = new NotThreadSafeValidator();
+    EValidatorRegistryImpl eValidatorRegistry = new EValidatorRegistryImpl(EValidator.Registry.INSTANCE);
+    eValidatorRegistry.put(NODE_CLASS.getEPackage(), validator);
+    Diagnostician diagnostician = new Diagnostician(eValidatorRegistry);
+
+    BasicDiagnostic expected = new BasicDiagnostic();
+    Assert.assertFalse(diagnostician.validate(rootNode, expected, diagnostician.createDefaultContext()));
+    ExecutorService executorService = Executors.newFixedThreadPool(4);
+    try
+    {
+      BasicDiagnostic actual = new BasicDiagnostic();
+      Assert.assertFalse(diagnostician.validate(rootNode, actual, diagnostician.createDefaultContext(), executorService));
+      Assert.assertEquals(Diagnostic.WARNING, actual.getSeverity());
+      Assert.assertEquals(1 + 10 + 100 + 450, actual.getChildren().size());
+      Assert.assertEquals(getMessages(expected), getMessages(actual));
+      Assert.assertFalse("Expected serial calls", validator.concurrent);
+    }
+    finally
+    {
+      executorService.shutdown();
+    }
+  }
+
+  /**
+   * This tests that a parallel validation demand loads the resources referenced by the model in the current thread.
+   */
+  @Test
+  public void testParallelDemandLoad() throws Exception
+  {
+    final List<Thread> loadingThreads = Collections.synchronizedList(new ArrayList<Thread>());
+    ResourceSet resourceSet = new ResourceSetImpl();
+    resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put
+      ("base",
+       new Resource.Factory()
+       {
+         public Resource createResource(URI uri)
+         {
+           return
+             new ResourceImpl(uri)
+             {
+               @Override
+               public void load(Map<?, ?> options)
+               {
+                 if (!isLoaded)
+                 {
+                   loadingThreads.add(Thread.currentThread());
+                   EPackage basePackage = EcoreFactory.eINSTANCE.createEPackage();
+                   basePackage.setName("base");
+                   basePackage.setNsPrefix("base");
+                   basePackage.setNsURI("base");
+                   EClass baseClass = EcoreFactory.eINSTANCE.createEClass();
+                   baseClass.setName("Base");
+                   basePackage.getEClassifiers().add(baseClass);
+                   getContents().add(basePackage);
+                   setLoaded(true);
+                 }
+               }
+             };
+         }
+       });
+
+    EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+    ePackage.setName("model");
+    ePackage.setNsPrefix("model");
+    ePackage.setNsURI("model");
+    for (int i = 0; i < 100; ++i)
+    {
+      EClass eClass = EcoreFactory.eINSTANCE.createEClass();
+      eClass.setName("C" + i);
+      EClass baseClass = EcoreFactory.eINSTANCE.createEClass();
+      ((InternalEObject)baseClass).eSetProxyURI(URI.createURI("model.base#//Base"));
+      eClass.getESuperTypes().add(baseClass);
+      ePackage.getEClassifiers().add(eClass);
+    }
+    Resource resource = new ResourceImpl(URI.createURI("model.ecore"));
+    resourceSet.getResources().add(resource);
+    resource.getContents().add(ePackage);
+
+    ExecutorService executorService = Executors.newFixedThreadPool(4);
+    try
+    {
+      Diagnostician diagnostician = new Diagnostician();
+      BasicDiagnostic diagnostics = new BasicDiagnostic();
+      Assert.assertTrue(diagnostician.validate(ePackage, diagnostics, diagnostician.createDefaultContext(), executorService));
+      Assert.assertEquals(Collections.singletonList(Thread.currentThread()), loadingThreads);
+      Assert.assertEquals("Base", ((EClass)ePackage.getEClassifiers().get(0)).getESuperTypes().get(0).getName());
+    }
+    finally
+    {
+      executorService.shutdown();
+    }
+  }
+
+  private static List<String> getMessages(Diagnostic diagnostic)
+  {
+    List<String> result = new ArrayList<String>();
+    for (Diagnostic child : diagnostic.getChildren())
+    {
+      result.add(child.getMessage());
+    }
+    return result;
+  }
+
 //  /**
 //   * A simple test for profiling.
 //   */
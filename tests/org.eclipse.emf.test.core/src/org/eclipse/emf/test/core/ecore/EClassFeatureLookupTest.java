@@ -0,0 +1,143 @@
+/**
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package org.eclipse.emf.test.core.ecore;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.List;
+
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EClassifier;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.junit.Test;
+
+
+/**
+ * Tests that a frozen class looks up features by name and feature IDs by feature exactly like an unfrozen class.
+ */
+public class EClassFeatureLookupTest
+{
+  protected static void assertLookup(EClass eClass)
+  {
+    List<EStructuralFeature> eAllStructuralFeatures = eClass.getEAllStructuralFeatures();
+    for (int i = 0, size = eAllStructuralFeatures.size(); i < size; ++i)
+    {
+      EStructuralFeature eStructuralFeature = eAllStructuralFeatures.get(i);
+      assertEquals(i, eClass.getFeatureID(eStructuralFeature));
+      EStructuralFeature expected = null;
+      for (EStructuralFeature otherEStructuralFeature : eAllStructuralFeatures)
+      {
+        if (otherEStructuralFeature.getName().equals(eStructuralFeature.getName()))
+        {
+          expected = otherEStructuralFeature;
+          break;
+        }
+      }
+      assertSame(expected, eClass.getEStructuralFeature(eStructuralFeature.getName()));
+      assertSame(expected, eClass.getEStructuralFeature(new String(eStructuralFeature.getName())));
+    }
+    assertNull(eClass.getEStructuralFeature("none"));
+    assertNull(eClass.getEStructuralFeature(""));
+    assertNull(eClass.getEStructuralFeature((String)null));
+    if (!eAllStructuralFeatures.contains(EcorePackage.Literals.EANNOTATION__SOURCE))
+    {
+      assertEquals(-1, eClass.getFeatureID(EcorePackage.Literals.EANNOTATION__SOURCE));
+    }
+  }
+
+  @Test
+  public void testEcore()
+  {
+    for (EClassifier eClassifier : EcorePackage.eINSTANCE.getEClassifiers())
+    {
+      if (eClassifier instanceof EClass)
+      {
+        assertLookup((EClass)eClassifier);
+      }
+    }
+  }
+
+  @Test
+  public void testMultipleInheritance()
+  {
+    EcoreFactory ecoreFactory = EcoreFactory.eINSTANCE;
+    EPackage ePackage = ecoreFactory.createEPackage();
+    ePackage.setName("lookup");
+    ePackage.setNsURI("http://www.eclipse.org/emf/test/core/lookup");
+    ePackage.setNsPrefix("lookup");
+
+    // A diamond of classes with many features, some of which have the same name.
+    //
+    EClass[] eClasses = new EClass [4];
+    for (int i = 0; i < eClasses.length; ++i)
+    {
+      EClass eClass = ecoreFactory.createEClass();
+      eClass.setName("Class" + i);
+      for (int j = 0; j < 50; ++j)
+      {
+        EAttribute eAttribute = ecoreFactory.createEAttribute();
+        eAttribute.setName(j % 10 == 0 ? "shared" + j : "feature" + i + "_" + j);
+        eAttribute.setEType(EcorePackage.Literals.EINT);
+        eClass.getEStructuralFeatures().add(eAttribute);
+      }
+      ePackage.getEClassifiers().add(eClass);
+      eClasses[i] = eClass;
+    }
+    eClasses[1].getESuperTypes().add(eClasses[0]);
+    eClasses[2].getESuperTypes().add(eClasses[0]);
+    eClasses[3].getESuperTypes().add(eClasses[1]);
+    eClasses[3].getESuperTypes().add(eClasses[2]);
+
+    for (EClass eClass : eClasses)
+    {
+      assertLookup(eClass);
+    }
+    EcoreUtil.freeze(ePackage);
+    for (EClass eClass : eClasses)
+    {
+      assertLookup(eClass);
+    }
+  }
+
+  @Test
+  public void testUnnamed()
+  {
+    EcoreFactory ecoreFactory = EcoreFactory.eINSTANCE;
+    EPackage ePackage = ecoreFactory.createEPackage();
+    ePackage.setName("unnamed");
+    ePackage.setNsURI("http://www.eclipse.org/emf/test/core/unnamed");
+    ePackage.setNsPrefix("unnamed");
+    EClass eClass = ecoreFactory.createEClass();
+    eClass.setName("Class");
+    ePackage.getEClassifiers().add(eClass);
+    EAttribute named = ecoreFactory.createEAttribute();
+    named.setName("named");
+    named.setEType(EcorePackage.Literals.EINT);
+    eClass.getEStructuralFeatures().add(named);
+
+    EcoreUtil.freeze(ePackage);
+    assertNull(eClass.getEStructuralFeature((String)null));
+    assertSame(named, eClass.getEStructuralFeature("named"));
+
+    // Like the name map of an unfrozen class, a null name finds the first feature without a name.
+    //
+    EAttribute unnamed = ecoreFactory.createEAttribute();
+    unnamed.setEType(EcorePackage.Literals.EINT);
+    eClass.getEStructuralFeatures().add(unnamed);
+    EcoreUtil.freeze(ePackage);
+    assertSame(unnamed, eClass.getEStructuralFeature((String)null));
+    assertSame(named, eClass.getEStructuralFeature("named"));
+  }
+}
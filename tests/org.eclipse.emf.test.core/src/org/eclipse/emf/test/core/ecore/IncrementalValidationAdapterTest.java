@@ -0,0 +1,287 @@
+/**
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package org.eclipse.emf.test.core.ecore;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.emf.common.util.BasicDiagnostic;
+import org.eclipse.emf.common.util.Diagnostic;
+import org.eclipse.emf.common.util.DiagnosticChain;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EDataType;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EValidator;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.impl.EValidatorRegistryImpl;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.Diagnostician;
+import org.eclipse.emf.ecore.util.EObjectValidator;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.util.IncrementalValidationAdapter;
+import org.junit.Before;
+import org.junit.Test;
+
+
+/**
+ * Tests that an {@link IncrementalValidationAdapter} revalidates only the affected objects and keeps its diagnostics up to date.
+ */
+public class IncrementalValidationAdapterTest
+{
+  protected EClass nodeClass;
+
+  protected EAttribute nameAttribute;
+
+  protected EReference nodesReference;
+
+  protected EReference targetReference;
+
+  /**
+   * The objects validated by the {@link #validator}.
+   */
+  protected List<EObject> validated = new ArrayList<EObject>();
+
+  /**
+   * A validator that requires a name,
+   * unique names for the children,
+   * and a named target.
+   */
+  protected EValidator validator =
+    new EValidator()
+    {
+      public boolean validate(EObject eObject, DiagnosticChain diagnostics, Map<Object, Object> context)
+      {
+        return validate(eObject.eClass(), eObject, diagnostics, context);
+      }
+
+      public boolean validate(EClass eClass, EObject eObject, DiagnosticChain diagnostics, Map<Object, Object> context)
+      {
+        validated.add(eObject);
+        boolean result = true;
+        if (eObject.eGet(nameAttribute) == null)
+        {
+          diagnostics.add(new BasicDiagnostic(Diagnostic.ERROR, "test", 1, "name", new Object [] { eObject }));
+          result = false;
+        }
+
+        Set<Object> names = new HashSet<Object>();
+        for (EObject child : eObject.eContents())
+        {
+          Object name = child.eGet(nameAttribute);
+          if (name != null && !names.add(name))
+          {
+            diagnostics.add(new BasicDiagnostic(Diagnostic.ERROR, "test", 2, "unique", new Object [] { eObject, child }));
+            result = false;
+          }
+        }
+
+        EObject target = (EObject)eObject.eGet(targetReference);
+        if (target != null && target.eGet(nameAttribute) == null)
+        {
+          diagnostics.add(new BasicDiagnostic(Diagnostic.ERROR, "test", 3, "target", new Object [] { eObject }));
+          result = false;
+        }
+        return result;
+      }
+
+      public boolean validate(EDataType eDataType, Object value, DiagnosticChain diagnostics, Map<Object, Object> context)
+      {
+        return true;
+      }
+    };
+
+  protected IncrementalValidationAdapter adapter;
+
+  @Before
+  public void setUp()
+  {
+    EcoreFactory ecoreFactory = EcoreFactory.eINSTANCE;
+    EPackage ePackage = ecoreFactory.createEPackage();
+    ePackage.setName("nodes");
+    ePackage.setNsPrefix("nodes");
+    ePackage.setNsURI("http://www.example.org/nodes");
+
+    nodeClass = ecoreFactory.createEClass();
+    nodeClass.setName("Node");
+    ePackage.getEClassifiers().add(nodeClass);
+
+    nameAttribute = ecoreFactory.createEAttribute();
+    nameAttribute.setName("name");
+    nameAttribute.setEType(EcorePackage.Literals.ESTRING);
+    nodeClass.getEStructuralFeatures().add(nameAttribute);
+
+    nodesReference = ecoreFactory.createEReference();
+    nodesReference.setName("nodes");
+    nodesReference.setEType(nodeClass);
+    nodesReference.setContainment(true);
+    nodesReference.setUpperBound(-1);
+    nodeClass.getEStructuralFeatures().add(nodesReference);
+
+    targetReference = ecoreFactory.createEReference();
+    targetReference.setName("target");
+    targetReference.setEType(nodeClass);
+    nodeClass.getEStructuralFeatures().add(targetReference);
+
+    EValidatorRegistryImpl eValidatorRegistry = new EValidatorRegistryImpl();
+    eValidatorRegistry.put(ePackage, validator);
+    adapter = new IncrementalValidationAdapter(new Diagnostician(eValidatorRegistry));
+    adapter.addDependency(targetReference);
+  }
+
+  protected EObject createNode(String name)
+  {
+    EObject node = EcoreUtil.create(nodeClass);
+    node.eSet(nameAttribute, name);
+    return node;
+  }
+
+  @SuppressWarnings("unchecked")
+  protected List<EObject> getNodes(EObject node)
+  {
+    return (List<EObject>)node.eGet(nodesReference);
+  }
+
+  @Test
+  public void testIncremental()
+  {
+    ResourceSet resourceSet = new ResourceSetImpl();
+    Resource resource = new ResourceImpl(URI.createURI("nodes.xmi"));
+    resourceSet.getResources().add(resource);
+    EObject root = createNode("root");
+    resource.getContents().add(root);
+    List<EObject> children = new ArrayList<EObject>();
+    for (int i = 0; i < 100; ++i)
+    {
+      EObject child = createNode("child" + i);
+      getNodes(root).add(child);
+      children.add(child);
+    }
+    resourceSet.eAdapters().add(adapter);
+
+    // Initially every object is validated.
+    //
+    assertTrue(adapter.isDirty());
+    adapter.validate();
+    assertFalse(adapter.isDirty());
+    assertEquals(101, validated.size());
+    assertTrue(adapter.getDiagnostics().isEmpty());
+
+    // Changing a child revalidates only it and its container.
+    //
+    validated.clear();
+    EObject child1 = children.get(1);
+    child1.eSet(nameAttribute, null);
+    adapter.validate();
+    assertEquals(2, validated.size());
+    assertTrue(validated.contains(child1));
+    assertTrue(validated.contains(root));
+    assertNotNull(adapter.getDiagnostic(child1));
+    assertNull(adapter.getDiagnostic(root));
+
+    // A duplicate name invalidates the container.
+    //
+    validated.clear();
+    child1.eSet(nameAttribute, "child2");
+    adapter.validate();
+    assertEquals(2, validated.size());
+    assertNull(adapter.getDiagnostic(child1));
+    assertNotNull(adapter.getDiagnostic(root));
+    assertEquals(1, adapter.getDiagnostics().size());
+
+    // Renaming the other duplicate fixes the container.
+    //
+    validated.clear();
+    children.get(2).eSet(nameAttribute, "two");
+    adapter.validate();
+    assertEquals(2, validated.size());
+    assertTrue(adapter.getDiagnostics().isEmpty());
+
+    // A change to a target revalidates the objects that reference it.
+    //
+    EObject child3 = children.get(3);
+    EObject child4 = children.get(4);
+    child3.eSet(targetReference, child4);
+    adapter.validate();
+    validated.clear();
+    child4.eSet(nameAttribute, null);
+    adapter.validate();
+    assertEquals(3, validated.size());
+    assertTrue(validated.contains(child3));
+    assertNotNull(adapter.getDiagnostic(child3));
+    assertNotNull(adapter.getDiagnostic(child4));
+
+    // Removing an object removes its diagnostics.
+    //
+    validated.clear();
+    getNodes(root).remove(child4);
+    adapter.validate();
+    assertNull(adapter.getDiagnostic(child4));
+    assertTrue(validated.contains(root));
+    assertTrue(validated.contains(child3));
+    assertFalse(validated.contains(child4));
+
+    // Adding an object validates it.
+    //
+    validated.clear();
+    EObject newChild = createNode(null);
+    getNodes(root).add(newChild);
+    adapter.validate();
+    assertEquals(2, validated.size());
+    assertNotNull(adapter.getDiagnostic(newChild));
+
+    resourceSet.eAdapters().remove(adapter);
+    assertTrue(adapter.getDiagnostics().isEmpty());
+  }
+
+  @Test
+  public void testDetachedReference()
+  {
+    EValidatorRegistryImpl eValidatorRegistry = new EValidatorRegistryImpl();
+    eValidatorRegistry.put(nodeClass.getEPackage(), new EObjectValidator());
+    IncrementalValidationAdapter adapter = new IncrementalValidationAdapter(new Diagnostician(eValidatorRegistry));
+
+    Resource resource = new ResourceImpl(URI.createURI("nodes.xmi"));
+    EObject root = createNode("root");
+    resource.getContents().add(root);
+    EObject a = createNode("a");
+    EObject b = createNode("b");
+    getNodes(root).add(a);
+    getNodes(root).add(b);
+    a.eSet(targetReference, b);
+    resource.eAdapters().add(adapter);
+    adapter.validate();
+    assertTrue(adapter.getDiagnostics().isEmpty());
+
+    // Removing the referenced object from its container revalidates the valid object that references it,
+    // even though no dependency reference is declared.
+    //
+    getNodes(root).remove(b);
+    assertTrue(adapter.isDirty());
+    adapter.validate();
+    Diagnostic diagnostic = adapter.getDiagnostic(a);
+    assertNotNull(diagnostic);
+    assertEquals(EObjectValidator.EOBJECT__EVERY_REFERENCE_IS_CONTAINED, diagnostic.getChildren().get(0).getCode());
+  }
+}
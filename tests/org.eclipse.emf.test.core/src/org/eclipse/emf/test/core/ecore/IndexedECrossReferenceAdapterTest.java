@@ -0,0 +1,266 @@
+/**
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package org.eclipse.emf.test.core.ecore;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.ECrossReferenceAdapter;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.util.IndexedECrossReferenceAdapter;
+import org.junit.Before;
+import org.junit.Test;
+
+
+/**
+ * Tests that an {@link IndexedECrossReferenceAdapter} yields the same inverse references as an {@link ECrossReferenceAdapter}.
+ */
+public class IndexedECrossReferenceAdapterTest
+{
+  /**
+   * An adapter that records the inverse references via the collections of the cross referencer's map.
+   */
+  protected static class CollectionIndexedECrossReferenceAdapter extends IndexedECrossReferenceAdapter
+  {
+    protected class CollectionInverseCrossReferencer extends IndexedInverseCrossReferencer
+    {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected void add(InternalEObject eObject, EReference eReference, EObject crossReferencedEObject)
+      {
+        getCollection(crossReferencedEObject).add(eObject.eSetting(eReference));
+      }
+    }
+
+    @Override
+    protected IndexedInverseCrossReferencer createInverseCrossReferencer()
+    {
+      return new CollectionInverseCrossReferencer();
+    }
+
+    public Collection<EStructuralFeature.Setting> put(EObject eObject, Collection<EStructuralFeature.Setting> settings)
+    {
+      return inverseCrossReferencer.put(eObject, settings);
+    }
+  }
+
+  protected EClass nodeClass;
+
+  protected EReference nodesReference;
+
+  protected EReference referencesReference;
+
+  protected EReference targetReference;
+
+  protected ResourceSet resourceSet;
+
+  protected List<EObject> nodes = new ArrayList<EObject>();
+
+  @Before
+  public void setUp()
+  {
+    EcoreFactory ecoreFactory = EcoreFactory.eINSTANCE;
+    EPackage ePackage = ecoreFactory.createEPackage();
+    ePackage.setName("nodes");
+    ePackage.setNsPrefix("nodes");
+    ePackage.setNsURI("http://www.example.org/nodes");
+
+    nodeClass = ecoreFactory.createEClass();
+    nodeClass.setName("Node");
+    ePackage.getEClassifiers().add(nodeClass);
+
+    nodesReference = ecoreFactory.createEReference();
+    nodesReference.setName("nodes");
+    nodesReference.setEType(nodeClass);
+    nodesReference.setContainment(true);
+    nodesReference.setUpperBound(-1);
+    nodeClass.getEStructuralFeatures().add(nodesReference);
+
+    referencesReference = ecoreFactory.createEReference();
+    referencesReference.setName("references");
+    referencesReference.setEType(nodeClass);
+    referencesReference.setUpperBound(-1);
+    nodeClass.getEStructuralFeatures().add(referencesReference);
+
+    targetReference = ecoreFactory.createEReference();
+    targetReference.setName("target");
+    targetReference.setEType(nodeClass);
+    nodeClass.getEStructuralFeatures().add(targetReference);
+
+    // Several resources with references within and across the resources,
+    // and a few objects that are referenced many times.
+    //
+    resourceSet = new ResourceSetImpl();
+    for (int i = 0; i < 8; ++i)
+    {
+      Resource resource = new ResourceImpl(URI.createURI("nodes" + i + ".xmi"));
+      resourceSet.getResources().add(resource);
+      EObject root = EcoreUtil.create(nodeClass);
+      resource.getContents().add(root);
+      nodes.add(root);
+      for (int j = 0; j < 50; ++j)
+      {
+        EObject node = EcoreUtil.create(nodeClass);
+        getList(root, nodesReference).add(node);
+        nodes.add(node);
+      }
+    }
+
+    Random random = new Random(42);
+    for (EObject node : nodes)
+    {
+      List<EObject> references = getList(node, referencesReference);
+      for (int i = random.nextInt(5); i > 0; --i)
+      {
+        references.add(nodes.get(random.nextInt(nodes.size())));
+      }
+      references.add(nodes.get(random.nextInt(4)));
+      node.eSet(targetReference, nodes.get(random.nextInt(nodes.size())));
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  protected List<EObject> getList(EObject eObject, EReference eReference)
+  {
+    return (List<EObject>)eObject.eGet(eReference);
+  }
+
+  protected Set<List<Object>> getInverseReferences(ECrossReferenceAdapter adapter, EObject eObject)
+  {
+    Set<List<Object>> result = new HashSet<List<Object>>();
+    for (EStructuralFeature.Setting setting : adapter.getNonNavigableInverseReferences(eObject))
+    {
+      List<Object> pair = new ArrayList<Object>();
+      pair.add(setting.getEObject());
+      pair.add(setting.getEStructuralFeature());
+      result.add(pair);
+    }
+    return result;
+  }
+
+  protected void assertSameInverseReferences(ECrossReferenceAdapter expectedAdapter, IndexedECrossReferenceAdapter adapter)
+  {
+    int count = 0;
+    int objectCount = 0;
+    for (EObject eObject : nodes)
+    {
+      Set<List<Object>> expected = getInverseReferences(expectedAdapter, eObject);
+      assertEquals(expected, getInverseReferences(adapter, eObject));
+      count += expected.size();
+      if (!expected.isEmpty())
+      {
+        ++objectCount;
+      }
+    }
+    assertEquals(count, adapter.getInverseReferenceCount());
+    assertEquals(objectCount, adapter.getIndexedObjectCount());
+    assertTrue(adapter.getEstimatedSize() > 0);
+  }
+
+  protected void modify()
+  {
+    EObject node = nodes.get(10);
+    getList(node, referencesReference).clear();
+    node.eSet(targetReference, nodes.get(0));
+    getList(nodes.get(11), referencesReference).add(nodes.get(12));
+    getList(nodes.get(11), referencesReference).add(nodes.get(12));
+    nodes.get(13).eUnset(targetReference);
+    EcoreUtil.remove(nodes.get(20));
+    getList(nodes.get(0), nodesReference).add(nodes.get(30));
+  }
+
+  @Test
+  public void testAttach()
+  {
+    ECrossReferenceAdapter expectedAdapter = new ECrossReferenceAdapter();
+    resourceSet.eAdapters().add(expectedAdapter);
+    IndexedECrossReferenceAdapter adapter = new IndexedECrossReferenceAdapter();
+    resourceSet.eAdapters().add(adapter);
+    assertSameInverseReferences(expectedAdapter, adapter);
+
+    modify();
+    assertSameInverseReferences(expectedAdapter, adapter);
+
+    // The adapter remains attached to the detached object.
+    //
+    resourceSet.eAdapters().remove(adapter);
+    nodes.get(20).eAdapters().remove(adapter);
+    assertEquals(0, adapter.getInverseReferenceCount());
+    assertEquals(0, adapter.getIndexedObjectCount());
+  }
+
+  @Test
+  public void testInitialize()
+  {
+    ECrossReferenceAdapter expectedAdapter = new ECrossReferenceAdapter();
+    resourceSet.eAdapters().add(expectedAdapter);
+    IndexedECrossReferenceAdapter adapter = new IndexedECrossReferenceAdapter();
+    ExecutorService executorService = Executors.newFixedThreadPool(4);
+    try
+    {
+      adapter.initialize(resourceSet, executorService);
+    }
+    finally
+    {
+      executorService.shutdown();
+    }
+    assertTrue(resourceSet.eAdapters().contains(adapter));
+    assertTrue(nodes.get(nodes.size() - 1).eAdapters().contains(adapter));
+    assertSameInverseReferences(expectedAdapter, adapter);
+
+    modify();
+    assertSameInverseReferences(expectedAdapter, adapter);
+  }
+
+  @Test
+  public void testCollection()
+  {
+    ECrossReferenceAdapter expectedAdapter = new ECrossReferenceAdapter();
+    resourceSet.eAdapters().add(expectedAdapter);
+    CollectionIndexedECrossReferenceAdapter adapter = new CollectionIndexedECrossReferenceAdapter();
+    resourceSet.eAdapters().add(adapter);
+    assertSameInverseReferences(expectedAdapter, adapter);
+
+    modify();
+    assertSameInverseReferences(expectedAdapter, adapter);
+
+    // Putting settings replaces those that are indexed.
+    //
+    EObject node = nodes.get(0);
+    List<EStructuralFeature.Setting> settings = new ArrayList<EStructuralFeature.Setting>(adapter.getNonNavigableInverseReferences(node));
+    assertTrue(settings.size() > 1);
+    int count = adapter.getInverseReferenceCount();
+    assertEquals(settings.size(), adapter.put(node, settings.subList(1, settings.size())).size());
+    assertEquals(count - 1, adapter.getInverseReferenceCount());
+    assertEquals(settings.size() - 1, adapter.getNonNavigableInverseReferences(node).size());
+    adapter.put(node, settings);
+    assertSameInverseReferences(expectedAdapter, adapter);
+  }
+}
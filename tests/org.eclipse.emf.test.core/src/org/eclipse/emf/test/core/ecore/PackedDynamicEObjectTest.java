@@ -0,0 +1,288 @@
+/**
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package org.eclipse.emf.test.core.ecore;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EDataType;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.impl.DynamicEObjectImpl;
+import org.eclipse.emf.ecore.impl.PackedDynamicEObjectImpl;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class PackedDynamicEObjectTest
+{
+  protected static final EDataType[] PRIMITIVE_TYPES =
+    {
+      EcorePackage.Literals.EBOOLEAN,
+      EcorePackage.Literals.EBYTE,
+      EcorePackage.Literals.ESHORT,
+      EcorePackage.Literals.ECHAR,
+      EcorePackage.Literals.EINT,
+      EcorePackage.Literals.EFLOAT,
+      EcorePackage.Literals.ELONG,
+      EcorePackage.Literals.EDOUBLE
+    };
+
+  protected static final Object[][] VALUES =
+    {
+      { true, false },
+      { (byte)-1, (byte)127 },
+      { (short)-2, Short.MAX_VALUE },
+      { '\uFFFF', 'x' },
+      { -3, Integer.MIN_VALUE },
+      { -1.5f, Float.NaN },
+      { -4L, Long.MIN_VALUE },
+      { -2.5, Double.NEGATIVE_INFINITY }
+    };
+
+  protected EPackage ePackage;
+  protected EClass rowEClass;
+  protected EAttribute[] primitiveEAttributes;
+  protected EAttribute[] unsettableEAttributes;
+  protected EAttribute nameEAttribute;
+  protected EAttribute tagsEAttribute;
+  protected EReference nextEReference;
+
+  @Before
+  public void setUp()
+  {
+    EcoreFactory ecoreFactory = EcoreFactory.eINSTANCE;
+    ePackage = ecoreFactory.createEPackage();
+    ePackage.setName("packed");
+    ePackage.setNsURI("http://www.eclipse.org/emf/test/core/packed");
+    ePackage.setNsPrefix("packed");
+    rowEClass = ecoreFactory.createEClass();
+    rowEClass.setName("Row");
+    ePackage.getEClassifiers().add(rowEClass);
+
+    primitiveEAttributes = new EAttribute [PRIMITIVE_TYPES.length];
+    unsettableEAttributes = new EAttribute [PRIMITIVE_TYPES.length];
+    for (int i = 0; i < PRIMITIVE_TYPES.length; ++i)
+    {
+      primitiveEAttributes[i] = createEAttribute("primitive" + i, PRIMITIVE_TYPES[i]);
+      unsettableEAttributes[i] = createEAttribute("unsettable" + i, PRIMITIVE_TYPES[i]);
+      unsettableEAttributes[i].setUnsettable(true);
+    }
+    primitiveEAttributes[4].setDefaultValueLiteral("42");
+    nameEAttribute = createEAttribute("name", EcorePackage.Literals.ESTRING);
+    tagsEAttribute = createEAttribute("tags", EcorePackage.Literals.EINT);
+    tagsEAttribute.setUpperBound(-1);
+    tagsEAttribute.setUnique(false);
+    nextEReference = ecoreFactory.createEReference();
+    nextEReference.setName("next");
+    nextEReference.setEType(rowEClass);
+    rowEClass.getEStructuralFeatures().add(nextEReference);
+  }
+
+  protected EAttribute createEAttribute(String name, EDataType eDataType)
+  {
+    EAttribute eAttribute = EcoreFactory.eINSTANCE.createEAttribute();
+    eAttribute.setName(name);
+    eAttribute.setEType(eDataType);
+    rowEClass.getEStructuralFeatures().add(eAttribute);
+    return eAttribute;
+  }
+
+  @SuppressWarnings("unchecked")
+  protected static List<Object> getList(EObject eObject, EStructuralFeature eStructuralFeature)
+  {
+    return (List<Object>)eObject.eGet(eStructuralFeature);
+  }
+
+  /**
+   * Applies the same modifications to a packed object and to a plain dynamic object, checking that each has the same state.
+   */
+  @Test
+  public void testSameAsDynamic()
+  {
+    EObject packed = new PackedDynamicEObjectImpl(rowEClass);
+    EObject dynamic = new DynamicEObjectImpl(rowEClass);
+    assertSameState(packed, dynamic);
+    for (int i = 0; i < PRIMITIVE_TYPES.length; ++i)
+    {
+      for (EAttribute eAttribute : new EAttribute [] { primitiveEAttributes[i], unsettableEAttributes[i] })
+      {
+        for (Object value : VALUES[i])
+        {
+          packed.eSet(eAttribute, value);
+          dynamic.eSet(eAttribute, value);
+          assertSameState(packed, dynamic);
+        }
+        Object defaultValue = eAttribute.getDefaultValue();
+        packed.eSet(eAttribute, defaultValue);
+        dynamic.eSet(eAttribute, defaultValue);
+        assertSameState(packed, dynamic);
+        packed.eSet(eAttribute, null);
+        dynamic.eSet(eAttribute, null);
+        assertSameState(packed, dynamic);
+        packed.eSet(eAttribute, VALUES[i][0]);
+        dynamic.eSet(eAttribute, VALUES[i][0]);
+        assertSameState(packed, dynamic);
+      }
+    }
+
+    packed.eSet(nameEAttribute, "name");
+    dynamic.eSet(nameEAttribute, "name");
+    getList(packed, tagsEAttribute).addAll(Arrays.asList(1, 2, 1));
+    getList(dynamic, tagsEAttribute).addAll(Arrays.asList(1, 2, 1));
+    assertSameState(packed, dynamic);
+
+    for (int i = 0; i < PRIMITIVE_TYPES.length; ++i)
+    {
+      packed.eUnset(unsettableEAttributes[i]);
+      dynamic.eUnset(unsettableEAttributes[i]);
+      assertSameState(packed, dynamic);
+      packed.eUnset(primitiveEAttributes[i]);
+      dynamic.eUnset(primitiveEAttributes[i]);
+      assertSameState(packed, dynamic);
+    }
+  }
+
+  protected void assertSameState(EObject packed, EObject dynamic)
+  {
+    for (EStructuralFeature eStructuralFeature : rowEClass.getEAllStructuralFeatures())
+    {
+      assertEquals(eStructuralFeature.getName(), dynamic.eGet(eStructuralFeature), packed.eGet(eStructuralFeature));
+      assertEquals(eStructuralFeature.getName(), dynamic.eIsSet(eStructuralFeature), packed.eIsSet(eStructuralFeature));
+    }
+  }
+
+  @Test
+  public void testSaveAndLoad() throws Exception
+  {
+    ePackage.setEFactoryInstance(new PackedDynamicEObjectImpl.FactoryImpl());
+    ResourceSet resourceSet = new ResourceSetImpl();
+    resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("xmi", new XMIResourceFactoryImpl());
+    resourceSet.getPackageRegistry().put(ePackage.getNsURI(), ePackage);
+
+    Resource resource = resourceSet.createResource(URI.createURI("rows.xmi"));
+    EObject previous = null;
+    for (int i = 0; i < 20; ++i)
+    {
+      EObject row = EcoreUtil.create(rowEClass);
+      assertTrue(row instanceof PackedDynamicEObjectImpl);
+      for (int j = 0; j < PRIMITIVE_TYPES.length; ++j)
+      {
+        if ((i + j) % 3 != 0)
+        {
+          row.eSet(primitiveEAttributes[j], VALUES[j][(i + j) % 2]);
+        }
+        if ((i + j) % 4 == 0)
+        {
+          row.eSet(unsettableEAttributes[j], VALUES[j][(i + j) % 2]);
+        }
+      }
+      row.eSet(nextEReference, previous);
+      resource.getContents().add(row);
+      previous = row;
+    }
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    resource.save(outputStream, null);
+
+    Resource loadedResource = resourceSet.createResource(URI.createURI("loaded.xmi"));
+    loadedResource.load(new ByteArrayInputStream(outputStream.toByteArray()), null);
+    assertTrue(loadedResource.getContents().get(0) instanceof PackedDynamicEObjectImpl);
+    assertTrue(EcoreUtil.equals(resource.getContents(), loadedResource.getContents()));
+    assertSame(loadedResource.getContents().get(3), loadedResource.getContents().get(4).eGet(nextEReference));
+  }
+
+  @Test
+  public void testLayoutChange()
+  {
+    EObject before = new PackedDynamicEObjectImpl(rowEClass);
+    before.eSet(primitiveEAttributes[4], 7);
+
+    // Adding a feature to the class changes the layout of new instances.
+    //
+    EAttribute eAttribute = createEAttribute("added", EcorePackage.Literals.EINT);
+    EObject after = new PackedDynamicEObjectImpl(rowEClass);
+    after.eSet(eAttribute, 8);
+    after.eSet(primitiveEAttributes[4], 9);
+    assertEquals(8, after.eGet(eAttribute));
+    assertEquals(9, after.eGet(primitiveEAttributes[4]));
+    assertEquals(7, before.eGet(primitiveEAttributes[4]));
+    assertFalse(after.eIsSet(nameEAttribute));
+    assertNull(after.eGet(nameEAttribute));
+  }
+
+  @Test
+  public void testConcurrentCreation() throws Exception
+  {
+    // Creating instances doesn't modify the class's adapters, beyond those it adds itself when computing its features,
+    // so it's safe to do concurrently.
+    //
+    rowEClass.getEAllStructuralFeatures();
+    int adapterCount = rowEClass.eAdapters().size();
+    ExecutorService executorService = Executors.newFixedThreadPool(4);
+    try
+    {
+      List<Future<Boolean>> futures = new ArrayList<Future<Boolean>>();
+      for (int i = 0; i < 8; ++i)
+      {
+        final int value = i;
+        futures.add
+          (executorService.submit
+             (new Callable<Boolean>()
+              {
+                public Boolean call() throws Exception
+                {
+                  for (int j = 0; j < 1000; ++j)
+                  {
+                    EObject row = new PackedDynamicEObjectImpl(rowEClass);
+                    row.eSet(primitiveEAttributes[4], value);
+                    if (!Integer.valueOf(value).equals(row.eGet(primitiveEAttributes[4])))
+                    {
+                      return false;
+                    }
+                  }
+                  return true;
+                }
+              }));
+      }
+      for (Future<Boolean> future : futures)
+      {
+        assertTrue(future.get());
+      }
+    }
+    finally
+    {
+      executorService.shutdown();
+    }
+    assertEquals(adapterCount, rowEClass.eAdapters().size());
+  }
+}
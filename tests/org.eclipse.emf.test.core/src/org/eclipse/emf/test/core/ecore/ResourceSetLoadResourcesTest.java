@@ -0,0 +1,246 @@
+/**
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package org.eclipse.emf.test.core.ecore;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class ResourceSetLoadResourcesTest
+{
+  protected static final int RESOURCE_COUNT = 8;
+
+  protected EPackage ePackage;
+  protected EClass nodeEClass;
+  protected EAttribute nameEAttribute;
+  protected EReference nextEReference;
+  protected File directory;
+  protected List<URI> uris;
+  protected ExecutorService executorService;
+
+  @Before
+  public void setUp() throws Exception
+  {
+    EcoreFactory ecoreFactory = EcoreFactory.eINSTANCE;
+    ePackage = ecoreFactory.createEPackage();
+    ePackage.setName("loadResources");
+    ePackage.setNsURI("http://www.eclipse.org/emf/test/core/loadResources");
+    ePackage.setNsPrefix("loadResources");
+
+    nodeEClass = ecoreFactory.createEClass();
+    nodeEClass.setName("Node");
+    ePackage.getEClassifiers().add(nodeEClass);
+
+    nameEAttribute = ecoreFactory.createEAttribute();
+    nameEAttribute.setName("name");
+    nameEAttribute.setEType(EcorePackage.Literals.ESTRING);
+    nodeEClass.getEStructuralFeatures().add(nameEAttribute);
+
+    nextEReference = ecoreFactory.createEReference();
+    nextEReference.setName("next");
+    nextEReference.setEType(nodeEClass);
+    nodeEClass.getEStructuralFeatures().add(nextEReference);
+
+    directory = File.createTempFile("loadResources", "");
+    directory.delete();
+    directory.mkdirs();
+
+    ResourceSetImpl resourceSet = createResourceSet();
+    uris = new ArrayList<URI>();
+    List<EObject> nodes = new ArrayList<EObject>();
+    for (int i = 0; i < RESOURCE_COUNT; ++i)
+    {
+      URI uri = URI.createFileURI(new File(directory, "node" + i + ".xmi").getAbsolutePath());
+      uris.add(uri);
+      EObject node = EcoreUtil.create(nodeEClass);
+      node.eSet(nameEAttribute, "node" + i);
+      resourceSet.createResource(uri).getContents().add(node);
+      nodes.add(node);
+    }
+
+    for (int i = 0; i < RESOURCE_COUNT; ++i)
+    {
+      nodes.get(i).eSet(nextEReference, nodes.get((i + 1) % RESOURCE_COUNT));
+    }
+
+    for (Resource resource : resourceSet.getResources())
+    {
+      resource.save(null);
+    }
+
+    executorService = Executors.newFixedThreadPool(4);
+  }
+
+  @After
+  public void tearDown() throws Exception
+  {
+    executorService.shutdown();
+    for (File file : directory.listFiles())
+    {
+      file.delete();
+    }
+    directory.delete();
+  }
+
+  protected ResourceSetImpl createResourceSet()
+  {
+    ResourceSetImpl resourceSet = new ResourceSetImpl();
+    resourceSet.getPackageRegistry().put(ePackage.getNsURI(), ePackage);
+    resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put(Resource.Factory.Registry.DEFAULT_EXTENSION, new XMIResourceFactoryImpl());
+    return resourceSet;
+  }
+
+  @Test
+  public void testLoadResources() throws Exception
+  {
+    ResourceSetImpl resourceSet = createResourceSet();
+
+    // Create one of the resources beforehand to ensure it's demand loaded too.
+    //
+    Resource existingResource = resourceSet.createResource(uris.get(3));
+
+    EList<Resource> resources = resourceSet.loadResources(uris, executorService);
+    assertEquals(RESOURCE_COUNT, resources.size());
+    assertEquals(RESOURCE_COUNT, resourceSet.getResources().size());
+    assertSame(existingResource, resources.get(3));
+
+    for (int i = 0; i < RESOURCE_COUNT; ++i)
+    {
+      Resource resource = resources.get(i);
+      assertEquals(uris.get(i), resource.getURI());
+      assertSame(resourceSet, resource.getResourceSet());
+      assertTrue(resource.isLoaded());
+      assertSame(resource, resourceSet.getResource(uris.get(i), false));
+
+      EObject node = resource.getContents().get(0);
+      assertEquals("node" + i, node.eGet(nameEAttribute));
+      EObject next = (EObject)node.eGet(nextEReference, false);
+      assertFalse(next.eIsProxy());
+      assertSame(resources.get((i + 1) % RESOURCE_COUNT).getContents().get(0), next);
+    }
+
+    // Loading again just returns the existing resources.
+    //
+    assertEquals(resources, resourceSet.loadResources(uris, executorService));
+    assertEquals(RESOURCE_COUNT, resourceSet.getResources().size());
+  }
+
+  @Test
+  public void testLoadResourcesFailure() throws Exception
+  {
+    ResourceSetImpl resourceSet = createResourceSet();
+    List<URI> urisWithMissing = new ArrayList<URI>(uris);
+    URI missingURI = URI.createFileURI(new File(directory, "missing.xmi").getAbsolutePath());
+    urisWithMissing.add(missingURI);
+
+    try
+    {
+      resourceSet.loadResources(urisWithMissing, executorService);
+      fail("Expecting an exception for the missing resource");
+    }
+    catch (RuntimeException exception)
+    {
+      assertTrue(exception instanceof Resource.Diagnostic);
+    }
+
+    // All the resources are attached, including the one that failed to load, just as for demand loading,
+    // and the ones that loaded are resolved.
+    //
+    assertEquals(RESOURCE_COUNT + 1, resourceSet.getResources().size());
+    assertFalse(resourceSet.getResource(missingURI, false).getErrors().isEmpty());
+    for (int i = 0; i < RESOURCE_COUNT; ++i)
+    {
+      assertFalse(((InternalEObject)resourceSet.getResource(uris.get(i), false).getContents().get(0).eGet(nextEReference, false)).eIsProxy());
+    }
+  }
+
+  @Test
+  public void testLoadResourcesNormalized() throws Exception
+  {
+    ResourceSetImpl resourceSet = createResourceSet();
+    URI alternateURI = URI.createURI("alternate:/node0.xmi");
+    resourceSet.getURIConverter().getURIMap().put(alternateURI, uris.get(0));
+
+    List<URI> urisWithAlternate = new ArrayList<URI>(uris);
+    urisWithAlternate.add(alternateURI);
+    EList<Resource> resources = resourceSet.loadResources(urisWithAlternate, executorService);
+    assertEquals(RESOURCE_COUNT + 1, resources.size());
+    assertSame(resources.get(0), resources.get(RESOURCE_COUNT));
+    assertEquals(RESOURCE_COUNT, resourceSet.getResources().size());
+  }
+
+  @Test
+  public void testLoadResourcesRejected() throws Exception
+  {
+    ResourceSetImpl resourceSet = createResourceSet();
+    final int acceptedCount = 2;
+    Executor executor =
+      new Executor()
+      {
+        private int count;
+
+        public void execute(Runnable command)
+        {
+          if (count++ == acceptedCount)
+          {
+            throw new RejectedExecutionException();
+          }
+          executorService.execute(command);
+        }
+      };
+
+    try
+    {
+      resourceSet.loadResources(uris, executor);
+      fail("Expecting the executor to reject a task");
+    }
+    catch (RejectedExecutionException exception)
+    {
+      // Expected.
+    }
+
+    // The resources whose loads were submitted have finished loading and are attached.
+    //
+    for (int i = 0; i < acceptedCount; ++i)
+    {
+      Resource resource = resourceSet.getResource(uris.get(i), false);
+      assertSame(resourceSet, resource.getResourceSet());
+      assertTrue(resource.isLoaded());
+      assertEquals("node" + i, resource.getContents().get(0).eGet(nameEAttribute));
+    }
+  }
+}
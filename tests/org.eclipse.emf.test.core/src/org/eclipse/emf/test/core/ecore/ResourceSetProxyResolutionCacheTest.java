@@ -0,0 +1,206 @@
+/**
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package org.eclipse.emf.test.core.ecore;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class ResourceSetProxyResolutionCacheTest
+{
+  protected static class TestResourceSet extends ResourceSetImpl
+  {
+    int lookupCount;
+
+    @Override
+    public Resource getResource(URI uri, boolean loadOnDemand)
+    {
+      ++lookupCount;
+      return super.getResource(uri, loadOnDemand);
+    }
+
+    public ProxyResolutionCache getProxyResolutionCache()
+    {
+      return proxyResolutionCache;
+    }
+  }
+
+  protected EClass nodeEClass;
+  protected URI baseURI;
+  protected TestResourceSet resourceSet;
+
+  @Before
+  public void setUp() throws Exception
+  {
+    EcoreFactory ecoreFactory = EcoreFactory.eINSTANCE;
+    EPackage ePackage = ecoreFactory.createEPackage();
+    ePackage.setName("proxyResolutionCache");
+    ePackage.setNsURI("http://www.eclipse.org/emf/test/core/proxyResolutionCache");
+    ePackage.setNsPrefix("proxyResolutionCache");
+    nodeEClass = ecoreFactory.createEClass();
+    nodeEClass.setName("Node");
+    ePackage.getEClassifiers().add(nodeEClass);
+
+    File directory = File.createTempFile("proxyResolutionCache", "");
+    directory.delete();
+    baseURI = URI.createFileURI(directory.getAbsolutePath() + "/");
+
+    resourceSet = new TestResourceSet();
+    resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("xmi", new XMIResourceFactoryImpl());
+    resourceSet.getPackageRegistry().put(ePackage.getNsURI(), ePackage);
+  }
+
+  protected Resource createResource(String name)
+  {
+    Resource resource = resourceSet.createResource(baseURI.appendSegment(name));
+    resource.getContents().add(EcoreUtil.create(nodeEClass));
+    return resource;
+  }
+
+  protected EObject createProxy(URI uri)
+  {
+    InternalEObject proxy = (InternalEObject)EcoreUtil.create(nodeEClass);
+    proxy.eSetProxyURI(uri);
+    return proxy;
+  }
+
+  @Test
+  public void testPositive()
+  {
+    Resource resource = createResource("a.xmi");
+    new ResourceSetImpl.ProxyResolutionCache(resourceSet, Long.MAX_VALUE);
+
+    EObject proxy = createProxy(resource.getURI().appendFragment("/0"));
+    assertSame(resource.getContents().get(0), EcoreUtil.resolve(proxy, resourceSet));
+    assertEquals(1, resourceSet.lookupCount);
+    assertSame(resource.getContents().get(0), EcoreUtil.resolve(proxy, resourceSet));
+    assertEquals(1, resourceSet.lookupCount);
+
+    // The object is looked up by fragment so the result reflects changes to the resource's contents.
+    //
+    EObject node = EcoreUtil.create(nodeEClass);
+    resource.getContents().add(0, node);
+    assertSame(node, EcoreUtil.resolve(proxy, resourceSet));
+    assertEquals(1, resourceSet.lookupCount);
+
+    // Removing the resource discards its entries.
+    //
+    resourceSet.getResources().remove(resource);
+    assertNull(resourceSet.getEObject(resource.getURI().appendFragment("/0"), false));
+    assertEquals(2, resourceSet.lookupCount);
+  }
+
+  @Test
+  public void testNegative()
+  {
+    new ResourceSetImpl.ProxyResolutionCache(resourceSet, Long.MAX_VALUE);
+
+    URI missingURI = baseURI.appendSegment("missing.xmi").appendFragment("/0");
+    EObject proxy = createProxy(missingURI);
+    assertSame(proxy, EcoreUtil.resolve(proxy, resourceSet));
+    assertEquals(1, resourceSet.lookupCount);
+    Resource missingResource = resourceSet.getResources().get(0);
+    assertFalse(missingResource.getErrors().isEmpty());
+    for (int i = 0; i < 10; ++i)
+    {
+      assertSame(proxy, EcoreUtil.resolve(proxy, resourceSet));
+    }
+    assertEquals(1, resourceSet.lookupCount);
+
+    // A negative entry recorded without demand loading doesn't apply to demand loading.
+    //
+    URI otherURI = baseURI.appendSegment("other.xmi").appendFragment("/0");
+    assertNull(resourceSet.getEObject(otherURI, false));
+    assertNull(resourceSet.getEObject(otherURI, false));
+    assertEquals(2, resourceSet.lookupCount);
+    try
+    {
+      resourceSet.getEObject(otherURI, true);
+      fail("Expecting an exception");
+    }
+    catch (RuntimeException exception)
+    {
+      // Expected because the resource doesn't exist.
+    }
+    assertEquals(3, resourceSet.lookupCount);
+    assertNull(resourceSet.getEObject(otherURI, true));
+    assertEquals(3, resourceSet.lookupCount);
+
+    // Loading, unloading, or adding a resource discards the negative entries.
+    //
+    missingResource.unload();
+    assertSame(proxy, EcoreUtil.resolve(proxy, resourceSet));
+    assertEquals(4, resourceSet.lookupCount);
+    resourceSet.getResources().remove(missingResource);
+    Resource resource = createResource("missing.xmi");
+    assertSame(resource.getContents().get(0), EcoreUtil.resolve(proxy, resourceSet));
+    assertEquals(5, resourceSet.lookupCount);
+  }
+
+  @Test
+  public void testTimeToLive() throws Exception
+  {
+    new ResourceSetImpl.ProxyResolutionCache(resourceSet, 0);
+    URI missingURI = baseURI.appendSegment("missing.xmi").appendFragment("/0");
+    assertNull(resourceSet.getEObject(missingURI, false));
+    Thread.sleep(1);
+    assertNull(resourceSet.getEObject(missingURI, false));
+    assertEquals(2, resourceSet.lookupCount);
+
+    new ResourceSetImpl.ProxyResolutionCache(resourceSet, 1);
+    assertNull(resourceSet.getEObject(missingURI, false));
+    assertEquals(3, resourceSet.lookupCount);
+    Thread.sleep(10);
+    assertNull(resourceSet.getEObject(missingURI, false));
+    assertEquals(4, resourceSet.lookupCount);
+  }
+
+  @Test
+  public void testDispose()
+  {
+    Resource resource = createResource("a.xmi");
+    ResourceSetImpl.ProxyResolutionCache proxyResolutionCache = new ResourceSetImpl.ProxyResolutionCache(resourceSet, Long.MAX_VALUE);
+    assertSame(proxyResolutionCache, resourceSet.getProxyResolutionCache());
+    assertEquals(1, resourceSet.eAdapters().size());
+    assertEquals(1, resource.eAdapters().size());
+
+    ResourceSetImpl.ProxyResolutionCache otherProxyResolutionCache = new ResourceSetImpl.ProxyResolutionCache(resourceSet, Long.MAX_VALUE);
+    assertSame(otherProxyResolutionCache, resourceSet.getProxyResolutionCache());
+    assertEquals(1, resourceSet.eAdapters().size());
+    assertEquals(1, resource.eAdapters().size());
+
+    otherProxyResolutionCache.dispose();
+    assertNull(resourceSet.getProxyResolutionCache());
+    assertTrue(resourceSet.eAdapters().isEmpty());
+    assertTrue(resource.eAdapters().isEmpty());
+
+    URI uri = resource.getURI().appendFragment("/0");
+    resourceSet.getEObject(uri, false);
+    resourceSet.getEObject(uri, false);
+    assertEquals(2, resourceSet.lookupCount);
+  }
+}
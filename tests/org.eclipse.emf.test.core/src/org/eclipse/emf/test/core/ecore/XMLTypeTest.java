@@ -11,14 +11,25 @@
 package org.eclipse.emf.test.core.ecore;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.xml.datatype.XMLGregorianCalendar;
 
 import org.eclipse.emf.ecore.xml.type.XMLTypeFactory;
+import org.eclipse.emf.ecore.EValidator;
 import org.eclipse.emf.ecore.xml.type.XMLTypePackage;
+import org.eclipse.emf.ecore.xml.type.internal.RegEx;
+import org.eclipse.emf.ecore.xml.type.util.XMLTypeUtil;
 import org.junit.Test;
 
 
@@ -340,4 +351,114 @@ public class XMLTypeTest
       }
     }
   }
+
+  /**
+   * Tests that a pattern matcher can be used concurrently by many threads.
+   */
+  @Test
+  public void testConcurrentPatternMatching() throws Exception
+  {
+    final EValidator.PatternMatcher patternMatcher = XMLTypeUtil.createPatternMatcher("[A-Z]{2}[0-9]+(-[a-z]+)*");
+    ExecutorService executorService = Executors.newFixedThreadPool(4);
+    try
+    {
+      List<Future<Boolean>> futures = new ArrayList<Future<Boolean>>();
+      for (int i = 0; i < 16; ++i)
+      {
+        final int task = i;
+        futures.add
+          (executorService.submit
+            (new Callable<Boolean>()
+             {
+               public Boolean call() throws Exception
+               {
+                 for (int j = 0; j < 2000; ++j)
+                 {
+                   String value = "AB" + task + j + "-x-yz";
+                   if (!patternMatcher.matches(value) || patternMatcher.matches(value + "-") || patternMatcher.matches("a" + value))
+                   {
+                     return Boolean.FALSE;
+                   }
+                 }
+                 return Boolean.TRUE;
+               }
+             }));
+      }
+      for (Future<Boolean> future : futures)
+      {
+        assertTrue(future.get());
+      }
+    }
+    finally
+    {
+      executorService.shutdown();
+    }
+
+    assertTrue(patternMatcher.matches("XY1"));
+    assertFalse(patternMatcher.matches("XY"));
+  }
+
+  /**
+   * Tests that the automaton used for XML Schema patterns agrees with the interpreter,
+   * which is used instead when an optimization is prohibited.
+   */
+  @Test
+  public void testPatternAutomaton()
+  {
+    String[] patterns =
+      {
+        "[A-Z]{2}[0-9]+(-[a-z]+)*",
+        "a|ab",
+        "(a|ab)c",
+        "x{2,3}",
+        "x{2,}",
+        "x{0,2}y",
+        ".",
+        "\\d{5}(-\\d{4})?",
+        "[\\i-[:]][\\c-[:]]*",
+        "[^abc]+",
+        "[a-z-[aeiou]]+",
+        "(a|b|)+c",
+        "",
+      };
+    String alphabet = "aAbcexyzZ059-:_ \n\r\u00e9\u0661\u2028\ud800";
+    Random random = new Random(0);
+    for (String pattern : patterns)
+    {
+      RegEx.RegularExpression regularExpression = new RegEx.RegularExpression(pattern, "X");
+      RegEx.RegularExpression interpretedRegularExpression = new RegEx.RegularExpression(pattern, "XH");
+      for (int i = 0; i < 2000; ++i)
+      {
+        StringBuilder value = new StringBuilder();
+        for (int j = random.nextInt(7); j > 0; --j)
+        {
+          value.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        boolean expected = interpretedRegularExpression.matches(value.toString());
+        assertEquals(pattern + " " + value, expected, regularExpression.matches(value.toString()));
+        assertEquals(pattern + " " + value, expected, regularExpression.matches(value.toString().toCharArray()));
+      }
+    }
+  }
+
+  /**
+   * Tests that a pattern whose automaton needs too many states still matches correctly once the states are exhausted.
+   */
+  @Test
+  public void testPatternAutomatonExhausted()
+  {
+    String pattern = "(a|b)*a(a|b){12}";
+    RegEx.RegularExpression regularExpression = new RegEx.RegularExpression(pattern, "X");
+    RegEx.RegularExpression interpretedRegularExpression = new RegEx.RegularExpression(pattern, "XH");
+    Random random = new Random(0);
+    for (int i = 0; i < 2000; ++i)
+    {
+      StringBuilder value = new StringBuilder();
+      for (int j = 13 + random.nextInt(20); j > 0; --j)
+      {
+        value.append(random.nextBoolean() ? 'a' : 'b');
+      }
+      assertEquals(pattern + " " + value, interpretedRegularExpression.matches(value.toString()), regularExpression.matches(value.toString()));
+    }
+  }
 }
@@ -22,12 +22,20 @@ import org.eclipse.emf.test.xml.xmi.MultipleDocumentRootTest;
 import org.eclipse.emf.test.xml.xmi.NamespaceTest;
 import org.eclipse.emf.test.xml.xmi.NullNamespaceTest;
 import org.eclipse.emf.test.xml.xmi.OrderTest;
+import org.eclipse.emf.test.xml.xmi.IncrementalSaveTest;
+import org.eclipse.emf.test.xml.xmi.ByteChannelSaveTest;
+import org.eclipse.emf.test.xml.xmi.ParallelSaveTest;
 import org.eclipse.emf.test.xml.xmi.QNameTest;
+import org.eclipse.emf.test.xml.xmi.StAXLoadTest;
+import org.eclipse.emf.test.xml.xmi.StreamingLoadTest;
 import org.eclipse.emf.test.xml.xmi.URIHandlerTest;
 import org.eclipse.emf.test.xml.xmi.UnloadXMIResourceTest;
 import org.eclipse.emf.test.xml.xmi.XMIExtendedMetadataTest;
 import org.eclipse.emf.test.xml.xmi.XMIResourceURIFragmentsTest;
 import org.eclipse.emf.test.xml.xsd.XSDFeatureTypeTest;
+import org.eclipse.emf.test.xml.xsd.XSDNamedComponentListTest;
+import org.eclipse.emf.test.xml.xsd.XSDSchemaCacheTest;
+import org.eclipse.emf.test.xml.xsd.XSDSchemaSetLoaderTest;
 import org.eclipse.emf.test.xml.xsdecore.Ecore2XSDTest;
 import org.eclipse.emf.test.xml.xsdecore.XSD2EcoreTest;
 import org.eclipse.emf.test.xml.xsdecore.XSDEcoreBuilderTests;
@@ -58,12 +66,20 @@ import org.junit.runners.Suite;
     NullNamespaceTest.class,
     OrderTest.class,
     QNameTest.class,
+    StAXLoadTest.class,
+    ParallelSaveTest.class,
+    IncrementalSaveTest.class,
+    ByteChannelSaveTest.class,
+    StreamingLoadTest.class,
     UnloadXMIResourceTest.class,
     URIHandlerTest.class,
     XMIExtendedMetadataTest.class,
     XMIResourceURIFragmentsTest.class,
 
     XSDFeatureTypeTest.class,
+    XSDNamedComponentListTest.class,
+    XSDSchemaSetLoaderTest.class,
+    XSDSchemaCacheTest.class,
 
     Ecore2XSDTest.class,
     XSD2EcoreTest.class,
@@ -0,0 +1,158 @@
+/**
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package org.eclipse.emf.test.xml.xmi;
+
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.eclipse.emf.test.models.library.Book;
+import org.eclipse.emf.test.models.library.Library;
+import org.eclipse.emf.test.models.library.LibraryFactory;
+import org.eclipse.emf.test.models.library.Writer;
+import org.junit.Test;
+
+
+/**
+ * XMI tests: saving with {@link XMLResource#OPTION_USE_BYTE_CHANNEL} yields exactly the same bytes as saving via a writer.
+ */
+public class ByteChannelSaveTest
+{
+  protected byte[] save(Resource resource, Map<Object, Object> options, boolean useByteChannel) throws Exception
+  {
+    Map<Object, Object> saveOptions = new HashMap<Object, Object>(options);
+    if (useByteChannel)
+    {
+      saveOptions.put(XMLResource.OPTION_USE_BYTE_CHANNEL, Boolean.TRUE);
+    }
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    resource.save(outputStream, saveOptions);
+    return outputStream.toByteArray();
+  }
+
+  protected void assertSameSave(Resource resource, Map<Object, Object> options) throws Exception
+  {
+    byte[] expected = save(resource, options, false);
+    assertArrayEquals(expected, save(resource, options, true));
+  }
+
+  protected Library createLibrary(int size)
+  {
+    LibraryFactory libraryFactory = LibraryFactory.eINSTANCE;
+    Library library = libraryFactory.createLibrary();
+    library.setName("Public \u00E9\u20AC\uD83D\uDE00");
+    for (int i = 0; i < size; ++i)
+    {
+      Writer writer = libraryFactory.createWriter();
+      writer.setName("Writer " + i + " \u00FC\u4E2D\uD834\uDD1E");
+      library.getWriters().add(writer);
+
+      Book book = libraryFactory.createBook();
+      book.setTitle("Book <" + i + "> & \"\u00DF\u0394\u3042\"");
+      book.setPages(i);
+      book.setAuthor(writer);
+      library.getBooks().add(book);
+    }
+    return library;
+  }
+
+  @Test
+  public void testEncodings() throws Exception
+  {
+    XMIResourceImpl resource = new XMIResourceImpl(URI.createURI("library.xmi"));
+    resource.getContents().add(createLibrary(2000));
+
+    Map<Object, Object> options = new HashMap<Object, Object>();
+    for (String encoding : new String [] { "UTF-8", "ISO-8859-1", "US-ASCII", "UTF-16", "Shift_JIS" })
+    {
+      resource.setEncoding(encoding);
+      assertSameSave(resource, options);
+    }
+  }
+
+  @Test
+  public void testOptions() throws Exception
+  {
+    XMIResourceImpl resource = new XMIResourceImpl(URI.createURI("library.xmi"));
+    resource.getContents().add(createLibrary(2000));
+
+    Map<Object, Object> options = new HashMap<Object, Object>();
+    options.put(XMLResource.OPTION_FLUSH_THRESHOLD, 1000);
+    assertSameSave(resource, options);
+
+    options.put(XMLResource.OPTION_CONFIGURATION_CACHE, Boolean.TRUE);
+    assertSameSave(resource, options);
+    assertSameSave(resource, options);
+
+    options.put(XMLResource.OPTION_USE_FILE_BUFFER, Boolean.TRUE);
+    assertSameSave(resource, options);
+    resource.setEncoding("ISO-8859-1");
+    assertSameSave(resource, options);
+  }
+
+  @Test
+  public void testFileOutputStream() throws Exception
+  {
+    XMIResourceImpl resource = new XMIResourceImpl(URI.createURI("library.xmi"));
+    resource.getContents().add(createLibrary(500));
+
+    Map<Object, Object> options = new HashMap<Object, Object>();
+    options.put(XMLResource.OPTION_USE_BYTE_CHANNEL, Boolean.TRUE);
+    options.put(XMLResource.OPTION_USE_FILE_BUFFER, Boolean.TRUE);
+    File file = File.createTempFile("ByteChannelSaveTest", ".xmi");
+    try
+    {
+      OutputStream outputStream = new FileOutputStream(file);
+      try
+      {
+        outputStream.write(' ');
+        resource.save(outputStream, options);
+        outputStream.write(' ');
+      }
+      finally
+      {
+        outputStream.close();
+      }
+
+      byte[] expected = save(resource, new HashMap<Object, Object>(), false);
+      byte[] actual = new byte [(int)file.length()];
+      FileInputStream inputStream = new FileInputStream(file);
+      try
+      {
+        assertEquals(actual.length, inputStream.read(actual));
+      }
+      finally
+      {
+        inputStream.close();
+      }
+      assertEquals(expected.length + 2, actual.length);
+      assertEquals(' ', actual[0]);
+      assertEquals(' ', actual[actual.length - 1]);
+      for (int i = 0; i < expected.length; ++i)
+      {
+        assertEquals(expected[i], actual[i + 1]);
+      }
+    }
+    finally
+    {
+      file.delete();
+    }
+  }
+}
@@ -0,0 +1,191 @@
+/**
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package org.eclipse.emf.test.xml.xmi;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+import org.eclipse.emf.ecore.xmi.impl.EcoreResourceFactoryImpl;
+import org.eclipse.emf.ecore.xmi.impl.IncrementalSaveAdapter;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.eclipse.emf.test.models.library.Book;
+import org.eclipse.emf.test.models.library.Library;
+import org.eclipse.emf.test.models.library.LibraryFactory;
+import org.eclipse.emf.test.models.library.Writer;
+import org.junit.Test;
+
+
+/**
+ * XMI tests: an {@link XMLResource#OPTION_INCREMENTAL_SAVE incremental save} yields exactly the same result as a complete save.
+ */
+public class IncrementalSaveTest
+{
+  protected static class TestXMIResource extends XMIResourceImpl
+  {
+    public TestXMIResource(URI uri)
+    {
+      super(uri);
+    }
+
+    public IncrementalSaveAdapter basicGetIncrementalSaveAdapter()
+    {
+      return incrementalSaveAdapter;
+    }
+  }
+
+  protected String save(Resource resource, Map<Object, Object> options, boolean incremental) throws Exception
+  {
+    Map<Object, Object> saveOptions = new HashMap<Object, Object>(options);
+    if (incremental)
+    {
+      saveOptions.put(XMLResource.OPTION_INCREMENTAL_SAVE, Boolean.TRUE);
+    }
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    resource.save(outputStream, saveOptions);
+    return new String(outputStream.toByteArray(), "UTF-8");
+  }
+
+  protected void assertSameSave(Resource resource, Map<Object, Object> options) throws Exception
+  {
+    String expected = save(resource, options, false);
+    assertEquals(expected, save(resource, options, true));
+  }
+
+  protected Library createLibrary(int size)
+  {
+    LibraryFactory libraryFactory = LibraryFactory.eINSTANCE;
+    Library library = libraryFactory.createLibrary();
+    library.setName("Public");
+    for (int i = 0; i < size; ++i)
+    {
+      Writer writer = libraryFactory.createWriter();
+      writer.setName("Writer " + i);
+      library.getWriters().add(writer);
+
+      Book book = libraryFactory.createBook();
+      book.setTitle("Book " + i);
+      book.setAuthor(writer);
+      library.getBooks().add(book);
+    }
+    return library;
+  }
+
+  @Test
+  public void testLibrary() throws Exception
+  {
+    TestXMIResource resource = new TestXMIResource(URI.createURI("library.xmi"));
+    Library library = createLibrary(100);
+    resource.getContents().add(library);
+
+    Map<Object, Object> options = new HashMap<Object, Object>();
+    options.put(XMLResource.OPTION_LINE_WIDTH, 80);
+    assertSameSave(resource, options);
+    IncrementalSaveAdapter adapter = resource.basicGetIncrementalSaveAdapter();
+    assertTrue(adapter.isValid());
+
+    library.getBooks().get(10).setTitle("A much longer title than before & <escaped>");
+    library.getBooks().get(20).setPages(200);
+    library.getWriters().get(30).getBooks().clear();
+    assertSameSave(resource, options);
+    assertTrue(adapter.isValid());
+
+    // Only the modified units are serialized again, so an unnotified change isn't saved.
+    //
+    Book book = library.getBooks().get(50);
+    book.eSetDeliver(false);
+    book.setTitle("Unnotified");
+    book.eSetDeliver(true);
+    assertFalse(save(resource, options, true).contains("Unnotified"));
+
+    // Modifying a top level object requires a complete save.
+    //
+    library.setName("Private");
+    assertSameSave(resource, options);
+    assertTrue(adapter.isValid());
+    library.getBooks().move(0, 99);
+    assertSameSave(resource, options);
+    Writer writer = library.getWriters().get(0);
+    writer.getBooks().clear();
+    library.getWriters().remove(writer);
+    assertSameSave(resource, options);
+
+    // Different options require a complete save.
+    //
+    library.getBooks().get(1).setTitle("Different");
+    options.put(XMLResource.OPTION_FORMATTED, Boolean.FALSE);
+    assertSameSave(resource, options);
+
+    resource.unload();
+    assertNull(resource.basicGetIncrementalSaveAdapter());
+  }
+
+  @Test
+  public void testReferences() throws Exception
+  {
+    // Renaming a class changes the references to it from other units.
+    //
+    ResourceSet resourceSet = new ResourceSetImpl();
+    resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("ecore", new EcoreResourceFactoryImpl());
+    Resource resource = resourceSet.createResource(URI.createURI("test.ecore"));
+    Resource otherResource = resourceSet.createResource(URI.createURI("other.ecore"));
+    EcoreFactory ecoreFactory = EcoreFactory.eINSTANCE;
+    EPackage ePackage = ecoreFactory.createEPackage();
+    ePackage.setName("test");
+    ePackage.setNsPrefix("test");
+    ePackage.setNsURI("http://www.example.org/test");
+    resource.getContents().add(ePackage);
+    EPackage otherEPackage = ecoreFactory.createEPackage();
+    otherEPackage.setName("other");
+    otherResource.getContents().add(otherEPackage);
+    EClass otherEClass = ecoreFactory.createEClass();
+    otherEClass.setName("Other");
+    otherEPackage.getEClassifiers().add(otherEClass);
+    for (int i = 0; i < 20; ++i)
+    {
+      EClass eClass = ecoreFactory.createEClass();
+      eClass.setName("Class" + i);
+      ePackage.getEClassifiers().add(eClass);
+      EReference eReference = ecoreFactory.createEReference();
+      eReference.setName("reference");
+      eReference.setEType(i % 2 == 0 ? otherEClass : ePackage.getEClassifiers().get(i / 2));
+      eClass.getEStructuralFeatures().add(eReference);
+    }
+
+    Map<Object, Object> options = new HashMap<Object, Object>();
+    assertSameSave(resource, options);
+
+    ePackage.getEClassifiers().get(3).setName("Renamed");
+    assertSameSave(resource, options);
+
+    otherEClass.setName("OtherRenamed");
+    assertSameSave(resource, options);
+
+    // A new namespace declaration requires a complete save.
+    //
+    EClass eClass = (EClass)ePackage.getEClassifiers().get(5);
+    eClass.getEAnnotations().add(ecoreFactory.createEAnnotation());
+    eClass.getEAnnotations().get(0).getContents().add(LibraryFactory.eINSTANCE.createBook());
+    assertSameSave(resource, options);
+  }
+}
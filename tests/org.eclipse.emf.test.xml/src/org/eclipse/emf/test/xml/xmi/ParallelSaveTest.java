@@ -0,0 +1,240 @@
+/**
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package org.eclipse.emf.test.xml.xmi;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+import org.eclipse.emf.ecore.xmi.impl.EcoreResourceFactoryImpl;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.eclipse.emf.test.common.TestUtil;
+import org.eclipse.emf.test.models.library.Book;
+import org.eclipse.emf.test.models.library.Library;
+import org.eclipse.emf.test.models.library.LibraryFactory;
+import org.eclipse.emf.test.models.library.Writer;
+import org.eclipse.emf.test.xml.AllSuites;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+/**
+ * XMI tests: saving with a {@link XMLResource#OPTION_SAVE_EXECUTOR save executor} yields exactly the same result as saving sequentially.
+ */
+public class ParallelSaveTest
+{
+  protected static final String BASE_DATA_URI = TestUtil.getPluginDirectory(AllSuites.PLUGIN_ID) + "/data/";
+
+  protected ExecutorService executorService;
+
+  protected AtomicInteger taskCount = new AtomicInteger();
+
+  protected Executor executor =
+    new Executor()
+    {
+      public void execute(Runnable command)
+      {
+        taskCount.incrementAndGet();
+        executorService.execute(command);
+      }
+    };
+
+  @Before
+  public void setUp()
+  {
+    executorService = Executors.newFixedThreadPool(4);
+  }
+
+  @After
+  public void tearDown()
+  {
+    executorService.shutdownNow();
+  }
+
+  protected String save(Resource resource, Map<Object, Object> options, boolean parallel) throws Exception
+  {
+    Map<Object, Object> saveOptions = new HashMap<Object, Object>(options);
+    if (parallel)
+    {
+      saveOptions.put(XMLResource.OPTION_SAVE_EXECUTOR, executor);
+    }
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    resource.save(outputStream, saveOptions);
+    return new String(outputStream.toByteArray(), "UTF-8");
+  }
+
+  protected void assertSameSave(Resource resource, Map<Object, Object> options) throws Exception
+  {
+    String expected = save(resource, options, false);
+    assertEquals(expected, save(resource, options, true));
+  }
+
+  protected Library createLibrary(int size)
+  {
+    LibraryFactory libraryFactory = LibraryFactory.eINSTANCE;
+    Library library = libraryFactory.createLibrary();
+    library.setName("Public");
+    for (int i = 0; i < size; ++i)
+    {
+      Writer writer = libraryFactory.createWriter();
+      writer.setName("Writer " + i);
+      library.getWriters().add(writer);
+
+      Book book = libraryFactory.createBook();
+      book.setTitle("Book <" + i + "> & \"more\"");
+      book.setPages(i);
+      book.setAuthor(library.getWriters().get(size - 1 - i < i ? i / 2 : i));
+      library.getBooks().add(book);
+    }
+    return library;
+  }
+
+  @Test
+  public void testLibrary() throws Exception
+  {
+    XMIResourceImpl resource = new XMIResourceImpl(URI.createURI("library.xmi"));
+    resource.getContents().add(createLibrary(500));
+
+    Map<Object, Object> options = new HashMap<Object, Object>();
+    assertSameSave(resource, options);
+    assertTrue(taskCount.get() > 0);
+
+    options.put(XMLResource.OPTION_FORMATTED, Boolean.FALSE);
+    assertSameSave(resource, options);
+
+    options.put(XMLResource.OPTION_LINE_WIDTH, 80);
+    assertSameSave(resource, options);
+
+    options.put(XMLResource.OPTION_FORMATTED, Boolean.TRUE);
+    assertSameSave(resource, options);
+
+    options.put(XMLResource.OPTION_USE_FILE_BUFFER, Boolean.TRUE);
+    options.put(XMLResource.OPTION_CONFIGURATION_CACHE, Boolean.TRUE);
+    assertSameSave(resource, options);
+  }
+
+  @Test
+  public void testMultipleRoots() throws Exception
+  {
+    XMIResourceImpl resource = new XMIResourceImpl(URI.createURI("library.xmi"));
+    resource.getContents().add(createLibrary(100));
+    resource.getContents().add(createLibrary(100));
+    assertSameSave(resource, new HashMap<Object, Object>());
+  }
+
+  @Test
+  public void testEcore() throws Exception
+  {
+    ResourceSet resourceSet = new ResourceSetImpl();
+    resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("ecore", new EcoreResourceFactoryImpl());
+    Resource resource = resourceSet.getResource(URI.createFileURI(BASE_DATA_URI + "ecore/Ecore.ecore"), true);
+    assertSameSave(resource, new HashMap<Object, Object>());
+  }
+
+  @Test
+  public void testPrefixCollisions() throws Exception
+  {
+    // Each package has the same prefix so each one saved for an xsi:type needs a new unique prefix.
+    //
+    EcoreFactory ecoreFactory = EcoreFactory.eINSTANCE;
+    List<EPackage> ePackages = new ArrayList<EPackage>();
+    List<EClass> eClasses = new ArrayList<EClass>();
+    for (int i = 0; i < 4; ++i)
+    {
+      EPackage ePackage = ecoreFactory.createEPackage();
+      ePackage.setName("p" + i);
+      ePackage.setNsPrefix("p");
+      ePackage.setNsURI("http://www.example.org/p" + i);
+      EClass eClass = ecoreFactory.createEClass();
+      eClass.setName("Item" + i);
+      if (i > 0)
+      {
+        eClass.getESuperTypes().add(eClasses.get(0));
+      }
+      else
+      {
+        EAttribute eAttribute = ecoreFactory.createEAttribute();
+        eAttribute.setName("value");
+        eAttribute.setEType(EcorePackage.Literals.EINT);
+        eClass.getEStructuralFeatures().add(eAttribute);
+      }
+      ePackage.getEClassifiers().add(eClass);
+      ePackages.add(ePackage);
+      eClasses.add(eClass);
+    }
+    EClass containerClass = ecoreFactory.createEClass();
+    containerClass.setName("Container");
+    EReference items = ecoreFactory.createEReference();
+    items.setName("items");
+    items.setEType(eClasses.get(0));
+    items.setContainment(true);
+    items.setUpperBound(-1);
+    containerClass.getEStructuralFeatures().add(items);
+    ePackages.get(0).getEClassifiers().add(containerClass);
+
+    EObject container = EcoreUtil.create(containerClass);
+    @SuppressWarnings("unchecked") List<EObject> values = (List<EObject>)container.eGet(items);
+    for (int i = 0; i < 400; ++i)
+    {
+      EClass eClass = eClasses.get(i % 97 == 0 ? 1 + (i / 97) % 3 : 0);
+      EObject item = EcoreUtil.create(eClass);
+      item.eSet(eClasses.get(0).getEStructuralFeature("value"), i);
+      values.add(item);
+    }
+
+    XMIResourceImpl resource = new XMIResourceImpl(URI.createURI("items.xmi"));
+    resource.getContents().add(container);
+    assertSameSave(resource, new HashMap<Object, Object>());
+
+    values.add(1, EcoreUtil.create(eClasses.get(3)));
+    values.add(EcoreUtil.create(eClasses.get(2)));
+    assertSameSave(resource, new HashMap<Object, Object>());
+  }
+
+  @Test
+  public void testDanglingReference() throws Exception
+  {
+    XMIResourceImpl resource = new XMIResourceImpl(URI.createURI("library.xmi"));
+    Library library = createLibrary(200);
+    resource.getContents().add(library);
+    library.getBooks().get(150).setAuthor(LibraryFactory.eINSTANCE.createWriter());
+
+    Map<Object, Object> options = new HashMap<Object, Object>();
+    options.put(XMLResource.OPTION_PROCESS_DANGLING_HREF, XMLResource.OPTION_PROCESS_DANGLING_HREF_RECORD);
+    String expected = save(resource, options, false);
+    int errors = resource.getErrors().size();
+    assertTrue(errors > 0);
+    resource.getErrors().clear();
+    assertEquals(expected, save(resource, options, true));
+    assertEquals(errors, resource.getErrors().size());
+  }
+}
@@ -0,0 +1,224 @@
+/**
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package org.eclipse.emf.test.xml.xmi;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.FeatureNotFoundException;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+import org.eclipse.emf.ecore.xmi.impl.EcoreResourceFactoryImpl;
+import org.eclipse.emf.ecore.xmi.impl.GenericXMLResourceFactoryImpl;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.eclipse.emf.ecore.xmi.impl.XMLParserPoolImpl;
+import org.eclipse.emf.test.common.TestUtil;
+import org.eclipse.emf.test.models.library.Book;
+import org.eclipse.emf.test.models.library.Library;
+import org.eclipse.emf.test.models.library.LibraryFactory;
+import org.eclipse.emf.test.models.library.Writer;
+import org.eclipse.emf.test.xml.AllSuites;
+import org.junit.Test;
+
+
+/**
+ * XMI tests: loading with the {@link XMLResource#OPTION_USE_STAX StAX parser} yields the same result as loading with the SAX parser.
+ */
+public class StAXLoadTest
+{
+  protected static final String BASE_DATA_URI = TestUtil.getPluginDirectory(AllSuites.PLUGIN_ID) + "/data/";
+
+  protected static final String MIXED_XML =
+    "<?xml version=\"1.0\" encoding=\"ASCII\"?>\n" +
+    "<?target before?>\n" +
+    "<doc xmlns:x=\"http://www.example.org/x\" x:kind=\"test\">\n" +
+    "  <!-- A comment -->\n" +
+    "  <x:item id=\"1\">Some <b>bold</b> text &amp; more<![CDATA[ <raw> ]]></x:item>\n" +
+    "  <?target inside?>\n" +
+    "  <item/>\n" +
+    "</doc>\n";
+
+  protected static final String UNKNOWN_ELEMENT_XMI =
+    "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+    "<library:Library xmi:version=\"2.0\" xmlns:xmi=\"http://www.omg.org/XMI\" xmlns:library=\"http:///org.eclipse.emf.test.models/Library\" name=\"Public\">\n" +
+    "  <unknown a=\"1\"><nested><deeper>text</deeper></nested><books title=\"Hidden\"/></unknown>\n" +
+    "  <books title=\"Visible\"/>\n" +
+    "</library:Library>\n";
+
+  protected Map<Object, Object> createOptions(boolean useStAX)
+  {
+    Map<Object, Object> options = new HashMap<Object, Object>();
+    if (useStAX)
+    {
+      options.put(XMLResource.OPTION_USE_STAX, Boolean.TRUE);
+    }
+    return options;
+  }
+
+  protected Resource load(Resource resource, byte[] bytes, Map<Object, Object> options) throws IOException
+  {
+    resource.load(new ByteArrayInputStream(bytes), options);
+    return resource;
+  }
+
+  protected String save(Resource resource) throws IOException
+  {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    resource.save(outputStream, null);
+    return new String(outputStream.toByteArray(), "UTF-8");
+  }
+
+  @Test
+  public void testEcore() throws Exception
+  {
+    EcoreResourceFactoryImpl resourceFactory = new EcoreResourceFactoryImpl();
+    URI uri = URI.createFileURI(BASE_DATA_URI + "ecore/Ecore.ecore");
+    Resource saxResource = resourceFactory.createResource(uri);
+    saxResource.load(createOptions(false));
+    Resource staxResource = resourceFactory.createResource(uri);
+    staxResource.load(createOptions(true));
+
+    assertTrue(EcoreUtil.equals(saxResource.getContents(), staxResource.getContents()));
+    assertEquals(((XMLResource)saxResource).getEncoding(), ((XMLResource)staxResource).getEncoding());
+    assertEquals(((XMLResource)saxResource).getXMLVersion(), ((XMLResource)staxResource).getXMLVersion());
+  }
+
+  @Test
+  public void testLibrary() throws Exception
+  {
+    LibraryFactory libraryFactory = LibraryFactory.eINSTANCE;
+    Library library = libraryFactory.createLibrary();
+    library.setName("Public");
+    for (int i = 0; i < 3; ++i)
+    {
+      Writer writer = libraryFactory.createWriter();
+      writer.setName("Writer " + i);
+      library.getWriters().add(writer);
+
+      Book book = libraryFactory.createBook();
+      book.setTitle("Book <" + i + "> & \"more\"");
+      book.setAuthor(writer);
+      library.getBooks().add(book);
+    }
+    XMIResourceImpl resource = new XMIResourceImpl(URI.createURI("library.xmi"));
+    resource.getContents().add(library);
+    byte[] bytes = save(resource).getBytes("UTF-8");
+
+    Map<Object, Object> options = createOptions(true);
+    Resource staxResource = load(new XMIResourceImpl(URI.createURI("library.xmi")), bytes, options);
+    assertTrue(EcoreUtil.equals(resource.getContents(), staxResource.getContents()));
+    Library loadedLibrary = (Library)staxResource.getContents().get(0);
+    assertEquals(loadedLibrary.getWriters().get(2), loadedLibrary.getBooks().get(2).getAuthor());
+
+    // The handlers from the pool must be reusable.
+    //
+    options.put(XMLResource.OPTION_USE_PARSER_POOL, new XMLParserPoolImpl());
+    for (int i = 0; i < 2; ++i)
+    {
+      staxResource = load(new XMIResourceImpl(URI.createURI("library.xmi")), bytes, options);
+      assertTrue(EcoreUtil.equals(resource.getContents(), staxResource.getContents()));
+    }
+  }
+
+  @Test
+  public void testMixedContent() throws Exception
+  {
+    byte[] bytes = MIXED_XML.getBytes("ASCII");
+    GenericXMLResourceFactoryImpl resourceFactory = new GenericXMLResourceFactoryImpl();
+    Map<Object, Object> saxOptions = createOptions(false);
+    saxOptions.put(XMLResource.OPTION_USE_LEXICAL_HANDLER, Boolean.TRUE);
+    Resource saxResource = load(resourceFactory.createResource(URI.createURI("mixed.xml")), bytes, saxOptions);
+    Map<Object, Object> staxOptions = createOptions(true);
+    staxOptions.put(XMLResource.OPTION_USE_LEXICAL_HANDLER, Boolean.TRUE);
+    Resource staxResource = load(resourceFactory.createResource(URI.createURI("mixed.xml")), bytes, staxOptions);
+
+    assertTrue(EcoreUtil.equals(saxResource.getContents(), staxResource.getContents()));
+    assertEquals(save(saxResource), save(staxResource));
+    assertEquals("ASCII", ((XMLResource)staxResource).getEncoding());
+  }
+
+  @Test
+  public void testDTD() throws Exception
+  {
+    ResourceSet resourceSet = new ResourceSetImpl();
+    resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put(Resource.Factory.Registry.DEFAULT_EXTENSION, new GenericXMLResourceFactoryImpl());
+    resourceSet.getLoadOptions().put(XMLResource.OPTION_USE_STAX, Boolean.TRUE);
+    resourceSet.getLoadOptions().put(XMLResource.OPTION_USE_LEXICAL_HANDLER, Boolean.TRUE);
+    XMLResource resource = (XMLResource)resourceSet.getResource(URI.createFileURI(BASE_DATA_URI + "dtd/library.xml"), true);
+    assertEquals("library.dtd", resource.getSystemId());
+    assertEquals(null, resource.getPublicId());
+  }
+
+  @Test
+  public void testUnknownElement() throws Exception
+  {
+    byte[] bytes = UNKNOWN_ELEMENT_XMI.getBytes("UTF-8");
+    Resource saxResource = new XMIResourceImpl(URI.createURI("library.xmi"));
+    Resource staxResource = new XMIResourceImpl(URI.createURI("library.xmi"));
+    for (Resource resource : new Resource[] { saxResource, staxResource })
+    {
+      try
+      {
+        load(resource, bytes, createOptions(resource == staxResource));
+        fail("The unknown element should be reported");
+      }
+      catch (IOException exception)
+      {
+        assertTrue(resource.getErrors().get(0) instanceof FeatureNotFoundException);
+      }
+    }
+    assertEquals(saxResource.getErrors().size(), staxResource.getErrors().size());
+    assertTrue(EcoreUtil.equals(saxResource.getContents(), staxResource.getContents()));
+    Library library = (Library)staxResource.getContents().get(0);
+    assertEquals(1, library.getBooks().size());
+    assertEquals("Visible", library.getBooks().get(0).getTitle());
+
+    // When unknown features are recorded, the content of the unknown element isn't skipped.
+    //
+    saxResource = new XMIResourceImpl(URI.createURI("library.xmi"));
+    staxResource = new XMIResourceImpl(URI.createURI("library.xmi"));
+    for (XMLResource resource : new XMLResource[] { (XMLResource)saxResource, (XMLResource)staxResource })
+    {
+      Map<Object, Object> options = createOptions(resource == staxResource);
+      options.put(XMLResource.OPTION_RECORD_UNKNOWN_FEATURE, Boolean.TRUE);
+      load(resource, bytes, options);
+      assertTrue(resource.getErrors().isEmpty());
+      assertEquals(1, resource.getEObjectToExtensionMap().size());
+    }
+    assertEquals(save(saxResource), save(staxResource));
+  }
+
+  @Test
+  public void testMalformed() throws Exception
+  {
+    byte[] bytes = UNKNOWN_ELEMENT_XMI.substring(0, UNKNOWN_ELEMENT_XMI.indexOf("<books title=\"Visible\"")).getBytes("UTF-8");
+    Resource resource = new XMIResourceImpl(URI.createURI("library.xmi"));
+    try
+    {
+      load(resource, bytes, createOptions(true));
+      fail("The malformed document should be reported");
+    }
+    catch (IOException exception)
+    {
+      assertFalse(resource.getErrors().isEmpty());
+    }
+  }
+}
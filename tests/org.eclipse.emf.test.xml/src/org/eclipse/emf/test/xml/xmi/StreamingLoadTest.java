@@ -0,0 +1,328 @@
+/**
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package org.eclipse.emf.test.xml.xmi;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.eclipse.emf.test.models.library.Book;
+import org.eclipse.emf.test.models.library.Library;
+import org.eclipse.emf.test.models.library.LibraryFactory;
+import org.eclipse.emf.test.models.library.Writer;
+import org.junit.Before;
+import org.junit.Test;
+
+
+/**
+ * XMI tests: loading with a {@link XMLResource#OPTION_STREAMING_HANDLER streaming handler}.
+ */
+public class StreamingLoadTest
+{
+  protected static final URI LIBRARY_URI = URI.createURI("library.xmi");
+
+  protected byte[] bytes;
+
+  protected List<String> writerIDs;
+
+  @Before
+  public void setUp() throws Exception
+  {
+    LibraryFactory libraryFactory = LibraryFactory.eINSTANCE;
+    Library library = libraryFactory.createLibrary();
+    library.setName("Public");
+    for (int i = 0; i < 3; ++i)
+    {
+      Writer writer = libraryFactory.createWriter();
+      writer.setName("Writer " + i);
+      library.getWriters().add(writer);
+
+      Book book = libraryFactory.createBook();
+      book.setTitle("Book " + i);
+      book.setAuthor(writer);
+      library.getBooks().add(book);
+    }
+
+    XMIResourceImpl resource = createResource();
+    resource.getContents().add(library);
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    resource.save(outputStream, null);
+    bytes = outputStream.toByteArray();
+
+    writerIDs = new ArrayList<String>();
+    for (Writer writer : library.getWriters())
+    {
+      writerIDs.add(resource.getID(writer));
+    }
+  }
+
+  protected XMIResourceImpl createResource()
+  {
+    return
+      new XMIResourceImpl(LIBRARY_URI)
+      {
+        @Override
+        protected boolean useUUIDs()
+        {
+          return true;
+        }
+      };
+  }
+
+  protected List<EObject> load(XMIResourceImpl resource, Integer depth, boolean deferIDREFResolution) throws Exception
+  {
+    final List<EObject> released = new ArrayList<EObject>();
+    Map<Object, Object> options = new HashMap<Object, Object>();
+    options.put
+      (XMLResource.OPTION_STREAMING_HANDLER,
+       new XMLResource.StreamingHandler()
+       {
+         public void handle(XMLResource resource, EObject eObject)
+         {
+           assertSame(resource, eObject.eResource());
+           released.add(eObject);
+         }
+       });
+    if (depth != null)
+    {
+      options.put(XMLResource.OPTION_STREAMING_DEPTH, depth);
+    }
+    if (deferIDREFResolution)
+    {
+      options.put(XMLResource.OPTION_DEFER_IDREF_RESOLUTION, Boolean.TRUE);
+    }
+    resource.load(new ByteArrayInputStream(bytes), options);
+    assertTrue(resource.getErrors().isEmpty());
+    return released;
+  }
+
+  @Test
+  public void testStreamChildren() throws Exception
+  {
+    streamChildren(false);
+  }
+
+  @Test
+  public void testStreamChildrenDeferredIDREFResolution() throws Exception
+  {
+    streamChildren(true);
+  }
+
+  protected void streamChildren(boolean deferIDREFResolution) throws Exception
+  {
+    XMIResourceImpl resource = createResource();
+    List<EObject> released = load(resource, null, deferIDREFResolution);
+
+    assertEquals(1, resource.getContents().size());
+    Library library = (Library)resource.getContents().get(0);
+    assertEquals("Public", library.getName());
+    assertTrue(library.getWriters().isEmpty());
+    assertTrue(library.getBooks().isEmpty());
+    assertEquals(1, resource.getEObjectToIDMap().size());
+
+    assertEquals(6, released.size());
+    for (int i = 0; i < 3; ++i)
+    {
+      Writer writer = (Writer)released.get(i);
+      assertEquals("Writer " + i, writer.getName());
+      assertNull(writer.eResource());
+      assertNull(writer.eContainer());
+
+      Book book = (Book)released.get(i + 3);
+      assertEquals("Book " + i, book.getTitle());
+      assertNull(book.eResource());
+
+      Writer author = book.getAuthor();
+      assertTrue(author.eIsProxy());
+      assertEquals(LIBRARY_URI.appendFragment(writerIDs.get(i)), ((InternalEObject)author).eProxyURI());
+
+      assertEquals(1, writer.getBooks().size());
+      Book authoredBook = writer.getBooks().get(0);
+      assertTrue(authoredBook.eIsProxy());
+    }
+  }
+
+  @Test
+  public void testStreamRoots() throws Exception
+  {
+    XMIResourceImpl resource = createResource();
+    List<EObject> released = load(resource, 0, false);
+
+    assertTrue(resource.getContents().isEmpty());
+    assertEquals(1, released.size());
+    Library library = (Library)released.get(0);
+    assertEquals(3, library.getWriters().size());
+    assertEquals(3, library.getBooks().size());
+    assertSame(library.getWriters().get(1), library.getBooks().get(1).getAuthor());
+  }
+
+  protected EReference createReference(EClass eClass, String name, EClass type, boolean isMany, boolean isContainment)
+  {
+    EReference eReference = EcoreFactory.eINSTANCE.createEReference();
+    eReference.setName(name);
+    eReference.setEType(type);
+    eReference.setUpperBound(isMany ? -1 : 1);
+    eReference.setContainment(isContainment);
+    eClass.getEStructuralFeatures().add(eReference);
+    return eReference;
+  }
+
+  @SuppressWarnings("unchecked")
+  protected List<EObject> getList(EObject eObject, EReference eReference)
+  {
+    return (List<EObject>)eObject.eGet(eReference);
+  }
+
+  @Test
+  public void testStreamChildrenWithoutIDs() throws Exception
+  {
+    // A model without IDs, so references are serialized as fragment paths.
+    //
+    EcoreFactory ecoreFactory = EcoreFactory.eINSTANCE;
+    EPackage ePackage = ecoreFactory.createEPackage();
+    ePackage.setName("items");
+    ePackage.setNsPrefix("items");
+    ePackage.setNsURI("http://www.example.org/items");
+    EClass containerClass = ecoreFactory.createEClass();
+    containerClass.setName("Container");
+    ePackage.getEClassifiers().add(containerClass);
+    EClass itemClass = ecoreFactory.createEClass();
+    itemClass.setName("Item");
+    ePackage.getEClassifiers().add(itemClass);
+    EClass specialItemClass = ecoreFactory.createEClass();
+    specialItemClass.setName("SpecialItem");
+    specialItemClass.getESuperTypes().add(itemClass);
+    ePackage.getEClassifiers().add(specialItemClass);
+    EReference selected = createReference(containerClass, "selected", itemClass, true, false);
+    EReference items = createReference(containerClass, "items", itemClass, true, true);
+    EReference children = createReference(itemClass, "children", itemClass, true, true);
+    EReference next = createReference(itemClass, "next", itemClass, false, false);
+    EReference previous = createReference(itemClass, "previous", itemClass, true, false);
+
+    // Each item references the next sibling, except the last one, which references the first, and the previous sibling.
+    // The container references some of them, and a child of one of them, before they're read.
+    //
+    EObject container = EcoreUtil.create(containerClass);
+    for (int i = 0; i < 6; ++i)
+    {
+      EObject item = EcoreUtil.create(i % 3 == 1 ? specialItemClass : itemClass);
+      getList(container, items).add(item);
+      getList(item, children).add(EcoreUtil.create(specialItemClass));
+    }
+    List<EObject> itemList = getList(container, items);
+    for (int i = 0; i < 6; ++i)
+    {
+      EObject item = itemList.get(i);
+      item.eSet(next, itemList.get((i + 1) % 6));
+      if (i > 0)
+      {
+        getList(item, previous).add(itemList.get(i - 1));
+      }
+    }
+    getList(container, selected).add(itemList.get(4));
+    getList(container, selected).add(itemList.get(2));
+    getList(container, selected).add(getList(itemList.get(3), children).get(0));
+
+    ResourceSet resourceSet = new ResourceSetImpl();
+    resourceSet.getPackageRegistry().put(ePackage.getNsURI(), ePackage);
+    XMIResourceImpl resource = new XMIResourceImpl(LIBRARY_URI);
+    resourceSet.getResources().add(resource);
+    resource.getContents().add(container);
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    resource.save(outputStream, null);
+    assertTrue(outputStream.toString("UTF-8").contains("//@items.5"));
+
+    final List<EObject> released = new ArrayList<EObject>();
+    Map<Object, Object> options = new HashMap<Object, Object>();
+    options.put
+      (XMLResource.OPTION_STREAMING_HANDLER,
+       new XMLResource.StreamingHandler()
+       {
+         public void handle(XMLResource resource, EObject eObject)
+         {
+           released.add(eObject);
+         }
+       });
+    resource.unload();
+    resource.load(new ByteArrayInputStream(outputStream.toByteArray()), options);
+    assertTrue(resource.getErrors().isEmpty());
+
+    // Each proxy denotes its object in the complete document.
+    //
+    assertEquals(6, released.size());
+    Set<URI> nextURIs = new HashSet<URI>();
+    for (int i = 0; i < 6; ++i)
+    {
+      EObject item = released.get(i);
+      assertEquals(i % 3 == 1 ? specialItemClass : itemClass, item.eClass());
+      assertEquals(1, getList(item, children).size());
+      assertFalse(getList(item, children).get(0).eIsProxy());
+
+      InternalEObject nextItem = (InternalEObject)item.eGet(next, false);
+      assertTrue(nextItem.eIsProxy());
+      assertEquals(LIBRARY_URI.appendFragment("//@items." + (i + 1) % 6), nextItem.eProxyURI());
+      nextURIs.add(nextItem.eProxyURI());
+
+      List<EObject> previousItems = getList(item, previous);
+      if (i > 0)
+      {
+        assertEquals(1, previousItems.size());
+        assertEquals(LIBRARY_URI.appendFragment("//@items." + (i - 1)), ((InternalEObject)previousItems.get(0)).eProxyURI());
+      }
+      else
+      {
+        assertTrue(previousItems.isEmpty());
+      }
+    }
+    assertEquals(6, nextURIs.size());
+
+    // The references held by the retained container are proxies of the classes of the released objects.
+    //
+    EObject loadedContainer = resource.getContents().get(0);
+    assertTrue(getList(loadedContainer, items).isEmpty());
+    List<EObject> selectedItems = getList(loadedContainer, selected);
+    assertEquals(3, selectedItems.size());
+    assertEquals(LIBRARY_URI.appendFragment("//@items.4"), ((InternalEObject)selectedItems.get(0)).eProxyURI());
+    assertEquals(specialItemClass, selectedItems.get(0).eClass());
+    assertEquals(LIBRARY_URI.appendFragment("//@items.2"), ((InternalEObject)selectedItems.get(1)).eProxyURI());
+    assertEquals(itemClass, selectedItems.get(1).eClass());
+    assertEquals(LIBRARY_URI.appendFragment("//@items.3/@children.0"), ((InternalEObject)selectedItems.get(2)).eProxyURI());
+    assertEquals(specialItemClass, selectedItems.get(2).eClass());
+
+    // The proxies resolve against the complete document.
+    //
+    XMIResourceImpl completeResource = new XMIResourceImpl(LIBRARY_URI);
+    resourceSet.getResources().add(completeResource);
+    completeResource.load(new ByteArrayInputStream(outputStream.toByteArray()), null);
+    assertEquals(specialItemClass, completeResource.getEObject("//@items.3/@children.0").eClass());
+  }
+}
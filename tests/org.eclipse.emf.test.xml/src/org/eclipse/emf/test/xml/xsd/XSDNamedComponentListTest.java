@@ -0,0 +1,151 @@
+/**
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package org.eclipse.emf.test.xml.xsd;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.xsd.XSDFactory;
+import org.eclipse.xsd.XSDSchema;
+import org.eclipse.xsd.XSDSimpleTypeDefinition;
+import org.eclipse.xsd.XSDTypeDefinition;
+import org.eclipse.xsd.util.XSDConstants;
+import org.junit.Before;
+import org.junit.Test;
+
+
+/**
+ * Tests that the hashed lookup of named components stays consistent with the sorted component lists.
+ */
+public class XSDNamedComponentListTest
+{
+  protected static final String NAMESPACE = "http://www.example.org/names";
+
+  protected XSDSchema schema;
+
+  protected XSDSimpleTypeDefinition stringType;
+
+  protected List<XSDSimpleTypeDefinition> types = new ArrayList<XSDSimpleTypeDefinition>();
+
+  @Before
+  public void setUp()
+  {
+    schema = XSDFactory.eINSTANCE.createXSDSchema();
+    schema.setTargetNamespace(NAMESPACE);
+    schema.setSchemaForSchemaQNamePrefix("xsd");
+    schema.getQNamePrefixToNamespaceMap().put("xsd", XSDConstants.SCHEMA_FOR_SCHEMA_URI_2001);
+    stringType = schema.getSchemaForSchema().resolveSimpleTypeDefinition("string");
+    for (int i = 0; i < 100; ++i)
+    {
+      types.add(createType("type" + i));
+    }
+  }
+
+  protected XSDSimpleTypeDefinition createType(String name)
+  {
+    XSDSimpleTypeDefinition type = XSDFactory.eINSTANCE.createXSDSimpleTypeDefinition();
+    type.setName(name);
+    type.setBaseTypeDefinition(stringType);
+    schema.getContents().add(type);
+    return type;
+  }
+
+  protected XSDTypeDefinition find(String name)
+  {
+    for (XSDTypeDefinition type : schema.getTypeDefinitions())
+    {
+      if (name.equals(type.getName()))
+      {
+        return type;
+      }
+    }
+    return null;
+  }
+
+  protected void assertResolved(String name)
+  {
+    XSDTypeDefinition expected = find(name);
+    XSDTypeDefinition type = schema.resolveTypeDefinition(NAMESPACE, name);
+    if (expected == null)
+    {
+      // An unresolved type is created on demand, but it isn't contained by the schema.
+      //
+      assertNotNull(type);
+      assertEquals(null, type.getContainer());
+    }
+    else
+    {
+      // Any one of duplicates may be resolved.
+      //
+      assertEquals(name, type.getName());
+      assertTrue(schema.getTypeDefinitions().contains(type));
+    }
+  }
+
+  @Test
+  public void testResolve()
+  {
+    assertEquals(100, schema.getTypeDefinitions().size());
+    for (int i = 0; i < 100; ++i)
+    {
+      assertSame(types.get(i), schema.resolveTypeDefinition(NAMESPACE, "type" + i));
+    }
+    assertResolved("type100");
+    assertSame(stringType, schema.resolveTypeDefinition(XSDConstants.SCHEMA_FOR_SCHEMA_URI_2001, "string"));
+  }
+
+  @Test
+  public void testRename()
+  {
+    types.get(10).setName("renamed");
+    assertResolved("type10");
+    assertResolved("renamed");
+
+    types.get(11).setName("type12");
+    assertResolved("type11");
+    assertResolved("type12");
+
+    // Removing one of the duplicates leaves the other one resolvable.
+    //
+    schema.getContents().remove(types.get(12));
+    assertResolved("type12");
+    assertSame(types.get(11), schema.resolveTypeDefinition(NAMESPACE, "type12"));
+
+    schema.getContents().remove(types.get(11));
+    assertResolved("type12");
+
+    types.get(20).setName("type10");
+    assertResolved("type10");
+    assertResolved("type20");
+  }
+
+  @Test
+  public void testRemove()
+  {
+    for (int i = 0; i < 100; i += 3)
+    {
+      schema.getContents().remove(types.get(i));
+    }
+    for (int i = 0; i < 100; ++i)
+    {
+      assertResolved("type" + i);
+    }
+
+    createType("type0");
+    assertResolved("type0");
+
+    schema.getContents().clear();
+    assertEquals(0, schema.getTypeDefinitions().size());
+    assertResolved("type1");
+  }
+}
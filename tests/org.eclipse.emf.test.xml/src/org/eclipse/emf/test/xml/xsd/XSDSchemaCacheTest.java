@@ -0,0 +1,283 @@
+/**
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package org.eclipse.emf.test.xml.xsd;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.xsd.XSDSchema;
+import org.eclipse.xsd.util.DefaultJAXPConfiguration;
+import org.eclipse.xsd.util.XSDResourceFactoryImpl;
+import org.eclipse.xsd.util.XSDResourceImpl;
+import org.eclipse.xsd.util.XSDSchemaCache;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+/**
+ * Tests that schemas restored from an {@link XSDSchemaCache} are the same as those parsed.
+ */
+public class XSDSchemaCacheTest
+{
+  protected static final String SCHEMA =
+    "<?xml version='1.0' encoding='UTF-8'?>\n" +
+    "<!-- A schema. -->\n" +
+    "<xsd:schema xmlns:xsd='http://www.w3.org/2001/XMLSchema' xmlns:t='http://www.example.org/t' xmlns:x='http://www.example.org/x'" +
+    " targetNamespace='http://www.example.org/t' x:extra='value'>\n" +
+    "  <xsd:annotation><xsd:documentation>Some <b>mixed</b> &amp; <![CDATA[<escaped>]]> documentation.</xsd:documentation></xsd:annotation>\n" +
+    "  <?target data?>\n" +
+    "  <xsd:simpleType name='S'><xsd:restriction base='xsd:string'><xsd:maxLength value='MAX'/></xsd:restriction></xsd:simpleType>\n" +
+    "  <xsd:element name='e' type='t:S'/>\n" +
+    "</xsd:schema>\n";
+
+  protected File directory;
+
+  protected File cacheDirectory;
+
+  protected XSDSchemaCache xsdSchemaCache;
+
+  @Before
+  public void setUp() throws IOException
+  {
+    directory = File.createTempFile("schemas", "");
+    directory.delete();
+    directory.mkdirs();
+    cacheDirectory = new File(directory, "cache");
+    xsdSchemaCache = new XSDSchemaCache(cacheDirectory);
+    write(SCHEMA.replace("MAX", "10"));
+  }
+
+  @After
+  public void tearDown()
+  {
+    delete(directory);
+  }
+
+  protected void delete(File file)
+  {
+    File[] children = file.listFiles();
+    if (children != null)
+    {
+      for (File child : children)
+      {
+        delete(child);
+      }
+    }
+    file.delete();
+  }
+
+  protected void write(String contents) throws IOException
+  {
+    Writer writer = new OutputStreamWriter(new FileOutputStream(new File(directory, "s.xsd")), "UTF-8");
+    try
+    {
+      writer.write(contents);
+    }
+    finally
+    {
+      writer.close();
+    }
+  }
+
+  protected XSDSchema load(boolean useCache)
+  {
+    return load(useCache, null);
+  }
+
+  protected XSDSchema load(boolean useCache, Object jaxpConfiguration)
+  {
+    ResourceSet resourceSet = new ResourceSetImpl();
+    resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("xsd", new XSDResourceFactoryImpl());
+    if (useCache)
+    {
+      resourceSet.getLoadOptions().put(XSDResourceImpl.XSD_SCHEMA_CACHE, xsdSchemaCache);
+    }
+    if (jaxpConfiguration != null)
+    {
+      resourceSet.getLoadOptions().put(XSDResourceImpl.XSD_JAXP_CONFIG, jaxpConfiguration);
+    }
+    URI uri = URI.createFileURI(new File(directory, "s.xsd").getAbsolutePath());
+    return ((XSDResourceImpl)resourceSet.getResource(uri, true)).getSchema();
+  }
+
+  protected void assertSameSchema(XSDSchema expected, XSDSchema actual)
+  {
+    assertTrue(expected.getDocument().isEqualNode(actual.getDocument()));
+    assertEquals(expected.getElementDeclarations().size(), actual.getElementDeclarations().size());
+    assertEquals
+      (expected.resolveElementDeclaration("e").getTypeDefinition().getURI(),
+       actual.resolveElementDeclaration("e").getTypeDefinition().getURI());
+    assertEquals(expected.getAnnotations().get(0).getUserInformation().size(), actual.getAnnotations().get(0).getUserInformation().size());
+    assertEquals(expected.getElement().getAttribute("x:extra"), actual.getElement().getAttribute("x:extra"));
+    assertEquals(expected.getQNamePrefixToNamespaceMap(), actual.getQNamePrefixToNamespaceMap());
+    expected.validate();
+    actual.validate();
+    assertEquals(expected.getAllDiagnostics().size(), actual.getAllDiagnostics().size());
+  }
+
+  @Test
+  public void testRestore() throws IOException
+  {
+    XSDSchema expected = load(false);
+
+    XSDSchema parsed = load(true);
+    assertEquals(0, xsdSchemaCache.getHitCount());
+    assertEquals(1, xsdSchemaCache.getMissCount());
+    assertEquals(1, cacheDirectory.listFiles().length);
+    assertSameSchema(expected, parsed);
+
+    XSDSchema restored = load(true);
+    assertEquals(1, xsdSchemaCache.getHitCount());
+    assertEquals(1, xsdSchemaCache.getMissCount());
+    assertSameSchema(expected, restored);
+    assertEquals("10", restored.resolveSimpleTypeDefinition("S").getFacetContents().get(0).getLexicalValue());
+
+    // A new cache instance for the same directory restores too.
+    //
+    xsdSchemaCache = new XSDSchemaCache(cacheDirectory);
+    assertSameSchema(expected, load(true));
+    assertEquals(1, xsdSchemaCache.getHitCount());
+  }
+
+  @Test
+  public void testChange() throws IOException
+  {
+    load(true);
+    write(SCHEMA.replace("MAX", "20"));
+    XSDSchema changed = load(true);
+    assertEquals(0, xsdSchemaCache.getHitCount());
+    assertEquals(2, xsdSchemaCache.getMissCount());
+    assertEquals(1, cacheDirectory.listFiles().length);
+    assertEquals("20", changed.resolveSimpleTypeDefinition("S").getFacetContents().get(0).getLexicalValue());
+
+    XSDSchema restored = load(true);
+    assertEquals(1, xsdSchemaCache.getHitCount());
+    assertEquals("20", restored.resolveSimpleTypeDefinition("S").getFacetContents().get(0).getLexicalValue());
+  }
+
+  @Test
+  public void testInvalid() throws IOException
+  {
+    // A document with errors is never cached.
+    //
+    write(SCHEMA.replace("</xsd:schema>", ""));
+    for (int i = 0; i < 2; ++i)
+    {
+      try
+      {
+        load(true);
+        fail("The document should not load");
+      }
+      catch (RuntimeException exception)
+      {
+        // The document isn't well formed.
+      }
+    }
+    assertEquals(0, xsdSchemaCache.getHitCount());
+    assertEquals(2, xsdSchemaCache.getMissCount());
+    assertFalse(cacheDirectory.exists());
+  }
+
+  @Test
+  public void testUnwritable() throws IOException
+  {
+    // A cache directory that can't be created doesn't prevent loading.
+    //
+    new FileOutputStream(cacheDirectory).close();
+    XSDSchema expected = load(false);
+    assertSameSchema(expected, load(true));
+    assertSameSchema(expected, load(true));
+    assertEquals(0, xsdSchemaCache.getHitCount());
+    assertEquals(2, xsdSchemaCache.getMissCount());
+    assertTrue(cacheDirectory.isFile());
+  }
+
+  @Test
+  public void testConfiguration() throws IOException
+  {
+    load(true);
+    load(true, new DefaultJAXPConfiguration()
+      {
+      });
+    assertEquals(0, xsdSchemaCache.getHitCount());
+    assertEquals(2, xsdSchemaCache.getMissCount());
+    assertEquals(2, cacheDirectory.listFiles().length);
+
+    load(true);
+    assertEquals(1, xsdSchemaCache.getHitCount());
+  }
+
+  @Test
+  public void testDamaged() throws IOException
+  {
+    XSDSchema expected = load(false);
+    load(true);
+    File file = cacheDirectory.listFiles()[0];
+
+    // Keep the header, which matches, but follow it with a reference to a string that doesn't exist.
+    //
+    DataInputStream in = new DataInputStream(new InflaterInputStream(new FileInputStream(file)));
+    ByteArrayOutputStream header = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(header);
+    try
+    {
+      out.writeInt(in.readInt());
+      out.writeInt(in.readInt());
+      out.writeInt(in.readInt());
+      byte[] key = new byte [in.readInt()];
+      in.readFully(key);
+      out.writeInt(key.length);
+      out.write(key);
+      byte[] digest = new byte [in.readInt()];
+      in.readFully(digest);
+      out.writeInt(digest.length);
+      out.write(digest);
+      out.writeInt(1000);
+    }
+    finally
+    {
+      in.close();
+    }
+    DeflaterOutputStream deflaterOutputStream = new DeflaterOutputStream(new FileOutputStream(file));
+    try
+    {
+      deflaterOutputStream.write(header.toByteArray());
+    }
+    finally
+    {
+      deflaterOutputStream.close();
+    }
+
+    assertSameSchema(expected, load(true));
+    assertEquals(0, xsdSchemaCache.getHitCount());
+    assertEquals(2, xsdSchemaCache.getMissCount());
+
+    // The damaged entry is replaced.
+    //
+    assertSameSchema(expected, load(true));
+    assertEquals(1, xsdSchemaCache.getHitCount());
+  }
+}
@@ -0,0 +1,231 @@
+/**
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package org.eclipse.emf.test.xml.xsd;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.xsd.XSDDiagnostic;
+import org.eclipse.xsd.XSDElementDeclaration;
+import org.eclipse.xsd.XSDSchema;
+import org.eclipse.xsd.XSDTypeDefinition;
+import org.eclipse.xsd.util.XSDResourceFactoryImpl;
+import org.eclipse.xsd.util.XSDSchemaSetLoader;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+/**
+ * Tests that an {@link XSDSchemaSetLoader} yields the same schemas as loading them on demand.
+ */
+public class XSDSchemaSetLoaderTest
+{
+  protected static final int COUNT = 12;
+
+  protected File directory;
+
+  @Before
+  public void setUp() throws IOException
+  {
+    directory = File.createTempFile("schemas", "");
+    directory.delete();
+    directory.mkdirs();
+
+    // Each schema imports the next two, so there are shared dependencies,
+    // the last one imports the first one, so there is a cycle,
+    // and each one includes a schema with the same namespace.
+    //
+    for (int i = 0; i < COUNT; ++i)
+    {
+      StringBuilder imports = new StringBuilder();
+      StringBuilder elements = new StringBuilder();
+      int[] dependencies = i == COUNT - 1 ? new int [] { 0 } : i == COUNT - 2 ? new int [] { i + 1 } : new int [] { i + 1, i + 2 };
+      for (int dependency : dependencies)
+      {
+        imports.append("  <xsd:import namespace='http://www.example.org/n" + dependency + "' schemaLocation='s" + dependency + ".xsd'/>\n");
+        elements.append("  <xsd:element name='e" + dependency + "' type='n" + dependency + ":T'/>\n");
+      }
+      StringBuilder namespaces = new StringBuilder();
+      for (int dependency : dependencies)
+      {
+        namespaces.append(" xmlns:n" + dependency + "='http://www.example.org/n" + dependency + "'");
+      }
+      write
+        ("s" + i + ".xsd",
+         "<xsd:schema xmlns:xsd='http://www.w3.org/2001/XMLSchema' targetNamespace='http://www.example.org/n" + i + "'" +
+           " xmlns:n" + i + "='http://www.example.org/n" + i + "'" + (dependencies[0] == i ? "" : namespaces) + ">\n" +
+           "  <xsd:include schemaLocation='p" + i + ".xsd'/>\n" +
+           imports +
+           "  <xsd:complexType name='T'><xsd:sequence><xsd:element name='p' type='n" + i + ":P'/></xsd:sequence></xsd:complexType>\n" +
+           elements +
+           "  <xsd:element name='undefined' type='n" + i + ":Undefined'/>\n" +
+           "</xsd:schema>\n");
+      write
+        ("p" + i + ".xsd",
+         "<xsd:schema xmlns:xsd='http://www.w3.org/2001/XMLSchema' targetNamespace='http://www.example.org/n" + i + "'>\n" +
+           "  <xsd:simpleType name='P'><xsd:restriction base='xsd:string'><xsd:maxLength value='" + (i + 1) + "'/></xsd:restriction></xsd:simpleType>\n" +
+           "</xsd:schema>\n");
+    }
+  }
+
+  @After
+  public void tearDown()
+  {
+    for (File file : directory.listFiles())
+    {
+      file.delete();
+    }
+    directory.delete();
+  }
+
+  protected void write(String name, String contents) throws IOException
+  {
+    Writer writer = new OutputStreamWriter(new FileOutputStream(new File(directory, name)), "UTF-8");
+    try
+    {
+      writer.write(contents);
+    }
+    finally
+    {
+      writer.close();
+    }
+  }
+
+  protected ResourceSet createResourceSet()
+  {
+    ResourceSet resourceSet = new ResourceSetImpl();
+    resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("xsd", new XSDResourceFactoryImpl());
+    return resourceSet;
+  }
+
+  protected URI getURI(String name)
+  {
+    return URI.createFileURI(new File(directory, name).getAbsolutePath());
+  }
+
+  protected List<String> describe(ResourceSet resourceSet)
+  {
+    List<String> result = new ArrayList<String>();
+    for (Resource resource : resourceSet.getResources())
+    {
+      XSDSchema xsdSchema = (XSDSchema)resource.getContents().get(0);
+      xsdSchema.validate();
+      StringBuilder description = new StringBuilder(resource.getURI().lastSegment());
+      for (XSDElementDeclaration xsdElementDeclaration : xsdSchema.getElementDeclarations())
+      {
+        XSDTypeDefinition xsdTypeDefinition = xsdElementDeclaration.getTypeDefinition();
+        description.append(' ').append(xsdElementDeclaration.getName()).append(':').append(xsdTypeDefinition.getURI());
+        description.append(xsdTypeDefinition.getContainer() == null ? "(unresolved)" : "");
+      }
+      for (XSDDiagnostic xsdDiagnostic : xsdSchema.getAllDiagnostics())
+      {
+        description.append(' ').append(xsdDiagnostic.getSeverity()).append(':').append(xsdDiagnostic.getKey());
+      }
+      result.add(description.toString());
+    }
+    Collections.sort(result);
+    return result;
+  }
+
+  @Test
+  public void testLoad()
+  {
+    ResourceSet expectedResourceSet = createResourceSet();
+    expectedResourceSet.getResource(getURI("s0.xsd"), true);
+    List<String> expected = describe(expectedResourceSet);
+    assertEquals(2 * COUNT, expected.size());
+
+    ResourceSet resourceSet = createResourceSet();
+    ExecutorService executorService = Executors.newFixedThreadPool(4);
+    XSDSchema xsdSchema;
+    try
+    {
+      xsdSchema = XSDSchemaSetLoader.load(resourceSet, getURI("s0.xsd"), executorService);
+    }
+    finally
+    {
+      executorService.shutdown();
+    }
+    assertNotNull(xsdSchema);
+    assertSame(xsdSchema, ((XSDSchema)resourceSet.getResource(getURI("s0.xsd"), false).getContents().get(0)));
+    assertEquals(expected, describe(resourceSet));
+
+    // The import of the next schema is resolved.
+    //
+    XSDTypeDefinition xsdTypeDefinition = xsdSchema.resolveElementDeclaration("http://www.example.org/n0", "e1").getTypeDefinition();
+    assertTrue(xsdTypeDefinition.getContainer() != null);
+    assertEquals("http://www.example.org/n1", xsdTypeDefinition.getTargetNamespace());
+  }
+
+  @Test
+  public void testRejected() throws Exception
+  {
+    // A single thread with no queue rejects the second task while the first is submitted,
+    // and the first task is then cancelled rather than left running.
+    //
+    ExecutorService executorService = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new SynchronousQueue<Runnable>());
+    try
+    {
+      XSDSchemaSetLoader xsdSchemaSetLoader =
+        new XSDSchemaSetLoader(createResourceSet(), executorService, null)
+        {
+          @Override
+          protected PreparedSchema prepare(URI uri)
+          {
+            try
+            {
+              Thread.sleep(10000);
+            }
+            catch (InterruptedException exception)
+            {
+              // Cancelled.
+            }
+            return null;
+          }
+        };
+      try
+      {
+        xsdSchemaSetLoader.load(Arrays.asList(getURI("s0.xsd"), getURI("s1.xsd")));
+        fail("The second task should be rejected");
+      }
+      catch (RejectedExecutionException exception)
+      {
+        // Expected.
+      }
+    }
+    finally
+    {
+      executorService.shutdown();
+    }
+    assertTrue(executorService.awaitTermination(5, TimeUnit.SECONDS));
+  }
+}